@@ -1437,6 +1437,14 @@ public SocketAddress getLocalAddress() {
         return ioSession.getLocalAddress();
     }
 
+    int getLocalStreamCount() {
+        return streams.getLocalCount();
+    }
+
+    int getRemoteMaxConcurrentStreams() {
+        return remoteConfig.getMaxConcurrentStreams();
+    }
+
     void appendState(final StringBuilder buf) {
         buf.append("connState=").append(connState)
                 .append(", connInputWindow=").append(connInputWindow)
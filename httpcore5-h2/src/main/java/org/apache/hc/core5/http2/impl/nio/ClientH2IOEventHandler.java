@@ -42,6 +42,26 @@ public ClientH2IOEventHandler(final ClientH2StreamMultiplexer streamMultiplexer)
         super(streamMultiplexer);
     }
 
+    /**
+     * Returns the number of locally initiated streams currently active
+     * on this connection.
+     *
+     * @since 5.5
+     */
+    public int getActiveStreamCount() {
+        return streamMultiplexer.getLocalStreamCount();
+    }
+
+    /**
+     * Returns the maximum number of concurrent streams permitted by the peer
+     * as of the most recently received SETTINGS frame.
+     *
+     * @since 5.5
+     */
+    public int getMaxConcurrentStreams() {
+        return streamMultiplexer.getRemoteMaxConcurrentStreams();
+    }
+
     @Override
     public String toString() {
         final StringBuilder buf = new StringBuilder();
@@ -112,10 +112,34 @@ public H2MultiplexingRequester(
             final IOWorkerSelector workerSelector,
             final AtomicReference<TimeValue> validateAfterInactivityRef,
             final int maxCommandsPerConnection) {
+        this(ioReactorConfig, eventHandlerFactory, ioSessionDecorator, exceptionCallback, sessionListener,
+                addressResolver, tlsStrategy, threadPoolListener, workerSelector, validateAfterInactivityRef,
+                maxCommandsPerConnection, 1);
+    }
+
+    /**
+     * Use {@link H2MultiplexingRequesterBootstrap} to create instances of this class.
+     *
+     * @since 5.5
+     */
+    @Internal
+    public H2MultiplexingRequester(
+            final IOReactorConfig ioReactorConfig,
+            final IOEventHandlerFactory eventHandlerFactory,
+            final Decorator<IOSession> ioSessionDecorator,
+            final Callback<Exception> exceptionCallback,
+            final IOSessionListener sessionListener,
+            final Resolver<HttpHost, InetSocketAddress> addressResolver,
+            final TlsStrategy tlsStrategy,
+            final IOReactorMetricsListener threadPoolListener,
+            final IOWorkerSelector workerSelector,
+            final AtomicReference<TimeValue> validateAfterInactivityRef,
+            final int maxCommandsPerConnection,
+            final int maxConnPerRoute) {
         super(eventHandlerFactory, ioReactorConfig, ioSessionDecorator, exceptionCallback, sessionListener,
                 ShutdownCommand.GRACEFUL_IMMEDIATE_CALLBACK, DefaultAddressResolver.INSTANCE,
                 threadPoolListener, workerSelector);
-        this.connPool = new H2ConnPool(this, addressResolver, tlsStrategy);
+        this.connPool = new H2ConnPool(this, addressResolver, tlsStrategy, maxConnPerRoute);
         this.validateAfterInactivityRef = validateAfterInactivityRef;
         if (this.validateAfterInactivityRef != null) {
             this.validateAfterInactivityRef.set(this.connPool.getValidateAfterInactivity());
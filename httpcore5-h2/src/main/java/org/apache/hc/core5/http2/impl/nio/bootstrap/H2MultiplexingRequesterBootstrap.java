@@ -82,6 +82,8 @@ public class H2MultiplexingRequesterBootstrap {
 
     private int maxCommandsPerConnection;
 
+    private int maxConnPerRoute;
+
     private Timeout pingAckTimeout;
 
     private H2MultiplexingRequesterBootstrap() {
@@ -205,6 +207,22 @@ public final H2MultiplexingRequesterBootstrap setMaxCommandsPerConnection(final
         return this;
     }
 
+    /**
+     * Sets the maximum number of HTTP/2 connections per route. Requests are routed
+     * to the connection with the fewest active streams and additional connections
+     * are opened when existing ones approach the peer's concurrent stream limit.
+     * A value {@code <= 0} means a single connection per route (default).
+     *
+     * @param max maximum number of connections per route.
+     * @return this instance.
+     * @since 5.5
+     */
+    @Experimental
+    public final H2MultiplexingRequesterBootstrap setMaxConnPerRoute(final int max) {
+        this.maxConnPerRoute = max;
+        return this;
+    }
+
     /**
      * Sets the timeout applied while waiting for the HTTP/2 PING ACK emitted during
      * pre-flight connection validation. When unset, the default of 5 seconds is used.
@@ -316,7 +334,8 @@ public H2MultiplexingRequester create() {
                 threadPoolListener,
                 null,
                 validateAfterInactivityRef,
-                maxCommandsPerConnection);
+                maxCommandsPerConnection,
+                maxConnPerRoute > 0 ? maxConnPerRoute : 1);
     }
 
 }
@@ -57,6 +57,7 @@
 import org.apache.hc.core5.http2.impl.nio.H2StreamListener;
 import org.apache.hc.core5.http2.nio.support.DefaultAsyncPushConsumerFactory;
 import org.apache.hc.core5.http2.ssl.H2ClientTlsStrategy;
+import org.apache.hc.core5.pool.ConnPoolInstrumentation;
 import org.apache.hc.core5.pool.ConnPoolListener;
 import org.apache.hc.core5.pool.DefaultDisposalCallback;
 import org.apache.hc.core5.pool.LaxConnPool;
@@ -70,6 +71,7 @@
 import org.apache.hc.core5.reactor.IOReactorMetricsListener;
 import org.apache.hc.core5.reactor.IOSession;
 import org.apache.hc.core5.reactor.IOSessionListener;
+import org.apache.hc.core5.reactor.IOWorkers;
 import org.apache.hc.core5.util.Args;
 import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
@@ -94,6 +96,7 @@ public class H2RequesterBootstrap {
     private TimeValue timeToLive;
     private PoolReusePolicy poolReusePolicy;
     private PoolConcurrencyPolicy poolConcurrencyPolicy;
+    private boolean poolWorkerAffinity;
     private TlsStrategy tlsStrategy;
     private Timeout handshakeTimeout;
     private Decorator<IOSession> ioSessionDecorator;
@@ -102,6 +105,7 @@ public class H2RequesterBootstrap {
     private H2StreamListener streamListener;
     private Http1StreamListener http1StreamListener;
     private ConnPoolListener<HttpHost> connPoolListener;
+    private ConnPoolInstrumentation<HttpHost> connPoolInstrumentation;
     private IOReactorMetricsListener threadPoolListener;
     private FrameFactory frameFactory;
     private int maxPendingCommandsPerConnection;
@@ -212,6 +216,21 @@ public final H2RequesterBootstrap setPoolConcurrencyPolicy(final PoolConcurrency
         return this;
     }
 
+    /**
+     * Enables I/O worker affinity of pooled connections. When enabled, lease requests
+     * made from an I/O dispatch thread prefer idle connections bound to the same
+     * I/O dispatch thread, which avoids handing off message exchanges between threads.
+     * With {@link PoolReusePolicy#HEALTH_WEIGHTED} reuse the healthiest of those connections
+     * is chosen. Presently supported by {@link PoolConcurrencyPolicy#STRICT} pools only.
+     *
+     * @return this instance.
+     * @since 5.5
+     */
+    public final H2RequesterBootstrap setPoolWorkerAffinity(final boolean poolWorkerAffinity) {
+        this.poolWorkerAffinity = poolWorkerAffinity;
+        return this;
+    }
+
     public final H2RequesterBootstrap setMaxPendingCommandsPerConnection(final int maxPendingCommandsPerConnection) {
         this.maxPendingCommandsPerConnection = maxPendingCommandsPerConnection;
         return this;
@@ -315,6 +334,18 @@ public final H2RequesterBootstrap setConnPoolListener(final ConnPoolListener<Htt
         return this;
     }
 
+    /**
+     * Sets {@link ConnPoolInstrumentation} instance. Presently supported by
+     * {@link PoolConcurrencyPolicy#STRICT} pools only.
+     *
+     * @return this instance.
+     * @since 5.5
+     */
+    public final H2RequesterBootstrap setConnPoolInstrumentation(final ConnPoolInstrumentation<HttpHost> connPoolInstrumentation) {
+        this.connPoolInstrumentation = connPoolInstrumentation;
+        return this;
+    }
+
     /**
      * Sets {@link UriPatternType} for handler registration.
      *
@@ -381,6 +412,7 @@ public final H2RequesterBootstrap registerVirtual(final String hostname, final S
 
     public H2AsyncRequester create() {
         final ManagedConnPool<HttpHost, IOSession> connPool;
+        final boolean workerAffinity = poolWorkerAffinity;
         switch (poolConcurrencyPolicy != null ? poolConcurrencyPolicy : PoolConcurrencyPolicy.STRICT) {
             case LAX:
                 connPool = new LaxConnPool<>(
@@ -400,13 +432,26 @@ public H2AsyncRequester create() {
                 break;
             case STRICT:
             default:
-                connPool = new StrictConnPool<>(
+                connPool = new StrictConnPool<HttpHost, IOSession>(
                         defaultMaxPerRoute > 0 ? defaultMaxPerRoute : 20,
                         maxTotal > 0 ? maxTotal : 50,
                         timeToLive,
                         poolReusePolicy,
                         new DefaultDisposalCallback<>(),
-                        connPoolListener);
+                        connPoolListener,
+                        connPoolInstrumentation) {
+
+                    @Override
+                    protected Object resolveAffinity() {
+                        return workerAffinity ? IOWorkers.currentWorker() : null;
+                    }
+
+                    @Override
+                    protected Object resolveAffinity(final IOSession ioSession) {
+                        return workerAffinity ? IOWorkers.ownerOf(ioSession) : null;
+                    }
+
+                };
                 break;
         }
         final RequestRouter<Supplier<AsyncPushConsumer>> requestRouter = RequestRouter.create(
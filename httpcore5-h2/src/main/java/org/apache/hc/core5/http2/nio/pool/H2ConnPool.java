@@ -41,10 +41,12 @@
 import org.apache.hc.core5.http.nio.command.ShutdownCommand;
 import org.apache.hc.core5.http.nio.command.StaleCheckCommand;
 import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.http2.impl.nio.ClientH2IOEventHandler;
 import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.reactor.AbstractIOSessionPool;
 import org.apache.hc.core5.reactor.Command;
 import org.apache.hc.core5.reactor.ConnectionInitiator;
+import org.apache.hc.core5.reactor.IOEventHandler;
 import org.apache.hc.core5.reactor.IOSession;
 import org.apache.hc.core5.reactor.ssl.TransportSecurityLayer;
 import org.apache.hc.core5.util.Args;
@@ -53,6 +55,11 @@
 
 /**
  * Pool of HTTP/2 message multiplexing capable connections.
+ * <p>
+ * By default the pool keeps a single connection per route. If configured with
+ * a higher per-route limit, requests are routed to the connection with the fewest
+ * active streams and another connection is opened once all existing ones
+ * approach the maximum number of concurrent streams permitted by the peer.
  *
  * @since 5.0
  */
@@ -65,16 +72,27 @@ public final class H2ConnPool extends AbstractIOSessionPool<HttpHost> {
 
     private volatile TimeValue validateAfterInactivity = TimeValue.NEG_ONE_MILLISECOND;
 
+    /**
+     * @since 5.5
+     */
     public H2ConnPool(
             final ConnectionInitiator connectionInitiator,
             final Resolver<HttpHost, InetSocketAddress> addressResolver,
-            final TlsStrategy tlsStrategy) {
-        super();
+            final TlsStrategy tlsStrategy,
+            final int maxConnPerRoute) {
+        super(maxConnPerRoute);
         this.connectionInitiator = Args.notNull(connectionInitiator, "Connection initiator");
         this.addressResolver = addressResolver != null ? addressResolver : DefaultAddressResolver.INSTANCE;
         this.tlsStrategy = tlsStrategy;
     }
 
+    public H2ConnPool(
+            final ConnectionInitiator connectionInitiator,
+            final Resolver<HttpHost, InetSocketAddress> addressResolver,
+            final TlsStrategy tlsStrategy) {
+        this(connectionInitiator, addressResolver, tlsStrategy, 1);
+    }
+
     public TimeValue getValidateAfterInactivity() {
         return validateAfterInactivity;
     }
@@ -83,6 +101,27 @@ public void setValidateAfterInactivity(final TimeValue timeValue) {
         this.validateAfterInactivity = timeValue;
     }
 
+    @Override
+    protected int getSessionLoad(final IOSession ioSession) {
+        final IOEventHandler handler = ioSession.getHandler();
+        final int active = handler instanceof ClientH2IOEventHandler
+                ? ((ClientH2IOEventHandler) handler).getActiveStreamCount() : 0;
+        final int pending = ioSession.getPendingCommandCount();
+        return pending > 0 ? active + pending : active;
+    }
+
+    @Override
+    protected boolean isSessionSaturated(final IOSession ioSession) {
+        final IOEventHandler handler = ioSession.getHandler();
+        if (!(handler instanceof ClientH2IOEventHandler)) {
+            // Protocol negotiation still in progress
+            return false;
+        }
+        final long maxStreams = ((ClientH2IOEventHandler) handler).getMaxConcurrentStreams();
+        // Saturated at 75% of the peer limit to leave head room for requests in flight
+        return getSessionLoad(ioSession) >= maxStreams - maxStreams / 4;
+    }
+
     @Override
     protected void closeSession(
             final IOSession ioSession,
@@ -39,6 +39,7 @@
 import org.apache.hc.core5.http.nio.command.ShutdownCommand;
 import org.apache.hc.core5.http.nio.command.StaleCheckCommand;
 import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.http2.impl.nio.ClientH2IOEventHandler;
 import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.reactor.Command;
 import org.apache.hc.core5.reactor.ConnectionInitiator;
@@ -226,4 +227,32 @@ public void cancelled() {
         }
     }
 
+    @Test
+    void testSessionLoadAndSaturation() {
+        final ConnectionInitiator connectionInitiator = Mockito.mock(ConnectionInitiator.class);
+        try (H2ConnPool pool = new H2ConnPool(connectionInitiator, null, null, 4)) {
+            Assertions.assertEquals(4, pool.getMaxSessionsPerRoute());
+
+            final IOSession negotiating = Mockito.mock(IOSession.class);
+            Mockito.when(negotiating.getPendingCommandCount()).thenReturn(3);
+            Assertions.assertEquals(3, pool.getSessionLoad(negotiating));
+            Assertions.assertFalse(pool.isSessionSaturated(negotiating));
+
+            final ClientH2IOEventHandler handler = Mockito.mock(ClientH2IOEventHandler.class);
+            Mockito.when(handler.getMaxConcurrentStreams()).thenReturn(100);
+            final IOSession session = Mockito.mock(IOSession.class);
+            Mockito.when(session.getHandler()).thenReturn(handler);
+            Mockito.when(session.getPendingCommandCount()).thenReturn(-1);
+
+            Mockito.when(handler.getActiveStreamCount()).thenReturn(10);
+            Assertions.assertEquals(10, pool.getSessionLoad(session));
+            Assertions.assertFalse(pool.isSessionSaturated(session));
+
+            Mockito.when(handler.getActiveStreamCount()).thenReturn(70);
+            Mockito.when(session.getPendingCommandCount()).thenReturn(5);
+            Assertions.assertEquals(75, pool.getSessionLoad(session));
+            Assertions.assertTrue(pool.isSessionSaturated(session));
+        }
+    }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.benchmark;
+
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.impl.bootstrap.HttpRequester;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.RequesterBootstrap;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.io.entity.PathEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.apache.hc.core5.http.protocol.HttpCoreContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of large file downloads from the classic server over loopback. With
+ * channel backed sockets the file content is transferred directly from the file system
+ * to the network instead of being copied through a heap buffer. Memory mapped entities
+ * map the file once and write the mapped region without an intermediate byte array.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassicFileTransferBenchmark {
+
+    @Param({"false", "true"})
+    public boolean socketChannelBacked;
+
+    @Param({"false", "true"})
+    public boolean memoryMapped;
+
+    @Param({"16777216"})
+    public int fileSize;
+
+    private static final Timeout TIMEOUT = Timeout.ofSeconds(60);
+
+    private Path file;
+    private HttpServer server;
+    private HttpRequester requester;
+    private HttpHost target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = Files.createTempFile("benchmark", ".bin");
+        Files.write(file, new byte[fileSize]);
+        final PathEntity entity = new PathEntity(file, ContentType.APPLICATION_OCTET_STREAM, null, memoryMapped);
+
+        final SocketConfig socketConfig = SocketConfig.custom()
+                .setSoTimeout(TIMEOUT)
+                .setSocketChannelBacked(socketChannelBacked)
+                .build();
+        server = ServerBootstrap.bootstrap()
+                .setLocalAddress(InetAddress.getLoopbackAddress())
+                .setSocketConfig(socketConfig)
+                .register("*", (request, response, context) -> response.setEntity(entity))
+                .create();
+        server.start();
+        requester = RequesterBootstrap.bootstrap()
+                .setSocketConfig(socketConfig)
+                .create();
+        target = new HttpHost("http", "localhost", server.getLocalPort());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (requester != null) {
+            requester.close(CloseMode.GRACEFUL);
+        }
+        if (server != null) {
+            server.close(CloseMode.IMMEDIATE);
+        }
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public long download() throws Exception {
+        final ClassicHttpRequest request = new BasicClassicHttpRequest(Method.GET, "/");
+        return requester.execute(target, request, TIMEOUT, HttpCoreContext.create(), response -> {
+            final byte[] tmp = new byte[65536];
+            long total = 0;
+            try (final InputStream inputStream = response.getEntity().getContent()) {
+                int l;
+                while ((l = inputStream.read(tmp)) != -1) {
+                    total += l;
+                }
+            }
+            return total;
+        });
+    }
+
+}
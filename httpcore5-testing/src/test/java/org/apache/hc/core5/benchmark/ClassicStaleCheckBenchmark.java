@@ -0,0 +1,137 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.benchmark;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.config.Http1Config;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.impl.io.DefaultBHttpClientConnection;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency from checking a pooled classic connection for staleness to receiving the first
+ * response byte over loopback. {@code socket} probes a plain socket with a timed blocking
+ * read, {@code channel} probes a channel-backed socket with a non-blocking read and
+ * {@code threshold} skips the probe for recently used connections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class ClassicStaleCheckBenchmark {
+
+    @Param({"socket", "channel", "threshold"})
+    public String mode;
+
+    private HttpServer server;
+    private DefaultBHttpClientConnection conn;
+    private ClassicHttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = ServerBootstrap.bootstrap()
+                .setLocalAddress(InetAddress.getLoopbackAddress())
+                .register("*", (req, response, context) -> response.setEntity(
+                        new StringEntity("OK", ContentType.TEXT_PLAIN)))
+                .create();
+        server.start();
+
+        final Http1Config http1Config = "threshold".equals(mode)
+                ? Http1Config.custom().setStaleCheckThreshold(TimeValue.ofSeconds(1)).build()
+                : Http1Config.DEFAULT;
+        final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+        final Socket socket;
+        if ("channel".equals(mode)) {
+            socket = SocketChannel.open(address).socket();
+        } else {
+            socket = new Socket();
+            socket.connect(address);
+        }
+        socket.setTcpNoDelay(true);
+        conn = new DefaultBHttpClientConnection(http1Config);
+        conn.bind(socket);
+        request = new BasicClassicHttpRequest(Method.GET, "/");
+        request.setHeader("Host", "localhost");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (conn != null) {
+            conn.close(CloseMode.IMMEDIATE);
+        }
+        if (server != null) {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+    @Benchmark
+    public int leaseToFirstByte() throws Exception {
+        if (conn.isStale()) {
+            throw new IllegalStateException("Connection is stale");
+        }
+        conn.sendRequestHeader(request);
+        conn.flush();
+        final ClassicHttpResponse response = conn.receiveResponseHeader();
+        conn.receiveResponseEntity(response);
+        EntityUtils.consume(response.getEntity());
+        if (response.getCode() != HttpStatus.SC_OK) {
+            throw new IllegalStateException("Unexpected response: " + response.getCode());
+        }
+        return response.getCode();
+    }
+
+}
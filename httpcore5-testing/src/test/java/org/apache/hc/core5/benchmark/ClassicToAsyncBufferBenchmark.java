@@ -0,0 +1,236 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.http.nio.support.classic.ContentInputBuffer;
+import org.apache.hc.core5.http.nio.support.classic.ContentOutputBuffer;
+import org.apache.hc.core5.http.nio.support.classic.LockFreeInputBuffer;
+import org.apache.hc.core5.http.nio.support.classic.LockFreeOutputBuffer;
+import org.apache.hc.core5.http.nio.support.classic.SharedInputBuffer;
+import org.apache.hc.core5.http.nio.support.classic.SharedOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of passing 1 MB of content between an I/O reactor thread and a worker
+ * thread through the lock based {@code shared} buffers and the {@code lock-free} buffers
+ * used by the classic to async bridge. {@code upload} simulates request content being
+ * consumed by a blocking request handler, {@code download} response content being
+ * produced by it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class ClassicToAsyncBufferBenchmark {
+
+    private static final int CONTENT_LENGTH = 1024 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int CHUNK_SIZE = 4096;
+
+    @Param({"shared", "lock-free"})
+    public String buffer;
+
+    private ExecutorService executorService;
+    private byte[] chunk;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executorService = Executors.newSingleThreadExecutor();
+        chunk = new byte[CHUNK_SIZE];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    static class WindowCapacityChannel implements CapacityChannel {
+
+        final AtomicInteger window = new AtomicInteger();
+
+        @Override
+        public void update(final int increment) {
+            window.addAndGet(increment);
+        }
+
+    }
+
+    @Benchmark
+    public long upload() throws Exception {
+        final ContentInputBuffer inputBuffer;
+        final SharedInputBuffer sharedBuffer;
+        final LockFreeInputBuffer lockFreeBuffer;
+        if ("shared".equals(buffer)) {
+            sharedBuffer = new SharedInputBuffer(BUFFER_SIZE);
+            lockFreeBuffer = null;
+            inputBuffer = sharedBuffer;
+        } else {
+            sharedBuffer = null;
+            lockFreeBuffer = new LockFreeInputBuffer(BUFFER_SIZE);
+            inputBuffer = lockFreeBuffer;
+        }
+        final WindowCapacityChannel capacityChannel = new WindowCapacityChannel();
+        // the I/O reactor pushes content only while the consumer has capacity
+        final Future<?> reactor = executorService.submit(() -> {
+            if (sharedBuffer != null) {
+                sharedBuffer.updateCapacity(capacityChannel);
+            } else {
+                lockFreeBuffer.updateCapacity(capacityChannel);
+            }
+            int remaining = CONTENT_LENGTH;
+            while (remaining > 0) {
+                while (capacityChannel.window.get() <= 0) {
+                    Thread.yield();
+                }
+                final int n = Math.min(remaining, CHUNK_SIZE);
+                final ByteBuffer src = ByteBuffer.wrap(chunk, 0, n);
+                if (sharedBuffer != null) {
+                    sharedBuffer.fill(src);
+                } else {
+                    lockFreeBuffer.fill(src);
+                }
+                capacityChannel.window.addAndGet(-n);
+                remaining -= n;
+            }
+            if (sharedBuffer != null) {
+                sharedBuffer.markEndStream();
+            } else {
+                lockFreeBuffer.markEndStream();
+            }
+            return null;
+        });
+        final byte[] tmp = new byte[CHUNK_SIZE];
+        long total = 0;
+        int l;
+        while ((l = inputBuffer.read(tmp, 0, tmp.length)) != -1) {
+            total += l;
+        }
+        reactor.get();
+        return total;
+    }
+
+    static class CountingDataStreamChannel implements DataStreamChannel {
+
+        final AtomicBoolean outputRequested = new AtomicBoolean();
+        volatile boolean endStream;
+        long total;
+
+        @Override
+        public void requestOutput() {
+            outputRequested.set(true);
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            final int n = src.remaining();
+            src.position(src.limit());
+            total += n;
+            return n;
+        }
+
+        @Override
+        public void endStream(final List<? extends Header> trailers) throws IOException {
+            endStream = true;
+        }
+
+        @Override
+        public void endStream() throws IOException {
+            endStream(null);
+        }
+
+    }
+
+    @Benchmark
+    public long download() throws Exception {
+        final ContentOutputBuffer outputBuffer;
+        final SharedOutputBuffer sharedBuffer;
+        final LockFreeOutputBuffer lockFreeBuffer;
+        if ("shared".equals(buffer)) {
+            sharedBuffer = new SharedOutputBuffer(BUFFER_SIZE);
+            lockFreeBuffer = null;
+            outputBuffer = sharedBuffer;
+        } else {
+            sharedBuffer = null;
+            lockFreeBuffer = new LockFreeOutputBuffer(BUFFER_SIZE);
+            outputBuffer = lockFreeBuffer;
+        }
+        final CountingDataStreamChannel channel = new CountingDataStreamChannel();
+        channel.outputRequested.set(true);
+        final Future<?> worker = executorService.submit(() -> {
+            int remaining = CONTENT_LENGTH;
+            while (remaining > 0) {
+                final int n = Math.min(remaining, CHUNK_SIZE);
+                outputBuffer.write(chunk, 0, n);
+                remaining -= n;
+            }
+            outputBuffer.writeCompleted();
+            return null;
+        });
+        // the I/O reactor flushes the buffer whenever output has been requested
+        while (!channel.endStream) {
+            if (channel.outputRequested.compareAndSet(true, false)) {
+                if (sharedBuffer != null) {
+                    sharedBuffer.flush(channel);
+                } else {
+                    lockFreeBuffer.flush(channel);
+                }
+            } else {
+                Thread.yield();
+            }
+        }
+        worker.get();
+        return channel.total;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.http.message.HeaderGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of the header lookups performed by the standard protocol interceptors on
+ * small and large {@link HeaderGroup}s. {@code lookup} measures lookups on a populated
+ * group while {@code populateAndLookup} includes building the group, as happens
+ * once per message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class HeaderGroupBenchmark {
+
+    @Param({"8", "32", "96"})
+    public int headerCount;
+
+    private Header[] headers;
+    private HeaderGroup headerGroup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        headers = new Header[headerCount];
+        headers[0] = new BasicHeader(HttpHeaders.HOST, "www.example.com");
+        headers[1] = new BasicHeader(HttpHeaders.USER_AGENT, "benchmark/1.0");
+        headers[2] = new BasicHeader(HttpHeaders.ACCEPT, "*/*");
+        for (int i = 3; i < headerCount; i++) {
+            headers[i] = new BasicHeader("X-Forwarded-Attr-" + i, "value-" + i);
+        }
+        headerGroup = new HeaderGroup();
+        headerGroup.setHeaders(headers);
+    }
+
+    private static void interceptorLookups(final HeaderGroup group, final Blackhole blackhole) throws Exception {
+        blackhole.consume(group.containsHeader(HttpHeaders.TRANSFER_ENCODING));
+        blackhole.consume(group.containsHeader(HttpHeaders.CONTENT_LENGTH));
+        blackhole.consume(group.getFirstHeader(HttpHeaders.CONNECTION));
+        blackhole.consume(group.getFirstHeader(HttpHeaders.EXPECT));
+        blackhole.consume(group.getHeader(HttpHeaders.HOST));
+        blackhole.consume(group.countHeaders(HttpHeaders.HOST));
+        blackhole.consume(group.getFirstHeader(HttpHeaders.USER_AGENT));
+        blackhole.consume(group.getHeaders(HttpHeaders.ACCEPT));
+    }
+
+    @Benchmark
+    public void lookup(final Blackhole blackhole) throws Exception {
+        interceptorLookups(headerGroup, blackhole);
+    }
+
+    @Benchmark
+    public void populateAndLookup(final Blackhole blackhole) throws Exception {
+        final HeaderGroup group = new HeaderGroup();
+        for (final Header header : headers) {
+            group.addHeader(header);
+        }
+        interceptorLookups(group, blackhole);
+    }
+
+}
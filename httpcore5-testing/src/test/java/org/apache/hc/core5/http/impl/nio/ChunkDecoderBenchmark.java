@@ -0,0 +1,194 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.core5.http.impl.BasicHttpTransportMetrics;
+import org.apache.hc.core5.http.nio.SessionInputBuffer;
+import org.apache.hc.core5.util.CharArrayBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding of a chunk coded stream consisting of many small chunks, as produced
+ * by streaming APIs. With {@code lineBased} set the session buffer is hidden behind
+ * a plain {@link SessionInputBuffer} facade, which makes the decoder fall back to
+ * reading chunk heads line by line. Run with {@code -prof gc} to compare
+ * allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkDecoderBenchmark {
+
+    @Param({"16", "256"})
+    public int chunkSize;
+
+    @Param({"false", "true"})
+    public boolean lineBased;
+
+    private ByteBuffer stream;
+    private ByteBuffer dst;
+    private SessionInputBufferImpl inbuf;
+    private SessionInputBuffer decoderBuf;
+    private BasicHttpTransportMetrics metrics;
+    private ReadableByteChannel channel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final StringBuilder buf = new StringBuilder();
+        final StringBuilder chunk = new StringBuilder();
+        for (int i = 0; i < chunkSize; i++) {
+            chunk.append((char) ('a' + i % 26));
+        }
+        for (int i = 0; i < 1000; i++) {
+            buf.append(Integer.toHexString(chunkSize)).append("\r\n").append(chunk).append("\r\n");
+        }
+        buf.append("0\r\n\r\n");
+        stream = ByteBuffer.wrap(buf.toString().getBytes(StandardCharsets.US_ASCII));
+        dst = ByteBuffer.allocate(8192);
+        inbuf = new SessionInputBufferImpl(8192, 256);
+        decoderBuf = lineBased ? new Facade(inbuf) : inbuf;
+        metrics = new BasicHttpTransportMetrics();
+        channel = new ReadableByteChannel() {
+
+            @Override
+            public int read(final ByteBuffer dst) {
+                if (!stream.hasRemaining()) {
+                    return -1;
+                }
+                final int n = Math.min(dst.remaining(), stream.remaining());
+                final ByteBuffer slice = stream.duplicate();
+                slice.limit(slice.position() + n);
+                dst.put(slice);
+                stream.position(stream.position() + n);
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+
+        };
+    }
+
+    @Benchmark
+    public long decode() throws IOException {
+        stream.rewind();
+        inbuf.clear();
+        final ChunkDecoder decoder = new ChunkDecoder(channel, decoderBuf, metrics);
+        long total = 0;
+        while (!decoder.isCompleted()) {
+            dst.clear();
+            final int n = decoder.read(dst);
+            if (n > 0) {
+                total += n;
+            }
+        }
+        return total;
+    }
+
+    static final class Facade implements SessionInputBuffer {
+
+        private final SessionInputBuffer buffer;
+
+        Facade(final SessionInputBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean hasData() {
+            return buffer.hasData();
+        }
+
+        @Override
+        public int length() {
+            return buffer.length();
+        }
+
+        @Override
+        public int fill(final ReadableByteChannel src) throws IOException {
+            return buffer.fill(src);
+        }
+
+        @Override
+        public int read() {
+            return buffer.read();
+        }
+
+        @Override
+        public int read(final ByteBuffer dst, final int maxLen) {
+            return buffer.read(dst, maxLen);
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) {
+            return buffer.read(dst);
+        }
+
+        @Override
+        public int read(final WritableByteChannel dst, final int maxLen) throws IOException {
+            return buffer.read(dst, maxLen);
+        }
+
+        @Override
+        public int read(final WritableByteChannel dst) throws IOException {
+            return buffer.read(dst);
+        }
+
+        @Override
+        public boolean readLine(final CharArrayBuffer dst, final boolean endOfStream) throws IOException {
+            return buffer.readLine(dst, endOfStream);
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.nio;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.core5.util.ByteScanner;
+import org.apache.hc.core5.util.CharArrayBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Line delimiter scanning over a message head with a single long header line
+ * and over a cookie-heavy browser request. The {@code scan*} benchmarks compare
+ * the word-at-a-time scanner with a plain byte loop; the {@code readLines*}
+ * benchmarks measure the non-blocking and the classic session input buffers
+ * reading the whole head line by line. The benchmark lives in the buffer
+ * package as the non-blocking session input buffer is package private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class LineScanBenchmark {
+
+    @Param({"long-line", "cookies"})
+    public String head;
+
+    private byte[] data;
+    private ByteBuffer dataBuf;
+    private SessionInputBufferImpl inbuf;
+    private org.apache.hc.core5.http.impl.io.SessionInputBufferImpl classicInbuf;
+    private CharArrayBuffer lineBuf;
+
+    private static String longLineHead() {
+        final StringBuilder buf = new StringBuilder();
+        buf.append("GET /search HTTP/1.1\r\n");
+        buf.append("Host: www.example.com\r\n");
+        buf.append("X-Forwarded-For: ");
+        for (int i = 0; i < 250; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append("10.").append(i % 256).append(".0.1");
+        }
+        buf.append("\r\n\r\n");
+        return buf.toString();
+    }
+
+    private static String cookieHead() {
+        final StringBuilder buf = new StringBuilder();
+        buf.append("GET /account HTTP/1.1\r\n");
+        buf.append("Host: www.example.com\r\n");
+        buf.append("User-Agent: Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko)\r\n");
+        for (int i = 0; i < 30; i++) {
+            buf.append("Cookie: pref").append(i).append("=a8f3e1c9b2d74e6f90a1b3c5d7e9f1a3b5c7d9e1; ")
+                    .append("_ga_").append(i).append("=GS1.1.1700000000.12.1.1700000123.0.0.0\r\n");
+        }
+        buf.append("\r\n");
+        return buf.toString();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final String s = "cookies".equals(head) ? cookieHead() : longLineHead();
+        data = s.getBytes(StandardCharsets.US_ASCII);
+        dataBuf = ByteBuffer.wrap(data);
+        inbuf = new SessionInputBufferImpl(16384, 8192);
+        classicInbuf = new org.apache.hc.core5.http.impl.io.SessionInputBufferImpl(16384);
+        lineBuf = new CharArrayBuffer(8192);
+    }
+
+    @Benchmark
+    public int scanWordAtATime() {
+        int count = 0;
+        int pos = 0;
+        while ((pos = ByteScanner.indexOf(dataBuf, pos, data.length, (byte) '\n')) >= 0) {
+            pos++;
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int scanBytewise() {
+        int count = 0;
+        int pos = 0;
+        while (pos < data.length) {
+            int lf = -1;
+            for (int i = pos; i < data.length; i++) {
+                if (data[i] == '\n') {
+                    lf = i;
+                    break;
+                }
+            }
+            if (lf < 0) {
+                break;
+            }
+            pos = lf + 1;
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void readLinesNio(final Blackhole blackhole) throws Exception {
+        inbuf.clear();
+        inbuf.put(ByteBuffer.wrap(data));
+        lineBuf.clear();
+        while (inbuf.readLine(lineBuf, false)) {
+            blackhole.consume(lineBuf.length());
+            lineBuf.clear();
+        }
+    }
+
+    @Benchmark
+    public void readLinesClassic(final Blackhole blackhole) throws Exception {
+        classicInbuf.clear();
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(data);
+        lineBuf.clear();
+        while (classicInbuf.readLine(lineBuf, inputStream) >= 0) {
+            blackhole.consume(lineBuf.length());
+            lineBuf.clear();
+        }
+    }
+
+}
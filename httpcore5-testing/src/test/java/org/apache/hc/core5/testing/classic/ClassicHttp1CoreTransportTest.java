@@ -29,10 +29,15 @@
 
 import java.io.IOException;
 
+import org.apache.hc.core5.http.ClassicHttpRequest;
 import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HeaderElements;
 import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.Method;
 import org.apache.hc.core5.http.URIScheme;
 import org.apache.hc.core5.http.impl.bootstrap.HttpRequester;
 import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
@@ -41,10 +46,16 @@
 import org.apache.hc.core5.http.io.HttpFilterChain;
 import org.apache.hc.core5.http.io.HttpRequestHandler;
 import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.apache.hc.core5.http.protocol.HttpCoreContext;
 import org.apache.hc.core5.testing.SSLTestContexts;
 import org.apache.hc.core5.testing.extension.classic.HttpRequesterResource;
 import org.apache.hc.core5.testing.extension.classic.HttpServerResource;
+import org.apache.hc.core5.util.ReflectionUtils;
 import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 abstract class ClassicHttp1CoreTransportTest extends ClassicHttpCoreTransportTest {
@@ -56,15 +67,44 @@ abstract class ClassicHttp1CoreTransportTest extends ClassicHttpCoreTransportTes
     @RegisterExtension
     private final HttpRequesterResource clientResource;
 
+    private final URIScheme scheme;
+    private final boolean virtualThreadWorkers;
+
     public ClassicHttp1CoreTransportTest(final URIScheme scheme) {
+        this(scheme, false);
+    }
+
+    public ClassicHttp1CoreTransportTest(final URIScheme scheme, final boolean virtualThreadWorkers) {
+        this(scheme, virtualThreadWorkers, false);
+    }
+
+    public ClassicHttp1CoreTransportTest(
+            final URIScheme scheme,
+            final boolean virtualThreadWorkers,
+            final boolean idleConnectionParking) {
+        this(scheme, virtualThreadWorkers, idleConnectionParking, false);
+    }
+
+    public ClassicHttp1CoreTransportTest(
+            final URIScheme scheme,
+            final boolean virtualThreadWorkers,
+            final boolean idleConnectionParking,
+            final boolean socketChannelBacked) {
         super(scheme);
+        this.scheme = scheme;
+        this.virtualThreadWorkers = virtualThreadWorkers;
         this.serverResource = new HttpServerResource();
         this.serverResource.configure(bootstrap -> bootstrap
+                .setVirtualThreadWorkers(virtualThreadWorkers)
+                .setIdleConnectionParking(idleConnectionParking)
                 .setSslContext(scheme == URIScheme.HTTPS ? SSLTestContexts.createServerSSLContext() : null)
                 .setSocketConfig(SocketConfig.custom()
                         .setSoTimeout(TIMEOUT)
+                        .setSocketChannelBacked(socketChannelBacked)
                         .build())
                 .setRequestRouter(RequestRouter.<HttpRequestHandler>builder()
+                        .addRoute(RequestRouter.LOCAL_AUTHORITY, "/thread-kind", (request, response, context) ->
+                                response.setHeader("X-Virtual-Thread", Boolean.toString(isVirtual(Thread.currentThread()))))
                         .addRoute(RequestRouter.LOCAL_AUTHORITY, "*", new EchoHandler())
                         .resolveAuthority(RequestRouter.LOCAL_AUTHORITY_RESOLVER)
                         .build())
@@ -92,6 +132,7 @@ public void submitResponse(
                 .setSslContext(SSLTestContexts.createClientSSLContext())
                 .setSocketConfig(SocketConfig.custom()
                         .setSoTimeout(TIMEOUT)
+                        .setSocketChannelBacked(socketChannelBacked)
                         .build()));
     }
 
@@ -105,4 +146,29 @@ HttpRequester clientStart() throws IOException {
         return clientResource.start();
     }
 
+    private static boolean isVirtual(final Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (final ReflectiveOperationException ex) {
+            return false;
+        }
+    }
+
+    @Test
+    void testWorkerThreadKind() throws Exception {
+        Assumptions.assumeTrue(!virtualThreadWorkers || ReflectionUtils.determineJRELevel() >= 21,
+                "Virtual threads require Java 21 or newer");
+        final HttpServer server = serverResource.start();
+        final HttpRequester requester = clientResource.start();
+
+        final HttpHost target = new HttpHost(scheme.id, "localhost", server.getLocalPort());
+        final ClassicHttpRequest request = new BasicClassicHttpRequest(Method.GET, "/thread-kind");
+        try (final ClassicHttpResponse response = requester.execute(target, request, TIMEOUT, HttpCoreContext.create())) {
+            Assertions.assertEquals(HttpStatus.SC_OK, response.getCode());
+            final Header header = response.getFirstHeader("X-Virtual-Thread");
+            Assertions.assertNotNull(header);
+            Assertions.assertEquals(Boolean.toString(virtualThreadWorkers), header.getValue());
+        }
+    }
+
 }
@@ -29,6 +29,9 @@
 
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -46,6 +49,7 @@
 import org.apache.hc.core5.http.impl.bootstrap.HttpRequester;
 import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.PathEntity;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
 import org.apache.hc.core5.http.protocol.HttpCoreContext;
@@ -175,4 +179,30 @@ void testMultiThreadedRequests() throws Exception {
         }
     }
 
+    @Test
+    void testFileEntityRequests() throws Exception {
+        final HttpServer server = serverStart();
+        final HttpRequester requester = clientStart();
+
+        final Path tmpPath = Files.createTempFile("testfile", ".bin");
+        tmpPath.toFile().deleteOnExit();
+        final byte[] content = new byte[1024 * 1024];
+        new Random(42).nextBytes(content);
+        Files.write(tmpPath, content);
+        try {
+            final HttpHost target = new HttpHost(scheme.id, "localhost", server.getLocalPort());
+            final HttpCoreContext context = HttpCoreContext.create();
+            for (int i = 0; i < 3; i++) {
+                final ClassicHttpRequest request = new BasicClassicHttpRequest(Method.POST, "/file");
+                request.setEntity(new PathEntity(tmpPath, ContentType.APPLICATION_OCTET_STREAM));
+                try (final ClassicHttpResponse response = requester.execute(target, request, TIMEOUT, context)) {
+                    Assertions.assertEquals(HttpStatus.SC_OK, response.getCode());
+                    Assertions.assertArrayEquals(content, EntityUtils.toByteArray(response.getEntity(), Integer.MAX_VALUE));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+    }
+
 }
@@ -53,6 +53,56 @@ public CoreTransportTls() {
 
     }
 
+    @Nested
+    @DisplayName("Core transport (virtual thread workers)")
+    class CoreTransportVirtualThreads extends ClassicHttp1CoreTransportTest {
+
+        public CoreTransportVirtualThreads() {
+            super(URIScheme.HTTP, true);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Core transport (idle connection parking)")
+    class CoreTransportIdleConnectionParking extends ClassicHttp1CoreTransportTest {
+
+        public CoreTransportIdleConnectionParking() {
+            super(URIScheme.HTTP, false, true);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Core transport (TLS, idle connection parking)")
+    class CoreTransportTlsIdleConnectionParking extends ClassicHttp1CoreTransportTest {
+
+        public CoreTransportTlsIdleConnectionParking() {
+            super(URIScheme.HTTPS, false, true);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Core transport (socket channels)")
+    class CoreTransportSocketChannels extends ClassicHttp1CoreTransportTest {
+
+        public CoreTransportSocketChannels() {
+            super(URIScheme.HTTP, false, false, true);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Core transport (TLS, socket channels)")
+    class CoreTransportTlsSocketChannels extends ClassicHttp1CoreTransportTest {
+
+        public CoreTransportTlsSocketChannels() {
+            super(URIScheme.HTTPS, false, false, true);
+        }
+
+    }
+
     @Nested
     @DisplayName("Authentication")
     class Authentication extends ClassicAuthenticationTest {
@@ -0,0 +1,217 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.testing.classic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.testing.SSLTestContexts;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ClassicServerAdmissionControlTest {
+
+    private static final Timeout TIMEOUT = Timeout.ofMinutes(1);
+
+    private static ServerBootstrap bootstrap() {
+        return ServerBootstrap.bootstrap()
+                .setLocalAddress(InetAddress.getLoopbackAddress())
+                .setCanonicalHostName("localhost")
+                .setExceptionListener(LoggingExceptionListener.INSTANCE)
+                .setSocketConfig(SocketConfig.custom()
+                        .setSoTimeout(TIMEOUT)
+                        .build())
+                .register("*", new EchoHandler());
+    }
+
+    private static Socket connect(final HttpServer server) throws IOException {
+        final Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+        socket.setSoTimeout(TIMEOUT.toMillisecondsIntBound());
+        return socket;
+    }
+
+    private static String execute(final Socket socket) throws IOException {
+        final OutputStream outputStream = socket.getOutputStream();
+        outputStream.write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+        return readStatusLine(socket);
+    }
+
+    private static String readStatusLine(final Socket socket) throws IOException {
+        final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        return reader.readLine();
+    }
+
+    @Test
+    void testConnectionRejectedWhenWorkersExhausted() throws Exception {
+        final HttpServer server = bootstrap()
+                .setMaxWorkers(1)
+                .create();
+        server.start();
+        try (final Socket socket1 = connect(server)) {
+            // Persistent connection keeps the only worker busy
+            Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket1));
+            Assertions.assertEquals(1, server.getActiveConnectionCount());
+
+            try (final Socket socket2 = connect(server)) {
+                Assertions.assertEquals("HTTP/1.1 503 Service Unavailable", readStatusLine(socket2));
+            }
+            Assertions.assertEquals(1, server.getRejectedConnectionCount());
+        } finally {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+    @Test
+    void testQueuedConnectionRejectedAfterMaxQueueTime() throws Exception {
+        final HttpServer server = bootstrap()
+                .setMaxWorkers(1)
+                .setMaxQueuedConnections(1)
+                .setMaxQueueTime(Timeout.ofMilliseconds(100))
+                .create();
+        server.start();
+        try (final Socket socket1 = connect(server)) {
+            Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket1));
+
+            try (final Socket socket2 = connect(server)) {
+                while (server.getQueuedConnectionCount() == 0) {
+                    Thread.sleep(10);
+                }
+                Thread.sleep(200);
+                // Release the worker so that it picks up the expired connection
+                socket1.close();
+                Assertions.assertEquals("HTTP/1.1 503 Service Unavailable", readStatusLine(socket2));
+            }
+            Assertions.assertEquals(1, server.getRejectedConnectionCount());
+        } finally {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+    @Test
+    void testRejectedConnectionWithUnreadRequestReceivesResponse() throws Exception {
+        final HttpServer server = bootstrap()
+                .setMaxWorkers(1)
+                .create();
+        server.start();
+        try (final Socket socket1 = connect(server)) {
+            Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket1));
+
+            try (final Socket socket2 = connect(server)) {
+                final byte[] body = new byte[4096];
+                final OutputStream outputStream = socket2.getOutputStream();
+                outputStream.write(("POST / HTTP/1.1\r\nHost: localhost\r\nContent-Length: " + body.length + "\r\n\r\n")
+                        .getBytes(StandardCharsets.US_ASCII));
+                outputStream.write(body);
+                outputStream.flush();
+                Assertions.assertEquals("HTTP/1.1 503 Service Unavailable", readStatusLine(socket2));
+            }
+            Assertions.assertEquals(1, server.getRejectedConnectionCount());
+        } finally {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+    @Test
+    void testRejectedTlsConnectionClosed() throws Exception {
+        final HttpServer server = bootstrap()
+                .setSslContext(SSLTestContexts.createServerSSLContext())
+                .setMaxWorkers(1)
+                .create();
+        server.start();
+        final SSLSocketFactory socketFactory = SSLTestContexts.createClientSSLContext().getSocketFactory();
+        try (final Socket socket1 = socketFactory.createSocket(connect(server), "localhost", server.getLocalPort(), true)) {
+            Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket1));
+
+            try (final SSLSocket socket2 = (SSLSocket) socketFactory.createSocket(
+                    connect(server), "localhost", server.getLocalPort(), true)) {
+                socket2.startHandshake();
+                String statusLine;
+                try {
+                    statusLine = readStatusLine(socket2);
+                } catch (final IOException ex) {
+                    statusLine = null;
+                }
+                Assertions.assertNull(statusLine);
+            }
+            Assertions.assertEquals(1, server.getRejectedConnectionCount());
+        } finally {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+    @Test
+    void testQueuedTlsConnectionWithUnreadRequestRejectedAfterMaxQueueTime() throws Exception {
+        final HttpServer server = bootstrap()
+                .setSslContext(SSLTestContexts.createServerSSLContext())
+                .setMaxWorkers(1)
+                .setMaxQueuedConnections(1)
+                .setMaxQueueTime(Timeout.ofMilliseconds(100))
+                .create();
+        server.start();
+        final SSLSocketFactory socketFactory = SSLTestContexts.createClientSSLContext().getSocketFactory();
+        try (final Socket socket1 = socketFactory.createSocket(connect(server), "localhost", server.getLocalPort(), true)) {
+            Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket1));
+
+            try (final SSLSocket socket2 = (SSLSocket) socketFactory.createSocket(
+                    connect(server), "localhost", server.getLocalPort(), true)) {
+                socket2.startHandshake();
+                final byte[] body = new byte[4096];
+                final OutputStream outputStream = socket2.getOutputStream();
+                outputStream.write(("POST / HTTP/1.1\r\nHost: localhost\r\nContent-Length: " + body.length + "\r\n\r\n")
+                        .getBytes(StandardCharsets.US_ASCII));
+                outputStream.write(body);
+                outputStream.flush();
+                while (server.getQueuedConnectionCount() == 0) {
+                    Thread.sleep(10);
+                }
+                Thread.sleep(200);
+                // Release the worker so that it picks up the expired connection
+                socket1.close();
+                Assertions.assertEquals("HTTP/1.1 503 Service Unavailable", readStatusLine(socket2));
+            }
+            Assertions.assertEquals(1, server.getRejectedConnectionCount());
+        } finally {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.testing.classic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ClassicServerIdleConnectionParkingTest {
+
+    private static final Timeout TIMEOUT = Timeout.ofMinutes(1);
+
+    private static HttpServer createServer(final Timeout socketTimeout) throws IOException {
+        final HttpServer server = ServerBootstrap.bootstrap()
+                .setLocalAddress(InetAddress.getLoopbackAddress())
+                .setCanonicalHostName("localhost")
+                .setExceptionListener(LoggingExceptionListener.INSTANCE)
+                .setSocketConfig(SocketConfig.custom()
+                        .setSoTimeout(socketTimeout)
+                        .build())
+                .setMaxWorkers(1)
+                .setIdleConnectionParking(true)
+                .register("*", (request, response, context) -> response.setCode(HttpStatus.SC_OK))
+                .create();
+        server.start();
+        return server;
+    }
+
+    private static Socket connect(final HttpServer server) throws IOException {
+        final Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+        socket.setSoTimeout(TIMEOUT.toMillisecondsIntBound());
+        return socket;
+    }
+
+    private static String execute(final Socket socket) throws IOException {
+        final OutputStream outputStream = socket.getOutputStream();
+        outputStream.write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+        return readStatusLine(socket);
+    }
+
+    /**
+     * Reads a response head without reading ahead so that the connection can be reused.
+     */
+    private static String readStatusLine(final Socket socket) throws IOException {
+        final InputStream inputStream = socket.getInputStream();
+        final ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int state = 0;
+        while (state < 4) {
+            final int b = inputStream.read();
+            if (b == -1) {
+                return null;
+            }
+            head.write(b);
+            state = b == (state % 2 == 0 ? '\r' : '\n') ? state + 1 : b == '\r' ? 1 : 0;
+        }
+        final String s = new String(head.toByteArray(), StandardCharsets.US_ASCII);
+        return s.substring(0, s.indexOf("\r\n"));
+    }
+
+    private static void awaitIdleWorkers(final HttpServer server) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT.toMilliseconds();
+        while (server.getActiveConnectionCount() > 0) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Worker not released");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testParkedConnectionReleasesWorker() throws Exception {
+        final HttpServer server = createServer(TIMEOUT);
+        try (final Socket socket1 = connect(server)) {
+            Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket1));
+            awaitIdleWorkers(server);
+
+            // The only worker is available to another connection while the first one stays open
+            try (final Socket socket2 = connect(server)) {
+                Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket2));
+            }
+            Assertions.assertEquals(0, server.getRejectedConnectionCount());
+        } finally {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+    @Test
+    void testParkedConnectionResumed() throws Exception {
+        final HttpServer server = createServer(TIMEOUT);
+        try (final Socket socket1 = connect(server)) {
+            Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket1));
+            awaitIdleWorkers(server);
+            try (final Socket socket2 = connect(server)) {
+                Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket2));
+                awaitIdleWorkers(server);
+                for (int i = 0; i < 3; i++) {
+                    Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket1));
+                    awaitIdleWorkers(server);
+                    Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket2));
+                    awaitIdleWorkers(server);
+                }
+            }
+            Assertions.assertEquals(0, server.getRejectedConnectionCount());
+        } finally {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+    @Test
+    void testParkedConnectionClosedAfterSocketTimeout() throws Exception {
+        final HttpServer server = createServer(Timeout.ofMilliseconds(500));
+        try (final Socket socket = connect(server)) {
+            Assertions.assertEquals("HTTP/1.1 200 OK", execute(socket));
+            awaitIdleWorkers(server);
+            // The parked connection gets closed by the server well before the client times out
+            int b;
+            try {
+                b = socket.getInputStream().read();
+            } catch (final SocketException ex) {
+                b = -1;
+            }
+            Assertions.assertEquals(-1, b);
+        } finally {
+            server.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+}
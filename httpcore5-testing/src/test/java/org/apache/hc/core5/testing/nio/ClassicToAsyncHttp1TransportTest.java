@@ -57,6 +57,10 @@ public ClassicToAsyncHttp1TransportTest(final URIScheme scheme, final HttpVersio
         super(scheme, version);
     }
 
+    public ClassicToAsyncHttp1TransportTest(final URIScheme scheme, final HttpVersion version, final boolean lockFreeBuffers) {
+        super(scheme, version, lockFreeBuffers);
+    }
+
     @ValueSource(ints = {0, 2048, 10240})
     @ParameterizedTest(name = "{displayName}; content length: {0}")
     void test_request_handling_no_keep_alive(final int contentSize) throws Exception {
@@ -83,8 +87,8 @@ void test_request_handling_no_keep_alive(final int contentSize) throws Exception
                     .setEntity(new ByteArrayEntity(temp, ContentType.DEFAULT_BINARY))
                     .build();
 
-            final ClassicToAsyncRequestProducer requestProducer = new ClassicToAsyncRequestProducer(request, TIMEOUT);
-            final ClassicToAsyncResponseConsumer responseConsumer = new ClassicToAsyncResponseConsumer(TIMEOUT);
+            final ClassicToAsyncRequestProducer requestProducer = new ClassicToAsyncRequestProducer(request, 2048, lockFreeBuffers, TIMEOUT);
+            final ClassicToAsyncResponseConsumer responseConsumer = new ClassicToAsyncResponseConsumer(2048, lockFreeBuffers, TIMEOUT);
 
             requester.execute(requestProducer, responseConsumer, TIMEOUT, null);
 
@@ -74,4 +74,64 @@ public ClassicOverAsyncTransportH2Tls() {
 
     }
 
+    @Nested
+    @DisplayName("Classic over async transport (HTTP/1.1, lock-free buffers)")
+    class ClassicOverAsyncTransportLockFree extends ClassicToAsyncHttp1TransportTest {
+
+        public ClassicOverAsyncTransportLockFree() {
+            super(URIScheme.HTTP, HttpVersion.HTTP_1_1, true);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Classic over async transport (HTTP/2, lock-free buffers)")
+    class ClassicOverAsyncTransportH2LockFree extends ClassicToAsyncTransportTest {
+
+        public ClassicOverAsyncTransportH2LockFree() {
+            super(URIScheme.HTTP, HttpVersion.HTTP_2, true);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Classic requester over async transport (HTTP/1.1)")
+    class ClassicRequesterOverAsyncTransport extends ClassicToAsyncRequesterTest {
+
+        public ClassicRequesterOverAsyncTransport() {
+            super(URIScheme.HTTP, HttpVersion.HTTP_1_1, false, false);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Classic requester over async transport (HTTP/2)")
+    class ClassicRequesterOverAsyncTransportH2 extends ClassicToAsyncRequesterTest {
+
+        public ClassicRequesterOverAsyncTransportH2() {
+            super(URIScheme.HTTP, HttpVersion.HTTP_2, false, false);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Classic requester over multiplexing async transport (HTTP/2, TLS)")
+    class ClassicRequesterOverMultiplexingTransportTls extends ClassicToAsyncRequesterTest {
+
+        public ClassicRequesterOverMultiplexingTransportTls() {
+            super(URIScheme.HTTPS, HttpVersion.HTTP_2, true, false);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Classic requester over multiplexing async transport (HTTP/2, lock-free buffers)")
+    class ClassicRequesterOverMultiplexingTransportLockFree extends ClassicToAsyncRequesterTest {
+
+        public ClassicRequesterOverMultiplexingTransportLockFree() {
+            super(URIScheme.HTTP, HttpVersion.HTTP_2, true, true);
+        }
+
+    }
+
 }
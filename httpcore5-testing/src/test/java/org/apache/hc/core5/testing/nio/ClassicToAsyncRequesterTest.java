@@ -0,0 +1,231 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.testing.nio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hc.core5.function.Supplier;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.HttpVersion;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
+import org.apache.hc.core5.http.impl.routing.RequestRouter;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
+import org.apache.hc.core5.http.nio.AsyncServerExchangeHandler;
+import org.apache.hc.core5.http.nio.support.classic.ClassicToAsyncRequester;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.ssl.H2ClientTlsStrategy;
+import org.apache.hc.core5.http2.ssl.H2ServerTlsStrategy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.reactor.ListenerEndpoint;
+import org.apache.hc.core5.testing.SSLTestContexts;
+import org.apache.hc.core5.testing.extension.classic.ExecutorResource;
+import org.apache.hc.core5.testing.extension.nio.H2AsyncRequesterResource;
+import org.apache.hc.core5.testing.extension.nio.H2AsyncServerResource;
+import org.apache.hc.core5.testing.extension.nio.H2MultiplexingRequesterResource;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+abstract class ClassicToAsyncRequesterTest {
+
+    static final Timeout TIMEOUT = Timeout.ofMinutes(1);
+
+    final URIScheme scheme;
+    final boolean multiplexing;
+    final boolean lockFreeBuffers;
+    @RegisterExtension
+    final H2AsyncServerResource serverResource;
+    @RegisterExtension
+    final H2AsyncRequesterResource clientResource;
+    @RegisterExtension
+    final H2MultiplexingRequesterResource multiplexingClientResource;
+    @RegisterExtension
+    final ExecutorResource executorResource;
+
+    public ClassicToAsyncRequesterTest(
+            final URIScheme scheme,
+            final HttpVersion version,
+            final boolean multiplexing,
+            final boolean lockFreeBuffers) {
+        this.scheme = scheme;
+        this.multiplexing = multiplexing;
+        this.lockFreeBuffers = lockFreeBuffers;
+        this.serverResource = new H2AsyncServerResource();
+        this.serverResource.configure(bootstrap -> bootstrap
+                .setVersionPolicy(version.lessEquals(HttpVersion.HTTP_1_1) ? HttpVersionPolicy.FORCE_HTTP_1 : HttpVersionPolicy.FORCE_HTTP_2)
+                .setTlsStrategy(new H2ServerTlsStrategy(SSLTestContexts.createServerSSLContext()))
+                .setIOReactorConfig(
+                        IOReactorConfig.custom()
+                                .setSoTimeout(TIMEOUT)
+                                .build())
+                .setRequestRouter(RequestRouter.<Supplier<AsyncServerExchangeHandler>>builder()
+                        .addRoute(RequestRouter.LOCAL_AUTHORITY, "*", () -> new EchoHandler(2048))
+                        .resolveAuthority(RequestRouter.LOCAL_AUTHORITY_RESOLVER)
+                        .build())
+        );
+        this.clientResource = new H2AsyncRequesterResource();
+        this.clientResource.configure(bootstrap -> bootstrap
+                .setVersionPolicy(version.lessEquals(HttpVersion.HTTP_1_1) ? HttpVersionPolicy.FORCE_HTTP_1 : HttpVersionPolicy.FORCE_HTTP_2)
+                .setTlsStrategy(new H2ClientTlsStrategy(SSLTestContexts.createClientSSLContext()))
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setSoTimeout(TIMEOUT)
+                        .build())
+        );
+        this.multiplexingClientResource = new H2MultiplexingRequesterResource();
+        this.multiplexingClientResource.configure(bootstrap -> bootstrap
+                .setTlsStrategy(new H2ClientTlsStrategy(SSLTestContexts.createClientSSLContext()))
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setSoTimeout(TIMEOUT)
+                        .build())
+        );
+        this.executorResource = new ExecutorResource(20);
+    }
+
+    ClassicToAsyncRequester createRequester() {
+        final ClassicToAsyncRequester.ExchangeExecutor exchangeExecutor = multiplexing ?
+                multiplexingClientResource.start()::execute :
+                clientResource.start()::execute;
+        return new ClassicToAsyncRequester(exchangeExecutor, 1024, lockFreeBuffers);
+    }
+
+    HttpHost startServer() throws Exception {
+        final HttpAsyncServer server = serverResource.start();
+        final Future<ListenerEndpoint> future = server.listen(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), scheme);
+        final ListenerEndpoint listener = future.get();
+        final InetSocketAddress address = (InetSocketAddress) listener.getAddress();
+        return new HttpHost(scheme.id, "localhost", address.getPort());
+    }
+
+    @Test
+    void test_sequential_requests() throws Exception {
+        final HttpHost target = startServer();
+        final ClassicToAsyncRequester requester = createRequester();
+
+        for (int i = 0; i < 10; i++) {
+            final ClassicHttpRequest request = ClassicRequestBuilder.post()
+                    .setHttpHost(target)
+                    .setPath("/echo")
+                    .setEntity(new StringEntity("stuff " + i, ContentType.TEXT_PLAIN))
+                    .build();
+            try (ClassicHttpResponse response = requester.execute(target, request, TIMEOUT, null)) {
+                Assertions.assertEquals(HttpStatus.SC_OK, response.getCode());
+                Assertions.assertEquals("stuff " + i, EntityUtils.toString(response.getEntity(), StandardCharsets.US_ASCII, Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    @Test
+    void test_concurrent_blocking_requests() throws Exception {
+        final HttpHost target = startServer();
+        final ClassicToAsyncRequester requester = createRequester();
+
+        final StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            buf.append("0123456789abcdef\r\n");
+        }
+        final String content = buf.toString();
+
+        final ExecutorService executorService = executorResource.getExecutorService();
+        final List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(executorService.submit(() -> {
+                final ClassicHttpRequest request = ClassicRequestBuilder.post()
+                        .setHttpHost(target)
+                        .setPath("/echo")
+                        .setEntity(new StringEntity(content, ContentType.TEXT_PLAIN))
+                        .build();
+                return requester.execute(target, request, TIMEOUT, null, response -> {
+                    Assertions.assertEquals(HttpStatus.SC_OK, response.getCode());
+                    final HttpEntity entity = response.getEntity();
+                    try (InputStream inputStream = entity.getContent()) {
+                        final StringBuilder result = new StringBuilder();
+                        final byte[] tmp = new byte[256];
+                        int l;
+                        while ((l = inputStream.read(tmp)) != -1) {
+                            result.append(new String(tmp, 0, l, StandardCharsets.US_ASCII));
+                        }
+                        return result.toString();
+                    }
+                });
+            }));
+        }
+        for (final Future<String> future : futures) {
+            Assertions.assertEquals(content, future.get(TIMEOUT.getDuration(), TIMEOUT.getTimeUnit()));
+        }
+    }
+
+    @Test
+    void test_request_target_from_authority() throws Exception {
+        final HttpHost target = startServer();
+        final ClassicToAsyncRequester requester = createRequester();
+
+        final ClassicHttpRequest request = ClassicRequestBuilder.get()
+                .setHttpHost(target)
+                .setPath("/echo")
+                .build();
+        try (ClassicHttpResponse response = requester.execute(request, TIMEOUT, null)) {
+            Assertions.assertEquals(HttpStatus.SC_OK, response.getCode());
+            EntityUtils.consume(response.getEntity());
+        }
+    }
+
+    @Test
+    void test_connection_failure() throws Exception {
+        final int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        final HttpHost target = new HttpHost(scheme.id, "localhost", port);
+        final ClassicToAsyncRequester requester = createRequester();
+
+        final ClassicHttpRequest request = ClassicRequestBuilder.post()
+                .setHttpHost(target)
+                .setPath("/echo")
+                .setEntity(new StringEntity("stuff", ContentType.TEXT_PLAIN))
+                .build();
+        Assertions.assertThrows(IOException.class, () -> requester.execute(target, request, TIMEOUT, null));
+    }
+
+}
@@ -63,6 +63,7 @@
 import org.apache.hc.core5.http.io.HttpRequestHandler;
 import org.apache.hc.core5.http.io.entity.EntityTemplate;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.support.BasicHttpServerRequestHandler;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
 import org.apache.hc.core5.http.message.BasicHttpRequest;
 import org.apache.hc.core5.http.nio.AsyncEntityProducer;
@@ -96,6 +97,7 @@ abstract class ClassicToAsyncTransportTest {
     static final Timeout TIMEOUT = Timeout.ofMinutes(1);
 
     final URIScheme scheme;
+    final boolean lockFreeBuffers;
     @RegisterExtension
     final H2AsyncServerResource serverResource;
     @RegisterExtension
@@ -104,7 +106,12 @@ abstract class ClassicToAsyncTransportTest {
     final ExecutorResource executorResource;
 
     public ClassicToAsyncTransportTest(final URIScheme scheme, final HttpVersion version) {
+        this(scheme, version, false);
+    }
+
+    public ClassicToAsyncTransportTest(final URIScheme scheme, final HttpVersion version, final boolean lockFreeBuffers) {
         this.scheme = scheme;
+        this.lockFreeBuffers = lockFreeBuffers;
         this.serverResource = new H2AsyncServerResource();
         this.serverResource.configure(bootstrap -> bootstrap
                 .setVersionPolicy(version.lessEquals(HttpVersion.HTTP_1_1) ? HttpVersionPolicy.FORCE_HTTP_1 : HttpVersionPolicy.FORCE_HTTP_2)
@@ -142,8 +149,10 @@ void registerHandler(
 
     void registerHandler(final String pathPattern, final HttpRequestHandler requestHandler) {
         registerHandler(pathPattern, () -> new ClassicToAsyncServerExchangeHandler(
+                2048,
+                lockFreeBuffers,
                 executorResource.getExecutorService(),
-                requestHandler,
+                new BasicHttpServerRequestHandler((request, context) -> requestHandler),
                 LoggingExceptionCallback.INSTANCE));
     }
 
@@ -178,8 +187,8 @@ void test_request_execution() throws Exception {
                                 }
                             }))
                     .build();
-            final ClassicToAsyncRequestProducer requestProducer = new ClassicToAsyncRequestProducer(request1, 16, TIMEOUT);
-            final ClassicToAsyncResponseConsumer responseConsumer = new ClassicToAsyncResponseConsumer(16, TIMEOUT);
+            final ClassicToAsyncRequestProducer requestProducer = new ClassicToAsyncRequestProducer(request1, 16, lockFreeBuffers, TIMEOUT);
+            final ClassicToAsyncResponseConsumer responseConsumer = new ClassicToAsyncResponseConsumer(16, lockFreeBuffers, TIMEOUT);
 
             requester.execute(requestProducer, responseConsumer, TIMEOUT, null);
 
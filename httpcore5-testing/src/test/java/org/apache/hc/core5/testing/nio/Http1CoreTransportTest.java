@@ -32,11 +32,20 @@
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.hc.core5.function.Supplier;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HeaderElements;
+import org.apache.hc.core5.http.HttpConnection;
 import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpHost;
@@ -46,10 +55,12 @@
 import org.apache.hc.core5.http.Message;
 import org.apache.hc.core5.http.Method;
 import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.impl.Http1StreamListener;
 import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncRequester;
 import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
 import org.apache.hc.core5.http.impl.bootstrap.StandardFilter;
 import org.apache.hc.core5.http.impl.routing.RequestRouter;
+import org.apache.hc.core5.http.nio.AsyncClientEndpoint;
 import org.apache.hc.core5.http.nio.AsyncEntityProducer;
 import org.apache.hc.core5.http.nio.AsyncFilterChain;
 import org.apache.hc.core5.http.nio.AsyncPushProducer;
@@ -66,24 +77,35 @@
 import org.apache.hc.core5.testing.extension.nio.HttpAsyncRequesterResource;
 import org.apache.hc.core5.testing.extension.nio.HttpAsyncServerResource;
 import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 abstract class Http1CoreTransportTest extends HttpCoreTransportTest {
 
     private static final Timeout TIMEOUT = Timeout.ofMinutes(1);
+    private static final long RESPONSE_DELAY_MILLIS = 500;
 
     @RegisterExtension
     private final HttpAsyncServerResource serverResource;
     @RegisterExtension
     private final HttpAsyncRequesterResource clientResource;
 
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger requestsInFlight;
+    private final AtomicInteger maxRequestsInFlight;
+    private final Set<HttpConnection> clientConnections;
+
     public Http1CoreTransportTest(final URIScheme scheme) {
         this(scheme, null);
     }
 
     public Http1CoreTransportTest(final URIScheme scheme, final String tlsProtocol) {
         super(scheme);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        this.requestsInFlight = new AtomicInteger();
+        this.maxRequestsInFlight = new AtomicInteger();
+        this.clientConnections = ConcurrentHashMap.newKeySet();
         this.serverResource = new HttpAsyncServerResource();
         this.serverResource.configure(bootstrap -> bootstrap
                 .setTlsStrategy(new H2ServerTlsStrategy(SSLTestContexts.createServerSSLContext(tlsProtocol)))
@@ -113,6 +135,14 @@ public void submitResponse(
                                 if (request.getPath().startsWith("/no-keep-alive")) {
                                     response.setHeader(HttpHeaders.CONNECTION, HeaderElements.CLOSE);
                                 }
+                                if (request.getPath().startsWith("/delayed")) {
+                                    // Hold the response back to let the client pipeline more requests
+                                    scheduler.schedule(() -> {
+                                        responseTrigger.submitResponse(response, entityProducer);
+                                        return null;
+                                    }, RESPONSE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                                    return;
+                                }
                                 responseTrigger.submitResponse(response, entityProducer);
                             }
 
@@ -131,9 +161,35 @@ public void pushPromise(
                 .setIOReactorConfig(IOReactorConfig.custom()
                         .setSoTimeout(TIMEOUT)
                         .build())
+                .setStreamListener(new Http1StreamListener() {
+
+                    @Override
+                    public void onRequestHead(final HttpConnection connection, final HttpRequest request) {
+                        LoggingHttp1StreamListener.INSTANCE_CLIENT.onRequestHead(connection, request);
+                        clientConnections.add(connection);
+                        maxRequestsInFlight.accumulateAndGet(requestsInFlight.incrementAndGet(), Math::max);
+                    }
+
+                    @Override
+                    public void onResponseHead(final HttpConnection connection, final HttpResponse response) {
+                        LoggingHttp1StreamListener.INSTANCE_CLIENT.onResponseHead(connection, response);
+                        requestsInFlight.decrementAndGet();
+                    }
+
+                    @Override
+                    public void onExchangeComplete(final HttpConnection connection, final boolean keepAlive) {
+                        LoggingHttp1StreamListener.INSTANCE_CLIENT.onExchangeComplete(connection, keepAlive);
+                    }
+
+                })
         );
     }
 
+    @AfterEach
+    void shutdownScheduler() {
+        scheduler.shutdownNow();
+    }
+
     @Override
     HttpAsyncServer serverStart() throws IOException {
         return serverResource.start();
@@ -187,4 +243,75 @@ void testSequentialRequestsNonPersistentConnection() throws Exception {
         Assertions.assertEquals("some more stuff", body3);
     }
 
+    @Test
+    void testPipelinedRequests() throws Exception {
+        final HttpAsyncServer server = serverResource.start();
+        final Future<ListenerEndpoint> future = server.listen(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), scheme);
+        final ListenerEndpoint listener = future.get();
+        final InetSocketAddress address = (InetSocketAddress) listener.getAddress();
+        final HttpAsyncRequester requester = clientResource.start();
+
+        final HttpHost target = new HttpHost(scheme.id, "localhost", address.getPort());
+        final Future<AsyncClientEndpoint> connectFuture = requester.connectPipelined(target, TIMEOUT, 4, null);
+        final AsyncClientEndpoint endpoint = connectFuture.get(TIMEOUT.getDuration(), TIMEOUT.getTimeUnit());
+        try {
+            final List<Future<Message<HttpResponse, String>>> queue = new ArrayList<>();
+            // The first response is delayed, so the requests behind it can only
+            // complete if they get written to the connection ahead of it
+            queue.add(endpoint.execute(
+                    new BasicRequestProducer(Method.GET, target, "/delayed/stuff"),
+                    new BasicResponseConsumer<>(new StringAsyncEntityConsumer()), null));
+            for (int i = 0; i < 10; i++) {
+                queue.add(endpoint.execute(
+                        new BasicRequestProducer(Method.GET, target, "/stuff/" + i),
+                        new BasicResponseConsumer<>(new StringAsyncEntityConsumer()), null));
+            }
+            for (final Future<Message<HttpResponse, String>> messageFuture : queue) {
+                final Message<HttpResponse, String> message = messageFuture.get(TIMEOUT.getDuration(), TIMEOUT.getTimeUnit());
+                Assertions.assertEquals(HttpStatus.SC_OK, message.head().getCode());
+            }
+            Assertions.assertTrue(maxRequestsInFlight.get() > 1, "Requests were not pipelined");
+            Assertions.assertTrue(maxRequestsInFlight.get() <= 4, "Pipeline depth exceeded");
+            Assertions.assertEquals(1, clientConnections.size());
+        } finally {
+            endpoint.releaseAndReuse();
+        }
+    }
+
+    @Test
+    void testPipelinedRequestsReplayedAfterConnectionClose() throws Exception {
+        final HttpAsyncServer server = serverResource.start();
+        final Future<ListenerEndpoint> future = server.listen(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), scheme);
+        final ListenerEndpoint listener = future.get();
+        final InetSocketAddress address = (InetSocketAddress) listener.getAddress();
+        final HttpAsyncRequester requester = clientResource.start();
+
+        final HttpHost target = new HttpHost(scheme.id, "localhost", address.getPort());
+        final Future<AsyncClientEndpoint> connectFuture = requester.connectPipelined(target, TIMEOUT, 4, null);
+        final AsyncClientEndpoint endpoint = connectFuture.get(TIMEOUT.getDuration(), TIMEOUT.getTimeUnit());
+        try {
+            final List<Future<Message<HttpResponse, String>>> queue = new ArrayList<>();
+            // The first response closes the connection; the GET requests pipelined
+            // behind it get re-executed over a new connection
+            queue.add(endpoint.execute(
+                    new BasicRequestProducer(Method.POST, target, "/no-keep-alive/stuff",
+                            new StringAsyncEntityProducer("some stuff", ContentType.TEXT_PLAIN)),
+                    new BasicResponseConsumer<>(new StringAsyncEntityConsumer()), null));
+            for (int i = 0; i < 10; i++) {
+                queue.add(endpoint.execute(
+                        new BasicRequestProducer(Method.GET, target, "/stuff/" + i),
+                        new BasicResponseConsumer<>(new StringAsyncEntityConsumer()), null));
+            }
+            final Message<HttpResponse, String> message1 = queue.get(0).get(TIMEOUT.getDuration(), TIMEOUT.getTimeUnit());
+            Assertions.assertEquals(HttpStatus.SC_OK, message1.head().getCode());
+            Assertions.assertEquals("some stuff", message1.body());
+            for (int i = 1; i < queue.size(); i++) {
+                final Message<HttpResponse, String> message = queue.get(i).get(TIMEOUT.getDuration(), TIMEOUT.getTimeUnit());
+                Assertions.assertEquals(HttpStatus.SC_OK, message.head().getCode());
+            }
+        } finally {
+            endpoint.releaseAndReuse();
+        }
+    }
+
 }
@@ -33,6 +33,7 @@
 import java.nio.ByteBuffer;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -728,6 +729,41 @@ void testPipelinedInvalidRequest() throws Exception {
         Assertions.assertTrue(exception instanceof CancellationException || exception instanceof ExecutionException);
     }
 
+    @Test
+    void testPipelinedRequestsBoundedDepth() throws Exception {
+        final Http1TestServer server = resources.server();
+        final Http1TestClient client = resources.client();
+
+        server.configure(Http1Config.custom()
+                .setMaxPipelinedRequests(2)
+                .build());
+        server.register("/hello*", () -> new SingleLineResponseHandler("Hi back"));
+        final InetSocketAddress serverEndpoint = server.start();
+
+        final HttpHost target = target(serverEndpoint);
+
+        client.start();
+        final Future<ClientSessionEndpoint> connectFuture = client.connect(target, TIMEOUT);
+        final ClientSessionEndpoint streamEndpoint = connectFuture.get();
+
+        final List<Future<Message<HttpResponse, String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final BasicHttpRequest request = BasicRequestBuilder.get()
+                    .setHttpHost(target)
+                    .setPath("/hello-" + i)
+                    .build();
+            futures.add(streamEndpoint.execute(
+                    new BasicRequestProducer(request, null),
+                    new BasicResponseConsumer<>(new StringAsyncEntityConsumer()), null));
+        }
+        for (final Future<Message<HttpResponse, String>> future : futures) {
+            final Message<HttpResponse, String> result = future.get(TIMEOUT.getDuration(), TIMEOUT.getTimeUnit());
+            Assertions.assertNotNull(result);
+            Assertions.assertEquals(200, result.head().getCode());
+            Assertions.assertEquals("Hi back", result.body());
+        }
+    }
+
     private static final byte[] GARBAGE = "garbage".getBytes(StandardCharsets.US_ASCII);
 
     private static class BrokenChunkEncoder extends AbstractContentEncoder {
@@ -31,6 +31,7 @@
 import org.apache.hc.core5.annotation.ThreadingBehavior;
 import org.apache.hc.core5.http.HttpVersion;
 import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 
 /**
@@ -56,10 +57,17 @@ public class Http1Config {
     private final int maxHeaderCount;
     private final int maxEmptyLineCount;
     private final int initialWindowSize;
+    private final boolean byteLevelHeadParsing;
+    private final boolean adaptiveChunking;
+    private final int maxPipelinedRequests;
+    private final boolean outputCoalescing;
+    private final TimeValue staleCheckThreshold;
 
     Http1Config(final HttpVersion version, final int bufferSize, final int chunkSizeHint,
                 final Timeout waitForContinueTimeout, final int maxLineLength, final int maxHeaderCount,
-                final int maxEmptyLineCount, final int initialWindowSize) {
+                final int maxEmptyLineCount, final int initialWindowSize, final boolean byteLevelHeadParsing,
+                final boolean adaptiveChunking, final int maxPipelinedRequests, final boolean outputCoalescing,
+                final TimeValue staleCheckThreshold) {
         super();
         this.version = version;
         this.bufferSize = bufferSize;
@@ -69,6 +77,11 @@ public class Http1Config {
         this.maxHeaderCount = maxHeaderCount;
         this.maxEmptyLineCount = maxEmptyLineCount;
         this.initialWindowSize = initialWindowSize;
+        this.byteLevelHeadParsing = byteLevelHeadParsing;
+        this.adaptiveChunking = adaptiveChunking;
+        this.maxPipelinedRequests = maxPipelinedRequests;
+        this.outputCoalescing = outputCoalescing;
+        this.staleCheckThreshold = staleCheckThreshold;
     }
 
     /**
@@ -109,6 +122,61 @@ public int getInitialWindowSize() {
         return initialWindowSize;
     }
 
+    /**
+     * Determines whether non-blocking message parsers should parse message heads
+     * directly from the session input buffer bytes instead of decoding each head line
+     * into an intermediate char buffer first. Only effective when protocol elements
+     * are not subject to charset decoding.
+     *
+     * @since 5.5
+     */
+    public boolean isByteLevelHeadParsing() {
+        return byteLevelHeadParsing;
+    }
+
+    /**
+     * Determines whether non-blocking chunk encoders should coalesce small writes
+     * into larger chunks and grow the chunk size for sustained bulk streams.
+     *
+     * @since 5.5
+     */
+    public boolean isAdaptiveChunking() {
+        return adaptiveChunking;
+    }
+
+    /**
+     * Maximum number of pipelined requests a non-blocking server connection
+     * processes ahead of the response being sent. Zero or negative values mean
+     * no limit.
+     *
+     * @since 5.5
+     */
+    public int getMaxPipelinedRequests() {
+        return maxPipelinedRequests;
+    }
+
+    /**
+     * Determines whether non-blocking connections should hold back output produced
+     * while handling an I/O event and write it out all at once when done with the event.
+     *
+     * @since 5.5
+     */
+    public boolean isOutputCoalescing() {
+        return outputCoalescing;
+    }
+
+    /**
+     * Period of inactivity after which blocking connections probe the underlying
+     * socket when checked for staleness. Connections that have been active more
+     * recently are considered not stale without a probe. {@code null} means
+     * connections always get probed.
+     *
+     * @since 5.5
+     */
+    public TimeValue getStaleCheckThreshold() {
+        return staleCheckThreshold;
+    }
+
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
@@ -120,6 +188,11 @@ public String toString() {
                 .append(", maxHeaderCount=").append(maxHeaderCount)
                 .append(", maxEmptyLineCount=").append(maxEmptyLineCount)
                 .append(", initialWindowSize=").append(initialWindowSize)
+                .append(", byteLevelHeadParsing=").append(byteLevelHeadParsing)
+                .append(", adaptiveChunking=").append(adaptiveChunking)
+                .append(", maxPipelinedRequests=").append(maxPipelinedRequests)
+                .append(", outputCoalescing=").append(outputCoalescing)
+                .append(", staleCheckThreshold=").append(staleCheckThreshold)
                 .append("]");
         return builder.toString();
     }
@@ -137,7 +210,12 @@ public static Http1Config.Builder copy(final Http1Config config) {
                 .setMaxHeaderCount(config.getMaxHeaderCount())
                 .setMaxLineLength(config.getMaxLineLength())
                 .setMaxEmptyLineCount(config.getMaxEmptyLineCount())
-                .setInitialWindowSize(config.getInitialWindowSize());
+                .setInitialWindowSize(config.getInitialWindowSize())
+                .setByteLevelHeadParsing(config.isByteLevelHeadParsing())
+                .setAdaptiveChunking(config.isAdaptiveChunking())
+                .setMaxPipelinedRequests(config.getMaxPipelinedRequests())
+                .setOutputCoalescing(config.isOutputCoalescing())
+                .setStaleCheckThreshold(config.getStaleCheckThreshold());
     }
 
     private static final int INIT_WINDOW_SIZE = 65535;
@@ -160,6 +238,11 @@ public static class Builder {
         private int maxHeaderCount;
         private int maxEmptyLineCount;
         private int initialWindowSize;
+        private boolean byteLevelHeadParsing;
+        private boolean adaptiveChunking;
+        private int maxPipelinedRequests;
+        private boolean outputCoalescing;
+        private TimeValue staleCheckThreshold;
 
         Builder() {
             this.version = HttpVersion.HTTP_1_1;
@@ -224,6 +307,79 @@ public Builder setInitialWindowSize(final int initialWindowSize) {
             return this;
         }
 
+        /**
+         * Enables parsing of message heads directly from the session input buffer
+         * bytes. Header names and values get materialized only when accessed.
+         *
+         * @return this instance.
+         * @since 5.5
+         */
+        public Builder setByteLevelHeadParsing(final boolean byteLevelHeadParsing) {
+            this.byteLevelHeadParsing = byteLevelHeadParsing;
+            return this;
+        }
+
+        /**
+         * Enables coalescing of small writes into chunks of a target size by
+         * non-blocking chunk encoders. Buffered content is framed as a chunk once
+         * the target size is reached, when the message is completed or when
+         * the session is about to flush its output. The target size starts at
+         * the chunk size hint and grows for sustained bulk streams.
+         *
+         * @return this instance.
+         * @since 5.5
+         */
+        public Builder setAdaptiveChunking(final boolean adaptiveChunking) {
+            this.adaptiveChunking = adaptiveChunking;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pipelined requests a non-blocking server
+         * connection processes ahead of the response being sent. Once the limit
+         * is reached the connection stops parsing further requests until
+         * the outstanding responses have been written out. Zero or negative
+         * values mean no limit.
+         *
+         * @return this instance.
+         * @since 5.5
+         */
+        public Builder setMaxPipelinedRequests(final int maxPipelinedRequests) {
+            this.maxPipelinedRequests = maxPipelinedRequests;
+            return this;
+        }
+
+        /**
+         * Enables coalescing of output by non-blocking connections. Message heads
+         * and content produced while handling an I/O event are accumulated in
+         * the session buffer instead of being flushed individually and get written
+         * out with a single write operation once the event has been handled.
+         * Output submitted outside of the I/O dispatch thread is written out
+         * with the next output event.
+         *
+         * @return this instance.
+         * @since 5.5
+         */
+        public Builder setOutputCoalescing(final boolean outputCoalescing) {
+            this.outputCoalescing = outputCoalescing;
+            return this;
+        }
+
+        /**
+         * Sets the period of inactivity after which blocking connections probe
+         * the underlying socket when checked for staleness. Connections that sent
+         * or received a message more recently are considered not stale without
+         * a probe, saving the cost of a read attempt on frequently reused
+         * connections. {@code null} means connections always get probed.
+         *
+         * @return this instance.
+         * @since 5.5
+         */
+        public Builder setStaleCheckThreshold(final TimeValue staleCheckThreshold) {
+            this.staleCheckThreshold = staleCheckThreshold;
+            return this;
+        }
+
         public Http1Config build() {
             return new Http1Config(
                     version,
@@ -233,7 +389,12 @@ public Http1Config build() {
                     maxLineLength,
                     maxHeaderCount,
                     maxEmptyLineCount,
-                    initialWindowSize);
+                    initialWindowSize,
+                    byteLevelHeadParsing,
+                    adaptiveChunking,
+                    maxPipelinedRequests,
+                    outputCoalescing,
+                    staleCheckThreshold);
         }
 
     }
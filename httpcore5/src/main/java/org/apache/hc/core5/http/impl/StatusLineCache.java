@@ -0,0 +1,104 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.Internal;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.http.ProtocolVersion;
+import org.apache.hc.core5.http.message.BasicLineFormatter;
+import org.apache.hc.core5.http.message.StatusLine;
+import org.apache.hc.core5.util.CharArrayBuffer;
+import org.apache.hc.core5.util.TextUtils;
+
+/**
+ * Cache of status lines encoded with {@link BasicLineFormatter}. The cache keeps
+ * one entry per status code keyed by protocol version and reason phrase,
+ * which bounds its size while covering the usual case of a server sending
+ * the same few status lines over and over.
+ *
+ * @since 5.5
+ */
+@Internal
+@Contract(threading = ThreadingBehavior.SAFE)
+public final class StatusLineCache {
+
+    public static final StatusLineCache INSTANCE = new StatusLineCache();
+
+    private static final int MIN_CODE = 100;
+    private static final int MAX_CODE = 599;
+
+    private final AtomicReferenceArray<Entry> entries;
+
+    public StatusLineCache() {
+        this.entries = new AtomicReferenceArray<>(MAX_CODE - MIN_CODE + 1);
+    }
+
+    /**
+     * Returns the encoded status line without the line delimiter. The returned
+     * array is shared and must not be modified.
+     *
+     * @return the encoded status line or {@code null} if the status code is
+     * outside of the cached range.
+     */
+    public byte[] getEncoded(final ProtocolVersion version, final int code, final String reasonPhrase) {
+        if (version == null || code < MIN_CODE || code > MAX_CODE) {
+            return null;
+        }
+        final int idx = code - MIN_CODE;
+        final Entry entry = entries.get(idx);
+        if (entry != null && entry.version.equals(version) && Objects.equals(entry.reasonPhrase, reasonPhrase)) {
+            return entry.encoded;
+        }
+        final CharArrayBuffer buffer = new CharArrayBuffer(32);
+        BasicLineFormatter.INSTANCE.formatStatusLine(buffer, new StatusLine(version, code, reasonPhrase));
+        final byte[] encoded = new byte[buffer.length()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = TextUtils.castAsByte(buffer.charAt(i));
+        }
+        entries.set(idx, new Entry(version, reasonPhrase, encoded));
+        return encoded;
+    }
+
+    private static final class Entry {
+
+        final ProtocolVersion version;
+        final String reasonPhrase;
+        final byte[] encoded;
+
+        Entry(final ProtocolVersion version, final String reasonPhrase, final byte[] encoded) {
+            this.version = version;
+            this.reasonPhrase = reasonPhrase;
+            this.encoded = encoded;
+        }
+
+    }
+
+}
@@ -40,6 +40,7 @@
 import org.apache.hc.core5.http.nio.ssl.BasicClientTlsStrategy;
 import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
 import org.apache.hc.core5.http.protocol.HttpProcessor;
+import org.apache.hc.core5.pool.ConnPoolInstrumentation;
 import org.apache.hc.core5.pool.ConnPoolListener;
 import org.apache.hc.core5.pool.DefaultDisposalCallback;
 import org.apache.hc.core5.pool.LaxConnPool;
@@ -53,6 +54,7 @@
 import org.apache.hc.core5.reactor.IOReactorMetricsListener;
 import org.apache.hc.core5.reactor.IOSession;
 import org.apache.hc.core5.reactor.IOSessionListener;
+import org.apache.hc.core5.reactor.IOWorkers;
 import org.apache.hc.core5.util.Timeout;
 
 /**
@@ -72,6 +74,7 @@ public class AsyncRequesterBootstrap {
     private Timeout timeToLive;
     private PoolReusePolicy poolReusePolicy;
     private PoolConcurrencyPolicy poolConcurrencyPolicy;
+    private boolean poolWorkerAffinity;
     private TlsStrategy tlsStrategy;
     private Timeout handshakeTimeout;
     private Decorator<IOSession> ioSessionDecorator;
@@ -79,6 +82,7 @@ public class AsyncRequesterBootstrap {
     private IOSessionListener sessionListener;
     private Http1StreamListener streamListener;
     private ConnPoolListener<HttpHost> connPoolListener;
+    private ConnPoolInstrumentation<HttpHost> connPoolInstrumentation;
     private IOReactorMetricsListener threadPoolListener;
     private int maxPendingCommandsPerConnection;
 
@@ -175,6 +179,21 @@ public final AsyncRequesterBootstrap setPoolConcurrencyPolicy(final PoolConcurre
         return this;
     }
 
+    /**
+     * Enables I/O worker affinity of pooled connections. When enabled, lease requests
+     * made from an I/O dispatch thread prefer idle connections bound to the same
+     * I/O dispatch thread, which avoids handing off message exchanges between threads.
+     * With {@link PoolReusePolicy#HEALTH_WEIGHTED} reuse the healthiest of those connections
+     * is chosen. Presently supported by {@link PoolConcurrencyPolicy#STRICT} pools only.
+     *
+     * @return this instance.
+     * @since 5.5
+     */
+    public final AsyncRequesterBootstrap setPoolWorkerAffinity(final boolean poolWorkerAffinity) {
+        this.poolWorkerAffinity = poolWorkerAffinity;
+        return this;
+    }
+
     /**
      * Sets the maximum number of pending request execution commands allowed per connection.
      * <p>
@@ -271,8 +290,21 @@ public final AsyncRequesterBootstrap setConnPoolListener(final ConnPoolListener<
         return this;
     }
 
+    /**
+     * Sets {@link ConnPoolInstrumentation} instance. Presently supported by
+     * {@link PoolConcurrencyPolicy#STRICT} pools only.
+     *
+     * @return this instance.
+     * @since 5.5
+     */
+    public final AsyncRequesterBootstrap setConnPoolInstrumentation(final ConnPoolInstrumentation<HttpHost> connPoolInstrumentation) {
+        this.connPoolInstrumentation = connPoolInstrumentation;
+        return this;
+    }
+
     public HttpAsyncRequester create() {
         final ManagedConnPool<HttpHost, IOSession> connPool;
+        final boolean workerAffinity = poolWorkerAffinity;
         switch (poolConcurrencyPolicy != null ? poolConcurrencyPolicy : PoolConcurrencyPolicy.STRICT) {
             case LAX:
                 connPool = new LaxConnPool<>(
@@ -292,13 +324,26 @@ public HttpAsyncRequester create() {
                 break;
             case STRICT:
             default:
-                connPool = new StrictConnPool<>(
+                connPool = new StrictConnPool<HttpHost, IOSession>(
                         defaultMaxPerRoute > 0 ? defaultMaxPerRoute : 20,
                         maxTotal > 0 ? maxTotal : 50,
                         timeToLive,
                         poolReusePolicy,
                         new DefaultDisposalCallback<>(),
-                        connPoolListener);
+                        connPoolListener,
+                        connPoolInstrumentation) {
+
+                    @Override
+                    protected Object resolveAffinity() {
+                        return workerAffinity ? IOWorkers.currentWorker() : null;
+                    }
+
+                    @Override
+                    protected Object resolveAffinity(final IOSession ioSession) {
+                        return workerAffinity ? IOWorkers.ownerOf(ioSession) : null;
+                    }
+
+                };
                 break;
         }
         final ClientHttp1StreamDuplexerFactory streamDuplexerFactory = new ClientHttp1StreamDuplexerFactory(
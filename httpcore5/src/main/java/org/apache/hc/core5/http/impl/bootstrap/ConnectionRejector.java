@@ -0,0 +1,150 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.bootstrap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLSocket;
+
+import org.apache.hc.core5.concurrent.DefaultThreadFactory;
+import org.apache.hc.core5.http.ExceptionListener;
+import org.apache.hc.core5.http.io.HttpServerConnection;
+import org.apache.hc.core5.io.CloseMode;
+
+/**
+ * Sheds load by responding to connections that cannot be served with a pre-encoded
+ * {@code 503 Service Unavailable} response. Unread request content is drained
+ * by a small dedicated thread pool rather than by the calling thread, as closing
+ * a socket with unread input makes the peer see a reset instead of the response.
+ */
+class ConnectionRejector {
+
+    private static final byte[] SERVICE_UNAVAILABLE = (
+            "HTTP/1.1 503 Service Unavailable\r\n" +
+            "Connection: close\r\n" +
+            "Content-Length: 0\r\n" +
+            "\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Bounds on how long and how much of the unread request content is drained
+     * per connection, and on how many connections may wait to be drained.
+     */
+    private static final int DRAIN_TIMEOUT_MILLIS = 100;
+    private static final int DRAIN_MAX_BYTES = 8192;
+    private static final int DRAIN_THREADS = 2;
+    private static final int DRAIN_MAX_PENDING = 64;
+
+    private final ExceptionListener exceptionListener;
+    private final ThreadPoolExecutor drainExecutorService;
+
+    ConnectionRejector(final String name, final ExceptionListener exceptionListener) {
+        this.exceptionListener = exceptionListener;
+        this.drainExecutorService = new ThreadPoolExecutor(
+                DRAIN_THREADS, DRAIN_THREADS, 1L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(DRAIN_MAX_PENDING),
+                new DefaultThreadFactory(name, true));
+        this.drainExecutorService.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Writes the rejection response to the given socket and hands the connection
+     * over to be drained and closed. The connection is closed immediately if
+     * the response cannot be written or too many connections are waiting to
+     * be drained.
+     *
+     * @param socket the socket the connection writes to.
+     * @param conn the rejected connection.
+     */
+    void reject(final Socket socket, final HttpServerConnection conn) {
+        try {
+            final OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(SERVICE_UNAVAILABLE);
+            outputStream.flush();
+            if (!(socket instanceof SSLSocket)) {
+                socket.shutdownOutput();
+            }
+        } catch (final IOException ex) {
+            this.exceptionListener.onError(conn, ex);
+            conn.close(CloseMode.IMMEDIATE);
+            return;
+        }
+        try {
+            this.drainExecutorService.execute(() -> {
+                try {
+                    drainInput(socket);
+                } catch (final IOException ignore) {
+                    // The response has been sent, nothing more can be done
+                } finally {
+                    conn.close(CloseMode.IMMEDIATE);
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            conn.close(CloseMode.IMMEDIATE);
+        }
+    }
+
+    private static void drainInput(final Socket socket) throws IOException {
+        final long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        final InputStream inputStream = socket.getInputStream();
+        final byte[] tmp = new byte[1024];
+        int total = 0;
+        try {
+            while (total < DRAIN_MAX_BYTES) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                socket.setSoTimeout((int) remaining);
+                final int l = inputStream.read(tmp);
+                if (l == -1) {
+                    break;
+                }
+                total += l;
+            }
+        } catch (final SocketTimeoutException ignore) {
+            // The peer is given no more time
+        }
+    }
+
+    /**
+     * Stops accepting connections. Connections already handed over are still
+     * drained and closed.
+     */
+    void shutdown() {
+        this.drainExecutorService.shutdown();
+    }
+
+}
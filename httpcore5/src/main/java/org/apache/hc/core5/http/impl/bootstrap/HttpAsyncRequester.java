@@ -35,6 +35,7 @@
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.hc.core5.annotation.Experimental;
 import org.apache.hc.core5.annotation.Internal;
 import org.apache.hc.core5.concurrent.BasicFuture;
 import org.apache.hc.core5.concurrent.CallbackContribution;
@@ -50,6 +51,7 @@
 import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.impl.DefaultAddressResolver;
 import org.apache.hc.core5.http.nio.AsyncClientEndpoint;
 import org.apache.hc.core5.http.nio.AsyncClientExchangeHandler;
@@ -206,7 +208,7 @@ protected Future<AsyncClientEndpoint> doConnect(
                     public void completed(final PoolEntry<HttpHost, IOSession> poolEntry) {
                         final AsyncClientEndpoint endpoint = new InternalAsyncClientEndpoint(poolEntry);
                         final IOSession ioSession = poolEntry.getConnection();
-                        if (ioSession != null && !ioSession.isOpen()) {
+                        if (ioSession != null && !isAlive(ioSession)) {
                             poolEntry.discardConnection(CloseMode.IMMEDIATE);
                         }
                         if (poolEntry.hasConnection()) {
@@ -222,6 +224,7 @@ public void completed(final PoolEntry<HttpHost, IOSession> poolEntry) {
                                         public void completed(final IOSession session) {
                                             session.setSocketTimeout(timeout);
                                             poolEntry.assignConnection(session);
+                                            poolEntry.setConnectionProbe(() -> isAlive(session));
                                             resultFuture.completed(endpoint);
                                         }
 
@@ -263,10 +266,76 @@ public void cancelled() {
         return resultFuture;
     }
 
+    /**
+     * Determines whether the given session is still usable based on the state maintained
+     * by the I/O reactor without performing any I/O. Sessions whose protocol handler
+     * has detected end of stream or a connection reset are considered dead.
+     */
+    static boolean isAlive(final IOSession ioSession) {
+        if (!ioSession.isOpen()) {
+            return false;
+        }
+        final IOEventHandler handler = ioSession.getHandler();
+        return !(handler instanceof HttpConnection) || ((HttpConnection) handler).isOpen();
+    }
+
     public Future<AsyncClientEndpoint> connect(final HttpHost host, final Timeout timeout) {
         return connect(host, timeout, null, null);
     }
 
+    /**
+     * Leases a connection to the given host and returns an endpoint that pipelines
+     * HTTP/1.1 message exchanges over it. Up to {@code maxPipelineDepth} requests may
+     * be sent ahead of their responses; further exchanges are queued by the endpoint.
+     * Requests with non-idempotent methods are not followed by any other request
+     * until their exchange completes. Should the connection be closed by the
+     * opposite endpoint, exchanges that have not received a response and whose
+     * requests are idempotent and enclose no content are re-executed once over
+     * a new connection.
+     * <p>
+     * Please note that the connection must not be negotiated to use HTTP/2.
+     *
+     * @param host the target host.
+     * @param timeout the connect / lease timeout.
+     * @param maxPipelineDepth the maximum number of outstanding requests.
+     * @param callback the future callback. May be {@code null}.
+     * @return the result future.
+     *
+     * @since 5.5
+     */
+    @Experimental
+    public Future<AsyncClientEndpoint> connectPipelined(
+            final HttpHost host,
+            final Timeout timeout,
+            final int maxPipelineDepth,
+            final FutureCallback<AsyncClientEndpoint> callback) {
+        Args.positive(maxPipelineDepth, "Max pipeline depth");
+        final ComplexFuture<AsyncClientEndpoint> resultFuture = new ComplexFuture<>(callback);
+        final Future<AsyncClientEndpoint> connectFuture = connect(host, timeout, null, new FutureCallback<AsyncClientEndpoint>() {
+
+            @Override
+            public void completed(final AsyncClientEndpoint endpoint) {
+                resultFuture.completed(new PipeliningAsyncClientEndpoint(
+                        endpoint,
+                        maxPipelineDepth,
+                        reconnectCallback -> connect(host, timeout, null, reconnectCallback)));
+            }
+
+            @Override
+            public void failed(final Exception ex) {
+                resultFuture.failed(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                resultFuture.cancel();
+            }
+
+        });
+        resultFuture.setDependency(connectFuture);
+        return resultFuture;
+    }
+
     /**
      * @since 5.3
      */
@@ -291,6 +360,8 @@ public void execute(
                     public void completed(final AsyncClientEndpoint endpoint) {
                         endpoint.execute(new AsyncClientExchangeHandler() {
 
+                            private volatile long requestTime;
+
                             @Override
                             public void releaseResources() {
                                 endpoint.releaseAndDiscard();
@@ -311,6 +382,7 @@ public void cancel() {
 
                             @Override
                             public void produceRequest(final RequestChannel channel, final HttpContext httpContext) throws HttpException, IOException {
+                                requestTime = System.currentTimeMillis();
                                 channel.sendRequest(request, entityDetails, httpContext);
                             }
 
@@ -332,6 +404,11 @@ public void consumeInformation(final HttpResponse response, final HttpContext ht
                             @Override
                             public void consumeResponse(
                                     final HttpResponse response, final EntityDetails entityDetails, final HttpContext httpContext) throws HttpException, IOException {
+                                if (endpoint instanceof InternalAsyncClientEndpoint) {
+                                    ((InternalAsyncClientEndpoint) endpoint).updateHealth(
+                                            System.currentTimeMillis() - requestTime,
+                                            response.getCode() >= HttpStatus.SC_SERVER_ERROR);
+                                }
                                 if (entityDetails == null) {
                                     endpoint.releaseAndReuse();
                                 }
@@ -539,6 +616,13 @@ public boolean isConnected() {
             return false;
         }
 
+        void updateHealth(final long latencyMillis, final boolean failure) {
+            final PoolEntry<HttpHost, IOSession> poolEntry = poolEntryRef.get();
+            if (poolEntry != null) {
+                poolEntry.updateHealth(latencyMillis, failure);
+            }
+        }
+
         @Override
         public void releaseAndReuse() {
             final PoolEntry<HttpHost, IOSession> poolEntry = poolEntryRef.getAndSet(null);
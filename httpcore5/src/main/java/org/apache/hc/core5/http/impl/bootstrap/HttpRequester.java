@@ -33,6 +33,7 @@
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -325,6 +326,8 @@ public ClassicHttpResponse execute(
                 final Socket sock;
                 if (socketConfig.getSocksProxyAddress() != null) {
                     sock = new Socket(new Proxy(Proxy.Type.SOCKS, socketConfig.getSocksProxyAddress()));
+                } else if (socketConfig.isSocketChannelBacked()) {
+                    sock = SocketChannel.open().socket();
                 } else {
                     sock = new Socket();
                 }
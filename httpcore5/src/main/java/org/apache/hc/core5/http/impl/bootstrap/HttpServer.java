@@ -28,9 +28,13 @@
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -84,10 +88,14 @@ enum Status { READY, ACTIVE, STOPPING }
     private final ThreadPoolExecutor listenerExecutorService;
     private final ThreadGroup workerThreads;
     private final WorkerPoolExecutor workerExecutorService;
+    private final boolean virtualThreadWorkers;
+    private final boolean idleConnectionParking;
+    private final boolean socketChannelBacked;
     private final AtomicReference<Status> status;
 
     private volatile ServerSocket serverSocket;
     private volatile RequestListener requestListener;
+    private volatile IdleConnectionParker idleConnectionParker;
 
     @Internal
     public HttpServer(
@@ -100,6 +108,40 @@ public HttpServer(
             final SSLContext sslContext,
             final Callback<SSLParameters> sslSetupHandler,
             final ExceptionListener exceptionListener) {
+        this(port, httpService, ifAddress, socketConfig, serverSocketFactory, connectionFactory, sslContext,
+                sslSetupHandler, exceptionListener, false, false, 0, 0, null);
+    }
+
+    /**
+     * @param virtualThreadWorkers whether connections should be served by virtual threads
+     *                             if supported by the runtime.
+     * @param idleConnectionParking whether idle persistent connections should release
+     *                              their worker threads while waiting for the next request.
+     * @param maxWorkers maximum number of worker threads. Zero or negative value means
+     *                   no limit.
+     * @param maxQueuedConnections maximum number of accepted connections waiting for a worker
+     *                             thread if all workers are busy. Only applies if the number
+     *                             of workers is limited.
+     * @param maxQueueTime maximum time an accepted connection may wait for a worker thread.
+     *                     {@code null} or zero means no limit.
+     * @since 5.5
+     */
+    @Internal
+    public HttpServer(
+            final int port,
+            final HttpService httpService,
+            final InetAddress ifAddress,
+            final SocketConfig socketConfig,
+            final ServerSocketFactory serverSocketFactory,
+            final HttpConnectionFactory<? extends DefaultBHttpServerConnection> connectionFactory,
+            final SSLContext sslContext,
+            final Callback<SSLParameters> sslSetupHandler,
+            final ExceptionListener exceptionListener,
+            final boolean virtualThreadWorkers,
+            final boolean idleConnectionParking,
+            final int maxWorkers,
+            final int maxQueuedConnections,
+            final Timeout maxQueueTime) {
         this.port = Args.notNegative(port, "Port value is negative");
         this.httpService = Args.notNull(httpService, "HTTP service");
         this.ifAddress = ifAddress;
@@ -112,15 +154,40 @@ public HttpServer(
         this.sslContext = sslContext;
         this.sslSetupHandler = sslSetupHandler;
         this.exceptionListener = exceptionListener != null ? exceptionListener : ExceptionListener.NO_OP;
+        // Channel backed sockets can only be created in place of the default server socket factory
+        this.socketChannelBacked = (idleConnectionParking || this.socketConfig.isSocketChannelBacked())
+                && this.serverSocketFactory == ServerSocketFactory.getDefault();
+        // Idle connections can only be parked if plain sockets are backed by socket channels
+        this.idleConnectionParking = idleConnectionParking
+                && this.socketChannelBacked
+                && this.sslContext == null;
+        final int listenerThreads = this.idleConnectionParking ? 2 : 1;
         this.listenerExecutorService = new ThreadPoolExecutor(
-                1, 1, 0L, TimeUnit.MILLISECONDS,
+                listenerThreads, listenerThreads, 0L, TimeUnit.MILLISECONDS,
                 new SynchronousQueue<>(),
                 new DefaultThreadFactory("HTTP-listener-" + this.port));
         this.workerThreads = new ThreadGroup("HTTP-workers");
-        this.workerExecutorService = new WorkerPoolExecutor(
-                0, Integer.MAX_VALUE, 1L, TimeUnit.SECONDS,
-                new SynchronousQueue<>(),
-                new DefaultThreadFactory("HTTP-worker", this.workerThreads, true));
+        final ThreadFactory virtualThreadFactory = virtualThreadWorkers
+                ? ReflectionUtils.createVirtualThreadFactory("HTTP-worker-") : null;
+        this.virtualThreadWorkers = virtualThreadFactory != null;
+        final ThreadFactory workerThreadFactory = virtualThreadFactory != null ? virtualThreadFactory
+                : new DefaultThreadFactory("HTTP-worker", this.workerThreads, true);
+        final long maxQueueTimeNanos = TimeValue.isPositive(maxQueueTime)
+                ? maxQueueTime.getTimeUnit().toNanos(maxQueueTime.getDuration()) : 0L;
+        if (maxWorkers > 0) {
+            this.workerExecutorService = new WorkerPoolExecutor(
+                    maxWorkers, maxWorkers, 1L, TimeUnit.SECONDS,
+                    maxQueuedConnections > 0 ? new ArrayBlockingQueue<>(maxQueuedConnections) : new SynchronousQueue<>(),
+                    workerThreadFactory,
+                    maxQueueTimeNanos);
+            this.workerExecutorService.allowCoreThreadTimeOut(true);
+        } else {
+            this.workerExecutorService = new WorkerPoolExecutor(
+                    0, Integer.MAX_VALUE, 1L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(),
+                    workerThreadFactory,
+                    maxQueueTimeNanos);
+        }
         this.status = new AtomicReference<>(Status.READY);
     }
 
@@ -140,11 +207,72 @@ public int getLocalPort() {
         return -1;
     }
 
+    /**
+     * Determines whether connections are served by virtual threads.
+     *
+     * @since 5.5
+     */
+    public boolean isVirtualThreadWorkers() {
+        return virtualThreadWorkers;
+    }
+
+    /**
+     * Determines whether idle persistent connections release their worker threads
+     * while waiting for the next request. Only plain (non TLS) connections
+     * created by the default server socket factory can be parked.
+     *
+     * @since 5.5
+     */
+    public boolean isIdleConnectionParking() {
+        return idleConnectionParking;
+    }
+
+    /**
+     * Returns the approximate number of connections currently being served
+     * by worker threads.
+     *
+     * @since 5.5
+     */
+    public int getActiveConnectionCount() {
+        return this.workerExecutorService.getActiveCount();
+    }
+
+    /**
+     * Returns the number of accepted connections waiting for a worker thread.
+     *
+     * @since 5.5
+     */
+    public int getQueuedConnectionCount() {
+        return this.workerExecutorService.getQueue().size();
+    }
+
+    /**
+     * Returns the total number of connections rejected with {@code 503 Service Unavailable}
+     * because no worker thread was available in time.
+     *
+     * @since 5.5
+     */
+    public long getRejectedConnectionCount() {
+        return this.workerExecutorService.getRejectedCount();
+    }
+
     @SuppressWarnings("Since15")
     public void start() throws IOException {
         if (this.status.compareAndSet(Status.READY, Status.ACTIVE)) {
-            this.serverSocket = this.serverSocketFactory.createServerSocket(
-                    this.port, this.socketConfig.getBacklogSize(), this.ifAddress);
+            if (this.socketChannelBacked) {
+                // Sockets accepted by a server socket channel can be registered with a selector
+                // and can transfer file content directly
+                this.serverSocket = ServerSocketChannel.open().socket();
+                this.serverSocket.setReuseAddress(this.socketConfig.isSoReuseAddress());
+                this.serverSocket.bind(
+                        new InetSocketAddress(this.ifAddress, this.port), this.socketConfig.getBacklogSize());
+                if (this.idleConnectionParking) {
+                    this.idleConnectionParker = new IdleConnectionParker(this.workerExecutorService, this.exceptionListener);
+                }
+            } else {
+                this.serverSocket = this.serverSocketFactory.createServerSocket(
+                        this.port, this.socketConfig.getBacklogSize(), this.ifAddress);
+            }
             this.serverSocket.setReuseAddress(this.socketConfig.isSoReuseAddress());
             if (this.socketConfig.getRcvBufSize() > 0) {
                 this.serverSocket.setReceiveBufferSize(this.socketConfig.getRcvBufSize());
@@ -174,15 +302,28 @@ public void start() throws IOException {
                     this.sslContext != null ? this.sslContext.getSocketFactory() : null,
                     this.sslSetupHandler,
                     this.exceptionListener,
-                    this.workerExecutorService);
+                    this.workerExecutorService,
+                    this.idleConnectionParker);
             this.listenerExecutorService.execute(this.requestListener);
+            if (this.idleConnectionParker != null) {
+                this.listenerExecutorService.execute(this.idleConnectionParker);
+            }
         }
     }
 
     public void stop() {
         if (this.status.compareAndSet(Status.ACTIVE, Status.STOPPING)) {
             this.listenerExecutorService.shutdownNow();
-            this.workerExecutorService.shutdown();
+            if (this.virtualThreadWorkers) {
+                // Virtual threads do not belong to the worker thread group
+                this.workerExecutorService.shutdownNow();
+            } else {
+                this.workerExecutorService.shutdown();
+            }
+            final IdleConnectionParker parker = this.idleConnectionParker;
+            if (parker != null) {
+                parker.terminate();
+            }
             final RequestListener local = this.requestListener;
             if (local != null) {
                 try {
@@ -0,0 +1,232 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.bootstrap;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.hc.core5.http.ExceptionListener;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Keeps idle persistent connections registered with a shared {@link Selector}
+ * while their workers are released. Once a connection becomes readable its
+ * channel is switched back to blocking mode and the worker is re-submitted
+ * to the worker executor. Connections that stay idle longer than their socket
+ * timeout are closed. Deadlines are kept in a priority queue so that expiry
+ * checks do not scan all parked connections.
+ */
+class IdleConnectionParker implements Runnable {
+
+    private final Selector selector;
+    private final ExecutorService executorService;
+    private final ExceptionListener exceptionListener;
+    private final Queue<Worker> pendingQueue;
+    // Confined to the parker thread
+    private final PriorityQueue<ParkedConnection> expiryQueue;
+    private final AtomicBoolean terminated;
+
+    IdleConnectionParker(
+            final ExecutorService executorService,
+            final ExceptionListener exceptionListener) throws IOException {
+        this.selector = Selector.open();
+        this.executorService = executorService;
+        this.exceptionListener = exceptionListener;
+        this.pendingQueue = new ConcurrentLinkedQueue<>();
+        this.expiryQueue = new PriorityQueue<>((c1, c2) -> Long.compare(c1.deadline, c2.deadline));
+        this.terminated = new AtomicBoolean();
+    }
+
+    /**
+     * Parks the connection of the given worker until it becomes readable.
+     *
+     * @return {@code true} if the connection has been handed over to the parker,
+     * {@code false} if the parker has been terminated.
+     */
+    boolean park(final Worker worker) throws IOException {
+        if (this.terminated.get()) {
+            return false;
+        }
+        worker.getChannel().configureBlocking(false);
+        this.pendingQueue.add(worker);
+        if (this.terminated.get()) {
+            closePending();
+        } else {
+            this.selector.wakeup();
+        }
+        return true;
+    }
+
+    private static long deadline(final Worker worker, final long now) {
+        final Timeout socketTimeout = worker.getConnection().getSocketTimeout();
+        return TimeValue.isPositive(socketTimeout) ? now + socketTimeout.toMilliseconds() : Long.MAX_VALUE;
+    }
+
+    private static void close(final Worker worker) {
+        worker.getConnection().close(CloseMode.IMMEDIATE);
+    }
+
+    private void registerPending() {
+        final long now = System.currentTimeMillis();
+        Worker worker;
+        while ((worker = this.pendingQueue.poll()) != null) {
+            try {
+                final SelectionKey key = worker.getChannel().register(this.selector, SelectionKey.OP_READ);
+                final ParkedConnection parkedConnection = new ParkedConnection(worker, key, deadline(worker, now));
+                key.attach(parkedConnection);
+                if (parkedConnection.deadline != Long.MAX_VALUE) {
+                    this.expiryQueue.add(parkedConnection);
+                }
+            } catch (final IOException | RuntimeException ex) {
+                close(worker);
+            }
+        }
+        // Entries of resumed connections are dropped lazily; purge them once they dominate
+        if (this.expiryQueue.size() > 2 * this.selector.keys().size() + 64) {
+            this.expiryQueue.removeIf(parkedConnection -> !parkedConnection.key.isValid());
+        }
+    }
+
+    private void closePending() {
+        Worker worker;
+        while ((worker = this.pendingQueue.poll()) != null) {
+            close(worker);
+        }
+    }
+
+    private long closeExpired() {
+        final long now = System.currentTimeMillis();
+        ParkedConnection parkedConnection;
+        while ((parkedConnection = this.expiryQueue.peek()) != null) {
+            if (!parkedConnection.key.isValid()) {
+                // Resumed or already closed
+                this.expiryQueue.poll();
+                continue;
+            }
+            if (parkedConnection.deadline > now) {
+                return Math.max(parkedConnection.deadline - now, 1);
+            }
+            this.expiryQueue.poll();
+            parkedConnection.key.cancel();
+            close(parkedConnection.worker);
+        }
+        return 0;
+    }
+
+    private void resumeReadable() throws IOException {
+        final List<Worker> readable = new ArrayList<>();
+        final Iterator<SelectionKey> it = this.selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+            final SelectionKey key = it.next();
+            it.remove();
+            key.cancel();
+            readable.add(((ParkedConnection) key.attachment()).worker);
+        }
+        if (readable.isEmpty()) {
+            return;
+        }
+        // Cancelled keys must be deregistered before channels can be switched back to blocking mode
+        this.selector.selectNow();
+        for (final Worker worker : readable) {
+            try {
+                worker.getChannel().configureBlocking(true);
+                this.executorService.execute(worker);
+            } catch (final IOException | RejectedExecutionException ex) {
+                close(worker);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!this.terminated.get() && !Thread.currentThread().isInterrupted()) {
+                registerPending();
+                final long selectTimeout = closeExpired();
+                this.selector.select(selectTimeout);
+                resumeReadable();
+            }
+        } catch (final ClosedSelectorException ignore) {
+        } catch (final Exception ex) {
+            if (!this.terminated.get()) {
+                this.exceptionListener.onError(ex);
+            }
+        } finally {
+            this.terminated.set(true);
+            closePending();
+            try {
+                for (final SelectionKey key : this.selector.keys()) {
+                    close(((ParkedConnection) key.attachment()).worker);
+                }
+            } catch (final ClosedSelectorException ignore) {
+            }
+            try {
+                this.selector.close();
+            } catch (final IOException ex) {
+                this.exceptionListener.onError(ex);
+            }
+        }
+    }
+
+    boolean isTerminated() {
+        return this.terminated.get();
+    }
+
+    void terminate() {
+        if (this.terminated.compareAndSet(false, true)) {
+            this.selector.wakeup();
+        }
+    }
+
+    static final class ParkedConnection {
+
+        final Worker worker;
+        final SelectionKey key;
+        final long deadline;
+
+        ParkedConnection(final Worker worker, final SelectionKey key, final long deadline) {
+            this.worker = worker;
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+    }
+
+}
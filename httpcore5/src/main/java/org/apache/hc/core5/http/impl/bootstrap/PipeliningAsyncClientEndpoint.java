@@ -0,0 +1,484 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.bootstrap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ConnectionClosedException;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.RequestNotExecutedException;
+import org.apache.hc.core5.http.nio.AsyncClientEndpoint;
+import org.apache.hc.core5.http.nio.AsyncClientExchangeHandler;
+import org.apache.hc.core5.http.nio.AsyncPushConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.http.nio.HandlerFactory;
+import org.apache.hc.core5.http.nio.RequestChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.Args;
+
+/**
+ * {@link AsyncClientEndpoint} that pipelines message exchanges over a single
+ * HTTP/1.1 connection. Up to {@code maxPipelineDepth} exchanges may be outstanding
+ * on the connection at any time: a new request gets submitted as soon as the preceding
+ * one has been sent without waiting for its response. Responses are matched to
+ * requests in order by the connection's stream duplexer. Exchanges beyond the depth
+ * limit are queued and submitted as outstanding ones complete.
+ * <p>
+ * Once a request with a non-idempotent method has been sent, no further requests
+ * are submitted until its exchange completes. If the connection gets closed by
+ * the opposite endpoint, exchanges that have not received a response and whose
+ * requests are idempotent and enclose no content are replayed once over a new
+ * connection; all other exchanges fail as usual.
+ */
+final class PipeliningAsyncClientEndpoint extends AsyncClientEndpoint {
+
+    private final Function<FutureCallback<AsyncClientEndpoint>, Future<AsyncClientEndpoint>> connector;
+    private final int maxPipelineDepth;
+    private final ReentrantLock lock;
+    private final Deque<PipelinedExchange> queue;
+
+    private AsyncClientEndpoint endpoint;
+    private long sequence;
+    private int inFlight;
+    private PipelinedExchange submitted;
+    private PipelinedExchange barrier;
+    private boolean connecting;
+    private boolean released;
+
+    PipeliningAsyncClientEndpoint(
+            final AsyncClientEndpoint endpoint,
+            final int maxPipelineDepth,
+            final Function<FutureCallback<AsyncClientEndpoint>, Future<AsyncClientEndpoint>> connector) {
+        this.endpoint = Args.notNull(endpoint, "Endpoint");
+        this.maxPipelineDepth = Args.positive(maxPipelineDepth, "Max pipeline depth");
+        this.connector = Args.notNull(connector, "Connector");
+        this.lock = new ReentrantLock();
+        this.queue = new ArrayDeque<>();
+    }
+
+    @Override
+    public void execute(
+            final AsyncClientExchangeHandler exchangeHandler,
+            final HandlerFactory<AsyncPushConsumer> pushHandlerFactory,
+            final HttpContext context) {
+        Args.notNull(exchangeHandler, "Exchange handler");
+        final boolean accepted;
+        lock.lock();
+        try {
+            accepted = !released;
+            if (accepted) {
+                queue.add(new PipelinedExchange(sequence++, exchangeHandler, pushHandlerFactory, context));
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (accepted) {
+            dispatch();
+        } else {
+            try {
+                exchangeHandler.failed(new RequestNotExecutedException());
+            } finally {
+                exchangeHandler.releaseResources();
+            }
+        }
+    }
+
+    /**
+     * Submits the next queued exchange if the pipeline has room for it. Exchanges
+     * are submitted one at a time: the next one only after the preceding request
+     * has been sent, so that a non-idempotent request can stop the pipeline before
+     * any further requests have been committed to the connection.
+     */
+    private void dispatch() {
+        final AsyncClientEndpoint current;
+        final PipelinedExchange exchange;
+        lock.lock();
+        try {
+            current = endpoint;
+            if (current == null || submitted != null || barrier != null
+                    || inFlight >= maxPipelineDepth || queue.isEmpty()) {
+                return;
+            }
+            exchange = queue.poll();
+            exchange.endpoint = current;
+            submitted = exchange;
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        current.execute(exchange, exchange.pushHandlerFactory, exchange.context);
+    }
+
+    private void requestSent(final PipelinedExchange exchange) {
+        lock.lock();
+        try {
+            if (submitted == exchange) {
+                submitted = null;
+            }
+            if (!Method.isIdempotent(exchange.method)) {
+                barrier = exchange;
+            }
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+    }
+
+    private void exchangeCompleted(final PipelinedExchange exchange) {
+        lock.lock();
+        try {
+            removeInFlight(exchange);
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+    }
+
+    private void removeInFlight(final PipelinedExchange exchange) {
+        inFlight--;
+        if (submitted == exchange) {
+            submitted = null;
+        }
+        if (barrier == exchange) {
+            barrier = null;
+        }
+    }
+
+    private boolean isReleased() {
+        lock.lock();
+        try {
+            return released;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void replay(final PipelinedExchange exchange) {
+        final AsyncClientEndpoint discarded;
+        final boolean reconnect;
+        lock.lock();
+        try {
+            removeInFlight(exchange);
+            // Keep replayed exchanges in their original order ahead of those not submitted yet
+            final Deque<PipelinedExchange> preceding = new ArrayDeque<>();
+            while (!queue.isEmpty() && queue.peekFirst().seqNo < exchange.seqNo) {
+                preceding.push(queue.pollFirst());
+            }
+            queue.addFirst(exchange);
+            while (!preceding.isEmpty()) {
+                queue.addFirst(preceding.pop());
+            }
+            if (endpoint != null && endpoint == exchange.endpoint) {
+                discarded = endpoint;
+                endpoint = null;
+            } else {
+                discarded = null;
+            }
+            reconnect = endpoint == null && !connecting && !released;
+            if (reconnect) {
+                connecting = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (discarded != null) {
+            discarded.releaseAndDiscard();
+        }
+        if (reconnect) {
+            connector.apply(new FutureCallback<AsyncClientEndpoint>() {
+
+                @Override
+                public void completed(final AsyncClientEndpoint result) {
+                    final boolean accepted;
+                    lock.lock();
+                    try {
+                        connecting = false;
+                        accepted = !released;
+                        if (accepted) {
+                            endpoint = result;
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (accepted) {
+                        dispatch();
+                    } else {
+                        result.releaseAndReuse();
+                    }
+                }
+
+                @Override
+                public void failed(final Exception ex) {
+                    lock.lock();
+                    try {
+                        connecting = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    failQueued(ex);
+                }
+
+                @Override
+                public void cancelled() {
+                    failed(new RequestNotExecutedException());
+                }
+
+            });
+        } else {
+            dispatch();
+        }
+    }
+
+    private void failQueued(final Exception cause) {
+        final List<PipelinedExchange> pending;
+        lock.lock();
+        try {
+            pending = new ArrayList<>(queue);
+            queue.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (final PipelinedExchange exchange : pending) {
+            try {
+                exchange.exchangeHandler.failed(cause);
+            } finally {
+                exchange.exchangeHandler.releaseResources();
+            }
+        }
+    }
+
+    private AsyncClientEndpoint release() {
+        final AsyncClientEndpoint current;
+        lock.lock();
+        try {
+            released = true;
+            current = endpoint;
+            endpoint = null;
+        } finally {
+            lock.unlock();
+        }
+        failQueued(new RequestNotExecutedException());
+        return current;
+    }
+
+    @Override
+    public void releaseAndReuse() {
+        final AsyncClientEndpoint current = release();
+        if (current != null) {
+            current.releaseAndReuse();
+        }
+    }
+
+    @Override
+    public void releaseAndDiscard() {
+        final AsyncClientEndpoint current = release();
+        if (current != null) {
+            current.releaseAndDiscard();
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        final AsyncClientEndpoint current;
+        lock.lock();
+        try {
+            current = endpoint;
+        } finally {
+            lock.unlock();
+        }
+        return current != null && current.isConnected();
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getQueued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "[endpoint=" + endpoint + ", inFlight=" + inFlight + ", queued=" + queue.size()
+                    + ", maxPipelineDepth=" + maxPipelineDepth + "]";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class PipelinedExchange implements AsyncClientExchangeHandler {
+
+        final long seqNo;
+        final AsyncClientExchangeHandler exchangeHandler;
+        final HandlerFactory<AsyncPushConsumer> pushHandlerFactory;
+        final HttpContext context;
+        final AtomicBoolean released;
+
+        volatile AsyncClientEndpoint endpoint;
+        volatile boolean replayed;
+        volatile String method;
+        volatile boolean enclosesContent;
+        volatile boolean responseReceived;
+        volatile boolean replayPending;
+
+        PipelinedExchange(
+                final long seqNo,
+                final AsyncClientExchangeHandler exchangeHandler,
+                final HandlerFactory<AsyncPushConsumer> pushHandlerFactory,
+                final HttpContext context) {
+            this.seqNo = seqNo;
+            this.exchangeHandler = exchangeHandler;
+            this.pushHandlerFactory = pushHandlerFactory;
+            this.context = context;
+            this.released = new AtomicBoolean();
+        }
+
+        private boolean isReplayable(final Exception cause) {
+            if (replayed || responseReceived) {
+                return false;
+            }
+            if (!(cause instanceof ConnectionClosedException) && !(cause instanceof RequestNotExecutedException)) {
+                return false;
+            }
+            // Requests that never got produced are always safe to retry
+            if (method != null && (!Method.isIdempotent(method) || enclosesContent)) {
+                return false;
+            }
+            return !isReleased();
+        }
+
+        @Override
+        public void produceRequest(final RequestChannel channel, final HttpContext context) throws HttpException, IOException {
+            exchangeHandler.produceRequest((request, entityDetails, requestContext) -> {
+                method = request.getMethod();
+                enclosesContent = entityDetails != null;
+                channel.sendRequest(request, entityDetails, requestContext);
+                requestSent(this);
+            }, context);
+        }
+
+        @Override
+        public int available() {
+            return exchangeHandler.available();
+        }
+
+        @Override
+        public void produce(final DataStreamChannel channel) throws IOException {
+            exchangeHandler.produce(channel);
+        }
+
+        @Override
+        public void consumeInformation(final HttpResponse response, final HttpContext context) throws HttpException, IOException {
+            responseReceived = true;
+            exchangeHandler.consumeInformation(response, context);
+        }
+
+        @Override
+        public void consumeResponse(
+                final HttpResponse response,
+                final EntityDetails entityDetails,
+                final HttpContext context) throws HttpException, IOException {
+            responseReceived = true;
+            exchangeHandler.consumeResponse(response, entityDetails, context);
+        }
+
+        @Override
+        public void updateCapacity(final CapacityChannel capacityChannel) throws IOException {
+            exchangeHandler.updateCapacity(capacityChannel);
+        }
+
+        @Override
+        public void consume(final ByteBuffer src) throws IOException {
+            exchangeHandler.consume(src);
+        }
+
+        @Override
+        public void streamEnd(final List<? extends Header> trailers) throws HttpException, IOException {
+            exchangeHandler.streamEnd(trailers);
+        }
+
+        @Override
+        public void cancel() {
+            exchangeHandler.cancel();
+        }
+
+        @Override
+        public void failed(final Exception cause) {
+            if (isReplayable(cause)) {
+                replayPending = true;
+            } else {
+                exchangeHandler.failed(cause);
+            }
+        }
+
+        @Override
+        public void releaseResources() {
+            if (released.compareAndSet(false, true)) {
+                if (replayPending) {
+                    replayPending = false;
+                    replayed = true;
+                    method = null;
+                    enclosesContent = false;
+                    released.set(false);
+                    replay(this);
+                } else {
+                    exchangeHandler.releaseResources();
+                    exchangeCompleted(this);
+                }
+            }
+        }
+
+    }
+
+}
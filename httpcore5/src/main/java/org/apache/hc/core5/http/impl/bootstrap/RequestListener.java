@@ -29,7 +29,9 @@
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.net.ssl.SSLHandshakeException;
@@ -46,6 +48,7 @@
 import org.apache.hc.core5.http.io.HttpConnectionFactory;
 import org.apache.hc.core5.http.io.HttpServerConnection;
 import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.io.Closer;
 import org.apache.hc.core5.util.ReflectionUtils;
 
@@ -59,6 +62,8 @@ class RequestListener implements Runnable {
     private final Callback<SSLParameters> sslSetupHandler;
     private final ExceptionListener exceptionListener;
     private final ExecutorService executorService;
+    private final IdleConnectionParker idleConnectionParker;
+    private final ConnectionRejector connectionRejector;
     private final AtomicBoolean terminated;
 
     public RequestListener(
@@ -70,6 +75,20 @@ public RequestListener(
             final Callback<SSLParameters> sslSetupHandler,
             final ExceptionListener exceptionListener,
             final ExecutorService executorService) {
+        this(socketConfig, serversocket, httpService, connectionFactory, sslSocketFactory, sslSetupHandler,
+                exceptionListener, executorService, null);
+    }
+
+    public RequestListener(
+            final SocketConfig socketConfig,
+            final ServerSocket serversocket,
+            final HttpService httpService,
+            final HttpConnectionFactory<? extends HttpServerConnection> connectionFactory,
+            final SSLSocketFactory sslSocketFactory,
+            final Callback<SSLParameters> sslSetupHandler,
+            final ExceptionListener exceptionListener,
+            final ExecutorService executorService,
+            final IdleConnectionParker idleConnectionParker) {
         this.socketConfig = socketConfig;
         this.serverSocket = serversocket;
         this.httpService = httpService;
@@ -78,11 +97,14 @@ public RequestListener(
         this.sslSetupHandler = sslSetupHandler;
         this.exceptionListener = exceptionListener;
         this.executorService = executorService;
+        this.idleConnectionParker = idleConnectionParker;
+        this.connectionRejector = new ConnectionRejector(
+                "HTTP-rejector-" + serversocket.getLocalPort(), exceptionListener);
         this.terminated = new AtomicBoolean();
     }
 
     @SuppressWarnings("Since15")
-    private HttpServerConnection createConnection(final Socket socket) throws IOException {
+    private Socket prepareSocket(final Socket socket) throws IOException {
         socket.setSoTimeout(this.socketConfig.getSoTimeout().toMillisecondsIntBound());
         socket.setKeepAlive(this.socketConfig.isSoKeepAlive());
         socket.setTcpNoDelay(this.socketConfig.isTcpNoDelay());
@@ -120,13 +142,13 @@ private HttpServerConnection createConnection(final Socket socket) throws IOExce
                 if (session == null) {
                     throw new SSLHandshakeException("SSL session not available");
                 }
-                return this.connectionFactory.createConnection(sslSocket, socket);
+                return sslSocket;
             } catch (final IOException ex) {
                 Closer.closeQuietly(sslSocket);
                 throw ex;
             }
         }
-        return this.connectionFactory.createConnection(socket);
+        return socket;
     }
 
     @Override
@@ -135,9 +157,23 @@ public void run() {
             while (!isTerminated() && !Thread.interrupted()) {
                 final Socket socket = this.serverSocket.accept();
                 try {
-                    final HttpServerConnection conn = createConnection(socket);
-                    final Worker worker = new Worker(this.httpService, conn, this.exceptionListener);
-                    this.executorService.execute(worker);
+                    // The connection socket is the TLS layer over the accepted socket, if any
+                    final Socket connSocket = prepareSocket(socket);
+                    final HttpServerConnection conn = connSocket != socket
+                            ? this.connectionFactory.createConnection((SSLSocket) connSocket, socket)
+                            : this.connectionFactory.createConnection(socket);
+                    // Only plain connections backed by a socket channel can be parked while idle
+                    final SocketChannel channel = this.idleConnectionParker != null
+                            && this.sslSocketFactory == null
+                            && !(socket instanceof SSLSocket) ? socket.getChannel() : null;
+                    final Worker worker = new Worker(this.httpService, conn, this.exceptionListener,
+                            connSocket, this.connectionRejector,
+                            channel, channel != null ? this.idleConnectionParker : null);
+                    try {
+                        this.executorService.execute(worker);
+                    } catch (final RejectedExecutionException ex) {
+                        rejectConnection(connSocket, conn);
+                    }
                 } catch (final IOException | RuntimeException ex) {
                     Closer.closeQuietly(socket);
                     this.exceptionListener.onError(ex);
@@ -148,12 +184,23 @@ public void run() {
         }
     }
 
+    private void rejectConnection(final Socket socket, final HttpServerConnection conn) {
+        // TLS connections are dropped: a response would require a blocking TLS write
+        // on the listener thread
+        if (this.executorService.isShutdown() || conn.getSSLSession() != null) {
+            conn.close(CloseMode.IMMEDIATE);
+            return;
+        }
+        this.connectionRejector.reject(socket, conn);
+    }
+
     public boolean isTerminated() {
         return this.terminated.get();
     }
 
     public void terminate() throws IOException {
         if (this.terminated.compareAndSet(false, true)) {
+            this.connectionRejector.shutdown();
             this.serverSocket.close();
         }
     }
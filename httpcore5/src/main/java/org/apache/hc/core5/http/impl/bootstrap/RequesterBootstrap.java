@@ -48,6 +48,7 @@
 import org.apache.hc.core5.http.io.ssl.DefaultTlsSetupHandler;
 import org.apache.hc.core5.http.io.ssl.SSLSessionVerifier;
 import org.apache.hc.core5.http.protocol.HttpProcessor;
+import org.apache.hc.core5.pool.ConnPoolInstrumentation;
 import org.apache.hc.core5.pool.ConnPoolListener;
 import org.apache.hc.core5.pool.DefaultDisposalCallback;
 import org.apache.hc.core5.pool.LaxConnPool;
@@ -80,6 +81,7 @@ public class RequesterBootstrap {
     private PoolConcurrencyPolicy poolConcurrencyPolicy;
     private Http1StreamListener streamListener;
     private ConnPoolListener<HttpHost> connPoolListener;
+    private ConnPoolInstrumentation<HttpHost> connPoolInstrumentation;
 
     private RequesterBootstrap() {
     }
@@ -199,6 +201,18 @@ public final RequesterBootstrap setConnPoolListener(final ConnPoolListener<HttpH
         return this;
     }
 
+    /**
+     * Sets {@link ConnPoolInstrumentation} instance. Presently supported by
+     * {@link PoolConcurrencyPolicy#STRICT} pools only.
+     *
+     * @return this instance.
+     * @since 5.5
+     */
+    public final RequesterBootstrap setConnPoolInstrumentation(final ConnPoolInstrumentation<HttpHost> connPoolInstrumentation) {
+        this.connPoolInstrumentation = connPoolInstrumentation;
+        return this;
+    }
+
     public HttpRequester create() {
         final HttpRequestExecutor requestExecutor = new HttpRequestExecutor(
                 http1Config,
@@ -230,7 +244,8 @@ public HttpRequester create() {
                         timeToLive,
                         poolReusePolicy,
                         new DefaultDisposalCallback<>(),
-                        connPoolListener);
+                        connPoolListener,
+                        connPoolInstrumentation);
                 break;
         }
         return new HttpRequester(
@@ -71,6 +71,7 @@
 import org.apache.hc.core5.net.InetAddressUtils;
 import org.apache.hc.core5.net.URIAuthority;
 import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.Timeout;
 
 /**
  * {@link HttpServer} bootstrap.
@@ -98,6 +99,11 @@ public class ServerBootstrap {
     private Callback<SSLParameters> sslSetupHandler;
     private HttpConnectionFactory<? extends DefaultBHttpServerConnection> connectionFactory;
     private ExceptionListener exceptionListener;
+    private boolean virtualThreadWorkers;
+    private boolean idleConnectionParking;
+    private int maxWorkers;
+    private int maxQueuedConnections;
+    private Timeout maxQueueTime;
     private Http1StreamListener streamListener;
     private BiFunction<String, URIAuthority, URIAuthority> authorityResolver;
 
@@ -296,6 +302,77 @@ public final ServerBootstrap setStreamListener(final Http1StreamListener streamL
         return this;
     }
 
+    /**
+     * Enables serving of connections by virtual threads instead of platform threads.
+     * Virtual threads require Java 21 or newer; with older runtimes the server
+     * falls back to platform threads.
+     *
+     * @return this instance.
+     * @see HttpServer#isVirtualThreadWorkers()
+     * @since 5.5
+     */
+    public final ServerBootstrap setVirtualThreadWorkers(final boolean virtualThreadWorkers) {
+        this.virtualThreadWorkers = virtualThreadWorkers;
+        return this;
+    }
+
+    /**
+     * Enables parking of idle persistent connections. When enabled, a connection that
+     * has completed a message exchange and has no further input buffered is registered
+     * with a shared selector and its worker thread released. A worker is re-assigned once
+     * the connection becomes readable. Parking is only supported for plain (non TLS)
+     * connections created by the default server socket factory.
+     *
+     * @return this instance.
+     * @see HttpServer#isIdleConnectionParking()
+     * @since 5.5
+     */
+    public final ServerBootstrap setIdleConnectionParking(final boolean idleConnectionParking) {
+        this.idleConnectionParking = idleConnectionParking;
+        return this;
+    }
+
+    /**
+     * Sets maximum number of worker threads serving connections. Connections accepted
+     * while all workers are busy are queued up to the limit set by
+     * {@link #setMaxQueuedConnections(int)} or rejected with
+     * {@code 503 Service Unavailable}. Rejected TLS connections are closed
+     * without a response. Zero or negative value means no limit.
+     *
+     * @return this instance.
+     * @since 5.5
+     */
+    public final ServerBootstrap setMaxWorkers(final int maxWorkers) {
+        this.maxWorkers = maxWorkers;
+        return this;
+    }
+
+    /**
+     * Sets maximum number of accepted connections waiting for a worker thread.
+     * Only applies if the number of workers is limited.
+     *
+     * @return this instance.
+     * @see #setMaxWorkers(int)
+     * @since 5.5
+     */
+    public final ServerBootstrap setMaxQueuedConnections(final int maxQueuedConnections) {
+        this.maxQueuedConnections = maxQueuedConnections;
+        return this;
+    }
+
+    /**
+     * Sets maximum time an accepted connection may wait for a worker thread.
+     * Connections that waited longer are rejected with {@code 503 Service Unavailable}.
+     *
+     * @return this instance.
+     * @see #setMaxQueuedConnections(int)
+     * @since 5.5
+     */
+    public final ServerBootstrap setMaxQueueTime(final Timeout maxQueueTime) {
+        this.maxQueueTime = maxQueueTime;
+        return this;
+    }
+
     /**
      * Sets authority resolver to be used when creating the {@link RequestRouter}.
      *
@@ -453,7 +530,12 @@ public HttpServer create() {
                 connectionFactoryCopy,
                 sslContext,
                 sslSetupHandler != null ? sslSetupHandler : DefaultTlsSetupHandler.SERVER,
-                this.exceptionListener != null ? this.exceptionListener : ExceptionListener.NO_OP);
+                this.exceptionListener != null ? this.exceptionListener : ExceptionListener.NO_OP,
+                this.virtualThreadWorkers,
+                this.idleConnectionParking,
+                this.maxWorkers,
+                this.maxQueuedConnections,
+                this.maxQueueTime);
     }
 
 }
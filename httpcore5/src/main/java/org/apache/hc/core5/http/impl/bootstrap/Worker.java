@@ -26,7 +26,11 @@
  */
 package org.apache.hc.core5.http.impl.bootstrap;
 
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+
 import org.apache.hc.core5.http.ExceptionListener;
+import org.apache.hc.core5.http.impl.io.DefaultBHttpServerConnection;
 import org.apache.hc.core5.http.impl.io.HttpService;
 import org.apache.hc.core5.http.io.HttpServerConnection;
 import org.apache.hc.core5.http.protocol.HttpCoreContext;
@@ -37,33 +41,101 @@ class Worker implements Runnable {
     private final HttpService httpservice;
     private final HttpServerConnection conn;
     private final ExceptionListener exceptionListener;
+    private final Socket socket;
+    private final ConnectionRejector rejector;
+    private final SocketChannel channel;
+    private final IdleConnectionParker parker;
+
+    private volatile long queueDeadline;
+    private volatile boolean rejected;
 
     Worker(
             final HttpService httpservice,
             final HttpServerConnection conn,
             final ExceptionListener exceptionListener) {
+        this(httpservice, conn, exceptionListener, null, null, null, null);
+    }
+
+    Worker(
+            final HttpService httpservice,
+            final HttpServerConnection conn,
+            final ExceptionListener exceptionListener,
+            final Socket socket,
+            final ConnectionRejector rejector,
+            final SocketChannel channel,
+            final IdleConnectionParker parker) {
         super();
         this.httpservice = httpservice;
         this.conn = conn;
         this.exceptionListener = exceptionListener;
+        this.socket = socket;
+        this.rejector = rejector;
+        this.channel = channel;
+        this.parker = parker;
     }
 
     public HttpServerConnection getConnection() {
         return this.conn;
     }
 
+    SocketChannel getChannel() {
+        return this.channel;
+    }
+
+    long getQueueDeadline() {
+        return this.queueDeadline;
+    }
+
+    void setQueueDeadline(final long queueDeadline) {
+        this.queueDeadline = queueDeadline;
+    }
+
+    /**
+     * Marks the connection as rejected. A rejected worker hands the connection
+     * over to the {@link ConnectionRejector} to be sent {@code 503 Service Unavailable}
+     * and closed instead of processing requests.
+     */
+    void reject() {
+        this.rejected = true;
+    }
+
+    private boolean isIdle() {
+        return this.parker != null
+                && this.channel != null
+                && this.conn.isOpen()
+                && this.conn instanceof DefaultBHttpServerConnection
+                && !((DefaultBHttpServerConnection) this.conn).hasBufferedInput();
+    }
+
     @Override
     public void run() {
+        boolean handedOver = false;
         try {
+            if (this.rejected) {
+                this.rejected = false;
+                if (this.rejector != null && this.socket != null) {
+                    // The connection is owned by the rejector until it has been drained
+                    this.rejector.reject(this.socket, this.conn);
+                    handedOver = true;
+                }
+                return;
+            }
             while (!Thread.interrupted() && this.conn.isOpen()) {
                 final HttpCoreContext context = HttpCoreContext.create();
                 this.httpservice.handleRequest(this.conn, context);
+                if (isIdle() && this.parker.park(this)) {
+                    // The connection is owned by the parker until it becomes readable again
+                    handedOver = true;
+                    return;
+                }
             }
             this.conn.close();
         } catch (final Exception ex) {
             this.exceptionListener.onError(this.conn, ex);
         } finally {
-            this.conn.close(CloseMode.IMMEDIATE);
+            if (!handedOver) {
+                this.conn.close(CloseMode.IMMEDIATE);
+            }
         }
     }
 
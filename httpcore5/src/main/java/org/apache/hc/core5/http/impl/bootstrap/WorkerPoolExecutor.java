@@ -31,13 +31,17 @@
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 class WorkerPoolExecutor extends ThreadPoolExecutor {
 
     private final Map<Worker, Boolean> workerSet;
+    private final long maxQueueTimeNanos;
+    private final AtomicLong rejectedCount;
 
     public WorkerPoolExecutor(
             final int corePoolSize,
@@ -46,14 +50,47 @@ public WorkerPoolExecutor(
             final TimeUnit unit,
             final BlockingQueue<Runnable> workQueue,
             final ThreadFactory threadFactory) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, 0L);
+    }
+
+    public WorkerPoolExecutor(
+            final int corePoolSize,
+            final int maximumPoolSize,
+            final long keepAliveTime,
+            final TimeUnit unit,
+            final BlockingQueue<Runnable> workQueue,
+            final ThreadFactory threadFactory,
+            final long maxQueueTimeNanos) {
         super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
         this.workerSet = new ConcurrentHashMap<>();
+        this.maxQueueTimeNanos = maxQueueTimeNanos;
+        this.rejectedCount = new AtomicLong();
+        setRejectedExecutionHandler((r, executor) -> {
+            if (!executor.isShutdown()) {
+                this.rejectedCount.incrementAndGet();
+            }
+            throw new RejectedExecutionException("Worker pool exhausted");
+        });
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (this.maxQueueTimeNanos > 0 && command instanceof Worker) {
+            ((Worker) command).setQueueDeadline(System.nanoTime() + this.maxQueueTimeNanos);
+        }
+        super.execute(command);
     }
 
     @Override
     protected void beforeExecute(final Thread t, final Runnable r) {
         if (r instanceof Worker) {
-            this.workerSet.put((Worker) r, Boolean.TRUE);
+            final Worker worker = (Worker) r;
+            if (this.maxQueueTimeNanos > 0 && worker.getQueueDeadline() - System.nanoTime() < 0) {
+                // The connection waited in the queue for too long
+                worker.reject();
+                this.rejectedCount.incrementAndGet();
+            }
+            this.workerSet.put(worker, Boolean.TRUE);
         }
     }
 
@@ -68,4 +105,8 @@ public Set<Worker> getWorkers() {
         return new HashSet<>(this.workerSet.keySet());
     }
 
+    public long getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+
 }
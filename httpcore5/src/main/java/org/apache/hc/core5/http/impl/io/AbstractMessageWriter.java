@@ -39,6 +39,7 @@
 import org.apache.hc.core5.http.io.SessionOutputBuffer;
 import org.apache.hc.core5.http.message.BasicLineFormatter;
 import org.apache.hc.core5.http.message.LineFormatter;
+import org.apache.hc.core5.http.message.PreEncodedHeader;
 import org.apache.hc.core5.util.Args;
 import org.apache.hc.core5.util.CharArrayBuffer;
 
@@ -82,16 +83,35 @@ LineFormatter getLineFormatter() {
      */
     protected abstract void writeHeadLine(T message, CharArrayBuffer lineBuf) throws IOException;
 
+    /**
+     * Returns the pre-encoded first line of the message if available.
+     * The default implementation returns {@code null}.
+     */
+    byte[] encodedHeadLine(final T message) {
+        return null;
+    }
+
     @Override
     public void write(final T message, final SessionOutputBuffer buffer, final OutputStream outputStream) throws IOException, HttpException {
         Args.notNull(message, "HTTP message");
         Args.notNull(buffer, "Session output buffer");
         Args.notNull(outputStream, "Output stream");
-        writeHeadLine(message, this.lineBuf);
-        buffer.writeLine(this.lineBuf, outputStream);
+        final SessionOutputBufferImpl rawBuffer = buffer instanceof SessionOutputBufferImpl
+                && ((SessionOutputBufferImpl) buffer).isByteLevelAccess() ? (SessionOutputBufferImpl) buffer : null;
+        final byte[] headLine = rawBuffer != null ? encodedHeadLine(message) : null;
+        if (headLine != null) {
+            rawBuffer.writeLine(headLine, outputStream);
+        } else {
+            writeHeadLine(message, this.lineBuf);
+            buffer.writeLine(this.lineBuf, outputStream);
+        }
         for (final Iterator<Header> it = message.headerIterator(); it.hasNext(); ) {
             final Header header = it.next();
-            if (header instanceof FormattedHeader) {
+            if (rawBuffer != null && header instanceof PreEncodedHeader) {
+                rawBuffer.writeLine(((PreEncodedHeader) header).getEncodedLine(), outputStream);
+            } else if (header instanceof PreEncodedHeader) {
+                buffer.writeLine(((PreEncodedHeader) header).getFormattedLine(), outputStream);
+            } else if (header instanceof FormattedHeader) {
                 final CharArrayBuffer chbuffer = ((FormattedHeader) header).getBuffer();
                 buffer.writeLine(chbuffer, outputStream);
             } else {
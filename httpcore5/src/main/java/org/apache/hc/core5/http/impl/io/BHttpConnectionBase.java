@@ -34,6 +34,8 @@
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.util.List;
@@ -63,6 +65,7 @@
 import org.apache.hc.core5.io.Closer;
 import org.apache.hc.core5.net.InetAddressUtils;
 import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 
 class BHttpConnectionBase implements BHttpConnection {
@@ -78,6 +81,7 @@ class BHttpConnectionBase implements BHttpConnection {
 
     volatile ProtocolVersion version;
     volatile EndpointDetails endpointDetails;
+    volatile long lastActivityNanos;
 
     BHttpConnectionBase(
             final Http1Config http1Config,
@@ -123,6 +127,7 @@ protected void bind(final SocketHolder socketHolder) throws IOException {
         Args.notNull(socketHolder, "Socket holder");
         this.socketHolderRef.set(socketHolder);
         this.endpointDetails = null;
+        this.lastActivityNanos = System.nanoTime();
     }
 
     @Override
@@ -148,14 +153,23 @@ protected OutputStream createContentOutputStream(
             final OutputStream outputStream,
             final Supplier<List<? extends Header>> trailers) {
         if (len >= 0) {
-            return new ContentLengthOutputStream(buffer, outputStream, len);
+            return new ContentLengthOutputStream(buffer, outputStream, getTransferChannel(), len);
         } else if (len == ContentLengthStrategy.CHUNKED) {
             return new ChunkedOutputStream(buffer, outputStream, getChunkedRequestBuffer(), trailers);
         } else {
-            return new IdentityOutputStream(buffer, outputStream);
+            return new IdentityOutputStream(buffer, outputStream, getTransferChannel());
         }
     }
 
+    /**
+     * Returns the channel of a cleartext socket backed by a {@link SocketChannel}
+     * that file content can be transferred to directly.
+     */
+    private SocketChannel getTransferChannel() {
+        final SocketHolder socketHolder = this.socketHolderRef.get();
+        return socketHolder != null && socketHolder.getSSLSocket() == null ? socketHolder.getBaseSocket().getChannel() : null;
+    }
+
     private byte[] getChunkedRequestBuffer() {
         if (chunkedRequestBuffer == null) {
             final int chunkSizeHint = this.http1Config.getChunkSizeHint();
@@ -317,9 +331,32 @@ public boolean isDataAvailable(final Timeout timeout) throws IOException {
 
     @Override
     public boolean isStale() throws IOException {
-        if (!isOpen()) {
+        final SocketHolder socketHolder = this.socketHolderRef.get();
+        if (socketHolder == null) {
             return true;
         }
+        final TimeValue staleCheckThreshold = this.http1Config.getStaleCheckThreshold();
+        if (staleCheckThreshold != null
+                && System.nanoTime() - this.lastActivityNanos < staleCheckThreshold.toNanoseconds()) {
+            return false;
+        }
+        // Plain sockets backed by a channel can be probed with a non-blocking read
+        // instead of a timed blocking read requiring the socket timeout to be changed
+        final SocketChannel channel = socketHolder.getSSLSocket() == null ? socketHolder.getBaseSocket().getChannel() : null;
+        if (channel != null) {
+            try {
+                channel.configureBlocking(false);
+                try {
+                    return this.inBuffer.fillBuffer(channel) < 0;
+                } finally {
+                    channel.configureBlocking(true);
+                }
+            } catch (final IllegalBlockingModeException ignore) {
+                // Channel is registered with a selector
+            } catch (final IOException ex) {
+                return true;
+            }
+        }
         try {
             final int bytesRead = fillInputBuffer(STALE_CHECK_TIMEOUT);
             return bytesRead < 0;
@@ -337,10 +374,12 @@ public void flush() throws IOException {
     }
 
     protected void incrementRequestCount() {
+        this.lastActivityNanos = System.nanoTime();
         this.connMetrics.incrementRequestCount();
     }
 
     protected void incrementResponseCount() {
+        this.lastActivityNanos = System.nanoTime();
         this.connMetrics.incrementResponseCount();
     }
 
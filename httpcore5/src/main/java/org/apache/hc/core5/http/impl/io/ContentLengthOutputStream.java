@@ -29,8 +29,15 @@
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 import org.apache.hc.core5.http.StreamClosedException;
+import org.apache.hc.core5.http.impl.BasicHttpTransportMetrics;
+import org.apache.hc.core5.http.io.ByteBufferContentTransfer;
+import org.apache.hc.core5.http.io.FileContentTransfer;
 import org.apache.hc.core5.http.io.SessionOutputBuffer;
 import org.apache.hc.core5.util.Args;
 
@@ -47,10 +54,11 @@
  *
  * @since 4.0
  */
-public class ContentLengthOutputStream extends OutputStream {
+public class ContentLengthOutputStream extends OutputStream implements FileContentTransfer, ByteBufferContentTransfer {
 
     private final SessionOutputBuffer buffer;
     private final OutputStream outputStream;
+    private final WritableByteChannel channel;
 
     /**
      * The maximum number of bytes that can be written the stream. Subsequent
@@ -75,9 +83,28 @@ public class ContentLengthOutputStream extends OutputStream {
      * @since 4.0
      */
     public ContentLengthOutputStream(final SessionOutputBuffer buffer, final OutputStream outputStream, final long contentLength) {
+        this(buffer, outputStream, null, contentLength);
+    }
+
+    /**
+     * @param buffer Session output buffer
+     * @param outputStream Output stream
+     * @param channel Channel underlying the output stream used to transfer file
+     *                and buffer content directly. May be {@code null}.
+     * @param contentLength The maximum number of bytes that can be written to
+     * the stream. Subsequent write operations will be ignored.
+     *
+     * @since 5.5
+     */
+    public ContentLengthOutputStream(
+            final SessionOutputBuffer buffer,
+            final OutputStream outputStream,
+            final WritableByteChannel channel,
+            final long contentLength) {
         super();
         this.buffer = Args.notNull(buffer, "Session output buffer");
         this.outputStream = Args.notNull(outputStream, "Output stream");
+        this.channel = channel;
         this.contentLength = Args.notNegative(contentLength, "Content length");
     }
 
@@ -114,6 +141,68 @@ public void write(final byte[] b, final int off, final int len) throws IOExcepti
         }
     }
 
+    /**
+     * @since 5.5
+     */
+    @Override
+    public long transfer(final FileChannel src, final long position, final long count) throws IOException {
+        if (this.closed) {
+            throw new StreamClosedException();
+        }
+        final long max = Math.min(count, this.contentLength - this.total);
+        if (max <= 0) {
+            return 0;
+        }
+        if (this.channel == null) {
+            return src.transferTo(position, max, Channels.newChannel(this));
+        }
+        // Buffered content must precede the transferred content
+        this.buffer.flush(this.outputStream);
+        final long transferred = src.transferTo(position, max, this.channel);
+        if (transferred > 0) {
+            this.total += transferred;
+            if (this.buffer.getMetrics() instanceof BasicHttpTransportMetrics) {
+                ((BasicHttpTransportMetrics) this.buffer.getMetrics()).incrementBytesTransferred(transferred);
+            }
+        }
+        return transferred;
+    }
+
+    /**
+     * @since 5.5
+     */
+    @Override
+    public void transfer(final ByteBuffer src) throws IOException {
+        if (this.closed) {
+            throw new StreamClosedException();
+        }
+        final int limit = src.limit();
+        final long max = this.contentLength - this.total;
+        if (max > 0 && src.hasRemaining()) {
+            final int chunk = (int) Math.min(src.remaining(), max);
+            src.limit(src.position() + chunk);
+            try {
+                if (this.channel == null) {
+                    this.buffer.writeBuffer(src, this.outputStream);
+                } else {
+                    // Buffered content must precede the transferred content
+                    this.buffer.flush(this.outputStream);
+                    while (src.hasRemaining()) {
+                        this.channel.write(src);
+                    }
+                    if (this.buffer.getMetrics() instanceof BasicHttpTransportMetrics) {
+                        ((BasicHttpTransportMetrics) this.buffer.getMetrics()).incrementBytesTransferred(chunk);
+                    }
+                }
+            } finally {
+                src.limit(limit);
+            }
+            this.total += chunk;
+        }
+        // Content in excess of the content length gets discarded
+        src.position(limit);
+    }
+
     @Override
     public void write(final byte[] b) throws IOException {
         write(b, 0, b.length);
@@ -35,6 +35,7 @@
 
 import javax.net.ssl.SSLSocket;
 
+import org.apache.hc.core5.annotation.Internal;
 import org.apache.hc.core5.http.ClassicHttpRequest;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentLengthStrategy;
@@ -197,4 +198,16 @@ public void sendResponseEntity(final ClassicHttpResponse response)
             entity.writeTo(outStream);
         }
     }
+
+    /**
+     * Determines whether the session input buffer holds data that has already been
+     * read from the socket but not yet consumed.
+     *
+     * @since 5.5
+     */
+    @Internal
+    public boolean hasBufferedInput() {
+        return this.inBuffer.hasBufferedData();
+    }
+
 }
@@ -29,8 +29,15 @@
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 import org.apache.hc.core5.http.StreamClosedException;
+import org.apache.hc.core5.http.impl.BasicHttpTransportMetrics;
+import org.apache.hc.core5.http.io.ByteBufferContentTransfer;
+import org.apache.hc.core5.http.io.FileContentTransfer;
 import org.apache.hc.core5.http.io.SessionOutputBuffer;
 import org.apache.hc.core5.util.Args;
 
@@ -46,10 +53,11 @@
  *
  * @since 4.0
  */
-public class IdentityOutputStream extends OutputStream {
+public class IdentityOutputStream extends OutputStream implements FileContentTransfer, ByteBufferContentTransfer {
 
     private final SessionOutputBuffer buffer;
     private final OutputStream outputStream;
+    private final WritableByteChannel channel;
 
     /** True if the stream is closed. */
     private boolean closed;
@@ -61,9 +69,25 @@ public class IdentityOutputStream extends OutputStream {
      * @param outputStream Output stream
      */
     public IdentityOutputStream(final SessionOutputBuffer buffer, final OutputStream outputStream) {
+        this(buffer, outputStream, null);
+    }
+
+    /**
+     * @param buffer Session output buffer
+     * @param outputStream Output stream
+     * @param channel Channel underlying the output stream used to transfer file
+     *                and buffer content directly. May be {@code null}.
+     *
+     * @since 5.5
+     */
+    public IdentityOutputStream(
+            final SessionOutputBuffer buffer,
+            final OutputStream outputStream,
+            final WritableByteChannel channel) {
         super();
         this.buffer = Args.notNull(buffer, "Session output buffer");
         this.outputStream = Args.notNull(outputStream, "Output stream");
+        this.channel = channel;
     }
 
     /**
@@ -96,6 +120,49 @@ public void write(final byte[] b) throws IOException {
         write(b, 0, b.length);
     }
 
+    /**
+     * @since 5.5
+     */
+    @Override
+    public long transfer(final FileChannel src, final long position, final long count) throws IOException {
+        if (this.closed) {
+            throw new StreamClosedException();
+        }
+        if (this.channel == null) {
+            return src.transferTo(position, count, Channels.newChannel(this));
+        }
+        // Buffered content must precede the transferred content
+        this.buffer.flush(this.outputStream);
+        final long transferred = src.transferTo(position, count, this.channel);
+        if (transferred > 0 && this.buffer.getMetrics() instanceof BasicHttpTransportMetrics) {
+            ((BasicHttpTransportMetrics) this.buffer.getMetrics()).incrementBytesTransferred(transferred);
+        }
+        return transferred;
+    }
+
+    /**
+     * @since 5.5
+     */
+    @Override
+    public void transfer(final ByteBuffer src) throws IOException {
+        if (this.closed) {
+            throw new StreamClosedException();
+        }
+        if (this.channel == null) {
+            this.buffer.writeBuffer(src, this.outputStream);
+            return;
+        }
+        // Buffered content must precede the transferred content
+        this.buffer.flush(this.outputStream);
+        final int len = src.remaining();
+        while (src.hasRemaining()) {
+            this.channel.write(src);
+        }
+        if (len > 0 && this.buffer.getMetrics() instanceof BasicHttpTransportMetrics) {
+            ((BasicHttpTransportMetrics) this.buffer.getMetrics()).incrementBytesTransferred(len);
+        }
+    }
+
     @Override
     public void write(final int b) throws IOException {
         if (this.closed) {
@@ -31,6 +31,7 @@
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 
@@ -41,6 +42,7 @@
 import org.apache.hc.core5.http.io.SessionInputBuffer;
 import org.apache.hc.core5.util.Args;
 import org.apache.hc.core5.util.ByteArrayBuffer;
+import org.apache.hc.core5.util.ByteScanner;
 import org.apache.hc.core5.util.CharArrayBuffer;
 
 /**
@@ -58,6 +60,7 @@ public class SessionInputBufferImpl implements SessionInputBuffer {
 
     private final BasicHttpTransportMetrics metrics;
     private final byte[] buffer;
+    private final ByteBuffer bufferView;
     private final ByteArrayBuffer lineBuffer;
     private final int minChunkLimit;
     private final int maxLineLen;
@@ -91,6 +94,7 @@ public SessionInputBufferImpl(
         Args.positive(bufferSize, "Buffer size");
         this.metrics = metrics;
         this.buffer = new byte[bufferSize];
+        this.bufferView = ByteBuffer.wrap(this.buffer);
         this.bufferPos = 0;
         this.bufferLen = 0;
         this.minChunkLimit = minChunkLimit >= 0 ? minChunkLimit : 512;
@@ -132,9 +136,7 @@ public int available() {
         return capacity() - length();
     }
 
-    public int fillBuffer(final InputStream inputStream) throws IOException {
-        Args.notNull(inputStream, "Input stream");
-        // compact the buffer if necessary
+    private void compact() {
         if (this.bufferPos > 0) {
             final int len = this.bufferLen - this.bufferPos;
             if (len > 0) {
@@ -143,6 +145,12 @@ public int fillBuffer(final InputStream inputStream) throws IOException {
             this.bufferPos = 0;
             this.bufferLen = len;
         }
+    }
+
+    public int fillBuffer(final InputStream inputStream) throws IOException {
+        Args.notNull(inputStream, "Input stream");
+        // compact the buffer if necessary
+        compact();
         final int readLen;
         final int off = this.bufferLen;
         final int len = this.buffer.length - off;
@@ -155,6 +163,28 @@ public int fillBuffer(final InputStream inputStream) throws IOException {
         return readLen;
     }
 
+    /**
+     * Fills the buffer with data read from the given channel. If the channel is
+     * in non-blocking mode this method returns zero if no data is immediately
+     * available.
+     *
+     * @param channel the channel to read from.
+     * @return number of bytes read or {@code -1} if the end of stream has been reached.
+     * @throws IOException in case of an I/O error.
+     * @since 5.5
+     */
+    public int fillBuffer(final ReadableByteChannel channel) throws IOException {
+        Args.notNull(channel, "Channel");
+        compact();
+        final int off = this.bufferLen;
+        final int readLen = channel.read(ByteBuffer.wrap(this.buffer, off, this.buffer.length - off));
+        if (readLen > 0) {
+            this.bufferLen = off + readLen;
+            this.metrics.incrementBytesTransferred(readLen);
+        }
+        return readLen;
+    }
+
     public boolean hasBufferedData() {
         return this.bufferPos < this.bufferLen;
     }
@@ -244,13 +274,7 @@ public int readLine(final CharArrayBuffer charBuffer, final InputStream inputStr
         boolean retry = true;
         while (retry) {
             // attempt to find end of line (LF)
-            int pos = -1;
-            for (int i = this.bufferPos; i < this.bufferLen; i++) {
-                if (this.buffer[i] == Chars.LF) {
-                    pos = i;
-                    break;
-                }
-            }
+            final int pos = ByteScanner.indexOf(this.bufferView, this.bufferPos, this.bufferLen, (byte) Chars.LF);
 
             if (this.maxLineLen > 0) {
                 final int currentLen = this.lineBuffer.length()
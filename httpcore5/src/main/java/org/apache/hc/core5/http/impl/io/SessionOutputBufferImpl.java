@@ -162,6 +162,39 @@ public void write(final byte[] b, final OutputStream outputStream) throws IOExce
         write(b, 0, b.length, outputStream);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Content of direct and read-only buffers is copied straight into the session
+     * buffer without an intermediate byte array.
+     *
+     * @since 5.5
+     */
+    @Override
+    public void writeBuffer(final ByteBuffer src, final OutputStream outputStream) throws IOException {
+        if (src == null) {
+            return;
+        }
+        Args.notNull(outputStream, "Output stream");
+        if (src.hasArray()) {
+            write(src.array(), src.arrayOffset() + src.position(), src.remaining(), outputStream);
+            src.position(src.limit());
+            return;
+        }
+        while (src.hasRemaining()) {
+            if (this.buffer.isFull()) {
+                flushBuffer(outputStream);
+            }
+            final int len = this.buffer.length();
+            final int chunk = Math.min(src.remaining(), this.buffer.capacity() - len);
+            src.get(this.buffer.array(), len, chunk);
+            this.buffer.setLength(len + chunk);
+        }
+        if (this.fragmentSizeHint == 0) {
+            flushBuffer(outputStream);
+        }
+    }
+
     @Override
     public void write(final int b, final OutputStream outputStream) throws IOException {
         Args.notNull(outputStream, "Output stream");
@@ -213,6 +246,22 @@ public void writeLine(final CharArrayBuffer charbuffer, final OutputStream outpu
         write(CRLF, outputStream);
     }
 
+    /**
+     * Returns {@code true} if protocol elements are written out without charset
+     * encoding, that is, pre-encoded lines may be written as is.
+     */
+    boolean isByteLevelAccess() {
+        return this.encoder == null;
+    }
+
+    /**
+     * Writes out a pre-encoded line followed by the line delimiter.
+     */
+    void writeLine(final byte[] line, final OutputStream outputStream) throws IOException {
+        write(line, outputStream);
+        write(CRLF, outputStream);
+    }
+
     private void writeEncoded(final CharBuffer cbuf, final OutputStream outputStream) throws IOException {
         if (!cbuf.hasRemaining()) {
             return;
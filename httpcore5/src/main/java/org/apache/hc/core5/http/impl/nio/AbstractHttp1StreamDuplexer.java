@@ -104,6 +104,7 @@ private enum ConnectionState { READY, ACTIVE, GRACEFUL_SHUTDOWN, SHUTDOWN }
     private volatile Message<OutgoingMessage, ContentEncoder> outgoingMessage;
     private volatile ConnectionState connState;
     private volatile CapacityWindow capacityWindow;
+    private volatile boolean inputThrottled;
 
     private volatile ProtocolVersion version;
     private volatile EndpointDetails endpointDetails;
@@ -230,6 +231,24 @@ abstract ContentEncoder createContentEncoder(
 
     abstract boolean handleTimeout();
 
+    /**
+     * Determines whether the processing of further incoming messages must be put off
+     * until some of the outstanding message exchanges have been completed.
+     */
+    boolean isPipelineSaturated() {
+        return false;
+    }
+
+    /**
+     * Returns the size of content fragments that encoders should accumulate in the session
+     * buffer rather than write out directly. With output coalescing the fragment can take
+     * up the entire buffer so that small messages get written out along with their head.
+     */
+    int getFragmentSizeHint() {
+        final int chunkSizeHint = http1Config.getChunkSizeHint() >= 0 ? http1Config.getChunkSizeHint() : 2048;
+        return http1Config.isOutputCoalescing() ? Math.max(chunkSizeHint, http1Config.getBufferSize()) : chunkSizeHint;
+    }
+
     private void processCommands() throws HttpException, IOException {
         for (;;) {
             final Command command = ioSession.poll();
@@ -286,6 +305,12 @@ public final void onInput(final ByteBuffer src) throws HttpException, IOExceptio
         do {
             if (incomingMessage == null) {
 
+                if (isPipelineSaturated()) {
+                    inputThrottled = true;
+                    ioSession.clearEvent(SelectionKey.OP_READ);
+                    break;
+                }
+
                 final int bytesRead = inbuf.fill(ioSession);
                 if (bytesRead > 0) {
                     inTransportMetrics.incrementBytesTransferred(bytesRead);
@@ -351,6 +376,10 @@ public final void onInput(final ByteBuffer src) throws HttpException, IOExceptio
             }
         } while (inbuf.hasData());
 
+        if (http1Config.isOutputCoalescing()) {
+            flushOutput();
+        }
+
         if (endOfStream && !inbuf.hasData()) {
             if (inputIdle()) {
                 requestShutdown(CloseMode.GRACEFUL);
@@ -360,9 +389,10 @@ public final void onInput(final ByteBuffer src) throws HttpException, IOExceptio
         }
     }
 
-    public final void onOutput() throws IOException, HttpException {
+    private void flushOutput() throws IOException {
         ioSession.getLock().lock();
         try {
+            writePendingChunk();
             if (outbuf.hasData()) {
                 final int bytesWritten = outbuf.flush(ioSession);
                 if (bytesWritten > 0) {
@@ -372,6 +402,10 @@ public final void onOutput() throws IOException, HttpException {
         } finally {
             ioSession.getLock().unlock();
         }
+    }
+
+    public final void onOutput() throws IOException, HttpException {
+        flushOutput();
         if (connState.compareTo(ConnectionState.SHUTDOWN) < 0) {
             final int pendingOutputRequests = outputRequests.get();
             produceOutput();
@@ -379,12 +413,17 @@ public final void onOutput() throws IOException, HttpException {
             final boolean outputEnd;
             ioSession.getLock().lock();
             try {
-                if (!outputPending && !outbuf.hasData() && outputRequests.compareAndSet(pendingOutputRequests, 0)) {
+                if (!outputPending && !outbuf.hasData() && !hasPendingChunk()
+                        && outputRequests.compareAndSet(pendingOutputRequests, 0)) {
                     ioSession.clearEvent(SelectionKey.OP_WRITE);
                 } else {
                     outputRequests.addAndGet(-pendingOutputRequests);
                 }
-                outputEnd = outgoingMessage == null && !outbuf.hasData() && !isRequestInitiated();
+                // Coalesced output of a complete message does not need to be written out
+                // before moving on to the next one as long as the connection stays active
+                outputEnd = outgoingMessage == null
+                        && (!outbuf.hasData() || http1Config.isOutputCoalescing() && connState == ConnectionState.ACTIVE)
+                        && !isRequestInitiated();
             } finally {
                 ioSession.getLock().unlock();
             }
@@ -392,10 +431,26 @@ public final void onOutput() throws IOException, HttpException {
                 outputEnd();
                 if (connState.compareTo(ConnectionState.ACTIVE) == 0) {
                     processCommands();
+                    if (inputThrottled && !isPipelineSaturated()) {
+                        inputThrottled = false;
+                        ioSession.setEvent(SelectionKey.OP_READ);
+                        if (inbuf.hasData()) {
+                            // Messages already buffered will not trigger another input event
+                            onInput(null);
+                        }
+                    }
                 } else if (connState.compareTo(ConnectionState.GRACEFUL_SHUTDOWN) >= 0 && inputIdle() && outputIdle()) {
-                    connState = ConnectionState.SHUTDOWN;
+                    if (http1Config.isOutputCoalescing()) {
+                        flushOutput();
+                    }
+                    if (!outbuf.hasData()) {
+                        connState = ConnectionState.SHUTDOWN;
+                    }
                 }
             }
+            if (http1Config.isOutputCoalescing()) {
+                flushOutput();
+            }
         }
         if (connState.compareTo(ConnectionState.SHUTDOWN) >= 0) {
             ioSession.close();
@@ -458,7 +513,7 @@ void commitMessageHead(
                 }
             }
             outgoingMessageWriter.reset();
-            if (flushMode == FlushMode.IMMEDIATE) {
+            if (flushMode == FlushMode.IMMEDIATE && !http1Config.isOutputCoalescing()) {
                 final int bytesWritten = outbuf.flush(ioSession);
                 if (bytesWritten > 0) {
                     outTransportMetrics.incrementBytesTransferred(bytesWritten);
@@ -494,6 +549,7 @@ void suspendSessionInput() {
     void suspendSessionOutput() throws IOException {
         ioSession.getLock().lock();
         try {
+            writePendingChunk();
             if (outbuf.hasData()) {
                 final int bytesWritten = outbuf.flush(ioSession);
                 if (bytesWritten > 0) {
@@ -507,6 +563,24 @@ void suspendSessionOutput() throws IOException {
         }
     }
 
+    private boolean hasPendingChunk() {
+        if (outgoingMessage != null) {
+            final ContentEncoder contentEncoder = outgoingMessage.body();
+            return contentEncoder instanceof ChunkEncoder && ((ChunkEncoder) contentEncoder).hasPendingContent();
+        }
+        return false;
+    }
+
+    private void writePendingChunk() throws IOException {
+        // Content coalesced by the chunk encoder must not sit out a session buffer flush
+        if (outgoingMessage != null) {
+            final ContentEncoder contentEncoder = outgoingMessage.body();
+            if (contentEncoder instanceof ChunkEncoder) {
+                ((ChunkEncoder) contentEncoder).writePendingContent();
+            }
+        }
+    }
+
     int streamOutput(final ByteBuffer src) throws IOException {
         ioSession.getLock().lock();
         try {
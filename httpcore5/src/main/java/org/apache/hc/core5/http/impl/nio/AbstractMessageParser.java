@@ -28,13 +28,16 @@
 package org.apache.hc.core5.http.impl.nio;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.hc.core5.http.Chars;
 import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.HttpMessage;
 import org.apache.hc.core5.http.MessageConstraintException;
 import org.apache.hc.core5.http.config.Http1Config;
+import org.apache.hc.core5.http.message.HeaderNameRegistry;
 import org.apache.hc.core5.http.message.LazyLineParser;
 import org.apache.hc.core5.http.message.LineParser;
 import org.apache.hc.core5.http.nio.NHttpMessageParser;
@@ -63,6 +66,7 @@ private enum State {
     private T message;
     private CharArrayBuffer lineBuf;
     private final List<CharArrayBuffer> headerBufs;
+    private final List<byte[]> rawHeaderLines;
     private int emptyLineCount;
 
     /**
@@ -77,6 +81,7 @@ public AbstractMessageParser(final Http1Config http1Config, final LineParser lin
         this.http1Config = http1Config != null ? http1Config : Http1Config.DEFAULT;
         this.lineParser = lineParser != null ? lineParser : LazyLineParser.INSTANCE;
         this.headerBufs = new ArrayList<>();
+        this.rawHeaderLines = new ArrayList<>();
         this.state = State.READ_HEAD_LINE;
     }
 
@@ -100,6 +105,7 @@ LineParser getLineParser() {
     public void reset() {
         this.state = State.READ_HEAD_LINE;
         this.headerBufs.clear();
+        this.rawHeaderLines.clear();
         this.emptyLineCount = 0;
         this.message = null;
     }
@@ -155,6 +161,12 @@ private void parseHeader() throws IOException {
     public T parse(
             final SessionInputBuffer sessionBuffer, final boolean endOfStream) throws IOException, HttpException {
         Args.notNull(sessionBuffer, "Session input buffer");
+        if (this.http1Config.isByteLevelHeadParsing()
+                && this.lineParser instanceof LazyLineParser
+                && sessionBuffer instanceof SessionInputBufferImpl
+                && ((SessionInputBufferImpl) sessionBuffer).isByteLevelAccess()) {
+            return parseBytes((SessionInputBufferImpl) sessionBuffer, endOfStream);
+        }
         while (this.state != State.COMPLETED) {
             if (this.lineBuf == null) {
                 this.lineBuf = new CharArrayBuffer(64);
@@ -205,4 +217,124 @@ public T parse(
         return null;
     }
 
+    /**
+     * Parses the message head directly from the bytes of the session buffer.
+     * Header lines are copied out of the buffer once and get turned into
+     * headers that materialize their name and value on demand.
+     */
+    private T parseBytes(
+            final SessionInputBufferImpl sessionBuffer, final boolean endOfStream) throws IOException, HttpException {
+        final int maxLineLen = this.http1Config.getMaxLineLength();
+        while (this.state != State.COMPLETED) {
+            final int len = sessionBuffer.lineLength(endOfStream);
+            if (len < 0) {
+                if (maxLineLen > 0 && sessionBuffer.length() > maxLineLen) {
+                    throw new MessageConstraintException("Maximum line length limit exceeded");
+                }
+                break;
+            }
+            final ByteBuffer src = sessionBuffer.data();
+            final int start = src.position();
+            int end = start + len;
+            if (src.get(end - 1) == Chars.LF) {
+                end--;
+                if (end > start && src.get(end - 1) == Chars.CR) {
+                    end--;
+                }
+            }
+            if (maxLineLen > 0 && end - start > maxLineLen) {
+                throw new MessageConstraintException("Maximum line length limit exceeded");
+            }
+            src.position(start + len);
+
+            switch (this.state) {
+            case READ_HEAD_LINE:
+                if (end == start) {
+                    this.emptyLineCount++;
+                    if (this.emptyLineCount >= this.http1Config.getMaxEmptyLineCount()) {
+                        throw new MessageConstraintException("Maximum empty line limit exceeded");
+                    }
+                } else {
+                    if (this.lineBuf == null) {
+                        this.lineBuf = new CharArrayBuffer(end - start);
+                    } else {
+                        this.lineBuf.clear();
+                    }
+                    if (src.hasArray()) {
+                        this.lineBuf.append(src.array(), src.arrayOffset() + start, end - start);
+                    } else {
+                        for (int i = start; i < end; i++) {
+                            this.lineBuf.append((char) (src.get(i) & 0xff));
+                        }
+                    }
+                    this.message = createMessage(this.lineBuf);
+                    this.state = State.READ_HEADERS;
+                }
+                break;
+            case READ_HEADERS:
+                if (end > start) {
+                    final int maxHeaderCount = this.http1Config.getMaxHeaderCount();
+                    if (maxHeaderCount > 0 && this.rawHeaderLines.size() >= maxHeaderCount) {
+                        throw new MessageConstraintException("Maximum header count exceeded");
+                    }
+                    parseRawHeader(src, start, end);
+                } else {
+                    this.state = State.COMPLETED;
+                }
+                break;
+            }
+            if (endOfStream && !sessionBuffer.hasData()) {
+                this.state = State.COMPLETED;
+            }
+        }
+        if (this.state == State.COMPLETED) {
+            final HeaderNameRegistry headerNames = ((LazyLineParser) this.lineParser).getHeaderNames();
+            for (final byte[] line : this.rawHeaderLines) {
+                this.message.addHeader(RawHeader.create(line, headerNames));
+            }
+            return this.message;
+        }
+        return null;
+    }
+
+    private void parseRawHeader(final ByteBuffer src, final int start, final int end) throws MessageConstraintException {
+        final int count = this.rawHeaderLines.size();
+        final byte first = src.get(start);
+        if ((first == ' ' || first == '\t') && count > 0) {
+            // Handle folded header line
+            final byte[] previous = this.rawHeaderLines.get(count - 1);
+            int i = start;
+            while (i < end) {
+                final byte b = src.get(i);
+                if (b != ' ' && b != '\t') {
+                    break;
+                }
+                i++;
+            }
+            final int maxLineLen = this.http1Config.getMaxLineLength();
+            if (maxLineLen > 0 && previous.length + 1 + end - i > maxLineLen) {
+                throw new MessageConstraintException("Maximum line length limit exceeded");
+            }
+            final byte[] merged = new byte[previous.length + 1 + end - i];
+            System.arraycopy(previous, 0, merged, 0, previous.length);
+            merged[previous.length] = ' ';
+            copy(src, i, end, merged, previous.length + 1);
+            this.rawHeaderLines.set(count - 1, merged);
+        } else {
+            final byte[] line = new byte[end - start];
+            copy(src, start, end, line, 0);
+            this.rawHeaderLines.add(line);
+        }
+    }
+
+    private static void copy(final ByteBuffer src, final int start, final int end, final byte[] dst, final int off) {
+        if (src.hasArray()) {
+            System.arraycopy(src.array(), src.arrayOffset() + start, dst, off, end - start);
+        } else {
+            for (int i = start; i < end; i++) {
+                dst[off + i - start] = src.get(i);
+            }
+        }
+    }
+
 }
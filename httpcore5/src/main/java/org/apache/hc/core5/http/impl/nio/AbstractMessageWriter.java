@@ -36,6 +36,7 @@
 import org.apache.hc.core5.http.HttpMessage;
 import org.apache.hc.core5.http.message.BasicLineFormatter;
 import org.apache.hc.core5.http.message.LineFormatter;
+import org.apache.hc.core5.http.message.PreEncodedHeader;
 import org.apache.hc.core5.http.nio.NHttpMessageWriter;
 import org.apache.hc.core5.http.nio.SessionOutputBuffer;
 import org.apache.hc.core5.util.Args;
@@ -83,16 +84,35 @@ public void reset() {
      */
     protected abstract void writeHeadLine(T message, CharArrayBuffer buffer) throws IOException;
 
+    /**
+     * Returns the pre-encoded first line of the message if available.
+     * The default implementation returns {@code null}.
+     */
+    byte[] encodedHeadLine(final T message) {
+        return null;
+    }
+
     @Override
     public void write(final T message, final SessionOutputBuffer sessionBuffer) throws IOException, HttpException {
         Args.notNull(message, "HTTP message");
         Args.notNull(sessionBuffer, "Session output buffer");
 
-        writeHeadLine(message, this.lineBuf);
-        sessionBuffer.writeLine(this.lineBuf);
+        final SessionOutputBufferImpl rawBuffer = sessionBuffer instanceof SessionOutputBufferImpl
+                && ((SessionOutputBufferImpl) sessionBuffer).isByteLevelAccess() ? (SessionOutputBufferImpl) sessionBuffer : null;
+        final byte[] headLine = rawBuffer != null ? encodedHeadLine(message) : null;
+        if (headLine != null) {
+            rawBuffer.writeLine(headLine);
+        } else {
+            writeHeadLine(message, this.lineBuf);
+            sessionBuffer.writeLine(this.lineBuf);
+        }
         for (final Iterator<Header> it = message.headerIterator(); it.hasNext(); ) {
             final Header header = it.next();
-            if (header instanceof FormattedHeader) {
+            if (rawBuffer != null && header instanceof PreEncodedHeader) {
+                rawBuffer.writeLine(((PreEncodedHeader) header).getEncodedLine());
+            } else if (header instanceof PreEncodedHeader) {
+                sessionBuffer.writeLine(((PreEncodedHeader) header).getFormattedLine());
+            } else if (header instanceof FormattedHeader) {
                 final CharArrayBuffer buffer = ((FormattedHeader) header).getBuffer();
                 sessionBuffer.writeLine(buffer);
             } else {
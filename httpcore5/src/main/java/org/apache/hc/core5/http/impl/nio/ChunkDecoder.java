@@ -33,6 +33,7 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.hc.core5.http.Chars;
 import org.apache.hc.core5.http.ConnectionClosedException;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.MalformedChunkCodingException;
@@ -44,6 +45,7 @@
 import org.apache.hc.core5.http.message.BufferedHeader;
 import org.apache.hc.core5.http.nio.SessionInputBuffer;
 import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.ByteScanner;
 import org.apache.hc.core5.util.CharArrayBuffer;
 
 /**
@@ -58,6 +60,10 @@ private enum State {
         READ_CONTENT, READ_FOOTERS, COMPLETED
     }
 
+    private enum HeadState {
+        CHUNK_CRLF, SIZE, SIZE_END, EXTENSION
+    }
+
     private State state;
     private boolean endOfChunk;
     private boolean endOfStream;
@@ -66,6 +72,12 @@ private enum State {
     private long chunkSize;
     private long pos;
 
+    private HeadState headState;
+    private long headSize;
+    private int headDigits;
+    private int headLen;
+    private boolean headCR;
+
     private final Http1Config http1Config;
     private final List<CharArrayBuffer> trailerBufs;
     private final List<Header> trailers;
@@ -97,6 +109,157 @@ public ChunkDecoder(
     }
 
     private void readChunkHead() throws IOException {
+        if (this.buffer instanceof SessionInputBufferImpl) {
+            parseChunkHead((SessionInputBufferImpl) this.buffer);
+        } else {
+            readChunkHeadLine();
+        }
+    }
+
+    private static int hexValue(final byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == Chars.SP || b == Chars.HT || b == Chars.CR;
+    }
+
+    private void checkHeadLength(final int maxBufferLineLen, final boolean lineComplete) throws MessageConstraintException {
+        // Apply the same limits as the line based path: the session buffer counts
+        // the line delimiter, the message constraints do not count CRLF
+        if (maxBufferLineLen > 0 && (lineComplete ? this.headLen + 1 : this.headLen) >= maxBufferLineLen) {
+            throw new MessageConstraintException("Maximum line length limit exceeded");
+        }
+        final int maxLineLen = this.http1Config.getMaxLineLength();
+        if (maxLineLen > 0) {
+            // A trailing CR of an incomplete line may still turn out to be a part of CRLF
+            final int len = lineComplete && this.headCR ? this.headLen - 1 : this.headLen;
+            if (lineComplete ? len > maxLineLen : len > maxLineLen + 1) {
+                throw new MessageConstraintException("Maximum line length limit exceeded");
+            }
+        }
+    }
+
+    private void completeChunkHead() throws MalformedChunkCodingException {
+        if (this.headDigits == 0) {
+            throw new MalformedChunkCodingException("Bad chunk header: missing chunk size");
+        }
+        this.chunkSize = this.headSize;
+        this.pos = 0L;
+        this.headState = null;
+    }
+
+    /**
+     * Parses the chunk head directly from the session buffer content one byte
+     * at a time. Chunk extensions, which are ignored, are skipped up to the end
+     * of the line with a word-wise scan. The parser state is kept in fields, so
+     * a chunk head split across several reads is parsed without intermediate
+     * line buffers or strings.
+     */
+    private void parseChunkHead(final SessionInputBufferImpl inbuf) throws IOException {
+        if (this.headState == null) {
+            this.headState = this.endOfChunk ? HeadState.CHUNK_CRLF : HeadState.SIZE;
+            this.headSize = 0L;
+            this.headDigits = 0;
+            this.headLen = 0;
+            this.headCR = false;
+        }
+        final int maxBufferLineLen = inbuf.getMaxLineLen();
+        final ByteBuffer src = inbuf.data();
+        while (src.hasRemaining()) {
+            if (this.headState == HeadState.EXTENSION) {
+                final int start = src.position();
+                final int lf = ByteScanner.indexOf(src, start, src.limit(), (byte) Chars.LF);
+                final int end = lf >= 0 ? lf : src.limit();
+                if (end > start) {
+                    this.headLen += end - start;
+                    this.headCR = src.get(end - 1) == Chars.CR;
+                }
+                if (lf < 0) {
+                    src.position(end);
+                    checkHeadLength(maxBufferLineLen, false);
+                    continue;
+                }
+                src.position(lf + 1);
+                checkHeadLength(maxBufferLineLen, true);
+                completeChunkHead();
+                return;
+            }
+            final byte b = src.get();
+            if (this.headState == HeadState.CHUNK_CRLF) {
+                if (b == Chars.LF) {
+                    this.endOfChunk = false;
+                    this.headState = HeadState.SIZE;
+                    this.headCR = false;
+                } else if (b == Chars.CR && !this.headCR) {
+                    this.headCR = true;
+                } else {
+                    throw new MalformedChunkCodingException("CRLF expected at end of chunk");
+                }
+                continue;
+            }
+            if (b == Chars.LF) {
+                checkHeadLength(maxBufferLineLen, true);
+                completeChunkHead();
+                return;
+            }
+            this.headLen++;
+            this.headCR = b == Chars.CR;
+            checkHeadLength(maxBufferLineLen, false);
+            switch (this.headState) {
+            case SIZE:
+                final int digit = hexValue(b);
+                if (digit >= 0) {
+                    if (this.headSize > (Long.MAX_VALUE >>> 4)) {
+                        throw new MalformedChunkCodingException("Bad chunk header: chunk size too large");
+                    }
+                    this.headSize = (this.headSize << 4) | digit;
+                    this.headDigits++;
+                } else if (b == ';') {
+                    this.headState = HeadState.EXTENSION;
+                } else if (isWhitespace(b)) {
+                    if (this.headDigits > 0) {
+                        this.headState = HeadState.SIZE_END;
+                    }
+                } else {
+                    throw new MalformedChunkCodingException("Bad chunk header: unexpected character 0x%02x", b & 0xff);
+                }
+                break;
+            case SIZE_END:
+                if (b == ';') {
+                    this.headState = HeadState.EXTENSION;
+                } else if (!isWhitespace(b)) {
+                    throw new MalformedChunkCodingException("Bad chunk header: unexpected character 0x%02x", b & 0xff);
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        if (this.endOfStream) {
+            if (this.headState == HeadState.CHUNK_CRLF) {
+                throw new MalformedChunkCodingException("CRLF expected at end of chunk");
+            }
+            if (this.headLen > 0) {
+                // Treat the remaining content as the last line
+                completeChunkHead();
+                return;
+            }
+            throw new ConnectionClosedException(
+                    "Premature end of chunk coded message body: closing chunk expected");
+        }
+    }
+
+    private void readChunkHeadLine() throws IOException {
         if (this.lineBuf == null) {
             this.lineBuf = new CharArrayBuffer(32);
         } else {
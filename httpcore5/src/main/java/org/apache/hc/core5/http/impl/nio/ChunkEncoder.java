@@ -47,24 +47,56 @@
  */
 public class ChunkEncoder extends AbstractContentEncoder {
 
+    // 12345678\r\n
+    // <chunk-data>\r\n
+    private static final int MAX_FRAMING_LEN = 12;
+    private static final int MIN_TARGET_CHUNK_SIZE = 256;
+
     private final int chunkSizeHint;
     private final CharArrayBuffer lineBuffer;
+    private final boolean adaptive;
+
+    private ByteBuffer pending;
+    private int targetChunkSize;
+    private long chunkCount;
+    private long chunkedBytes;
 
     /**
      * @param channel underlying channel.
      * @param buffer  session buffer.
      * @param metrics transport metrics.
+     * @param chunkSizeHint minimal chunk size hint.
+     * @param adaptive if {@code true} small writes get coalesced into chunks of
+     *   a target size that starts at {@code chunkSizeHint} and grows for sustained
+     *   bulk streams up to the session buffer capacity.
      *
-     * @since 5.0
+     * @since 5.5
      */
     public ChunkEncoder(
             final WritableByteChannel channel,
             final SessionOutputBuffer buffer,
             final BasicHttpTransportMetrics metrics,
-            final int chunkSizeHint) {
+            final int chunkSizeHint,
+            final boolean adaptive) {
         super(channel, buffer, metrics);
         this.chunkSizeHint = Math.max(chunkSizeHint, 0);
         this.lineBuffer = new CharArrayBuffer(16);
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * @param channel underlying channel.
+     * @param buffer  session buffer.
+     * @param metrics transport metrics.
+     *
+     * @since 5.0
+     */
+    public ChunkEncoder(
+            final WritableByteChannel channel,
+            final SessionOutputBuffer buffer,
+            final BasicHttpTransportMetrics metrics,
+            final int chunkSizeHint) {
+        this(channel, buffer, metrics, chunkSizeHint, false);
     }
 
     public ChunkEncoder(
@@ -74,6 +106,24 @@ public ChunkEncoder(
         this(channel, buffer, metrics, 0);
     }
 
+    private void writeChunk(final ByteBuffer src, final int chunk) throws IOException {
+        this.lineBuffer.clear();
+        this.lineBuffer.append(Integer.toHexString(chunk));
+        this.buffer.writeLine(this.lineBuffer);
+        if (chunk < src.remaining()) {
+            final int oldlimit = src.limit();
+            src.limit(src.position() + chunk);
+            this.buffer.write(src);
+            src.limit(oldlimit);
+        } else {
+            this.buffer.write(src);
+        }
+        this.lineBuffer.clear();
+        this.buffer.writeLine(this.lineBuffer);
+        this.chunkCount++;
+        this.chunkedBytes += chunk;
+    }
+
     @Override
     public int write(final ByteBuffer src) throws IOException {
         if (src == null) {
@@ -81,37 +131,61 @@ public int write(final ByteBuffer src) throws IOException {
         }
         assertNotCompleted();
 
+        if (this.adaptive && this.buffer.capacity() > MAX_FRAMING_LEN) {
+            return writeCoalesced(src, this.buffer.capacity() - MAX_FRAMING_LEN);
+        }
         int total = 0;
         while (src.hasRemaining()) {
-            int chunk = src.remaining();
-            int avail;
-            avail = this.buffer.capacity();
-
             // subtract the length of the longest chunk header
-            // 12345678\r\n
-            // <chunk-data>\r\n
-            avail -= 12;
-            if (avail > 0) {
-                if (avail < chunk) {
-                    // write no more than 'avail' bytes
-                    chunk = avail;
-                    this.lineBuffer.clear();
-                    this.lineBuffer.append(Integer.toHexString(chunk));
-                    this.buffer.writeLine(this.lineBuffer);
-                    final int oldlimit = src.limit();
-                    src.limit(src.position() + chunk);
-                    this.buffer.write(src);
-                    src.limit(oldlimit);
-                } else {
-                    // write all
-                    this.lineBuffer.clear();
-                    this.lineBuffer.append(Integer.toHexString(chunk));
-                    this.buffer.writeLine(this.lineBuffer);
-                    this.buffer.write(src);
+            final int maxChunkSize = this.buffer.capacity() - MAX_FRAMING_LEN;
+            if (maxChunkSize > 0) {
+                // write no more than 'maxChunkSize' bytes
+                final int chunk = Math.min(src.remaining(), maxChunkSize);
+                writeChunk(src, chunk);
+                total += chunk;
+            }
+            if (this.buffer.length() >= this.chunkSizeHint || src.hasRemaining()) {
+                final int bytesWritten = flushToChannel();
+                if (bytesWritten == 0) {
+                    break;
                 }
-                this.lineBuffer.clear();
-                this.buffer.writeLine(this.lineBuffer);
+            }
+        }
+        return total;
+    }
+
+    private int writeCoalesced(final ByteBuffer src, final int maxChunkSize) throws IOException {
+        if (this.pending == null) {
+            final int initial = Math.max(this.chunkSizeHint, MIN_TARGET_CHUNK_SIZE);
+            this.targetChunkSize = Math.min(initial, maxChunkSize);
+            this.pending = ByteBuffer.allocate(this.targetChunkSize);
+        }
+        int total = 0;
+        while (src.hasRemaining()) {
+            if (this.pending.position() == 0 && src.remaining() >= this.targetChunkSize) {
+                // Bulk content: frame it directly without copying
+                final int chunk = Math.min(src.remaining(), maxChunkSize);
+                writeChunk(src, chunk);
+                total += chunk;
+                growTargetChunkSize(maxChunkSize);
+            } else {
+                if (this.pending.capacity() < this.targetChunkSize) {
+                    final ByteBuffer newPending = ByteBuffer.allocate(this.targetChunkSize);
+                    this.pending.flip();
+                    newPending.put(this.pending);
+                    this.pending = newPending;
+                }
+                final int chunk = Math.min(src.remaining(), this.targetChunkSize - this.pending.position());
+                final int oldlimit = src.limit();
+                src.limit(src.position() + chunk);
+                this.pending.put(src);
+                src.limit(oldlimit);
                 total += chunk;
+                if (this.pending.position() < this.targetChunkSize) {
+                    break;
+                }
+                writePendingChunk();
+                growTargetChunkSize(maxChunkSize);
             }
             if (this.buffer.length() >= this.chunkSizeHint || src.hasRemaining()) {
                 final int bytesWritten = flushToChannel();
@@ -123,9 +197,76 @@ public int write(final ByteBuffer src) throws IOException {
         return total;
     }
 
+    private void growTargetChunkSize(final int maxChunkSize) {
+        if (this.targetChunkSize < maxChunkSize) {
+            this.targetChunkSize = Math.min(this.targetChunkSize * 2, maxChunkSize);
+        }
+    }
+
+    private void writePendingChunk() throws IOException {
+        this.pending.flip();
+        writeChunk(this.pending, this.pending.remaining());
+        this.pending.clear();
+    }
+
+    /**
+     * Returns {@code true} if content has been coalesced but not yet
+     * written out as a chunk.
+     */
+    boolean hasPendingContent() {
+        return this.pending != null && this.pending.position() > 0;
+    }
+
+    /**
+     * Writes out coalesced content as a chunk. This method is expected to be
+     * called when the session is about to flush its output buffer, so coalescing
+     * never holds content back longer than it would sit in the session buffer.
+     * As the stream is evidently not saturating the target chunk size, the
+     * target gets reset to its initial value.
+     */
+    void writePendingContent() throws IOException {
+        if (hasPendingContent()) {
+            writePendingChunk();
+            this.targetChunkSize = Math.min(
+                    Math.max(this.chunkSizeHint, MIN_TARGET_CHUNK_SIZE),
+                    this.buffer.capacity() - MAX_FRAMING_LEN);
+        }
+    }
+
+    /**
+     * Returns the number of non-empty chunks written out so far.
+     *
+     * @since 5.5
+     */
+    public long getChunkCount() {
+        return this.chunkCount;
+    }
+
+    /**
+     * Returns the total number of content bytes written out as chunks so far.
+     *
+     * @since 5.5
+     */
+    public long getChunkedBytes() {
+        return this.chunkedBytes;
+    }
+
+    /**
+     * Returns the average size of non-empty chunks written out so far
+     * or {@code 0} if none.
+     *
+     * @since 5.5
+     */
+    public long getAverageChunkSize() {
+        return this.chunkCount > 0 ? this.chunkedBytes / this.chunkCount : 0;
+    }
+
     @Override
     public void complete(final List<? extends Header> trailers) throws IOException {
         assertNotCompleted();
+        if (hasPendingContent()) {
+            writePendingChunk();
+        }
         this.lineBuffer.clear();
         this.lineBuffer.append("0");
         this.buffer.writeLine(this.lineBuffer);
@@ -156,6 +297,10 @@ public String toString() {
         final StringBuilder sb = new StringBuilder();
         sb.append("[chunk-coded; completed: ");
         sb.append(isCompleted());
+        if (this.adaptive) {
+            sb.append("; pending: ");
+            sb.append(this.pending != null ? this.pending.position() : 0);
+        }
         sb.append("]");
         return sb.toString();
     }
@@ -281,11 +281,11 @@ protected ContentEncoder createContentEncoder(
             final WritableByteChannel channel,
             final SessionOutputBuffer buffer,
             final BasicHttpTransportMetrics metrics) throws HttpException {
-        final int chunkSizeHint = http1Config.getChunkSizeHint() >= 0 ? http1Config.getChunkSizeHint() : 2048;
+        final int chunkSizeHint = getFragmentSizeHint();
         if (len >= 0) {
             return new LengthDelimitedEncoder(channel, buffer, metrics, len, chunkSizeHint);
         } else if (len == ContentLengthStrategy.CHUNKED) {
-            return new ChunkEncoder(channel, buffer, metrics, chunkSizeHint);
+            return new ChunkEncoder(channel, buffer, metrics, chunkSizeHint, http1Config.isAdaptiveChunking());
         } else {
             throw new LengthRequiredException();
         }
@@ -32,6 +32,8 @@
 import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.HttpVersion;
 import org.apache.hc.core5.http.config.Http1Config;
+import org.apache.hc.core5.http.impl.StatusLineCache;
+import org.apache.hc.core5.http.message.BasicLineFormatter;
 import org.apache.hc.core5.http.message.LineFormatter;
 import org.apache.hc.core5.http.message.StatusLine;
 import org.apache.hc.core5.util.CharArrayBuffer;
@@ -83,6 +85,18 @@ protected HttpVersion protocolVersion(final T request) {
         return http1Config.getVersion();
     }
 
+    @Override
+    byte[] encodedHeadLine(final T message) {
+        // Subclasses may customize the head line, so only use the cache for this exact class
+        if (getClass() != DefaultHttpResponseWriter.class || getLineFormatter() != BasicLineFormatter.INSTANCE) {
+            return null;
+        }
+        return StatusLineCache.INSTANCE.getEncoded(
+                protocolVersion(message),
+                message.getCode(),
+                message.getReasonPhrase());
+    }
+
     @Override
     protected void writeHeadLine(final T message, final CharArrayBuffer lineBuf) throws IOException {
         lineBuf.clear();
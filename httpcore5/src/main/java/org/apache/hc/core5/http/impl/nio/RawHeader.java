@@ -0,0 +1,150 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.nio;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hc.core5.http.Chars;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.message.HeaderNameRegistry;
+import org.apache.hc.core5.util.ByteScanner;
+
+/**
+ * Header backed by the raw bytes of a header line. The line is validated
+ * on creation, while the name and the value are materialized only
+ * when accessed.
+ *
+ * @since 5.5
+ */
+final class RawHeader implements Header, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] line;
+    private final int nameStart;
+    private final int colon;
+
+    private String name;
+    private String value;
+
+    private RawHeader(final byte[] line, final int nameStart, final int colon, final String name) {
+        this.line = line;
+        this.nameStart = nameStart;
+        this.colon = colon;
+        this.name = name;
+    }
+
+    /**
+     * Creates a header from the given line applying the same rules as
+     * {@link org.apache.hc.core5.http.message.BufferedHeader}. Well-known header
+     * names get resolved to their canonical instance right away.
+     */
+    static RawHeader create(final byte[] line, final HeaderNameRegistry headerNames) throws ParseException {
+        final int colon = ByteScanner.indexOf(line, 0, line.length, (byte) ':');
+        if (colon <= 0) {
+            throw new ParseException("Invalid header", toString(line), 0, line.length);
+        }
+        if (isWhitespace(line[colon - 1])) {
+            throw new ParseException("Invalid header", toString(line), 0, line.length, colon - 1);
+        }
+        int nameStart = 0;
+        while (nameStart < colon && isWhitespace(line[nameStart])) {
+            nameStart++;
+        }
+        if (nameStart == colon) {
+            throw new ParseException("Invalid header", toString(line), 0, line.length, colon);
+        }
+        final String knownName = headerNames != null ? headerNames.lookup(line, nameStart, colon - nameStart) : null;
+        return new RawHeader(line, nameStart, colon, knownName);
+    }
+
+    static boolean isWhitespace(final byte b) {
+        return b == Chars.SP || b == Chars.HT || b == Chars.CR || b == Chars.LF;
+    }
+
+    private static String toString(final byte[] b) {
+        return new String(b, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String getName() {
+        if (name == null) {
+            name = new String(line, nameStart, colon - nameStart, StandardCharsets.ISO_8859_1);
+        }
+        return name;
+    }
+
+    @Override
+    public String getValue() {
+        if (value == null) {
+            int beginIdx = colon + 1;
+            int endIdx = line.length;
+            while (beginIdx < endIdx && isWhitespace(line[beginIdx])) {
+                beginIdx++;
+            }
+            while (endIdx > beginIdx && isWhitespace(line[endIdx - 1])) {
+                endIdx--;
+            }
+            boolean clean = true;
+            for (int i = beginIdx; i < endIdx; i++) {
+                final byte b = line[i];
+                if (b == Chars.CR || b == Chars.LF || b == Chars.NULL) {
+                    clean = false;
+                    break;
+                }
+            }
+            if (clean) {
+                value = new String(line, beginIdx, endIdx - beginIdx, StandardCharsets.ISO_8859_1);
+            } else {
+                final StringBuilder buf = new StringBuilder(endIdx - beginIdx);
+                for (int i = beginIdx; i < endIdx; i++) {
+                    final char ch = (char) (line[i] & 0xff);
+                    if (ch == Chars.CR || ch == Chars.LF || ch == Chars.NULL) {
+                        buf.append((char) Chars.SP);
+                    } else {
+                        buf.append(ch);
+                    }
+                }
+                value = buf.toString();
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public boolean isSensitive() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return toString(line);
+    }
+
+}
@@ -94,6 +94,7 @@ public class ServerHttp1StreamDuplexer extends AbstractHttp1StreamDuplexer<HttpR
 
     private volatile ServerHttp1StreamHandler outgoing;
     private volatile ServerHttp1StreamHandler incoming;
+    private volatile boolean outgoingWritten;
 
     public ServerHttp1StreamDuplexer(
             final ProtocolIOSession ioSession,
@@ -140,7 +141,13 @@ public void submit(
                 if (streamListener != null) {
                     streamListener.onResponseHead(ServerHttp1StreamDuplexer.this, response);
                 }
-                commitMessageHead(response, endStream, flushMode);
+                // Complete responses with pipelined responses queued behind them get
+                // flushed together with those
+                commitMessageHead(response, endStream,
+                        endStream && flushMode == FlushMode.IMMEDIATE && !pipeline.isEmpty() ? FlushMode.BUFFER : flushMode);
+                if (endStream && response.getCode() >= HttpStatus.SC_SUCCESS) {
+                    outgoingWritten = true;
+                }
             }
 
             @Override
@@ -171,6 +178,7 @@ public int write(final ByteBuffer src) throws IOException {
             @Override
             public void complete(final List<? extends Header> trailers) throws IOException {
                 endOutputStream(trailers);
+                outgoingWritten = true;
             }
 
             @Override
@@ -181,6 +189,7 @@ public boolean isCompleted() {
             @Override
             public boolean abortGracefully() throws IOException {
                 final MessageDelineation messageDelineation = endOutputStream(null);
+                outgoingWritten = true;
                 return messageDelineation != MessageDelineation.MESSAGE_HEAD;
             }
 
@@ -290,11 +299,11 @@ protected ContentEncoder createContentEncoder(
             final WritableByteChannel channel,
             final SessionOutputBuffer buffer,
             final BasicHttpTransportMetrics metrics) throws HttpException {
-        final int chunkSizeHint = http1Config.getChunkSizeHint() >= 0 ? http1Config.getChunkSizeHint() : 2048;
+        final int chunkSizeHint = getFragmentSizeHint();
         if (len >= 0) {
             return new LengthDelimitedEncoder(channel, buffer, metrics, len, chunkSizeHint);
         } else if (len == ContentLengthStrategy.CHUNKED) {
-            return new ChunkEncoder(channel, buffer, metrics, chunkSizeHint);
+            return new ChunkEncoder(channel, buffer, metrics, chunkSizeHint, http1Config.isAdaptiveChunking());
         } else {
             return new IdentityEncoder(channel, buffer, metrics, chunkSizeHint);
         }
@@ -310,6 +319,13 @@ boolean outputIdle() {
         return outgoing == null && pipeline.isEmpty();
     }
 
+    @Override
+    boolean isPipelineSaturated() {
+        final int maxPipelinedRequests = http1Config.getMaxPipelinedRequests();
+        return maxPipelinedRequests > 0
+                && (outgoing != null ? 1 : 0) + pipeline.size() >= maxPipelinedRequests;
+    }
+
     @Override
     HttpRequest parseMessageHead(final boolean endOfStream) throws IOException, HttpException {
         try {
@@ -326,7 +342,13 @@ void terminateExchange(final HttpException ex) throws HttpException, IOException
         final HttpCoreContext context = HttpCoreContext.create();
         context.setSSLSession(getSSLSession());
         context.setEndpointDetails(getEndpointDetails());
+        if (outgoing != null && outgoingWritten && pipeline.isEmpty() && http1Config.isOutputCoalescing() && isActive()) {
+            // The preceding response has been written to the session buffer in full,
+            // so the response to this request can be coalesced with it
+            releaseOutgoing();
+        }
         if (outgoing == null) {
+            outgoingWritten = false;
             streamHandler = new ServerHttp1StreamHandler(
                     outputChannel,
                     httpProcessor,
@@ -360,7 +382,13 @@ void consumeHeader(final HttpRequest request, final EntityDetails entityDetails)
         final HttpCoreContext context = HttpCoreContext.create();
         context.setSSLSession(getSSLSession());
         context.setEndpointDetails(getEndpointDetails());
+        if (outgoing != null && outgoingWritten && pipeline.isEmpty() && http1Config.isOutputCoalescing() && isActive()) {
+            // The preceding response has been written to the session buffer in full,
+            // so the response to this request can be coalesced with it
+            releaseOutgoing();
+        }
         if (outgoing == null) {
+            outgoingWritten = false;
             streamHandler = new ServerHttp1StreamHandler(
                     outputChannel,
                     httpProcessor,
@@ -439,26 +467,39 @@ void produceOutput() throws HttpException, IOException {
         }
     }
 
+    private void releaseOutgoing() {
+        if (streamListener != null) {
+            streamListener.onExchangeComplete(this, outgoing.keepAlive());
+        }
+        if (outgoing.isCompleted()) {
+            outgoing.releaseResources();
+        }
+        outgoing = null;
+    }
+
     @Override
     void outputEnd() throws HttpException, IOException {
-        if (outgoing != null && outgoing.isResponseFinal()) {
-            if (streamListener != null) {
-                streamListener.onExchangeComplete(this, outgoing.keepAlive());
-            }
-            if (outgoing.isCompleted()) {
-                outgoing.releaseResources();
+        for (;;) {
+            if (outgoing != null && outgoing.isResponseFinal()) {
+                releaseOutgoing();
             }
-            outgoing = null;
-        }
-        if (outgoing == null && isActive()) {
-            final ServerHttp1StreamHandler handler = pipeline.poll();
-            if (handler != null) {
-                outgoing = handler;
-                handler.activateChannel();
-                if (handler.isOutputReady()) {
-                    handler.produceOutput();
+            if (outgoing == null && isActive()) {
+                final ServerHttp1StreamHandler handler = pipeline.poll();
+                if (handler != null) {
+                    outgoingWritten = false;
+                    outgoing = handler;
+                    handler.activateChannel();
+                    if (handler.isOutputReady()) {
+                        handler.produceOutput();
+                    }
+                    // Keep on draining the pipeline while pipelined responses have been
+                    // produced in full so that they get written out in one batch
+                    if (handler.isResponseFinal() && isOutputCompleted()) {
+                        continue;
+                    }
                 }
             }
+            break;
         }
         if (isShuttingDown() && outputIdle() && inputIdle()) {
             shutdownSession(CloseMode.IMMEDIATE);
@@ -40,6 +40,7 @@
 import org.apache.hc.core5.http.MessageConstraintException;
 import org.apache.hc.core5.http.nio.SessionInputBuffer;
 import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.ByteScanner;
 import org.apache.hc.core5.util.CharArrayBuffer;
 
 class SessionInputBufferImpl extends ExpandableBuffer implements SessionInputBuffer {
@@ -205,6 +206,53 @@ public int read(final WritableByteChannel dst) throws IOException {
         return dst.write(buffer());
     }
 
+    /**
+     * Determines whether protocol elements can be read directly as bytes, that is,
+     * without charset decoding.
+     */
+    boolean isByteLevelAccess() {
+        return this.charDecoder == null;
+    }
+
+    /**
+     * Returns the length of the next line in bytes including the terminating LF
+     * or {@code -1} if the buffer holds no complete line. This method does not
+     * consume any data.
+     */
+    int lineLength(final boolean endOfStream) throws MessageConstraintException {
+        setOutputMode();
+        final ByteBuffer buf = buffer();
+        final int start = buf.position();
+        final int limit = buf.limit();
+        final int lf = ByteScanner.indexOf(buf, start, limit, (byte) Chars.LF);
+        final int pos = lf >= 0 ? lf + 1 : -1;
+        if (this.maxLineLen > 0) {
+            final int currentLen = (pos > 0 ? pos : limit) - start;
+            if (currentLen >= this.maxLineLen) {
+                throw new MessageConstraintException("Maximum line length limit exceeded");
+            }
+        }
+        if (pos == -1) {
+            return endOfStream && start < limit ? limit - start : -1;
+        }
+        return pos - start;
+    }
+
+    /**
+     * Returns the maximum line length or {@code 0} if unlimited.
+     */
+    int getMaxLineLen() {
+        return this.maxLineLen;
+    }
+
+    /**
+     * Returns the underlying buffer in output mode.
+     */
+    ByteBuffer data() {
+        setOutputMode();
+        return buffer();
+    }
+
     @Override
     public boolean readLine(
             final CharArrayBuffer lineBuffer,
@@ -212,14 +260,8 @@ public boolean readLine(
 
         setOutputMode();
         // See if there is LF char present in the buffer
-        int pos = -1;
-        for (int i = buffer().position(); i < buffer().limit(); i++) {
-            final int b = buffer().get(i);
-            if (b == Chars.LF) {
-                pos = i + 1;
-                break;
-            }
-        }
+        final int lf = ByteScanner.indexOf(buffer(), buffer().position(), buffer().limit(), (byte) Chars.LF);
+        int pos = lf >= 0 ? lf + 1 : -1;
 
         if (this.maxLineLen > 0) {
             final int currentLen = (pos > 0 ? pos : buffer().limit()) - buffer().position();
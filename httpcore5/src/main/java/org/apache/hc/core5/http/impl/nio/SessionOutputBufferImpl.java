@@ -155,6 +155,22 @@ private void writeCRLF() {
         write(CRLF);
     }
 
+    /**
+     * Returns {@code true} if protocol elements are written out without charset
+     * encoding, that is, pre-encoded lines may be written as is.
+     */
+    boolean isByteLevelAccess() {
+        return this.charEncoder == null;
+    }
+
+    /**
+     * Writes out a pre-encoded line followed by the line delimiter.
+     */
+    void writeLine(final byte[] line) {
+        write(line);
+        writeCRLF();
+    }
+
     @Override
     public void writeLine(final CharArrayBuffer lineBuffer) throws CharacterCodingException {
         if (lineBuffer == null) {
@@ -0,0 +1,50 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Content output stream capable of writing content of {@link ByteBuffer}s,
+ * including direct and memory-mapped ones, without copying it through
+ * an intermediate byte array where the underlying transport permits.
+ *
+ * @since 5.5
+ */
+public interface ByteBufferContentTransfer {
+
+    /**
+     * Transfers remaining content of the given buffer to the underlying
+     * network channel. The buffer has no remaining content upon return.
+     *
+     * @param  src the source buffer.
+     * @throws IOException if some I/O error occurs.
+     */
+    void transfer(ByteBuffer src) throws IOException;
+
+}
@@ -29,6 +29,7 @@
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 import org.apache.hc.core5.util.CharArrayBuffer;
 
@@ -89,6 +90,34 @@ public interface SessionOutputBuffer {
      */
     void write(byte[] b, OutputStream outputStream) throws IOException;
 
+    /**
+     * Writes remaining content of the given {@link ByteBuffer} to this session buffer.
+     * The buffer has no remaining content upon return.
+     * <p>
+     * Content of buffers backed by an accessible array is written the same way
+     * as content of a byte array. Implementations should override this method
+     * to avoid intermediate copying of content of direct and read-only buffers.
+     *
+     * @param      src   the data.
+     * @param      outputStream the target OutputStream.
+     * @throws  IOException  if an I/O error occurs.
+     *
+     * @since 5.5
+     */
+    default void writeBuffer(final ByteBuffer src, final OutputStream outputStream) throws IOException {
+        if (src.hasArray()) {
+            write(src.array(), src.arrayOffset() + src.position(), src.remaining(), outputStream);
+            src.position(src.limit());
+        } else {
+            final byte[] tmp = new byte[Math.min(src.remaining(), 4096)];
+            while (src.hasRemaining()) {
+                final int chunk = Math.min(src.remaining(), tmp.length);
+                src.get(tmp, 0, chunk);
+                write(tmp, 0, chunk, outputStream);
+            }
+        }
+    }
+
     /**
      * Writes the specified byte to this session buffer.
      *
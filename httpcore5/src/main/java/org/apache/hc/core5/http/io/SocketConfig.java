@@ -61,6 +61,7 @@ public class SocketConfig {
     private final int tcpKeepInterval;
     private final int tcpKeepCount;
     private final SocketAddress socksProxyAddress;
+    private final boolean socketChannelBacked;
 
     SocketConfig(
             final Timeout soTimeout,
@@ -74,7 +75,8 @@ public class SocketConfig {
             final int tcpKeepIdle,
             final int tcpKeepInterval,
             final int tcpKeepCount,
-            final SocketAddress socksProxyAddress) {
+            final SocketAddress socksProxyAddress,
+            final boolean socketChannelBacked) {
         super();
         this.soTimeout = soTimeout;
         this.soReuseAddress = soReuseAddress;
@@ -88,6 +90,7 @@ public class SocketConfig {
         this.tcpKeepInterval = tcpKeepInterval;
         this.tcpKeepCount = tcpKeepCount;
         this.socksProxyAddress = socksProxyAddress;
+        this.socketChannelBacked = socketChannelBacked;
     }
 
     /**
@@ -180,6 +183,14 @@ public SocketAddress getSocksProxyAddress() {
         return this.socksProxyAddress;
     }
 
+    /**
+     * @see Builder#setSocketChannelBacked(boolean)
+     * @since 5.5
+     */
+    public boolean isSocketChannelBacked() {
+        return this.socketChannelBacked;
+    }
+
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
@@ -195,6 +206,7 @@ public String toString() {
                 .append(", tcpKeepInterval=").append(this.tcpKeepInterval)
                 .append(", tcpKeepCount=").append(this.tcpKeepCount)
                 .append(", socksProxyAddress=").append(this.socksProxyAddress)
+                .append(", socketChannelBacked=").append(this.socketChannelBacked)
                 .append("]");
         return builder.toString();
     }
@@ -217,7 +229,8 @@ public static SocketConfig.Builder copy(final SocketConfig config) {
             .setTcpKeepIdle(config.getTcpKeepIdle())
             .setTcpKeepInterval(config.getTcpKeepInterval())
             .setTcpKeepCount(config.getTcpKeepCount())
-            .setSocksProxyAddress(config.getSocksProxyAddress());
+            .setSocksProxyAddress(config.getSocksProxyAddress())
+            .setSocketChannelBacked(config.isSocketChannelBacked());
     }
 
     public static class Builder {
@@ -234,6 +247,7 @@ public static class Builder {
         private int tcpKeepInterval;
         private int tcpKeepCount;
         private SocketAddress socksProxyAddress;
+        private boolean socketChannelBacked;
 
         Builder() {
             this.soTimeout = DEFAULT_SOCKET_TIMEOUT;
@@ -444,6 +458,24 @@ public Builder setSocksProxyAddress(final SocketAddress socksProxyAddress) {
             return this;
         }
 
+        /**
+         * Determines whether classic connections should use sockets backed by
+         * a {@link java.nio.channels.SocketChannel}. Channel backed connections
+         * can transfer file content directly from the file system to the network
+         * when sending content over a cleartext connection. Connections using
+         * a SOCKS proxy are never channel backed.
+         * <p>
+         * Default: {@code false}
+         * </p>
+         *
+         * @return this instance.
+         * @since 5.5
+         */
+        public Builder setSocketChannelBacked(final boolean socketChannelBacked) {
+            this.socketChannelBacked = socketChannelBacked;
+            return this;
+        }
+
         public SocketConfig build() {
             return new SocketConfig(
                     Timeout.defaultsToInfinite(soTimeout),
@@ -451,7 +483,8 @@ public SocketConfig build() {
                     soLinger != null ? soLinger : TimeValue.NEG_ONE_SECOND,
                     soKeepAlive, tcpNoDelay, sndBufSize, rcvBufSize, backlogSize,
                     tcpKeepIdle, tcpKeepInterval, tcpKeepCount,
-                    socksProxyAddress);
+                    socksProxyAddress,
+                    socketChannelBacked);
         }
 
     }
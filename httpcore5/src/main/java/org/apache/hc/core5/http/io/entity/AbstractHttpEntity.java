@@ -30,6 +30,10 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -39,6 +43,8 @@
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.ByteBufferContentTransfer;
+import org.apache.hc.core5.http.io.FileContentTransfer;
 import org.apache.hc.core5.util.Args;
 
 /**
@@ -138,6 +144,45 @@ public static void writeTo(final HttpEntity entity, final OutputStream outStream
         }
     }
 
+    /**
+     * Transfers the content of the given file to the output using
+     * {@link FileContentTransfer#transfer(FileChannel, long, long)}.
+     */
+    static void transfer(final Path path, final FileContentTransfer output) throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = fileChannel.size();
+            long position = 0;
+            while (position < size) {
+                final long transferred = output.transfer(fileChannel, position, size - position);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * Writes remaining content of the given buffer to the output using
+     * {@link ByteBufferContentTransfer#transfer(ByteBuffer)} if the output
+     * is capable of it.
+     */
+    static void writeTo(final ByteBuffer src, final OutputStream outStream) throws IOException {
+        if (outStream instanceof ByteBufferContentTransfer) {
+            ((ByteBufferContentTransfer) outStream).transfer(src);
+        } else if (src.hasArray()) {
+            outStream.write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+            src.position(src.limit());
+        } else {
+            final byte[] tmp = new byte[Math.min(src.remaining(), OUTPUT_BUFFER_SIZE)];
+            while (src.hasRemaining()) {
+                final int chunk = Math.min(src.remaining(), tmp.length);
+                src.get(tmp, 0, chunk);
+                outStream.write(tmp, 0, chunk);
+            }
+        }
+    }
+
     /**
      * Writes this entity to an OutputStream.
      *
@@ -28,13 +28,13 @@
 package org.apache.hc.core5.http.io.entity;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.ByteArrayBuffer;
 
 /**
  * A wrapping entity that buffers it content if necessary.
@@ -47,7 +47,14 @@
  */
 public class BufferedHttpEntity extends HttpEntityWrapper {
 
+    /**
+     * Upper bound of the initial buffer capacity. The declared content length cannot
+     * be trusted, so larger content grows the buffer as it arrives.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1024 * 1024;
+
     private final byte[] buffer;
+    private final int length;
 
     /**
      * Creates a new buffered entity wrapper.
@@ -58,20 +65,36 @@ public class BufferedHttpEntity extends HttpEntityWrapper {
      */
     public BufferedHttpEntity(final HttpEntity entity) throws IOException {
         super(entity);
-        if (!entity.isRepeatable() || entity.getContentLength() < 0) {
-            final ByteArrayOutputStream out = new ByteArrayOutputStream();
-            entity.writeTo(out);
-            out.flush();
-            this.buffer = out.toByteArray();
+        final long contentLength = entity.getContentLength();
+        if (!entity.isRepeatable() || contentLength < 0) {
+            // Content is buffered in place without copying it to a new array
+            final ByteArrayBuffer buf = new ByteArrayBuffer(contentLength >= 0 ?
+                    (int) Math.min(contentLength, MAX_INITIAL_CAPACITY) : AbstractHttpEntity.OUTPUT_BUFFER_SIZE);
+            entity.writeTo(new OutputStream() {
+
+                @Override
+                public void write(final int b) {
+                    buf.append(b);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) {
+                    buf.append(b, off, len);
+                }
+
+            });
+            this.buffer = buf.array();
+            this.length = buf.length();
         } else {
             this.buffer = null;
+            this.length = -1;
         }
     }
 
     @Override
     public long getContentLength() {
         if (this.buffer != null) {
-            return this.buffer.length;
+            return this.length;
         }
         return super.getContentLength();
     }
@@ -79,7 +102,7 @@ public long getContentLength() {
     @Override
     public InputStream getContent() throws IOException {
         if (this.buffer != null) {
-            return new ByteArrayInputStream(this.buffer);
+            return new ByteArrayInputStream(this.buffer, 0, this.length);
         }
         return super.getContent();
     }
@@ -109,7 +132,7 @@ public boolean isRepeatable() {
     public void writeTo(final OutputStream outStream) throws IOException {
         Args.notNull(outStream, "Output stream");
         if (this.buffer != null) {
-            outStream.write(this.buffer);
+            outStream.write(this.buffer, 0, this.length);
         } else {
             super.writeTo(outStream);
         }
@@ -29,6 +29,7 @@
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 import org.apache.hc.core5.http.ContentType;
@@ -36,6 +37,11 @@
 
 /**
  * An entity that delivers the contents of a {@link ByteBuffer}.
+ * <p>
+ * Content of direct and read-only buffers is written to
+ * {@link org.apache.hc.core5.http.io.ByteBufferContentTransfer} capable
+ * content streams without an intermediate byte array.
+ * </p>
  */
 public class ByteBufferEntity extends AbstractHttpEntity {
 
@@ -122,6 +128,12 @@ public int read(final byte[] bytes, final int off, final int len) throws IOExcep
         };
     }
 
+    @Override
+    public void writeTo(final OutputStream outStream) throws IOException {
+        Args.notNull(outStream, "Output stream");
+        writeTo(buffer, outStream);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
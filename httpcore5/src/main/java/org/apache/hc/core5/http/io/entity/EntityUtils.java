@@ -35,6 +35,8 @@
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -48,7 +50,6 @@
 import org.apache.hc.core5.io.Closer;
 import org.apache.hc.core5.net.WWWFormCodec;
 import org.apache.hc.core5.util.Args;
-import org.apache.hc.core5.util.ByteArrayBuffer;
 import org.apache.hc.core5.util.CharArrayBuffer;
 
 /**
@@ -62,6 +63,7 @@ public final class EntityUtils {
     private static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
     private static final int DEFAULT_CHAR_BUFFER_SIZE = 1024;
     private static final int DEFAULT_BYTE_BUFFER_SIZE = 4096;
+    private static final int MAX_CHUNK_SIZE = 1024 * 1024;
 
     private EntityUtils() {
         // NoOp
@@ -133,18 +135,12 @@ static long checkContentLength(final EntityDetails entityDetails) {
     @Deprecated
     public static byte[] toByteArray(final HttpEntity entity) throws IOException {
         Args.notNull(entity, "HttpEntity");
-        final int contentLength = toContentLength((int) checkContentLength(entity));
+        final int contentLength = (int) checkContentLength(entity);
         try (final InputStream inStream = entity.getContent()) {
             if (inStream == null) {
                 return null;
             }
-            final ByteArrayBuffer buffer = new ByteArrayBuffer(contentLength);
-            final byte[] tmp = new byte[DEFAULT_BYTE_BUFFER_SIZE];
-            int l;
-            while ((l = inStream.read(tmp)) != -1) {
-                buffer.append(tmp, 0, l);
-            }
-            return buffer.toByteArray();
+            return toByteArray(inStream, contentLength, Integer.MAX_VALUE);
         }
     }
 
@@ -161,20 +157,98 @@ public static byte[] toByteArray(final HttpEntity entity) throws IOException {
      */
     public static byte[] toByteArray(final HttpEntity entity, final int maxResultLength) throws IOException {
         Args.notNull(entity, "HttpEntity");
-        final int contentLength = toContentLength((int) checkContentLength(entity));
+        final int contentLength = (int) checkContentLength(entity);
         try (final InputStream inStream = entity.getContent()) {
             if (inStream == null) {
                 return null;
             }
-            final ByteArrayBuffer buffer = new ByteArrayBuffer(Math.min(maxResultLength, contentLength));
-            final byte[] tmp = new byte[DEFAULT_BYTE_BUFFER_SIZE];
-            int l;
-            while ((l = inStream.read(tmp)) != -1 && buffer.length() < maxResultLength) {
-                buffer.append(tmp, 0, l);
+            return toByteArray(inStream, contentLength, maxResultLength);
+        }
+    }
+
+    /**
+     * Reads at most {@code maxResultLength} bytes of content. If the content length is known
+     * the content is read directly into an array of the exact size, otherwise it is accumulated
+     * in a list of chunks of growing size that get concatenated only once at the end.
+     */
+    private static byte[] toByteArray(final InputStream inStream, final int contentLength,
+            final int maxResultLength) throws IOException {
+        if (maxResultLength <= 0) {
+            return new byte[0];
+        }
+        byte[] chunk;
+        int chunkLen;
+        if (contentLength >= 0) {
+            final int expected = Math.min(contentLength, maxResultLength);
+            chunk = new byte[expected];
+            chunkLen = readFully(inStream, chunk, 0, expected);
+            if (chunkLen < expected) {
+                return Arrays.copyOf(chunk, chunkLen);
+            }
+            if (chunkLen == maxResultLength) {
+                return chunk;
+            }
+            // The content length was understated; make sure nothing follows.
+            final int b = inStream.read();
+            if (b == -1) {
+                return chunk;
+            }
+            final byte[] next = new byte[Math.max(chunkLen, DEFAULT_BYTE_BUFFER_SIZE)];
+            next[0] = (byte) b;
+            final List<byte[]> chunks = new ArrayList<>();
+            chunks.add(chunk);
+            return accumulate(inStream, chunks, chunkLen, next, 1, maxResultLength);
+        }
+        chunk = new byte[Math.min(DEFAULT_BYTE_BUFFER_SIZE, maxResultLength)];
+        chunkLen = readFully(inStream, chunk, 0, chunk.length);
+        if (chunkLen < chunk.length) {
+            return Arrays.copyOf(chunk, chunkLen);
+        }
+        if (chunkLen == maxResultLength) {
+            return chunk;
+        }
+        final List<byte[]> chunks = new ArrayList<>();
+        chunks.add(chunk);
+        return accumulate(inStream, chunks, chunkLen, new byte[chunkLen * 2], 0, maxResultLength);
+    }
+
+    private static byte[] accumulate(final InputStream inStream, final List<byte[]> chunks, final int total,
+            final byte[] initial, final int initialLen, final int maxResultLength) throws IOException {
+        int completed = total;
+        byte[] chunk = initial;
+        int chunkLen = initialLen;
+        for (;;) {
+            final int wanted = (int) Math.min(chunk.length, (long) maxResultLength - completed);
+            chunkLen = readFully(inStream, chunk, chunkLen, wanted);
+            if (chunkLen < chunk.length || completed + chunkLen >= maxResultLength) {
+                break;
+            }
+            chunks.add(chunk);
+            completed += chunkLen;
+            chunk = new byte[Math.min(chunk.length * 2, MAX_CHUNK_SIZE)];
+            chunkLen = 0;
+        }
+        final byte[] result = new byte[completed + chunkLen];
+        int off = 0;
+        for (final byte[] c : chunks) {
+            System.arraycopy(c, 0, result, off, c.length);
+            off += c.length;
+        }
+        System.arraycopy(chunk, 0, result, off, chunkLen);
+        return result;
+    }
+
+    private static int readFully(final InputStream inStream, final byte[] b, final int off, final int len)
+            throws IOException {
+        int n = off;
+        while (n < len) {
+            final int l = inStream.read(b, n, len - n);
+            if (l == -1) {
+                break;
             }
-            buffer.setLength(Math.min(buffer.length(), maxResultLength));
-            return buffer.toByteArray();
+            n += l;
         }
+        return n;
     }
 
     private static CharArrayBuffer toCharArrayBuffer(final InputStream inStream, final int contentLength,
@@ -194,6 +268,20 @@ private static CharArrayBuffer toCharArrayBuffer(final InputStream inStream, fin
         return buf;
     }
 
+    /**
+     * Returns the maximum number of bytes per UTF-16 char for charsets that can be decoded
+     * directly from a byte array, or {@code 0} for all other charsets.
+     */
+    private static int maxBytesPerChar(final Charset charset) {
+        if (StandardCharsets.US_ASCII.equals(charset) || StandardCharsets.ISO_8859_1.equals(charset)) {
+            return 1;
+        }
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return 3;
+        }
+        return 0;
+    }
+
     private static final Map<String, ContentType> CONTENT_TYPE_MAP;
     static {
         final ContentType[] contentTypes = {
@@ -230,7 +318,19 @@ private static String toString(final HttpEntity entity, final ContentType conten
                     charset = defaultContentType != null ? defaultContentType.getCharset() : null;
                 }
             }
-            return toCharArrayBuffer(inStream, contentLength, charset, maxResultLength).toString();
+            final Charset actualCharset = charset == null ? DEFAULT_CHARSET : charset;
+            final int maxBytesPerChar = maxBytesPerChar(actualCharset);
+            if (maxBytesPerChar > 0) {
+                // Decode straight from bytes without the intermediate reader and char buffer
+                Args.positive(maxResultLength, "maxResultLength");
+                // Leave room for a trailing surrogate pair encoded as four bytes
+                final int maxBytes = (int) Math.min(Integer.MAX_VALUE,
+                        (long) maxResultLength * maxBytesPerChar + maxBytesPerChar - 1);
+                final String s = new String(
+                        toByteArray(inStream, (int) checkContentLength(entity), maxBytes), actualCharset);
+                return s.length() > maxResultLength ? s.substring(0, maxResultLength) : s;
+            }
+            return toCharArrayBuffer(inStream, contentLength, actualCharset, maxResultLength).toString();
         }
     }
 
@@ -31,10 +31,12 @@
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 import org.apache.hc.core5.annotation.Contract;
 import org.apache.hc.core5.annotation.ThreadingBehavior;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.FileContentTransfer;
 import org.apache.hc.core5.util.Args;
 
 /**
@@ -113,6 +115,23 @@ public final InputStream getContent() throws IOException {
         return new FileInputStream(this.file);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation transfers the file content directly to the underlying
+     * channel if the output stream is capable of it.
+     * </p>
+     */
+    @Override
+    public void writeTo(final OutputStream outStream) throws IOException {
+        Args.notNull(outStream, "Output stream");
+        if (outStream instanceof FileContentTransfer) {
+            transfer(this.file.toPath(), (FileContentTransfer) outStream);
+        } else {
+            super.writeTo(outStream);
+        }
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -29,12 +29,20 @@
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.hc.core5.annotation.Contract;
 import org.apache.hc.core5.annotation.ThreadingBehavior;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.FileContentTransfer;
 import org.apache.hc.core5.util.Args;
 
 /**
@@ -43,11 +51,22 @@
  * This class contains {@link ThreadingBehavior#IMMUTABLE_CONDITIONAL immutable attributes} but subclasses may contain
  * additional immutable or mutable attributes.
  * </p>
+ * <p>
+ * In the memory-mapped mode the file gets mapped into memory on first use and the mapping
+ * is shared by all subsequent writes of the entity content. This mode is intended for large
+ * static payloads sent repeatedly. The file must not be modified or truncated while
+ * the entity is in use.
+ * </p>
  */
 @Contract(threading = ThreadingBehavior.IMMUTABLE_CONDITIONAL)
 public class PathEntity extends AbstractHttpEntity {
 
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
     private final Path path;
+    private final boolean memoryMapped;
+
+    private volatile List<ByteBuffer> mappedRegions;
 
     /**
      * Constructs a new instance with the given attributes kept as immutable.
@@ -61,10 +80,33 @@ public class PathEntity extends AbstractHttpEntity {
      * @param path            The message body contents will be set from this path.
      * @param contentType     The content-type, may be null.
      * @param contentEncoding The content encoding string, may be null.
+     * @param memoryMapped    Whether the file content should be memory-mapped
+     *                        once and shared by all writes of the entity content.
+     *
+     * @since 5.5
      */
-    public PathEntity(final Path path, final ContentType contentType, final String contentEncoding) {
+    public PathEntity(final Path path, final ContentType contentType, final String contentEncoding,
+                      final boolean memoryMapped) {
         super(contentType, contentEncoding);
         this.path = Args.notNull(path, "Path");
+        this.memoryMapped = memoryMapped;
+    }
+
+    /**
+     * Constructs a new instance with the given attributes kept as immutable.
+     * <p>
+     * The new instance:
+     * </p>
+     * <ul>
+     * <li>is not chunked.</li>
+     * </ul>
+     *
+     * @param path            The message body contents will be set from this path.
+     * @param contentType     The content-type, may be null.
+     * @param contentEncoding The content encoding string, may be null.
+     */
+    public PathEntity(final Path path, final ContentType contentType, final String contentEncoding) {
+        this(path, contentType, contentEncoding, false);
     }
 
     /**
@@ -81,8 +123,7 @@ public PathEntity(final Path path, final ContentType contentType, final String c
      * @param contentType     The content-type, may be null.
      */
     public PathEntity(final Path path, final ContentType contentType) {
-        super(contentType, null);
-        this.path = Args.notNull(path, "Path");
+        this(path, contentType, null, false);
     }
 
     /**
@@ -98,6 +139,14 @@ public final boolean isRepeatable() {
 
     @Override
     public final long getContentLength() {
+        final List<ByteBuffer> regions = this.mappedRegions;
+        if (regions != null) {
+            long total = 0;
+            for (final ByteBuffer region : regions) {
+                total += region.capacity();
+            }
+            return total;
+        }
         try {
             return Files.size(this.path);
         } catch (final IOException e) {
@@ -110,6 +159,53 @@ public final InputStream getContent() throws IOException {
         return Files.newInputStream(path);
     }
 
+    private static List<ByteBuffer> map(final Path path) throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = fileChannel.size();
+            final List<ByteBuffer> regions = new ArrayList<>((int) (size / MAX_REGION_SIZE) + 1);
+            long position = 0;
+            while (position < size) {
+                final long regionSize = Math.min(size - position, MAX_REGION_SIZE);
+                regions.add(fileChannel.map(FileChannel.MapMode.READ_ONLY, position, regionSize));
+                position += regionSize;
+            }
+            return Collections.unmodifiableList(regions);
+        }
+    }
+
+    private List<ByteBuffer> getMappedRegions() throws IOException {
+        List<ByteBuffer> regions = this.mappedRegions;
+        if (regions == null) {
+            // Concurrent threads may end up mapping the file more than once.
+            // Redundant mappings get released once garbage collected.
+            regions = map(this.path);
+            this.mappedRegions = regions;
+        }
+        return regions;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In the memory-mapped mode this implementation writes the mapped file regions.
+     * Otherwise it transfers the file content directly to the underlying channel
+     * if the output stream is capable of it.
+     * </p>
+     */
+    @Override
+    public void writeTo(final OutputStream outStream) throws IOException {
+        Args.notNull(outStream, "Output stream");
+        if (this.memoryMapped) {
+            for (final ByteBuffer region : getMappedRegions()) {
+                writeTo(region.duplicate(), outStream);
+            }
+        } else if (outStream instanceof FileContentTransfer) {
+            transfer(this.path, (FileContentTransfer) outStream);
+        } else {
+            super.writeTo(outStream);
+        }
+    }
+
     /**
      * {@inheritDoc}
      * <p>
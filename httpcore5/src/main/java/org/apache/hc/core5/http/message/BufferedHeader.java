@@ -88,6 +88,13 @@ public BufferedHeader(final CharArrayBuffer buffer) throws ParseException {
     }
 
     BufferedHeader(final CharArrayBuffer buffer, final boolean strict) throws ParseException {
+        this(buffer, strict, HeaderNameRegistry.DEFAULT);
+    }
+
+    BufferedHeader(
+            final CharArrayBuffer buffer,
+            final boolean strict,
+            final HeaderNameRegistry headerNames) throws ParseException {
         super();
         Args.notNull(buffer, "Char array buffer");
         final int colon = buffer.indexOf(':');
@@ -97,12 +104,20 @@ public BufferedHeader(final CharArrayBuffer buffer) throws ParseException {
         if (strict && Tokenizer.isWhitespace(buffer.charAt(colon - 1))) {
             throw new ParseException("Invalid header", buffer, 0, buffer.length(), colon - 1);
         }
-        final String s = buffer.substringTrimmed(0, colon);
-        if (s.isEmpty()) {
+        int beginIdx = 0;
+        int endIdx = colon;
+        while (beginIdx < endIdx && Tokenizer.isWhitespace(buffer.charAt(beginIdx))) {
+            beginIdx++;
+        }
+        while (endIdx > beginIdx && Tokenizer.isWhitespace(buffer.charAt(endIdx - 1))) {
+            endIdx--;
+        }
+        if (beginIdx == endIdx) {
             throw new ParseException("Invalid header", buffer, 0, buffer.length(), colon);
         }
+        final String s = headerNames != null ? headerNames.lookup(buffer.array(), beginIdx, endIdx - beginIdx) : null;
         this.buffer = buffer;
-        this.name = s;
+        this.name = s != null ? s : buffer.substring(beginIdx, endIdx);
         this.valuePos = colon + 1;
     }
 
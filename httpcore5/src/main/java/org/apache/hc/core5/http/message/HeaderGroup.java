@@ -29,6 +29,7 @@
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -43,6 +44,11 @@
 /**
  * A class for combining a set of headers. This class allows for multiple headers with the same name
  * and keeps track of the order in which headers were added.
+ * <p>
+ * Once the group grows beyond a small number of headers, name lookups are served
+ * from a case-insensitive index. The index is maintained by modifying operations
+ * only, so lookups never write to the group.
+ * </p>
  *
  * @since 4.0
  */
@@ -52,9 +58,17 @@ public class HeaderGroup implements MessageHeaders, Serializable {
 
     private static final Header[] EMPTY = new Header[] {};
 
+    /**
+     * Number of headers above which name lookups use the index. Linear scans are
+     * cheaper for the handful of headers found in most messages.
+     */
+    static final int INDEX_THRESHOLD = 16;
+
     /** The list of headers for this group, in the order in which they were added */
     private final List<Header> headers;
 
+    private transient NameIndex index;
+
 
     /**
      * Constructor for HeaderGroup.
@@ -68,6 +82,7 @@ public HeaderGroup() {
      */
     public void clear() {
         headers.clear();
+        index = null;
     }
 
     /**
@@ -81,6 +96,11 @@ public void addHeader(final Header header) {
             return;
         }
         headers.add(header);
+        if (index != null) {
+            index.add(header.getName(), headers.size() - 1);
+        } else if (headers.size() > INDEX_THRESHOLD) {
+            index = new NameIndex(headers);
+        }
     }
 
     /**
@@ -97,6 +117,7 @@ public boolean removeHeader(final Header header) {
             final Header current = this.headers.get(i);
             if (headerEquals(header, current)) {
                 this.headers.remove(current);
+                updateIndex();
                 return true;
             }
         }
@@ -128,6 +149,9 @@ public boolean removeHeaders(final Header header) {
                 removed = true;
             }
         }
+        if (removed) {
+            updateIndex();
+        }
         return removed;
     }
 
@@ -144,6 +168,17 @@ public void setHeader(final Header header) {
         if (header == null) {
             return;
         }
+        final NameIndex nameIndex = this.index;
+        if (nameIndex != null) {
+            final int slot = nameIndex.find(header.getName());
+            if (slot >= 0) {
+                // Same name, the index remains valid
+                this.headers.set(nameIndex.first(slot), header);
+            } else {
+                addHeader(header);
+            }
+            return;
+        }
         for (int i = 0; i < this.headers.size(); i++) {
             final Header current = this.headers.get(i);
             if (current.getName().equalsIgnoreCase(header.getName())) {
@@ -151,7 +186,7 @@ public void setHeader(final Header header) {
                 return;
             }
         }
-        this.headers.add(header);
+        addHeader(header);
     }
 
     /**
@@ -167,6 +202,7 @@ public void setHeaders(final Header... headers) {
             return;
         }
         Collections.addAll(this.headers, headers);
+        updateIndex();
     }
 
     /**
@@ -211,6 +247,20 @@ public Header getCondensedHeader(final String name) {
      */
     @Override
     public Header[] getHeaders(final String name) {
+        final NameIndex nameIndex = this.index;
+        if (nameIndex != null) {
+            final int slot = nameIndex.find(name);
+            if (slot < 0) {
+                return EMPTY;
+            }
+            final Header[] headersFound = new Header[nameIndex.count(slot)];
+            int pos = nameIndex.first(slot);
+            for (int i = 0; i < headersFound.length; i++) {
+                headersFound[i] = this.headers.get(pos);
+                pos = nameIndex.next(pos);
+            }
+            return headersFound;
+        }
         List<Header> headersFound = null;
         for (int i = 0; i < this.headers.size(); i++) {
             final Header header = this.headers.get(i);
@@ -234,6 +284,11 @@ public Header[] getHeaders(final String name) {
      */
     @Override
     public Header getFirstHeader(final String name) {
+        final NameIndex nameIndex = this.index;
+        if (nameIndex != null) {
+            final int slot = nameIndex.find(name);
+            return slot >= 0 ? this.headers.get(nameIndex.first(slot)) : null;
+        }
         for (int i = 0; i < this.headers.size(); i++) {
             final Header header = this.headers.get(i);
             if (header.getName().equalsIgnoreCase(name)) {
@@ -256,11 +311,20 @@ public Header getFirstHeader(final String name) {
     public Header getHeader(final String name) throws ProtocolException {
         int count = 0;
         Header singleHeader = null;
-        for (int i = 0; i < this.headers.size(); i++) {
-            final Header header = this.headers.get(i);
-            if (header.getName().equalsIgnoreCase(name)) {
-                singleHeader = header;
-                count++;
+        final NameIndex nameIndex = this.index;
+        if (nameIndex != null) {
+            final int slot = nameIndex.find(name);
+            if (slot >= 0) {
+                count = nameIndex.count(slot);
+                singleHeader = this.headers.get(nameIndex.last(slot));
+            }
+        } else {
+            for (int i = 0; i < this.headers.size(); i++) {
+                final Header header = this.headers.get(i);
+                if (header.getName().equalsIgnoreCase(name)) {
+                    singleHeader = header;
+                    count++;
+                }
             }
         }
         if (count > 1) {
@@ -279,6 +343,11 @@ public Header getHeader(final String name) throws ProtocolException {
      */
     @Override
     public Header getLastHeader(final String name) {
+        final NameIndex nameIndex = this.index;
+        if (nameIndex != null) {
+            final int slot = nameIndex.find(name);
+            return slot >= 0 ? this.headers.get(nameIndex.last(slot)) : null;
+        }
         // start at the end of the list and work backwards
         for (int i = headers.size() - 1; i >= 0; i--) {
             final Header header = headers.get(i);
@@ -311,6 +380,10 @@ public Header[] getHeaders() {
      */
     @Override
     public boolean containsHeader(final String name) {
+        final NameIndex nameIndex = this.index;
+        if (nameIndex != null) {
+            return nameIndex.find(name) >= 0;
+        }
         for (int i = 0; i < this.headers.size(); i++) {
             final Header header = this.headers.get(i);
             if (header.getName().equalsIgnoreCase(name)) {
@@ -330,6 +403,11 @@ public boolean containsHeader(final String name) {
      */
     @Override
     public int countHeaders(final String name) {
+        final NameIndex nameIndex = this.index;
+        if (nameIndex != null) {
+            final int slot = nameIndex.find(name);
+            return slot >= 0 ? nameIndex.count(slot) : 0;
+        }
         int count = 0;
         for (int i = 0; i < this.headers.size(); i++) {
             final Header header = this.headers.get(i);
@@ -349,7 +427,7 @@ public int countHeaders(final String name) {
      */
     @Override
     public Iterator<Header> headerIterator() {
-        return new BasicListHeaderIterator(this.headers, null);
+        return new ListHeaderIterator(null);
     }
 
     /**
@@ -364,7 +442,7 @@ public Iterator<Header> headerIterator() {
      */
     @Override
     public Iterator<Header> headerIterator(final String name) {
-        return new BasicListHeaderIterator(this.headers, name);
+        return new ListHeaderIterator(name);
     }
 
     /**
@@ -379,6 +457,10 @@ public boolean removeHeaders(final String name) {
         if (name == null) {
             return false;
         }
+        final NameIndex nameIndex = this.index;
+        if (nameIndex != null && nameIndex.find(name) < 0) {
+            return false;
+        }
         boolean removed = false;
         for (final Iterator<Header> iterator = headerIterator(); iterator.hasNext(); ) {
             final Header header = iterator.next();
@@ -387,6 +469,9 @@ public boolean removeHeaders(final String name) {
                 removed = true;
             }
         }
+        if (removed) {
+            updateIndex();
+        }
         return removed;
     }
 
@@ -395,4 +480,156 @@ public String toString() {
         return this.headers.toString();
     }
 
+    /**
+     * Rebuilds the index after the header positions have changed. The index is only
+     * ever built by modifying operations so that messages shared between threads
+     * after construction are never written to by lookups.
+     */
+    private void updateIndex() {
+        this.index = this.headers.size() > INDEX_THRESHOLD ? new NameIndex(this.headers) : null;
+    }
+
+    private class ListHeaderIterator extends BasicListHeaderIterator {
+
+        ListHeaderIterator(final String name) {
+            super(headers, name);
+        }
+
+        @Override
+        public void remove() throws UnsupportedOperationException {
+            super.remove();
+            index = null;
+        }
+
+    }
+
+    /**
+     * Open addressing table mapping case-insensitive header names to the positions
+     * of the headers with that name. Positions of headers sharing a name are
+     * chained in insertion order.
+     */
+    static final class NameIndex {
+
+        // Per slot: name hash, first position, last position, count
+        private static final int STRIDE = 4;
+
+        private String[] names;
+        private int[] slots;
+        private int[] nexts;
+        private int size;
+
+        NameIndex(final List<Header> headers) {
+            int capacity = 16;
+            while (capacity * 3 < headers.size() * 4) {
+                capacity <<= 1;
+            }
+            this.names = new String[capacity];
+            this.slots = new int[capacity * STRIDE];
+            this.nexts = new int[Math.max(headers.size() * 2, 16)];
+            for (int i = 0; i < headers.size(); i++) {
+                add(headers.get(i).getName(), i);
+            }
+        }
+
+        /**
+         * Hash consistent with {@link String#equalsIgnoreCase(String)}. ASCII chars
+         * are folded by setting the case bit, which may merge a few non-letters
+         * but never separates case variants.
+         */
+        static int hash(final String name) {
+            int hash = 0;
+            for (int i = 0; i < name.length(); i++) {
+                final char ch = name.charAt(i);
+                hash = 31 * hash + (ch < 128 ? ch | 0x20 : Character.toLowerCase(Character.toUpperCase(ch)));
+            }
+            return hash;
+        }
+
+        private int slotOf(final String name, final int hash) {
+            final int mask = names.length - 1;
+            for (int i = hash & mask; names[i] != null; i = (i + 1) & mask) {
+                if (slots[i * STRIDE] == hash && names[i].equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void add(final String name, final int position) {
+            if (position >= nexts.length) {
+                nexts = Arrays.copyOf(nexts, nexts.length * 2);
+            }
+            nexts[position] = -1;
+            final int hash = hash(name);
+            final int slot = slotOf(name, hash);
+            if (slot >= 0) {
+                final int base = slot * STRIDE;
+                nexts[slots[base + 2]] = position;
+                slots[base + 2] = position;
+                slots[base + 3]++;
+                return;
+            }
+            if ((size + 1) * 4 > names.length * 3) {
+                rehash();
+            }
+            insert(name, hash, position, position, 1);
+            size++;
+        }
+
+        private void insert(final String name, final int hash, final int first, final int last, final int count) {
+            final int mask = names.length - 1;
+            int i = hash & mask;
+            while (names[i] != null) {
+                i = (i + 1) & mask;
+            }
+            names[i] = name;
+            final int base = i * STRIDE;
+            slots[base] = hash;
+            slots[base + 1] = first;
+            slots[base + 2] = last;
+            slots[base + 3] = count;
+        }
+
+        private void rehash() {
+            final String[] oldNames = names;
+            final int[] oldSlots = slots;
+            this.names = new String[oldNames.length * 2];
+            this.slots = new int[names.length * STRIDE];
+            for (int i = 0; i < oldNames.length; i++) {
+                if (oldNames[i] != null) {
+                    final int base = i * STRIDE;
+                    insert(oldNames[i], oldSlots[base], oldSlots[base + 1], oldSlots[base + 2], oldSlots[base + 3]);
+                }
+            }
+        }
+
+        /**
+         * Returns the slot of the given name or {@code -1} if no header
+         * with the name is present.
+         */
+        int find(final String name) {
+            if (name == null) {
+                return -1;
+            }
+            return slotOf(name, hash(name));
+        }
+
+        int count(final int slot) {
+            return slots[slot * STRIDE + 3];
+        }
+
+        int first(final int slot) {
+            return slots[slot * STRIDE + 1];
+        }
+
+        int last(final int slot) {
+            return slots[slot * STRIDE + 2];
+        }
+
+        int next(final int position) {
+            return nexts[position];
+        }
+
+    }
+
 }
@@ -0,0 +1,211 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.message;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.util.Args;
+
+/**
+ * Registry of well-known header names. Message parsers use the registry
+ * to map header names found in incoming messages to shared canonical
+ * {@link String} instances instead of allocating a new string per
+ * header, which also lets header lookups succeed on an identity
+ * comparison.
+ * <p>
+ * The registry contains the {@link HttpHeaders} constants and any extension
+ * names it has been created with, both in their registered and in
+ * lower case spelling. Names are matched exactly, so the registry never
+ * changes the spelling of a header name.
+ * </p>
+ *
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.IMMUTABLE)
+public final class HeaderNameRegistry {
+
+    public static final HeaderNameRegistry DEFAULT = new HeaderNameRegistry(Collections.emptySet());
+
+    private final String[] names;
+    private final int[] hashes;
+    private final int mask;
+
+    private HeaderNameRegistry(final Collection<String> extensions) {
+        final Set<String> all = new LinkedHashSet<>();
+        for (final Field field : HttpHeaders.class.getFields()) {
+            final int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) && field.getType() == String.class) {
+                try {
+                    all.add((String) field.get(null));
+                } catch (final IllegalAccessException ignore) {
+                    // Cannot happen with public fields
+                }
+            }
+        }
+        for (final String extension : extensions) {
+            Args.notBlank(extension, "Header name");
+            all.add(extension.intern());
+        }
+        final Set<String> spellings = new LinkedHashSet<>();
+        for (final String name : all) {
+            spellings.add(name);
+            spellings.add(name.toLowerCase(Locale.ROOT).intern());
+        }
+        int capacity = 16;
+        while (capacity < spellings.size() * 2) {
+            capacity <<= 1;
+        }
+        this.names = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        for (final String name : spellings) {
+            final int hash = hashIgnoreCase(name);
+            int i = hash & mask;
+            while (names[i] != null) {
+                i = (i + 1) & mask;
+            }
+            names[i] = name;
+            hashes[i] = hash;
+        }
+    }
+
+    /**
+     * Creates a registry containing the standard header names as well as
+     * the given extension names.
+     *
+     * @param extensions additional header names.
+     * @return the registry.
+     */
+    public static HeaderNameRegistry create(final Collection<String> extensions) {
+        return new HeaderNameRegistry(extensions != null ? extensions : Collections.emptySet());
+    }
+
+    /**
+     * Returns the canonical instance of the header name represented by the given
+     * chars or {@code null} if the name is not registered.
+     */
+    public String lookup(final char[] buf, final int off, final int len) {
+        int hash = 0;
+        for (int i = off; i < off + len; i++) {
+            hash = 31 * hash + toLowerCase(buf[i]);
+        }
+        for (int i = hash & mask; names[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash) {
+                final String name = names[i];
+                if (name.length() == len && matches(name, buf, off)) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the canonical instance of the header name represented by the given
+     * ISO-8859-1 bytes or {@code null} if the name is not registered.
+     */
+    public String lookup(final byte[] buf, final int off, final int len) {
+        int hash = 0;
+        for (int i = off; i < off + len; i++) {
+            hash = 31 * hash + toLowerCase((char) (buf[i] & 0xff));
+        }
+        for (int i = hash & mask; names[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash) {
+                final String name = names[i];
+                if (name.length() == len && matches(name, buf, off)) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the canonical instance of the given header name or the name itself
+     * if it is not registered.
+     */
+    public String canonicalize(final String name) {
+        if (name == null) {
+            return null;
+        }
+        final int hash = hashIgnoreCase(name);
+        for (int i = hash & mask; names[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && names[i].equals(name)) {
+                return names[i];
+            }
+        }
+        return name;
+    }
+
+    private static boolean matches(final String name, final char[] buf, final int off) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != buf[off + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(final String name, final byte[] buf, final int off) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != (buf[off + i] & 0xff)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerCase(final char ch) {
+        if (ch < 128) {
+            return ch >= 'A' && ch <= 'Z' ? (char) (ch + 32) : ch;
+        }
+        // Same folding as String#equalsIgnoreCase
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * Computes a hash of the given name that is consistent with
+     * {@link String#equalsIgnoreCase(String)}.
+     */
+    static int hashIgnoreCase(final String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + toLowerCase(name.charAt(i));
+        }
+        return hash;
+    }
+
+}
@@ -48,11 +48,37 @@ public class LazyLineParser extends BasicLineParser {
 
     public final static LazyLineParser INSTANCE = new LazyLineParser();
 
+    private final HeaderNameRegistry headerNames;
+
+    /**
+     * Creates a parser that maps well-known header names to canonical instances
+     * using the given registry.
+     *
+     * @param headerNames the header name registry. If {@code null}
+     *   header names are not canonicalized.
+     * @since 5.5
+     */
+    public LazyLineParser(final HeaderNameRegistry headerNames) {
+        super();
+        this.headerNames = headerNames;
+    }
+
+    public LazyLineParser() {
+        this(HeaderNameRegistry.DEFAULT);
+    }
+
+    /**
+     * @since 5.5
+     */
+    public HeaderNameRegistry getHeaderNames() {
+        return headerNames;
+    }
+
     @Override
     public Header parseHeader(final CharArrayBuffer buffer) throws ParseException {
         Args.notNull(buffer, "Char array buffer");
 
-        return new BufferedHeader(buffer, true);
+        return new BufferedHeader(buffer, true, headerNames);
     }
 
 }
@@ -0,0 +1,133 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.message;
+
+import java.io.Serializable;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.Internal;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.http.FormattedHeader;
+import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.CharArrayBuffer;
+import org.apache.hc.core5.util.TextUtils;
+
+/**
+ * Header whose line representation is formatted and encoded once on creation.
+ * Suitable for constant headers such as {@code Server} or {@code Cache-Control}
+ * that get sent with every message. Message writers can emit the encoded line
+ * with a single bulk copy when protocol elements are not subject to charset
+ * encoding.
+ *
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.IMMUTABLE)
+public final class PreEncodedHeader implements FormattedHeader, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final String value;
+    private final boolean sensitive;
+    private final CharArrayBuffer buffer;
+    private final byte[] line;
+
+    public PreEncodedHeader(final String name, final Object value, final boolean sensitive) {
+        super();
+        this.name = Args.notBlank(name, "Name");
+        this.value = value != null ? value.toString() : null;
+        this.sensitive = sensitive;
+        this.buffer = new CharArrayBuffer(this.name.length() + 2 + (this.value != null ? this.value.length() : 0));
+        BasicLineFormatter.INSTANCE.formatHeader(this.buffer, new BasicHeader(this.name, this.value, sensitive));
+        this.line = new byte[this.buffer.length()];
+        for (int i = 0; i < this.line.length; i++) {
+            this.line[i] = TextUtils.castAsByte(this.buffer.charAt(i));
+        }
+    }
+
+    public PreEncodedHeader(final String name, final Object value) {
+        this(name, value, false);
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public String getValue() {
+        return this.value;
+    }
+
+    @Override
+    public boolean isSensitive() {
+        return this.sensitive;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Instances of this class are commonly shared between messages, so this
+     * method returns a copy of the formatted line.
+     * </p>
+     */
+    @Override
+    public CharArrayBuffer getBuffer() {
+        final CharArrayBuffer copy = new CharArrayBuffer(this.buffer.length());
+        copy.append(this.buffer);
+        return copy;
+    }
+
+    @Override
+    public int getValuePos() {
+        return this.name.length() + 2;
+    }
+
+    /**
+     * Returns the formatted header line without copying it.
+     * The returned buffer is shared and must not be modified.
+     */
+    @Internal
+    public CharArrayBuffer getFormattedLine() {
+        return this.buffer;
+    }
+
+    /**
+     * Returns the encoded header line without the line delimiter.
+     * The returned array is shared and must not be modified.
+     */
+    @Internal
+    public byte[] getEncodedLine() {
+        return this.line;
+    }
+
+    @Override
+    public String toString() {
+        return this.buffer.toString();
+    }
+
+}
@@ -0,0 +1,366 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.nio.support.classic;
+
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.function.Supplier;
+import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Single producer / single consumer byte buffer that does not rely on locks.
+ * <p>
+ * Content is stored in a chain of fixed size segments. The producer only ever
+ * appends to the tail segment and the consumer only ever reads from the head
+ * segment, so the two sides communicate exclusively through volatile indexes.
+ * Drained segments get handed back to the producer for reuse, so in the steady
+ * state the buffer cycles through the same segments like a ring. Threads waiting
+ * for the other side spin briefly before parking.
+ * </p>
+ *
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.SAFE_CONDITIONAL)
+abstract class AbstractLockFreeBuffer {
+
+    // spinning is pointless on a single processor
+    private static final int SPIN_COUNT = Runtime.getRuntime().availableProcessors() > 1 ? 64 : 0;
+
+    static final class Segment {
+
+        final byte[] data;
+        final ByteBuffer view;
+
+        // written by the producer only
+        volatile int limit;
+        volatile Segment next;
+
+        // accessed by the consumer only
+        int pos;
+
+        Segment(final int size) {
+            this.data = new byte[size];
+            this.view = ByteBuffer.wrap(data);
+        }
+
+    }
+
+    private final int segmentSize;
+    private final AtomicReference<Segment> spare;
+
+    // accessed by the producer only
+    private Segment tail;
+    // accessed by the consumer only
+    private Segment head;
+
+    private volatile long produced;
+    private volatile long consumed;
+    private volatile Thread producerWaiter;
+    private volatile Thread consumerWaiter;
+
+    volatile boolean endStream;
+    volatile boolean aborted;
+
+    AbstractLockFreeBuffer(final int segmentSize) {
+        this.segmentSize = Args.positive(segmentSize, "Segment size");
+        this.spare = new AtomicReference<>();
+        this.head = new Segment(segmentSize);
+        this.tail = this.head;
+    }
+
+    public boolean hasData() {
+        return produced != consumed;
+    }
+
+    public int length() {
+        return (int) Math.min(produced - consumed, Integer.MAX_VALUE);
+    }
+
+    public boolean isEndStream() {
+        return endStream && !hasData();
+    }
+
+    public void abort() {
+        endStream = true;
+        aborted = true;
+        signalProducer();
+        signalConsumer();
+    }
+
+    private Segment nextTail() {
+        Segment segment = spare.getAndSet(null);
+        if (segment == null) {
+            segment = new Segment(segmentSize);
+        }
+        tail.next = segment;
+        tail = segment;
+        return segment;
+    }
+
+    /**
+     * Appends content of the source buffer. Producer side only.
+     */
+    final void put(final ByteBuffer src) {
+        final int total = src.remaining();
+        while (src.hasRemaining()) {
+            Segment segment = tail;
+            int limit = segment.limit;
+            if (limit == segment.data.length) {
+                segment = nextTail();
+                limit = 0;
+            }
+            final int chunk = Math.min(src.remaining(), segment.data.length - limit);
+            src.get(segment.data, limit, chunk);
+            segment.limit = limit + chunk;
+        }
+        produced += total;
+    }
+
+    /**
+     * Appends content of the source array. Producer side only.
+     */
+    final void put(final byte[] b, final int off, final int len) {
+        int pos = off;
+        final int end = off + len;
+        while (pos < end) {
+            Segment segment = tail;
+            int limit = segment.limit;
+            if (limit == segment.data.length) {
+                segment = nextTail();
+                limit = 0;
+            }
+            final int chunk = Math.min(end - pos, segment.data.length - limit);
+            System.arraycopy(b, pos, segment.data, limit, chunk);
+            segment.limit = limit + chunk;
+            pos += chunk;
+        }
+        produced += len;
+    }
+
+    /**
+     * Appends one byte. Producer side only.
+     */
+    final void put(final int b) {
+        Segment segment = tail;
+        int limit = segment.limit;
+        if (limit == segment.data.length) {
+            segment = nextTail();
+            limit = 0;
+        }
+        segment.data[limit] = (byte) b;
+        segment.limit = limit + 1;
+        produced++;
+    }
+
+    /**
+     * Returns the head segment with unread content or {@code null} if no content
+     * is available. Consumer side only.
+     */
+    private Segment readableHead() {
+        Segment segment = head;
+        while (segment.pos == segment.limit) {
+            final Segment next = segment.next;
+            if (segment.pos < segment.data.length || next == null) {
+                return null;
+            }
+            head = next;
+            segment.next = null;
+            segment.pos = 0;
+            segment.limit = 0;
+            spare.set(segment);
+            segment = next;
+        }
+        return segment;
+    }
+
+    /**
+     * Takes up to {@code len} bytes of content. Consumer side only.
+     */
+    final int take(final byte[] b, final int off, final int len) {
+        // segment limits may run ahead of the published byte count
+        final int max = (int) Math.min(len, produced - consumed);
+        int total = 0;
+        while (total < max) {
+            final Segment segment = readableHead();
+            if (segment == null) {
+                break;
+            }
+            final int chunk = Math.min(max - total, segment.limit - segment.pos);
+            System.arraycopy(segment.data, segment.pos, b, off + total, chunk);
+            segment.pos += chunk;
+            total += chunk;
+        }
+        if (total > 0) {
+            consumed += total;
+        }
+        return total;
+    }
+
+    /**
+     * Takes one byte of content or returns {@code -1} if no content is available.
+     * Consumer side only.
+     */
+    final int take() {
+        if (!hasData()) {
+            return -1;
+        }
+        final Segment segment = readableHead();
+        if (segment == null) {
+            return -1;
+        }
+        final int b = segment.data[segment.pos++] & 0xff;
+        consumed++;
+        return b;
+    }
+
+    /**
+     * Returns a view of the next contiguous chunk of content or {@code null} if no content
+     * is available. The chunk must be released with {@link #release(int)}. Consumer side only.
+     */
+    final ByteBuffer peek() {
+        final long available = produced - consumed;
+        if (available <= 0) {
+            return null;
+        }
+        final Segment segment = readableHead();
+        if (segment == null) {
+            return null;
+        }
+        final ByteBuffer view = segment.view;
+        view.limit((int) Math.min(segment.limit, segment.pos + available));
+        view.position(segment.pos);
+        return view;
+    }
+
+    /**
+     * Releases {@code n} bytes of the chunk obtained with {@link #peek()}. Consumer side only.
+     */
+    final void release(final int n) {
+        if (n > 0) {
+            head.pos += n;
+            consumed += n;
+        }
+    }
+
+    /**
+     * Discards all available content. Consumer side only.
+     */
+    final void discard() {
+        for (;;) {
+            final ByteBuffer chunk = peek();
+            if (chunk == null) {
+                break;
+            }
+            release(chunk.remaining());
+        }
+    }
+
+    final void signalProducer() {
+        final Thread waiter = producerWaiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    final void signalConsumer() {
+        final Thread waiter = consumerWaiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Waits on the producer side until the condition is met.
+     *
+     * @return {@code false} if the timeout expired.
+     */
+    final boolean awaitProducer(final Supplier<Boolean> condition, final Timeout timeout) throws InterruptedIOException {
+        if (spin(condition)) {
+            return true;
+        }
+        producerWaiter = Thread.currentThread();
+        try {
+            return park(condition, timeout);
+        } finally {
+            producerWaiter = null;
+        }
+    }
+
+    /**
+     * Waits on the consumer side until the condition is met.
+     *
+     * @return {@code false} if the timeout expired.
+     */
+    final boolean awaitConsumer(final Supplier<Boolean> condition, final Timeout timeout) throws InterruptedIOException {
+        if (spin(condition)) {
+            return true;
+        }
+        consumerWaiter = Thread.currentThread();
+        try {
+            return park(condition, timeout);
+        } finally {
+            consumerWaiter = null;
+        }
+    }
+
+    private static boolean spin(final Supplier<Boolean> condition) {
+        for (int i = 0; i < SPIN_COUNT; i++) {
+            if (condition.get()) {
+                return true;
+            }
+            Thread.yield();
+        }
+        return false;
+    }
+
+    private boolean park(final Supplier<Boolean> condition, final Timeout timeout) throws InterruptedIOException {
+        final long deadline = timeout != null ? System.nanoTime() + timeout.toNanoseconds() : 0;
+        while (!condition.get()) {
+            if (timeout == null) {
+                LockSupport.park(this);
+            } else {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting");
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.nio.support.classic;
+
+import java.io.IOException;
+
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Internal contract of output buffers bridging content written by a classic blocking
+ * writer to the I/O reactor.
+ *
+ * @since 5.5
+ */
+interface ClassicToAsyncOutputBuffer extends ContentOutputBuffer {
+
+    void flush(DataStreamChannel channel) throws IOException;
+
+    void write(byte[] b, int off, int len, Timeout timeout) throws IOException;
+
+    void write(int b, Timeout timeout) throws IOException;
+
+    void writeCompleted(Timeout timeout) throws IOException;
+
+    void abort();
+
+}
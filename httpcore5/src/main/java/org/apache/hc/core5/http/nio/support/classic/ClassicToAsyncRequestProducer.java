@@ -52,9 +52,10 @@ public class ClassicToAsyncRequestProducer implements AsyncRequestProducer {
 
     private final ClassicHttpRequest request;
     private final int initialBufferSize;
+    private final boolean lockFreeBuffer;
     private final Timeout timeout;
     private final CountDownLatch countDownLatch;
-    private final AtomicReference<SharedOutputBuffer> bufferRef;
+    private final AtomicReference<ClassicToAsyncOutputBuffer> bufferRef;
     private final AtomicReference<Exception> exceptionRef;
 
     private volatile boolean repeatable;
@@ -65,15 +66,31 @@ public interface IORunnable {
 
     }
 
-    public ClassicToAsyncRequestProducer(final ClassicHttpRequest request, final int initialBufferSize, final Timeout timeout) {
+    /**
+     * @param request the request to be sent.
+     * @param initialBufferSize the initial size of the content buffer.
+     * @param lockFreeBuffer if {@code true} content is passed from the writing thread
+     *                       to the I/O reactor through {@link LockFreeOutputBuffer}
+     *                       instead of lock based {@link SharedOutputBuffer}.
+     * @param timeout the timeout of blocking operations.
+     *
+     * @since 5.5
+     */
+    public ClassicToAsyncRequestProducer(final ClassicHttpRequest request, final int initialBufferSize,
+                                         final boolean lockFreeBuffer, final Timeout timeout) {
         this.request = Args.notNull(request, "HTTP request");
         this.initialBufferSize = Args.positive(initialBufferSize, "Initial buffer size");
+        this.lockFreeBuffer = lockFreeBuffer;
         this.timeout = timeout;
         this.countDownLatch = new CountDownLatch(1);
         this.bufferRef = new AtomicReference<>();
         this.exceptionRef = new AtomicReference<>();
     }
 
+    public ClassicToAsyncRequestProducer(final ClassicHttpRequest request, final int initialBufferSize, final Timeout timeout) {
+        this(request, initialBufferSize, false, timeout);
+    }
+
     public ClassicToAsyncRequestProducer(final ClassicHttpRequest request, final Timeout timeout) {
         this(request, ClassicToAsyncSupport.INITIAL_BUF_SIZE, timeout);
     }
@@ -94,7 +111,7 @@ public IORunnable blockWaiting() throws IOException, InterruptedException {
             }
         }
         propagateException();
-        final SharedOutputBuffer outputBuffer = bufferRef.get();
+        final ClassicToAsyncOutputBuffer outputBuffer = bufferRef.get();
         return () -> {
             final HttpEntity requestEntity = request.getEntity();
             if (requestEntity != null) {
@@ -108,7 +125,7 @@ public IORunnable blockWaiting() throws IOException, InterruptedException {
     @Override
     public void sendRequest(final RequestChannel channel, final HttpContext context) throws HttpException, IOException {
         final HttpEntity requestEntity = request.getEntity();
-        final SharedOutputBuffer buffer = requestEntity != null ? new SharedOutputBuffer(initialBufferSize) : null;
+        final ClassicToAsyncOutputBuffer buffer = requestEntity != null ? ClassicToAsyncSupport.createOutputBuffer(initialBufferSize, lockFreeBuffer) : null;
         bufferRef.set(buffer);
         repeatable = requestEntity == null || requestEntity.isRepeatable();
         channel.sendRequest(request, requestEntity, null);
@@ -122,7 +139,7 @@ public boolean isRepeatable() {
 
     @Override
     public int available() {
-        final SharedOutputBuffer buffer = bufferRef.get();
+        final ClassicToAsyncOutputBuffer buffer = bufferRef.get();
         if (buffer != null) {
             return buffer.length();
         }
@@ -131,7 +148,7 @@ public int available() {
 
     @Override
     public void produce(final DataStreamChannel channel) throws IOException {
-        final SharedOutputBuffer buffer = bufferRef.get();
+        final ClassicToAsyncOutputBuffer buffer = bufferRef.get();
         if (buffer != null) {
             buffer.flush(channel);
         }
@@ -141,6 +158,10 @@ public void produce(final DataStreamChannel channel) throws IOException {
     public void failed(final Exception cause) {
         try {
             exceptionRef.set(cause);
+            final ClassicToAsyncOutputBuffer buffer = bufferRef.get();
+            if (buffer != null) {
+                buffer.abort();
+            }
         } finally {
             countDownLatch.countDown();
         }
@@ -152,9 +173,9 @@ public void releaseResources() {
 
     class InternalOutputStream extends OutputStream {
 
-        private final SharedOutputBuffer buffer;
+        private final ClassicToAsyncOutputBuffer buffer;
 
-        public InternalOutputStream(final SharedOutputBuffer buffer) {
+        public InternalOutputStream(final ClassicToAsyncOutputBuffer buffer) {
             Asserts.notNull(buffer, "Shared buffer");
             this.buffer = buffer;
         }
@@ -0,0 +1,214 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.nio.support.classic;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.Experimental;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.RequestNotExecutedException;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncRequester;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.nio.AsyncClientExchangeHandler;
+import org.apache.hc.core5.http.nio.AsyncPushConsumer;
+import org.apache.hc.core5.http.nio.HandlerFactory;
+import org.apache.hc.core5.http.nio.support.BasicClientExchangeHandler;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http.protocol.HttpCoreContext;
+import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Classic (blocking) HTTP requester that executes {@link ClassicHttpRequest}s
+ * over a non-blocking, asynchronous requester.
+ * <p>
+ * Unlike {@link org.apache.hc.core5.http.impl.bootstrap.HttpRequester} that
+ * requires a dedicated blocking connection per in-flight request, this requester
+ * makes blocking callers share connections managed by the I/O reactor. When used with
+ * an HTTP/2 capable requester concurrent requests get multiplexed over a small number
+ * of connections. Request and response content is passed between the calling thread
+ * and the I/O reactor through {@link ClassicToAsyncRequestProducer} and
+ * {@link ClassicToAsyncResponseConsumer}.
+ * <p>
+ * This class does not manage life cycle of the underlying asynchronous requester.
+ *
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.IMMUTABLE_CONDITIONAL)
+@Experimental
+public class ClassicToAsyncRequester {
+
+    /**
+     * Executes asynchronous message exchanges. Method references to
+     * {@code HttpAsyncRequester#execute}, {@code H2AsyncRequester#execute} or
+     * {@code H2MultiplexingRequester#execute} can be used as an implementation
+     * of this interface.
+     */
+    @FunctionalInterface
+    public interface ExchangeExecutor {
+
+        void execute(
+                HttpHost target,
+                AsyncClientExchangeHandler exchangeHandler,
+                HandlerFactory<AsyncPushConsumer> pushHandlerFactory,
+                Timeout timeout,
+                HttpContext context);
+
+    }
+
+    private final ExchangeExecutor exchangeExecutor;
+    private final int initialBufferSize;
+    private final boolean lockFreeBuffers;
+
+    /**
+     * @param exchangeExecutor the executor of asynchronous message exchanges.
+     * @param initialBufferSize the initial size of content buffers.
+     * @param lockFreeBuffers if {@code true} content is passed between blocking callers
+     *                        and the I/O reactor through lock-free buffers.
+     */
+    public ClassicToAsyncRequester(
+            final ExchangeExecutor exchangeExecutor,
+            final int initialBufferSize,
+            final boolean lockFreeBuffers) {
+        this.exchangeExecutor = Args.notNull(exchangeExecutor, "Exchange executor");
+        this.initialBufferSize = Args.positive(initialBufferSize, "Initial buffer size");
+        this.lockFreeBuffers = lockFreeBuffers;
+    }
+
+    public ClassicToAsyncRequester(final ExchangeExecutor exchangeExecutor) {
+        this(exchangeExecutor, ClassicToAsyncSupport.INITIAL_BUF_SIZE, false);
+    }
+
+    public ClassicToAsyncRequester(final HttpAsyncRequester requester) {
+        this(Args.notNull(requester, "Requester")::execute);
+    }
+
+    /**
+     * Executes the request and blocks until the response head has been received.
+     * The request content, if any, is written by the calling thread. The response
+     * content is streamed from the I/O reactor as it is being read and must be
+     * consumed or the response closed in order to complete the exchange.
+     *
+     * @param targetHost the target host or {@code null} if the target should
+     *                   be derived from the request authority.
+     * @param request the request to be executed.
+     * @param timeout the timeout of connection establishment and blocking
+     *                content transfer operations.
+     * @param context the execution context.
+     */
+    public ClassicHttpResponse execute(
+            final HttpHost targetHost,
+            final ClassicHttpRequest request,
+            final Timeout timeout,
+            final HttpContext context) throws HttpException, IOException {
+        Args.notNull(request, "HTTP request");
+        Args.notNull(timeout, "Timeout");
+        final ClassicToAsyncRequestProducer requestProducer = new ClassicToAsyncRequestProducer(
+                request, initialBufferSize, lockFreeBuffers, timeout);
+        final ClassicToAsyncResponseConsumer responseConsumer = new ClassicToAsyncResponseConsumer(
+                initialBufferSize, lockFreeBuffers, timeout);
+        final AsyncClientExchangeHandler exchangeHandler = new BasicClientExchangeHandler<>(
+                requestProducer,
+                responseConsumer,
+                new FutureCallback<Void>() {
+
+                    @Override
+                    public void completed(final Void result) {
+                    }
+
+                    @Override
+                    public void failed(final Exception ex) {
+                        // The response consumer does not get notified of failures
+                        // by the exchange handler until the response has arrived
+                        requestProducer.failed(ex);
+                        responseConsumer.failed(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        failed(new RequestNotExecutedException());
+                    }
+
+                });
+        exchangeExecutor.execute(
+                targetHost,
+                exchangeHandler,
+                null,
+                timeout,
+                context != null ? context : HttpCoreContext.create());
+        try {
+            try {
+                requestProducer.blockWaiting().execute();
+            } catch (final InterruptedIOException ex) {
+                // Report the cause of the exchange failure if the output has been aborted
+                requestProducer.propagateException();
+                throw ex;
+            }
+            return responseConsumer.blockWaiting();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            exchangeHandler.cancel();
+            throw new InterruptedIOException(ex.getMessage());
+        } catch (final IOException | RuntimeException ex) {
+            exchangeHandler.failed(ex);
+            throw ex;
+        }
+    }
+
+    public ClassicHttpResponse execute(
+            final ClassicHttpRequest request,
+            final Timeout timeout,
+            final HttpContext context) throws HttpException, IOException {
+        return execute(null, request, timeout, context);
+    }
+
+    /**
+     * Executes the request and processes the response using the given response handler.
+     * The response content is fully consumed upon completion.
+     */
+    public <T> T execute(
+            final HttpHost targetHost,
+            final ClassicHttpRequest request,
+            final Timeout timeout,
+            final HttpContext context,
+            final HttpClientResponseHandler<T> responseHandler) throws HttpException, IOException {
+        try (final ClassicHttpResponse response = execute(targetHost, request, timeout, context)) {
+            final T result = responseHandler.handleResponse(response);
+            EntityUtils.consume(response.getEntity());
+            return result;
+        }
+    }
+
+}
@@ -76,15 +76,26 @@ static class ResponseData {
     }
 
     private final int initialBufferSize;
+    private final boolean lockFreeBuffer;
     private final Timeout timeout;
     private final CountDownLatch countDownLatch;
     private final AtomicReference<ResponseData> responseRef;
     private final AtomicReference<FutureCallback<Void>> callbackRef;
-    private final AtomicReference<SharedInputBuffer> bufferRef;
+    private final AtomicReference<ClassicToAsyncInputBuffer> bufferRef;
     private final AtomicReference<Exception> exceptionRef;
 
-    public ClassicToAsyncResponseConsumer(final int initialBufferSize, final Timeout timeout) {
+    /**
+     * @param initialBufferSize the initial size of the content buffer.
+     * @param lockFreeBuffer if {@code true} content is passed from the I/O reactor
+     *                       to the reading thread through {@link LockFreeInputBuffer}
+     *                       instead of lock based {@link SharedInputBuffer}.
+     * @param timeout the timeout of blocking operations.
+     *
+     * @since 5.5
+     */
+    public ClassicToAsyncResponseConsumer(final int initialBufferSize, final boolean lockFreeBuffer, final Timeout timeout) {
         this.initialBufferSize = Args.positive(initialBufferSize, "Initial buffer size");
+        this.lockFreeBuffer = lockFreeBuffer;
         this.timeout = timeout;
         this.countDownLatch = new CountDownLatch(1);
         this.responseRef = new AtomicReference<>();
@@ -93,6 +104,10 @@ public ClassicToAsyncResponseConsumer(final int initialBufferSize, final Timeout
         this.exceptionRef = new AtomicReference<>();
     }
 
+    public ClassicToAsyncResponseConsumer(final int initialBufferSize, final Timeout timeout) {
+        this(initialBufferSize, false, timeout);
+    }
+
     public ClassicToAsyncResponseConsumer(final Timeout timeout) {
         this(ClassicToAsyncSupport.INITIAL_BUF_SIZE, timeout);
     }
@@ -122,7 +137,7 @@ public ClassicHttpResponse blockWaiting() throws IOException, InterruptedExcepti
         propagateException();
         final ResponseData r = responseRef.getAndSet(null);
         Asserts.notNull(r, "HTTP response is missing");
-        final SharedInputBuffer inputBuffer = bufferRef.get();
+        final ClassicToAsyncInputBuffer inputBuffer = bufferRef.get();
         return ClassicResponseBuilder.copy(r.head)
                 .setEntity(r.entityDetails != null ?
                         new IncomingHttpEntity(new InternalInputStream(inputBuffer), r.entityDetails) :
@@ -139,7 +154,7 @@ public void consumeResponse(final HttpResponse asyncResponse,
         final ResponseData responseData = new ResponseData(asyncResponse, entityDetails);
         responseRef.set(responseData);
         if (entityDetails != null) {
-            bufferRef.set(new SharedInputBuffer(initialBufferSize));
+            bufferRef.set(ClassicToAsyncSupport.createInputBuffer(initialBufferSize, lockFreeBuffer));
         } else {
             fireComplete();
         }
@@ -153,7 +168,7 @@ public void informationResponse(final HttpResponse response,
 
     @Override
     public final void updateCapacity(final CapacityChannel capacityChannel) throws IOException {
-        final SharedInputBuffer buffer = bufferRef.get();
+        final ClassicToAsyncInputBuffer buffer = bufferRef.get();
         if (buffer != null) {
             buffer.updateCapacity(capacityChannel);
         }
@@ -161,7 +176,7 @@ public final void updateCapacity(final CapacityChannel capacityChannel) throws I
 
     @Override
     public final void consume(final ByteBuffer src) throws IOException {
-        final SharedInputBuffer buffer = bufferRef.get();
+        final ClassicToAsyncInputBuffer buffer = bufferRef.get();
         if (buffer != null) {
             buffer.fill(src);
         }
@@ -169,7 +184,7 @@ public final void consume(final ByteBuffer src) throws IOException {
 
     @Override
     public final void streamEnd(final List<? extends Header> trailers) throws HttpException, IOException {
-        final SharedInputBuffer buffer = bufferRef.get();
+        final ClassicToAsyncInputBuffer buffer = bufferRef.get();
         if (buffer != null) {
             buffer.markEndStream();
         }
@@ -193,9 +208,9 @@ public void releaseResources() {
 
     class InternalInputStream extends InputStream {
 
-        private final SharedInputBuffer buffer;
+        private final ClassicToAsyncInputBuffer buffer;
 
-        InternalInputStream(final SharedInputBuffer buffer) {
+        InternalInputStream(final ClassicToAsyncInputBuffer buffer) {
             super();
             Args.notNull(buffer, "Input buffer");
             this.buffer = buffer;
@@ -76,21 +76,36 @@
 public class ClassicToAsyncServerExchangeHandler implements AsyncServerExchangeHandler {
 
     private final int initialBufferSize;
+    private final boolean lockFreeBuffers;
     private final Executor executor;
     private final HttpServerRequestHandler requestHandler;
     private final Callback<Exception> exceptionCallback;
     private final AtomicBoolean responseCommitted;
     private final AtomicReference<AsyncResponseProducer> responseProducerRef;
-    private final AtomicReference<SharedInputBuffer> inputBufferRef;
-    private final AtomicReference<SharedOutputBuffer> outputBufferRef;
+    private final AtomicReference<ClassicToAsyncInputBuffer> inputBufferRef;
+    private final AtomicReference<ClassicToAsyncOutputBuffer> outputBufferRef;
     private final AtomicReference<Exception> exceptionRef;
 
+    /**
+     * @param initialBufferSize the initial size of the content buffers.
+     * @param lockFreeBuffers if {@code true} content is passed between the I/O reactor
+     *                        and the worker thread through {@link LockFreeInputBuffer}
+     *                        and {@link LockFreeOutputBuffer} instead of lock based
+     *                        {@link SharedInputBuffer} and {@link SharedOutputBuffer}.
+     * @param executor the executor of blocking request handlers.
+     * @param requestHandler the request handler.
+     * @param exceptionCallback the exception callback.
+     *
+     * @since 5.5
+     */
     public ClassicToAsyncServerExchangeHandler(
             final int initialBufferSize,
+            final boolean lockFreeBuffers,
             final Executor executor,
             final HttpServerRequestHandler requestHandler,
             final Callback<Exception> exceptionCallback) {
         this.initialBufferSize = Args.positive(initialBufferSize, "Initial buffer size");
+        this.lockFreeBuffers = lockFreeBuffers;
         this.executor = Args.notNull(executor, "Executor");
         this.requestHandler = Args.notNull(requestHandler, "Request handler");
         this.exceptionCallback = exceptionCallback;
@@ -101,6 +116,14 @@ public ClassicToAsyncServerExchangeHandler(
         this.exceptionRef = new AtomicReference<>();
     }
 
+    public ClassicToAsyncServerExchangeHandler(
+            final int initialBufferSize,
+            final Executor executor,
+            final HttpServerRequestHandler requestHandler,
+            final Callback<Exception> exceptionCallback) {
+        this(initialBufferSize, false, executor, requestHandler, exceptionCallback);
+    }
+
     public ClassicToAsyncServerExchangeHandler(
             final Executor executor,
             final HttpServerRequestHandler requestHandler,
@@ -133,27 +156,27 @@ void propagateException() throws IOException {
         }
     }
 
-    SharedInputBuffer inputBuffer() {
-        final SharedInputBuffer inputBuffer = inputBufferRef.get();
+    ClassicToAsyncInputBuffer inputBuffer() {
+        final ClassicToAsyncInputBuffer inputBuffer = inputBufferRef.get();
         Asserts.notNull(inputBuffer, "Input buffer");
         return inputBuffer;
     }
 
-    SharedOutputBuffer outputBuffer() {
-        final SharedOutputBuffer outputBuffer = outputBufferRef.get();
+    ClassicToAsyncOutputBuffer outputBuffer() {
+        final ClassicToAsyncOutputBuffer outputBuffer = outputBufferRef.get();
         Asserts.notNull(outputBuffer, "Output buffer");
         return outputBuffer;
     }
 
     void abortInput() {
-        final SharedInputBuffer inputBuffer = inputBufferRef.get();
+        final ClassicToAsyncInputBuffer inputBuffer = inputBufferRef.get();
         if (inputBuffer != null) {
             inputBuffer.abort();
         }
     }
 
     void abortOutput() {
-        final SharedOutputBuffer outputBuffer = outputBufferRef.get();
+        final ClassicToAsyncOutputBuffer outputBuffer = outputBufferRef.get();
         if (outputBuffer != null) {
             outputBuffer.abort();
         }
@@ -166,7 +189,8 @@ public final void handleRequest(
             final ResponseChannel responseChannel,
             final HttpContext context) throws HttpException, IOException {
         if (entityDetails != null) {
-            final SharedInputBuffer inputBuffer = new SharedInputBuffer(initialBufferSize);
+            final ClassicToAsyncInputBuffer inputBuffer = ClassicToAsyncSupport.createInputBuffer(
+                    initialBufferSize, lockFreeBuffers);
             inputBufferRef.set(inputBuffer);
         }
         executor.execute(() -> {
@@ -193,7 +217,8 @@ public void submitResponse(final ClassicHttpResponse response) throws HttpExcept
                             final String method = request.getMethod();
                             final boolean contentExpected = responseEntity != null && !Method.HEAD.isSame(method);
                             if (contentExpected) {
-                                final SharedOutputBuffer outputBuffer = new SharedOutputBuffer(initialBufferSize);
+                                final ClassicToAsyncOutputBuffer outputBuffer = ClassicToAsyncSupport.createOutputBuffer(
+                                        initialBufferSize, lockFreeBuffers);
                                 outputBufferRef.set(outputBuffer);
                             }
                             responseChannel.sendResponse(response, responseEntity, null);
@@ -336,9 +361,9 @@ public void close() throws IOException {
 
     class InternalOutputStream extends OutputStream {
 
-        private final SharedOutputBuffer buffer;
+        private final ClassicToAsyncOutputBuffer buffer;
 
-        public InternalOutputStream(final SharedOutputBuffer buffer) {
+        public InternalOutputStream(final ClassicToAsyncOutputBuffer buffer) {
             Asserts.notNull(buffer, "Shared buffer");
             this.buffer = buffer;
         }
@@ -36,6 +36,14 @@ final class ClassicToAsyncSupport {
 
     final static int INITIAL_BUF_SIZE = 2048;
 
+    static ClassicToAsyncInputBuffer createInputBuffer(final int initialBufferSize, final boolean lockFree) {
+        return lockFree ? new LockFreeInputBuffer(initialBufferSize) : new SharedInputBuffer(initialBufferSize);
+    }
+
+    static ClassicToAsyncOutputBuffer createOutputBuffer(final int initialBufferSize, final boolean lockFree) {
+        return lockFree ? new LockFreeOutputBuffer(initialBufferSize) : new SharedOutputBuffer(initialBufferSize);
+    }
+
     static void rethrow(final Throwable ex) throws IOException {
         if (ex instanceof Error) {
             throw (Error) ex;
@@ -0,0 +1,164 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.nio.support.classic;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.function.Supplier;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Lock-free alternative to {@link SharedInputBuffer} for exactly one I/O reactor thread
+ * filling the buffer and one worker thread reading from it.
+ *
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.SAFE_CONDITIONAL)
+public final class LockFreeInputBuffer extends AbstractLockFreeBuffer implements ClassicToAsyncInputBuffer {
+
+    private final int initialBufferSize;
+    private final AtomicInteger capacityIncrement;
+    private final Supplier<Boolean> inputAvailable;
+
+    private volatile CapacityChannel capacityChannel;
+
+    public LockFreeInputBuffer(final int initialBufferSize) {
+        super(initialBufferSize);
+        this.initialBufferSize = initialBufferSize;
+        this.capacityIncrement = new AtomicInteger(0);
+        this.inputAvailable = () -> hasData() || endStream || aborted;
+    }
+
+    @Override
+    public int fill(final ByteBuffer src) {
+        put(src);
+        signalConsumer();
+        return Math.max(0, initialBufferSize - length());
+    }
+
+    private void incrementCapacity() throws IOException {
+        final CapacityChannel channel = capacityChannel;
+        if (channel != null) {
+            final int increment = capacityIncrement.getAndSet(0);
+            if (increment > 0) {
+                channel.update(increment);
+            }
+        }
+    }
+
+    @Override
+    public void updateCapacity(final CapacityChannel capacityChannel) throws IOException {
+        this.capacityChannel = capacityChannel;
+        if (!hasData()) {
+            capacityChannel.update(initialBufferSize);
+        }
+    }
+
+    private void awaitInput(final Timeout timeout) throws InterruptedIOException {
+        if (!awaitConsumer(inputAvailable, timeout)) {
+            throw new InterruptedIOException("Timeout blocked waiting for input (" + timeout + ")");
+        }
+    }
+
+    private void ensureNotAborted() throws InterruptedIOException {
+        if (aborted) {
+            throw new InterruptedIOException("Operation aborted");
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(null);
+    }
+
+    @Override
+    public int read(final Timeout timeout) throws IOException {
+        awaitInput(timeout);
+        ensureNotAborted();
+        if (endStream && !hasData()) {
+            return -1;
+        }
+        final int b = take();
+        capacityIncrement.incrementAndGet();
+        if (!hasData()) {
+            incrementCapacity();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        return read(b, off, len, null);
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len, final Timeout timeout) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        awaitInput(timeout);
+        ensureNotAborted();
+        if (endStream && !hasData()) {
+            return -1;
+        }
+        final int chunk = take(b, off, len);
+        capacityIncrement.addAndGet(chunk);
+        if (!hasData()) {
+            incrementCapacity();
+        }
+        return chunk;
+    }
+
+    @Override
+    public void markEndStream() {
+        if (endStream) {
+            return;
+        }
+        endStream = true;
+        capacityChannel = null;
+        signalConsumer();
+    }
+
+    /**
+     * Discards all unread content. Must be called from the reading thread.
+     */
+    @Override
+    public void reset() {
+        if (aborted) {
+            return;
+        }
+        discard();
+        endStream = false;
+    }
+
+}
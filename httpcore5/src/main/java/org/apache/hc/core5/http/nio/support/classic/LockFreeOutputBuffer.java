@@ -0,0 +1,207 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.nio.support.classic;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.function.Supplier;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.util.Args;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Lock-free alternative to {@link SharedOutputBuffer} for exactly one worker thread
+ * writing to the buffer and one I/O reactor thread flushing it.
+ * <p>
+ * The buffer holds at most {@code bufferSize} bytes. Like with {@link SharedOutputBuffer}
+ * large chunks get written to the data channel directly when the buffer is empty and
+ * output is requested from the I/O reactor only once the buffer is full or the content
+ * is complete.
+ * </p>
+ *
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.SAFE_CONDITIONAL)
+public final class LockFreeOutputBuffer extends AbstractLockFreeBuffer implements ClassicToAsyncOutputBuffer {
+
+    private final int bufferSize;
+    private final AtomicBoolean endStreamPropagated;
+    private final Supplier<Boolean> spaceAvailable;
+    private final Supplier<Boolean> drained;
+    private final Supplier<Boolean> endStreamFlushed;
+
+    private volatile DataStreamChannel dataStreamChannel;
+    private volatile int flushCount;
+
+    public LockFreeOutputBuffer(final int bufferSize) {
+        super(bufferSize);
+        this.bufferSize = Args.positive(bufferSize, "Buffer size");
+        this.endStreamPropagated = new AtomicBoolean();
+        this.spaceAvailable = () -> length() < this.bufferSize || aborted;
+        this.drained = () -> !hasData() && dataStreamChannel != null || aborted;
+        this.endStreamFlushed = () -> endStreamPropagated.get() || aborted;
+    }
+
+    @Override
+    public void flush(final DataStreamChannel channel) throws IOException {
+        dataStreamChannel = channel;
+        for (;;) {
+            final ByteBuffer chunk = peek();
+            if (chunk == null) {
+                break;
+            }
+            final int bytesWritten = channel.write(chunk);
+            release(bytesWritten);
+            if (chunk.hasRemaining()) {
+                break;
+            }
+        }
+        if (endStream && !hasData()) {
+            propagateEndStream(channel);
+        }
+        flushCount++;
+        signalProducer();
+    }
+
+    private void ensureNotAborted() throws InterruptedIOException {
+        if (aborted) {
+            throw new InterruptedIOException("Operation aborted");
+        }
+    }
+
+    /**
+     * Returns the number of bytes that can be written without blocking.
+     */
+    public int capacity() {
+        return Math.max(0, bufferSize - length());
+    }
+
+    private void waitFlush(final Supplier<Boolean> condition, final Timeout timeout) throws InterruptedIOException {
+        final DataStreamChannel channel = dataStreamChannel;
+        if (channel != null) {
+            channel.requestOutput();
+        }
+        awaitFlush(condition, timeout);
+        ensureNotAborted();
+    }
+
+    private void awaitFlush(final Supplier<Boolean> condition, final Timeout timeout) throws InterruptedIOException {
+        if (!awaitProducer(condition, timeout)) {
+            aborted = true;
+            throw new InterruptedIOException("Timeout blocked waiting for output (" + timeout + ")");
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len, final Timeout timeout) throws IOException {
+        ensureNotAborted();
+        final ByteBuffer src = ByteBuffer.wrap(b, off, len);
+        while (src.hasRemaining()) {
+            // always buffer small chunks
+            if (src.remaining() < 1024 && bufferSize - length() > src.remaining()) {
+                put(src);
+            } else {
+                final DataStreamChannel channel = dataStreamChannel;
+                if (channel == null || hasData()) {
+                    waitFlush(drained, timeout);
+                    continue;
+                }
+                // Nothing is pending, so the I/O reactor does not write to the channel
+                // until more content gets buffered
+                final int count = flushCount;
+                if (channel.write(src) == 0) {
+                    waitFlush(() -> flushCount != count || aborted, timeout);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        write(b, off, len, null);
+    }
+
+    @Override
+    public void write(final int b, final Timeout timeout) throws IOException {
+        ensureNotAborted();
+        if (length() >= bufferSize) {
+            waitFlush(spaceAvailable, timeout);
+        }
+        put(b);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(b, null);
+    }
+
+    @Override
+    public void writeCompleted(final Timeout timeout) throws IOException {
+        if (endStream) {
+            return;
+        }
+        endStream = true;
+        final DataStreamChannel channel = dataStreamChannel;
+        if (channel != null) {
+            if (hasData()) {
+                channel.requestOutput();
+                awaitFlush(endStreamFlushed, timeout);
+            } else {
+                propagateEndStream(channel);
+            }
+        }
+    }
+
+    @Override
+    public void writeCompleted() throws IOException {
+        writeCompleted(null);
+    }
+
+    /**
+     * Discards all buffered content. Must not be called while the buffer is in use.
+     */
+    @Override
+    public void reset() {
+        if (aborted) {
+            return;
+        }
+        discard();
+        endStream = false;
+    }
+
+    private void propagateEndStream(final DataStreamChannel channel) throws IOException {
+        if (endStreamPropagated.compareAndSet(false, true)) {
+            channel.endStream();
+        }
+    }
+
+}
@@ -41,7 +41,7 @@
  * @since 5.0
  */
 @Contract(threading = ThreadingBehavior.SAFE)
-public final class SharedInputBuffer extends AbstractSharedBuffer implements ContentInputBuffer {
+public final class SharedInputBuffer extends AbstractSharedBuffer implements ClassicToAsyncInputBuffer {
 
     private final int initialBufferSize;
     private final AtomicInteger capacityIncrement;
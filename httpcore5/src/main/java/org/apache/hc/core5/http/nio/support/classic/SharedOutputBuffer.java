@@ -41,7 +41,7 @@
  * @since 5.0
  */
 @Contract(threading = ThreadingBehavior.SAFE)
-public final class SharedOutputBuffer extends AbstractSharedBuffer implements ContentOutputBuffer {
+public final class SharedOutputBuffer extends AbstractSharedBuffer implements ClassicToAsyncOutputBuffer {
 
     private final AtomicBoolean endStreamPropagated;
     private volatile DataStreamChannel dataStreamChannel;
@@ -32,13 +32,20 @@
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.util.TimeZone;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.hc.core5.annotation.Contract;
 import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.message.PreEncodedHeader;
 
 /**
  * Generates a date in the format required by the HTTP protocol.
+ * <p>
+ * The formatted date is cached and re-generated at most once per second.
+ * The cached value is published through a volatile reference, so concurrent
+ * callers never block each other.
+ * </p>
  *
  * @since 4.0
  */
@@ -66,12 +73,24 @@ public class HttpDateGenerator {
     /** Singleton instance. */
     public static final HttpDateGenerator INSTANCE = new HttpDateGenerator(INTERNET_MESSAGE_FORMAT, GMT_ID);
 
+    private static final class CachedDate {
+
+        final long timeSlot;
+        final String text;
+        final Header header;
+
+        CachedDate(final long timeSlot, final String text) {
+            this.timeSlot = timeSlot;
+            this.text = text;
+            this.header = new PreEncodedHeader(HttpHeaders.DATE, text);
+        }
+
+    }
+
     private final DateTimeFormatter dateTimeFormatter;
-    private long dateAsMillis;
-    private String dateAsText;
-    private ZoneId zoneId;
+    private final ZoneId zoneId;
 
-    private final ReentrantLock lock;
+    private volatile CachedDate cachedDate;
 
     private HttpDateGenerator(final String pattern, final ZoneId zoneId) {
         dateTimeFormatter = new DateTimeFormatterBuilder()
@@ -80,21 +99,37 @@ private HttpDateGenerator(final String pattern, final ZoneId zoneId) {
                 .appendPattern(pattern)
                 .toFormatter();
         this.zoneId = zoneId;
-        this.lock = new ReentrantLock();
     }
 
-    public String getCurrentDate() {
-        lock.lock();
-        try {
-            final long now = System.currentTimeMillis();
-            if (now - this.dateAsMillis > GRANULARITY_MILLIS) {
-                // Generate new date string
-                dateAsText = dateTimeFormatter.format(Instant.now().atZone(zoneId));
-                dateAsMillis = now;
-            }
-            return dateAsText;
-        } finally {
-            lock.unlock();
+    private CachedDate getCachedDate() {
+        final long now = System.currentTimeMillis();
+        final long timeSlot = now / GRANULARITY_MILLIS;
+        final CachedDate current = this.cachedDate;
+        if (current != null && current.timeSlot >= timeSlot) {
+            return current;
         }
+        // Concurrent threads may end up generating the same value.
+        // This is harmless as the formatted date is immutable.
+        final CachedDate update = new CachedDate(
+                timeSlot,
+                dateTimeFormatter.format(Instant.ofEpochMilli(now).atZone(zoneId)));
+        this.cachedDate = update;
+        return update;
     }
+
+    public String getCurrentDate() {
+        return getCachedDate().text;
+    }
+
+    /**
+     * Returns {@code Date} header with the current date. The header is shared
+     * by all callers within the same second and is pre-encoded, so message writers
+     * can emit it without further formatting or allocation.
+     *
+     * @since 5.5
+     */
+    public Header getCurrentDateHeader() {
+        return getCachedDate().header;
+    }
+
 }
@@ -87,7 +87,7 @@ public void process(final HttpResponse response, final EntityDetails entity, fin
             throws HttpException, IOException {
         Args.notNull(response, "HTTP response");
         if (alwaysReplace || response.getFirstHeader(HttpHeaders.DATE) == null) {
-            response.setHeader(HttpHeaders.DATE, HttpDateGenerator.INSTANCE.getCurrentDate());
+            response.setHeader(HttpDateGenerator.INSTANCE.getCurrentDateHeader());
         }
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.pool;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+
+/**
+ * Connection pool instrumentation.
+ * <p>
+ * Unlike {@link ConnPoolListener} this interface reports raw measurements and does not
+ * require the pool to compute a statistics snapshot for every event. Methods of this
+ * interface can be invoked while the pool holds its internal lock. They must be fast
+ * and must not call back into the pool.
+ * </p>
+ *
+ * @param <T> the route type that represents the opposite endpoint of a pooled connection.
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.SAFE)
+public interface ConnPoolInstrumentation<T> {
+
+    /**
+     * Triggered when a lease request has been fulfilled.
+     *
+     * @param route the route.
+     * @param waitMillis time in milliseconds the request spent waiting for a pool entry.
+     */
+    void onLease(T route, long waitMillis);
+
+    /**
+     * Triggered when a connection gets assigned to a pool entry leased without one.
+     *
+     * @param route the route.
+     * @param connectMillis time in milliseconds between the lease and the connection assignment.
+     */
+    void onConnect(T route, long connectMillis);
+
+    /**
+     * Triggered when a connection gets discarded.
+     *
+     * @param route the route.
+     * @param lifetimeMillis time in milliseconds since the connection was assigned to the entry.
+     * @param reuseCount number of times the connection was leased again after its initial lease.
+     */
+    void onDisposal(T route, long lifetimeMillis, int reuseCount);
+
+    /**
+     * Triggered when a lease request cannot be fulfilled because the route has
+     * reached its max per route limit. Fired at most once per lease request.
+     *
+     * @param route the route.
+     * @param max the max per route limit.
+     */
+    void onMaxPerRoute(T route, int max);
+
+    /**
+     * Triggered when a lease request cannot be fulfilled because the pool has
+     * reached its max total limit. Fired at most once per lease request.
+     *
+     * @param route the route of the lease request.
+     * @param max the max total limit.
+     */
+    void onMaxTotal(T route, int max);
+
+}
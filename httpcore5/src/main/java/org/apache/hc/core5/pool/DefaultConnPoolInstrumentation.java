@@ -0,0 +1,214 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.pool;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.util.Args;
+
+/**
+ * Default {@link ConnPoolInstrumentation} implementation that maintains lock-free
+ * per route {@link LatencyHistogram}s and saturation event counters.
+ *
+ * @param <T> the route type that represents the opposite endpoint of a pooled connection.
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.SAFE)
+public class DefaultConnPoolInstrumentation<T> implements ConnPoolInstrumentation<T> {
+
+    private final ConcurrentHashMap<T, RouteMetrics> routeToMetrics;
+    private final LongAdder maxTotalCount;
+
+    public DefaultConnPoolInstrumentation() {
+        this.routeToMetrics = new ConcurrentHashMap<>();
+        this.maxTotalCount = new LongAdder();
+    }
+
+    private RouteMetrics getOrCreate(final T route) {
+        final RouteMetrics metrics = this.routeToMetrics.get(route);
+        return metrics != null ? metrics : this.routeToMetrics.computeIfAbsent(route, r -> new RouteMetrics());
+    }
+
+    @Override
+    public void onLease(final T route, final long waitMillis) {
+        getOrCreate(route).leaseWait.record(waitMillis);
+    }
+
+    @Override
+    public void onConnect(final T route, final long connectMillis) {
+        getOrCreate(route).connect.record(connectMillis);
+    }
+
+    @Override
+    public void onDisposal(final T route, final long lifetimeMillis, final int reuseCount) {
+        final RouteMetrics metrics = getOrCreate(route);
+        metrics.lifetime.record(lifetimeMillis);
+        metrics.reuse.record(reuseCount);
+    }
+
+    @Override
+    public void onMaxPerRoute(final T route, final int max) {
+        getOrCreate(route).maxPerRouteCount.increment();
+    }
+
+    @Override
+    public void onMaxTotal(final T route, final int max) {
+        getOrCreate(route).maxTotalCount.increment();
+        this.maxTotalCount.increment();
+    }
+
+    /**
+     * Returns metrics of the given route or {@code null} if no events have been
+     * recorded for the route.
+     */
+    public RouteMetrics getMetrics(final T route) {
+        Args.notNull(route, "Route");
+        return this.routeToMetrics.get(route);
+    }
+
+    /**
+     * Returns a read-only view of all known routes.
+     */
+    public Set<T> getRoutes() {
+        return Collections.unmodifiableSet(this.routeToMetrics.keySet());
+    }
+
+    /**
+     * Returns the total number of lease requests that could not be fulfilled
+     * because the pool had reached its max total limit.
+     */
+    public long getMaxTotalCount() {
+        return this.maxTotalCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder buffer = new StringBuilder();
+        for (final Map.Entry<T, RouteMetrics> entry : this.routeToMetrics.entrySet()) {
+            buffer.append("[route: ");
+            buffer.append(entry.getKey());
+            buffer.append("]");
+            buffer.append(entry.getValue());
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Metrics of an individual route.
+     *
+     * @since 5.5
+     */
+    public static final class RouteMetrics {
+
+        private final LatencyHistogram leaseWait;
+        private final LatencyHistogram connect;
+        private final LatencyHistogram lifetime;
+        private final LatencyHistogram reuse;
+        private final LongAdder maxPerRouteCount;
+        private final LongAdder maxTotalCount;
+
+        RouteMetrics() {
+            this.leaseWait = new LatencyHistogram();
+            this.connect = new LatencyHistogram();
+            this.lifetime = new LatencyHistogram();
+            this.reuse = new LatencyHistogram();
+            this.maxPerRouteCount = new LongAdder();
+            this.maxTotalCount = new LongAdder();
+        }
+
+        /**
+         * Time in milliseconds lease requests spent waiting for a pool entry.
+         */
+        public LatencyHistogram getLeaseWait() {
+            return leaseWait;
+        }
+
+        /**
+         * Time in milliseconds between the lease of a new entry and the connection assignment.
+         */
+        public LatencyHistogram getConnect() {
+            return connect;
+        }
+
+        /**
+         * Lifetime of discarded connections in milliseconds.
+         */
+        public LatencyHistogram getLifetime() {
+            return lifetime;
+        }
+
+        /**
+         * Number of times discarded connections have been re-used.
+         */
+        public LatencyHistogram getReuse() {
+            return reuse;
+        }
+
+        /**
+         * Number of lease requests that could not be fulfilled because the route
+         * had reached its max per route limit.
+         */
+        public long getMaxPerRouteCount() {
+            return maxPerRouteCount.sum();
+        }
+
+        /**
+         * Number of lease requests that could not be fulfilled because the pool
+         * had reached its max total limit.
+         */
+        public long getMaxTotalCount() {
+            return maxTotalCount.sum();
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder buffer = new StringBuilder();
+            buffer.append("[lease wait: ");
+            buffer.append(leaseWait);
+            buffer.append("][connect: ");
+            buffer.append(connect);
+            buffer.append("][lifetime: ");
+            buffer.append(lifetime);
+            buffer.append("][reuse: ");
+            buffer.append(reuse);
+            buffer.append("][max per route: ");
+            buffer.append(getMaxPerRouteCount());
+            buffer.append("][max total: ");
+            buffer.append(getMaxTotalCount());
+            buffer.append("]");
+            return buffer.toString();
+        }
+
+    }
+
+}
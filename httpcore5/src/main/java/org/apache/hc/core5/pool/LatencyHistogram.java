@@ -0,0 +1,156 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.pool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hc.core5.annotation.Contract;
+import org.apache.hc.core5.annotation.ThreadingBehavior;
+import org.apache.hc.core5.util.Args;
+
+/**
+ * Lock-free histogram of non-negative {@code long} values.
+ * <p>
+ * Values are recorded into log-linear buckets: each power of two range is split into
+ * {@value #SUB_BUCKETS} equally sized sub-buckets, so that reported percentiles are
+ * within 12.5% of the actual value while the histogram occupies a fixed amount of memory
+ * regardless of the value range.
+ * </p>
+ *
+ * @since 5.5
+ */
+@Contract(threading = ThreadingBehavior.SAFE)
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueAt(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final long sub = index % SUB_BUCKETS;
+        final long lowest = (SUB_BUCKETS + sub) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Records the given value. Negative values are recorded as zero.
+     */
+    public void record(final long value) {
+        final long v = Math.max(value, 0);
+        this.counts.incrementAndGet(indexOf(v));
+        this.count.increment();
+        this.sum.add(v);
+        long current = this.max.get();
+        while (v > current && !this.max.compareAndSet(current, v)) {
+            current = this.max.get();
+        }
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        final long n = this.count.sum();
+        return n > 0 ? (double) this.sum.sum() / n : 0.0;
+    }
+
+    /**
+     * Returns the highest value equivalent to the value at the given percentile.
+     *
+     * @param percentile the percentile in the range from 0 to 100.
+     * @return the value or zero if no values have been recorded.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        Args.check(percentile >= 0.0 && percentile <= 100.0, "Percentile must be in the range [0, 100]");
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += this.counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long threshold = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long acc = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            acc += this.counts.get(i);
+            if (acc >= threshold) {
+                return Math.min(highestValueAt(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder buffer = new StringBuilder();
+        buffer.append("[count: ");
+        buffer.append(getCount());
+        buffer.append("; mean: ");
+        buffer.append(String.format("%.2f", getMean()));
+        buffer.append("; p50: ");
+        buffer.append(getValueAtPercentile(50.0));
+        buffer.append("; p99: ");
+        buffer.append(getValueAtPercentile(99.0));
+        buffer.append("; max: ");
+        buffer.append(getMax());
+        buffer.append("]");
+        return buffer.toString();
+    }
+
+}
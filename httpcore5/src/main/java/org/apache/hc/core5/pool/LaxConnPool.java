@@ -462,7 +462,8 @@ private PoolEntry<T, C> getAvailableEntry(final Object state) {
                 final PoolEntry<T, C> entry = ref.getReference();
                 if (ref.compareAndSet(entry, entry, false, true)) {
                     it.remove();
-                    if (entry.getExpiryDeadline().isBefore(now) || !Objects.equals(entry.getState(), state)) {
+                    if (entry.getExpiryDeadline().isBefore(now) || entry.isConnectionDead()
+                            || !Objects.equals(entry.getState(), state)) {
                         entry.discardConnection(CloseMode.GRACEFUL);
                         deallocatePoolEntry();
                     } else {
@@ -523,6 +524,7 @@ public void release(final PoolEntry<T, C> releasedEntry, final boolean reusable)
             if (releasedEntry.hasConnection()) {
                 switch (policy) {
                     case LIFO:
+                    case HEALTH_WEIGHTED:
                         available.addFirst(new AtomicMarkableReference<>(releasedEntry, false));
                         break;
                     case FIFO:
@@ -28,6 +28,7 @@
 
 import java.time.Clock;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.io.ModalCloseable;
@@ -49,26 +50,44 @@
  */
 public final class PoolEntry<T, C extends ModalCloseable> {
 
+    private static final double LATENCY_WEIGHT = 0.2;
+    // Score added per consecutive failure regardless of the observed latency
+    static final double FAILURE_PENALTY = 1000.0;
+
     private final T route;
     private final TimeValue timeToLive;
     private final AtomicReference<C> connRef;
     private final DisposalCallback<C> disposalCallback;
     private final Clock clock;
+    private final ConnPoolInstrumentation<T> instrumentation;
 
     private volatile Object state;
     private volatile long created;
     private volatile long updated;
     private volatile Deadline expiryDeadline = Deadline.MIN_VALUE;
     private volatile Deadline validityDeadline = Deadline.MIN_VALUE;
+    private volatile long leased = -1;
+    private volatile int reuseCount;
+    private volatile double latencyEstimate;
+    private volatile int healthSamples;
+    private volatile int failureCount;
+    private volatile Object affinity;
+    private volatile BooleanSupplier connectionProbe;
 
     PoolEntry(final T route, final TimeValue timeToLive, final DisposalCallback<C> disposalCallback,
-              final Clock clock) {
+              final Clock clock, final ConnPoolInstrumentation<T> instrumentation) {
         super();
         this.route = Args.notNull(route, "Route");
         this.timeToLive = TimeValue.defaultsToNegativeOneMillisecond(timeToLive);
         this.connRef = new AtomicReference<>();
         this.disposalCallback = disposalCallback;
         this.clock = clock;
+        this.instrumentation = instrumentation;
+    }
+
+    PoolEntry(final T route, final TimeValue timeToLive, final DisposalCallback<C> disposalCallback,
+              final Clock clock) {
+        this(route, timeToLive, disposalCallback, clock, null);
     }
 
     PoolEntry(final T route, final TimeValue timeToLive, final Clock clock) {
@@ -140,6 +159,131 @@ public Deadline getExpiryDeadline() {
         return this.expiryDeadline;
     }
 
+    /**
+     * Returns the number of times the connection currently assigned to this entry
+     * has been leased again after its initial lease.
+     *
+     * @since 5.5
+     */
+    public int getReuseCount() {
+        return this.reuseCount;
+    }
+
+    /**
+     * Returns the exponentially weighted moving average of response latencies in milliseconds
+     * recorded for the connection currently assigned to this entry.
+     *
+     * @see #updateHealth(long, boolean)
+     * @since 5.5
+     */
+    public double getLatencyEstimate() {
+        return this.latencyEstimate;
+    }
+
+    /**
+     * Returns the number of health samples recorded for the connection currently assigned
+     * to this entry.
+     *
+     * @see #updateHealth(long, boolean)
+     * @since 5.5
+     */
+    public int getHealthSamples() {
+        return this.healthSamples;
+    }
+
+    /**
+     * Returns the number of consecutive failures recorded for the connection currently
+     * assigned to this entry.
+     *
+     * @see #updateHealth(long, boolean)
+     * @since 5.5
+     */
+    public int getFailureCount() {
+        return this.failureCount;
+    }
+
+    /**
+     * Returns the health score of the connection currently assigned to this entry.
+     * Lower values represent healthier connections. Consecutive failures are penalized
+     * independently of the latency, so a connection that failed fast never ranks above
+     * one that succeeded. The score of a connection with no recorded samples carries no
+     * information; the pool treats such connections as average among their peers.
+     *
+     * @see #getHealthSamples()
+     * @since 5.5
+     */
+    public double getHealthScore() {
+        final int failures = this.failureCount;
+        return this.latencyEstimate * (1 + failures) + FAILURE_PENALTY * failures;
+    }
+
+    /**
+     * Records the outcome of a message exchange executed over the connection assigned
+     * to this entry. This method is expected to be called by the lessee only.
+     *
+     * @param latencyMillis the response latency in milliseconds.
+     * @param failure {@code true} if the exchange failed or the opposite endpoint
+     *                responded with a server error.
+     * @since 5.5
+     */
+    public void updateHealth(final long latencyMillis, final boolean failure) {
+        final double sample = Math.max(latencyMillis, 0);
+        final double estimate = this.latencyEstimate;
+        this.latencyEstimate = this.healthSamples == 0 ? sample : estimate + (sample - estimate) * LATENCY_WEIGHT;
+        this.healthSamples++;
+        this.failureCount = failure ? this.failureCount + 1 : 0;
+    }
+
+    private void resetHealth() {
+        this.latencyEstimate = 0;
+        this.healthSamples = 0;
+        this.failureCount = 0;
+    }
+
+    /**
+     * Sets a probe reporting whether the connection assigned to this entry is still usable.
+     * The probe is expected to evaluate state maintained by the I/O layer, such as end of
+     * stream or connection reset detected while the connection was idle, and must not
+     * perform any I/O itself. The probe gets cleared when the connection is discarded.
+     *
+     * @since 5.5
+     */
+    public void setConnectionProbe(final BooleanSupplier connectionProbe) {
+        this.connectionProbe = connectionProbe;
+    }
+
+    /**
+     * Determines whether the connection assigned to this entry is known to be no
+     * longer usable according to its connection probe. Connection pools discard
+     * such connections instead of leasing them.
+     *
+     * @see #setConnectionProbe(BooleanSupplier)
+     * @since 5.5
+     */
+    public boolean isConnectionDead() {
+        final BooleanSupplier probe = this.connectionProbe;
+        return probe != null && hasConnection() && !probe.getAsBoolean();
+    }
+
+    Object getAffinity() {
+        return this.affinity;
+    }
+
+    void setAffinity(final Object affinity) {
+        this.affinity = affinity;
+    }
+
+    /**
+     * Marks this entry as leased. Must be called by the pool while holding
+     * exclusive access to the entry.
+     */
+    void markLeased(final long now) {
+        if (hasConnection()) {
+            this.reuseCount++;
+        }
+        this.leased = now;
+    }
+
     /**
      * @since 5.0
      */
@@ -158,6 +302,11 @@ public void assignConnection(final C conn) {
             this.validityDeadline = Deadline.calculate(this.created, this.timeToLive);
             this.expiryDeadline = this.validityDeadline;
             this.state = null;
+            this.reuseCount = 0;
+            resetHealth();
+            if (this.instrumentation != null && this.leased >= 0) {
+                this.instrumentation.onConnect(this.route, this.created - this.leased);
+            }
         } else {
             throw new IllegalStateException("Connection already assigned");
         }
@@ -169,7 +318,14 @@ public void assignConnection(final C conn) {
     public void discardConnection(final CloseMode closeMode) {
         final C connection = this.connRef.getAndSet(null);
         if (connection != null) {
+            if (this.instrumentation != null) {
+                this.instrumentation.onDisposal(this.route, getCurrentTime() - this.created, this.reuseCount);
+            }
             this.state = null;
+            this.affinity = null;
+            this.connectionProbe = null;
+            this.reuseCount = 0;
+            resetHealth();
             this.created = 0;
             this.updated = 0;
             this.expiryDeadline = Deadline.MIN_VALUE;
@@ -41,6 +41,16 @@ public enum PoolReusePolicy {
     /**
      * Re-use all connections equally preventing them from becoming idle and expiring.
      */
-    FIFO
+    FIFO,
+
+    /**
+     * Re-use the healthiest connection based on the response latency and failure statistics
+     * recorded with {@link PoolEntry#updateHealth(long, boolean)}, retiring connections that
+     * perform significantly worse than their peers on the same route. Connection pools that
+     * do not track connection health treat this policy as {@link #LIFO}.
+     *
+     * @since 5.5
+     */
+    HEALTH_WEIGHTED
 
 }
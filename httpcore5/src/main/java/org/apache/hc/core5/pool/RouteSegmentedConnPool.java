@@ -263,7 +263,7 @@ public Future<PoolEntry<R, C>> lease(
                 break;
             }
             final long now = clock.millis();
-            if (hit.getExpiryDeadline().isBefore(now) || isPastTtl(hit, now)) {
+            if (hit.getExpiryDeadline().isBefore(now) || isPastTtl(hit, now) || hit.isConnectionDead()) {
                 discardAndDecr(hit, CloseMode.GRACEFUL);
                 continue;
             }
@@ -592,7 +592,7 @@ private void cancelTimeout(final Waiter w) {
     }
 
     private void offerAvailable(final Segment seg, final PoolEntry<R, C> p) {
-        if (reusePolicy == PoolReusePolicy.LIFO) {
+        if (reusePolicy != PoolReusePolicy.FIFO) {
             seg.available.addFirst(p);
         } else {
             seg.available.addLast(p);
@@ -72,6 +72,7 @@
     private final PoolReusePolicy policy;
     private final DisposalCallback<C> disposalCallback;
     private final ConnPoolListener<T> connPoolListener;
+    private final ConnPoolInstrumentation<T> connPoolInstrumentation;
     private final Map<T, PerRoutePool<T, C>> routeToPool;
     private final LinkedList<LeaseRequest<T, C>> pendingRequests;
     private final Set<PoolEntry<T, C>> leased;
@@ -96,7 +97,22 @@ public StrictConnPool(
             final PoolReusePolicy policy,
             final DisposalCallback<C> disposalCallback,
             final ConnPoolListener<T> connPoolListener) {
-        this(defaultMaxPerRoute, maxTotal, timeToLive, policy, disposalCallback, connPoolListener, Clock.systemUTC());
+        this(defaultMaxPerRoute, maxTotal, timeToLive, policy, disposalCallback, connPoolListener, null, Clock.systemUTC());
+    }
+
+    /**
+     * @since 5.5
+     */
+    public StrictConnPool(
+            final int defaultMaxPerRoute,
+            final int maxTotal,
+            final TimeValue timeToLive,
+            final PoolReusePolicy policy,
+            final DisposalCallback<C> disposalCallback,
+            final ConnPoolListener<T> connPoolListener,
+            final ConnPoolInstrumentation<T> connPoolInstrumentation) {
+        this(defaultMaxPerRoute, maxTotal, timeToLive, policy, disposalCallback, connPoolListener,
+                connPoolInstrumentation, Clock.systemUTC());
     }
 
     StrictConnPool(
@@ -107,6 +123,18 @@ public StrictConnPool(
             final DisposalCallback<C> disposalCallback,
             final ConnPoolListener<T> connPoolListener,
             final Clock clock) {
+        this(defaultMaxPerRoute, maxTotal, timeToLive, policy, disposalCallback, connPoolListener, null, clock);
+    }
+
+    StrictConnPool(
+            final int defaultMaxPerRoute,
+            final int maxTotal,
+            final TimeValue timeToLive,
+            final PoolReusePolicy policy,
+            final DisposalCallback<C> disposalCallback,
+            final ConnPoolListener<T> connPoolListener,
+            final ConnPoolInstrumentation<T> connPoolInstrumentation,
+            final Clock clock) {
         super();
         Args.positive(defaultMaxPerRoute, "Max per route value");
         Args.positive(maxTotal, "Max total value");
@@ -114,6 +142,7 @@ public StrictConnPool(
         this.policy = policy != null ? policy : PoolReusePolicy.LIFO;
         this.disposalCallback = disposalCallback;
         this.connPoolListener = connPoolListener;
+        this.connPoolInstrumentation = connPoolInstrumentation;
         this.routeToPool = new HashMap<>();
         this.pendingRequests = new LinkedList<>();
         this.leased = new HashSet<>();
@@ -147,6 +176,38 @@ public boolean isShutdown() {
         return this.isShutDown.get();
     }
 
+    /**
+     * Returns an opaque affinity key of the current execution context or {@code null}
+     * if the execution context has no affinity. Lease requests prefer available
+     * connections whose affinity key, as returned by {@link #resolveAffinity(Object)},
+     * matches the affinity key of the requesting thread. With
+     * {@link PoolReusePolicy#HEALTH_WEIGHTED} the healthiest connection with matching
+     * affinity is preferred over healthier connections of other execution contexts.
+     * <p>
+     * This implementation returns {@code null}.
+     * </p>
+     *
+     * @since 5.5
+     */
+    protected Object resolveAffinity() {
+        return null;
+    }
+
+    /**
+     * Returns an opaque affinity key of the execution context that owns the given
+     * connection or {@code null} if the connection has no affinity. Released entries
+     * get tagged with the affinity key of their connection.
+     * <p>
+     * This implementation returns {@code null}.
+     * </p>
+     *
+     * @param connection the pooled connection.
+     * @since 5.5
+     */
+    protected Object resolveAffinity(final C connection) {
+        return null;
+    }
+
     @Override
     public void close(final CloseMode closeMode) {
         if (this.isShutDown.compareAndSet(false, true)) {
@@ -174,7 +235,7 @@ public void close() {
     private PerRoutePool<T, C> getPool(final T route) {
         return this.routeToPool.computeIfAbsent(
                 route,
-                r -> new PerRoutePool<>(r, this.disposalCallback, this.policy, this.clock));
+                r -> new PerRoutePool<>(r, this.disposalCallback, this.policy, this.connPoolInstrumentation, this.clock));
     }
 
     @Override
@@ -186,7 +247,9 @@ public Future<PoolEntry<T, C>> lease(
         Args.notNull(route, "Route");
         Args.notNull(requestTimeout, "Request timeout");
         Asserts.check(!this.isShutDown.get(), "Connection pool shut down");
-        final Deadline deadline = Deadline.calculate(this.clock.millis(), requestTimeout);
+        final Object affinity = resolveAffinity();
+        final long leaseTime = this.clock.millis();
+        final Deadline deadline = Deadline.calculate(leaseTime, requestTimeout);
         final BasicFuture<PoolEntry<T, C>> future = new BasicFuture<PoolEntry<T, C>>(callback) {
 
             @Override
@@ -220,7 +283,7 @@ public PoolEntry<T, C> get(
 
         if (acquiredLock) {
             try {
-                final LeaseRequest<T, C> request = new LeaseRequest<>(route, state, deadline, future);
+                final LeaseRequest<T, C> request = new LeaseRequest<>(route, state, affinity, leaseTime, deadline, future);
                 final boolean completed = processPendingRequest(request);
                 if (!request.isDone() && !completed) {
                     this.pendingRequests.add(request);
@@ -254,6 +317,8 @@ public void release(final PoolEntry<T, C> entry, final boolean reusable) {
         if (!reusable) {
             entry.discardConnection(CloseMode.GRACEFUL);
         }
+        final C connection = entry.getConnection();
+        entry.setAffinity(connection != null ? resolveAffinity(connection) : null);
         this.lock.lock();
         try {
             if (this.leased.remove(entry)) {
@@ -261,11 +326,12 @@ public void release(final PoolEntry<T, C> entry, final boolean reusable) {
                     this.connPoolListener.onRelease(entry.getRoute(), this);
                 }
                 final PerRoutePool<T, C> pool = getPool(entry.getRoute());
-                final boolean keepAlive = entry.hasConnection() && reusable;
+                final boolean keepAlive = entry.hasConnection() && reusable && !pool.isOutlier(entry);
                 pool.free(entry, keepAlive);
                 if (keepAlive) {
                     switch (policy) {
                         case LIFO:
+                        case HEALTH_WEIGHTED:
                             this.available.addFirst(entry);
                             break;
                         case FIFO:
@@ -342,11 +408,11 @@ private boolean processPendingRequest(final LeaseRequest<T, C> request) {
         final PerRoutePool<T, C> pool = getPool(route);
         PoolEntry<T, C> entry;
         for (;;) {
-            entry = pool.getFree(state);
+            entry = pool.getFree(state, request.getAffinity());
             if (entry == null) {
                 break;
             }
-            if (entry.getExpiryDeadline().isBefore(now)) {
+            if (entry.getExpiryDeadline().isBefore(now) || entry.isConnectionDead()) {
                 entry.discardConnection(CloseMode.GRACEFUL);
                 this.available.remove(entry);
                 pool.free(entry, false);
@@ -357,7 +423,11 @@ private boolean processPendingRequest(final LeaseRequest<T, C> request) {
         if (entry != null) {
             this.available.remove(entry);
             this.leased.add(entry);
+            entry.markLeased(now);
             request.completed(entry);
+            if (this.connPoolInstrumentation != null) {
+                this.connPoolInstrumentation.onLease(route, now - request.getLeaseTime());
+            }
             if (this.connPoolListener != null) {
                 this.connPoolListener.onLease(entry.getRoute(), this);
             }
@@ -383,6 +453,9 @@ private boolean processPendingRequest(final LeaseRequest<T, C> request) {
         if (pool.getAllocatedCount() < maxPerRoute) {
             final int freeCapacity = Math.max(this.maxTotal - this.leased.size(), 0);
             if (freeCapacity == 0) {
+                if (this.connPoolInstrumentation != null && request.markLimitReported()) {
+                    this.connPoolInstrumentation.onMaxTotal(route, this.maxTotal);
+                }
                 return false;
             }
             final int totalAvailable = this.available.size();
@@ -395,12 +468,19 @@ private boolean processPendingRequest(final LeaseRequest<T, C> request) {
 
             entry = pool.createEntry(this.timeToLive);
             this.leased.add(entry);
+            entry.markLeased(now);
             request.completed(entry);
+            if (this.connPoolInstrumentation != null) {
+                this.connPoolInstrumentation.onLease(route, now - request.getLeaseTime());
+            }
             if (this.connPoolListener != null) {
                 this.connPoolListener.onLease(entry.getRoute(), this);
             }
             return true;
         }
+        if (this.connPoolInstrumentation != null && request.markLimitReported()) {
+            this.connPoolInstrumentation.onMaxPerRoute(route, maxPerRoute);
+        }
         return false;
     }
 
@@ -687,6 +767,8 @@ public String toString() {
 
         private final T route;
         private final Object state;
+        private final Object affinity;
+        private final long leaseTime;
         private final Deadline deadline;
         private final BasicFuture<PoolEntry<T, C>> future;
         // 'completed' is used internally to guard setting
@@ -694,22 +776,31 @@ public String toString() {
         private final AtomicBoolean completed;
         private volatile PoolEntry<T, C> result;
         private volatile Exception ex;
+        // Guarded by the pool lock
+        private boolean limitReported;
 
         /**
          * Constructor
          *
          * @param route route
          * @param state state
+         * @param affinity affinity key
+         * @param leaseTime time of the lease request
+         * @param deadline deadline
          * @param future future callback
          */
         public LeaseRequest(
                 final T route,
                 final Object state,
+                final Object affinity,
+                final long leaseTime,
                 final Deadline deadline,
                 final BasicFuture<PoolEntry<T, C>> future) {
             super();
             this.route = route;
             this.state = state;
+            this.affinity = affinity;
+            this.leaseTime = leaseTime;
             this.deadline = deadline;
             this.future = future;
             this.completed = new AtomicBoolean();
@@ -723,10 +814,31 @@ public Object getState() {
             return this.state;
         }
 
+        public Object getAffinity() {
+            return this.affinity;
+        }
+
+        public long getLeaseTime() {
+            return this.leaseTime;
+        }
+
         public Deadline getDeadline() {
             return this.deadline;
         }
 
+        /**
+         * Marks the request as blocked by a pool limit.
+         *
+         * @return {@code true} if this is the first time the request got blocked.
+         */
+        boolean markLimitReported() {
+            if (this.limitReported) {
+                return false;
+            }
+            this.limitReported = true;
+            return true;
+        }
+
         public boolean isDone() {
             // This method must not use 'completed.get()' which would result in a race
             // where a caller may observe completed=true while neither result nor ex
@@ -773,22 +885,30 @@ public String toString() {
 
     static class PerRoutePool<T, C extends ModalCloseable> {
 
+        static final int MIN_HEALTH_SAMPLES = 5;
+        static final int MIN_OUTLIER_PEERS = 2;
+        static final int MAX_CONSECUTIVE_FAILURES = 3;
+        static final double OUTLIER_FACTOR = 3.0;
+
         private final T route;
         private final Set<PoolEntry<T, C>> leased;
         private final LinkedList<PoolEntry<T, C>> available;
         private final DisposalCallback<C> disposalCallback;
         private final PoolReusePolicy policy;
+        private final ConnPoolInstrumentation<T> instrumentation;
         private final Clock clock;
 
         PerRoutePool(
                 final T route,
                 final DisposalCallback<C> disposalCallback,
                 final PoolReusePolicy policy,
+                final ConnPoolInstrumentation<T> instrumentation,
                 final Clock clock) {
             super();
             this.route = route;
             this.disposalCallback = disposalCallback;
             this.policy = policy;
+            this.instrumentation = instrumentation;
             this.clock = Args.notNull(clock, "clock");
             this.leased = new HashSet<>();
             this.available = new LinkedList<>();
@@ -811,7 +931,43 @@ public int getAllocatedCount() {
         }
 
         public PoolEntry<T, C> getFree(final Object state) {
+            return getFree(state, null);
+        }
+
+        public PoolEntry<T, C> getFree(final Object state, final Object affinity) {
             if (!this.available.isEmpty()) {
+                if (this.policy == PoolReusePolicy.HEALTH_WEIGHTED) {
+                    // Affinity narrows the candidates; health picks among them
+                    PoolEntry<T, C> entry = null;
+                    if (affinity != null) {
+                        entry = state != null ? getHealthiest(state, affinity) : null;
+                        if (entry == null) {
+                            entry = getHealthiest(null, affinity);
+                        }
+                    }
+                    if (entry == null && state != null) {
+                        entry = getHealthiest(state, null);
+                    }
+                    if (entry == null) {
+                        entry = getHealthiest(null, null);
+                    }
+                    if (entry != null) {
+                        this.available.remove(entry);
+                        this.leased.add(entry);
+                    }
+                    return entry;
+                }
+                if (affinity != null) {
+                    PoolEntry<T, C> entry = state != null ? getAffine(state, affinity) : null;
+                    if (entry == null) {
+                        entry = getAffine(null, affinity);
+                    }
+                    if (entry != null) {
+                        this.available.remove(entry);
+                        this.leased.add(entry);
+                        return entry;
+                    }
+                }
                 if (state != null) {
                     final Iterator<PoolEntry<T, C>> it = this.available.iterator();
                     while (it.hasNext()) {
@@ -836,6 +992,78 @@ public PoolEntry<T, C> getFree(final Object state) {
             return null;
         }
 
+        private PoolEntry<T, C> getAffine(final Object state, final Object affinity) {
+            for (final PoolEntry<T, C> entry : this.available) {
+                if (affinity == entry.getAffinity() && Objects.equals(state, entry.getState())) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the available entry with the given state and the best health score.
+         * If the affinity key is not {@code null} only entries with that affinity are considered.
+         * Entries without health samples are given the mean score of the sampled entries.
+         */
+        private PoolEntry<T, C> getHealthiest(final Object state, final Object affinity) {
+            double total = 0;
+            int count = 0;
+            for (final PoolEntry<T, C> entry : this.available) {
+                if (entry.getHealthSamples() > 0) {
+                    total += entry.getHealthScore();
+                    count++;
+                }
+            }
+            final double neutralScore = count > 0 ? total / count : 0;
+            PoolEntry<T, C> healthiest = null;
+            double bestScore = 0;
+            for (final PoolEntry<T, C> entry : this.available) {
+                if (Objects.equals(state, entry.getState())
+                        && (affinity == null || affinity == entry.getAffinity())) {
+                    final double score = entry.getHealthSamples() > 0 ? entry.getHealthScore() : neutralScore;
+                    if (healthiest == null || score < bestScore) {
+                        healthiest = entry;
+                        bestScore = score;
+                    }
+                }
+            }
+            return healthiest;
+        }
+
+        /**
+         * Determines whether the given leased entry should be retired rather than returned
+         * to the pool because its connection performs significantly worse than its peers.
+         * Always returns {@code false} unless the reuse policy is
+         * {@link PoolReusePolicy#HEALTH_WEIGHTED}.
+         */
+        public boolean isOutlier(final PoolEntry<T, C> entry) {
+            if (this.policy != PoolReusePolicy.HEALTH_WEIGHTED) {
+                return false;
+            }
+            if (entry.getFailureCount() >= MAX_CONSECUTIVE_FAILURES) {
+                return true;
+            }
+            if (entry.getHealthSamples() < MIN_HEALTH_SAMPLES) {
+                return false;
+            }
+            double total = 0;
+            int count = 0;
+            for (final PoolEntry<T, C> peer : this.available) {
+                if (peer.getHealthSamples() >= MIN_HEALTH_SAMPLES) {
+                    total += peer.getHealthScore();
+                    count++;
+                }
+            }
+            for (final PoolEntry<T, C> peer : this.leased) {
+                if (peer != entry && peer.getHealthSamples() >= MIN_HEALTH_SAMPLES) {
+                    total += peer.getHealthScore();
+                    count++;
+                }
+            }
+            return count >= MIN_OUTLIER_PEERS && entry.getHealthScore() > OUTLIER_FACTOR * (total / count);
+        }
+
         public PoolEntry<T, C> getLastUsed() {
             return this.available.peekLast();
         }
@@ -850,6 +1078,7 @@ public void free(final PoolEntry<T, C> entry, final boolean reusable) {
             if (reusable) {
                 switch (this.policy) {
                     case LIFO:
+                    case HEALTH_WEIGHTED:
                         this.available.addFirst(entry);
                         break;
                     case FIFO:
@@ -862,7 +1091,7 @@ public void free(final PoolEntry<T, C> entry, final boolean reusable) {
         }
 
         public PoolEntry<T, C> createEntry(final TimeValue timeToLive) {
-            final PoolEntry<T, C> entry = new PoolEntry<>(this.route, timeToLive, disposalCallback, clock);
+            final PoolEntry<T, C> entry = new PoolEntry<>(this.route, timeToLive, disposalCallback, clock, instrumentation);
             this.leased.add(entry);
             return entry;
         }
@@ -28,10 +28,12 @@
 
 import java.util.ArrayDeque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
@@ -60,9 +62,23 @@
     private final AtomicBoolean closed;
 
     private final ReentrantLock lock;
+    private final int maxSessionsPerRoute;
 
     public AbstractIOSessionPool() {
+        this(1);
+    }
+
+    /**
+     * Creates a pool that may maintain more than one session per endpoint.
+     * Additional sessions are only opened when all existing sessions
+     * of the endpoint are reported as saturated.
+     *
+     * @param maxSessionsPerRoute the maximum number of sessions per endpoint.
+     * @since 5.5
+     */
+    protected AbstractIOSessionPool(final int maxSessionsPerRoute) {
         super();
+        this.maxSessionsPerRoute = Args.positive(maxSessionsPerRoute, "Max sessions per route");
         this.sessionPool = new ConcurrentHashMap<>();
         this.closed = new AtomicBoolean();
         this.lock = new ReentrantLock();
@@ -81,6 +97,41 @@ protected abstract void closeSession(
             IOSession ioSession,
             CloseMode closeMode);
 
+    /**
+     * Returns the current load of the given session. Requests are routed
+     * to the least loaded session of the endpoint. This method gets called
+     * while holding the pool entry lock and must not block.
+     * <p>
+     * Default implementation returns {@code 0}.
+     *
+     * @since 5.5
+     */
+    protected int getSessionLoad(final IOSession ioSession) {
+        return 0;
+    }
+
+    /**
+     * Determines whether the given session is close to its capacity.
+     * If all sessions of the endpoint are saturated and the per-endpoint
+     * limit has not been reached yet the pool opens another session.
+     * This method gets called while holding the pool entry lock and
+     * must not block.
+     * <p>
+     * Default implementation returns {@code false}.
+     *
+     * @since 5.5
+     */
+    protected boolean isSessionSaturated(final IOSession ioSession) {
+        return false;
+    }
+
+    /**
+     * @since 5.5
+     */
+    public final int getMaxSessionsPerRoute() {
+        return maxSessionsPerRoute;
+    }
+
     @Override
     public final void close(final CloseMode closeMode) {
         if (closed.compareAndSet(false, true)) {
@@ -91,6 +142,10 @@ public final void close(final CloseMode closeMode) {
                         closeSession(poolEntry.session, closeMode);
                         poolEntry.session = null;
                     }
+                    for (final IOSession ioSession : poolEntry.extraSessions) {
+                        closeSession(ioSession, closeMode);
+                    }
+                    poolEntry.extraSessions.clear();
                     if (poolEntry.sessionFuture != null) {
                         poolEntry.sessionFuture.cancel(true);
                         poolEntry.sessionFuture = null;
@@ -136,7 +191,7 @@ public final Future<IOSession> getSession(
         Asserts.check(!closed.get(), "Connection pool shut down");
         final ComplexFuture<IOSession> future = new ComplexFuture<>(callback);
         final PoolEntry poolEntry = getPoolEntry(endpoint);
-        getSessionInternal(poolEntry, false, endpoint, connectTimeout, new FutureCallback<IOSession>() {
+        getSessionInternal(poolEntry, null, endpoint, connectTimeout, new FutureCallback<IOSession>() {
 
             @Override
             public void completed(final IOSession ioSession) {
@@ -144,7 +199,7 @@ public void completed(final IOSession ioSession) {
                     if (result) {
                         future.completed(ioSession);
                     } else {
-                        getSessionInternal(poolEntry, true, endpoint, connectTimeout,
+                        getSessionInternal(poolEntry, ioSession, endpoint, connectTimeout,
                             new CompletingFutureContribution<>(future));
                     }
                 });
@@ -166,21 +221,29 @@ public void cancelled() {
 
     private void getSessionInternal(
             final PoolEntry poolEntry,
-            final boolean requestNew,
+            final IOSession staleSession,
             final T namedEndpoint,
             final Timeout connectTimeout,
             final FutureCallback<IOSession> callback) {
         poolEntry.lock.lock();
         try {
-            if (poolEntry.session != null && requestNew) {
-                closeSession(poolEntry.session, CloseMode.GRACEFUL);
-                poolEntry.session = null;
-            }
-            if (poolEntry.session != null && !poolEntry.session.isOpen()) {
-                poolEntry.session = null;
+            if (staleSession != null) {
+                // The stale session may already have been purged or replaced by another caller
+                if (poolEntry.session == staleSession) {
+                    closeSession(staleSession, CloseMode.GRACEFUL);
+                    poolEntry.session = null;
+                } else if (poolEntry.extraSessions.remove(staleSession)) {
+                    closeSession(staleSession, CloseMode.GRACEFUL);
+                }
             }
+            purgeClosed(poolEntry);
             if (poolEntry.session != null) {
-                callback.completed(poolEntry.session);
+                final IOSession ioSession = selectSession(poolEntry);
+                if (poolEntry.sessionCount() + poolEntry.pendingConnects < maxSessionsPerRoute
+                        && isSessionSaturated(ioSession)) {
+                    connectAdditional(poolEntry, namedEndpoint, connectTimeout);
+                }
+                callback.completed(ioSession);
             } else {
                 poolEntry.requestQueue.add(callback);
                 if (poolEntry.sessionFuture != null && poolEntry.completed) {
@@ -200,6 +263,8 @@ public void completed(final IOSession result) {
                                         poolEntry.completed = true;
                                         if (poolEntry.session == null) {
                                             poolEntry.session = result;
+                                        } else if (poolEntry.sessionCount() < maxSessionsPerRoute) {
+                                            poolEntry.extraSessions.add(result);
                                         } else {
                                             closeSession(result,CloseMode.GRACEFUL);
                                         }
@@ -248,37 +313,117 @@ public void cancelled() {
         }
     }
 
-    public final void enumAvailable(final Callback<IOSession> callback) {
-        for (final PoolEntry poolEntry: sessionPool.values()) {
-            if (poolEntry.session != null) {
-                lock.lock();
+    private void purgeClosed(final PoolEntry poolEntry) {
+        if (poolEntry.session != null && !poolEntry.session.isOpen()) {
+            poolEntry.session = null;
+        }
+        if (!poolEntry.extraSessions.isEmpty()) {
+            poolEntry.extraSessions.removeIf(ioSession -> !ioSession.isOpen());
+            if (poolEntry.session == null && !poolEntry.extraSessions.isEmpty()) {
+                poolEntry.session = poolEntry.extraSessions.remove(0);
+            }
+        }
+    }
+
+    private IOSession selectSession(final PoolEntry poolEntry) {
+        IOSession selected = poolEntry.session;
+        if (poolEntry.extraSessions.isEmpty()) {
+            return selected;
+        }
+        int minLoad = getSessionLoad(selected);
+        for (final IOSession ioSession : poolEntry.extraSessions) {
+            final int load = getSessionLoad(ioSession);
+            if (load < minLoad) {
+                selected = ioSession;
+                minLoad = load;
+            }
+        }
+        return selected;
+    }
+
+    private void connectAdditional(
+            final PoolEntry poolEntry,
+            final T namedEndpoint,
+            final Timeout connectTimeout) {
+        poolEntry.pendingConnects++;
+        connectSession(namedEndpoint, connectTimeout, new FutureCallback<IOSession>() {
+
+            @Override
+            public void completed(final IOSession result) {
+                poolEntry.lock.lock();
                 try {
-                    if (poolEntry.session != null) {
-                        callback.execute(poolEntry.session);
-                        if (!poolEntry.session.isOpen()) {
-                            poolEntry.session = null;
-                        }
+                    poolEntry.pendingConnects--;
+                    if (closed.get()) {
+                        closeSession(result, CloseMode.IMMEDIATE);
+                    } else if (poolEntry.session == null) {
+                        poolEntry.session = result;
+                    } else if (poolEntry.sessionCount() < maxSessionsPerRoute) {
+                        poolEntry.extraSessions.add(result);
+                    } else {
+                        closeSession(result, CloseMode.GRACEFUL);
                     }
                 } finally {
-                    lock.unlock();
+                    poolEntry.lock.unlock();
                 }
             }
+
+            @Override
+            public void failed(final Exception ex) {
+                poolEntry.lock.lock();
+                try {
+                    poolEntry.pendingConnects--;
+                } finally {
+                    poolEntry.lock.unlock();
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                failed(new ConnectionClosedException("Connection request cancelled"));
+            }
+
+        });
+    }
+
+    public final void enumAvailable(final Callback<IOSession> callback) {
+        for (final PoolEntry poolEntry: sessionPool.values()) {
+            lock.lock();
+            try {
+                if (poolEntry.session != null) {
+                    callback.execute(poolEntry.session);
+                    if (!poolEntry.session.isOpen()) {
+                        poolEntry.session = null;
+                    }
+                }
+                for (final IOSession ioSession : poolEntry.extraSessions) {
+                    callback.execute(ioSession);
+                    if (!ioSession.isOpen()) {
+                        poolEntry.extraSessions.remove(ioSession);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
         }
     }
 
     public final void closeIdle(final TimeValue idleTime) {
         final long deadline = System.nanoTime() - (TimeValue.isPositive(idleTime) ? idleTime.toNanoseconds() : 0);
         for (final PoolEntry poolEntry: sessionPool.values()) {
-            if (poolEntry.session != null) {
-                lock.lock();
-                try {
-                    if (poolEntry.session != null && poolEntry.session.getLastReadTime() <= deadline) {
-                        closeSession(poolEntry.session, CloseMode.GRACEFUL);
-                        poolEntry.session = null;
+            lock.lock();
+            try {
+                if (poolEntry.session != null && poolEntry.session.getLastReadTime() <= deadline) {
+                    closeSession(poolEntry.session, CloseMode.GRACEFUL);
+                    poolEntry.session = null;
+                }
+                for (final IOSession ioSession : poolEntry.extraSessions) {
+                    if (ioSession.getLastReadTime() <= deadline) {
+                        closeSession(ioSession, CloseMode.GRACEFUL);
+                        poolEntry.extraSessions.remove(ioSession);
                     }
-                } finally {
-                    lock.unlock();
                 }
+            } finally {
+                lock.unlock();
             }
         }
     }
@@ -301,13 +446,20 @@ static class PoolEntry {
         volatile boolean completed;
         volatile Future<IOSession> sessionFuture;
         volatile IOSession session;
+        final List<IOSession> extraSessions;
+        int pendingConnects;
         final ReentrantLock lock; // Added
 
         PoolEntry() {
             this.requestQueue = new ArrayDeque<>();
+            this.extraSessions = new CopyOnWriteArrayList<>();
             this.lock = new ReentrantLock();
         }
 
+        int sessionCount() {
+            return (session != null ? 1 : 0) + extraSessions.size();
+        }
+
     }
 
 }
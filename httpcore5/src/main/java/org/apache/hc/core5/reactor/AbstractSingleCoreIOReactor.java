@@ -48,6 +48,8 @@
 
 abstract class AbstractSingleCoreIOReactor implements IOReactor {
 
+    private static final ThreadLocal<AbstractSingleCoreIOReactor> CURRENT = new ThreadLocal<>();
+
     private final Callback<Exception> exceptionCallback;
     private final AtomicReference<IOReactorStatus> status;
     private final AtomicBoolean terminated;
@@ -86,8 +88,13 @@ void logException(final Exception ex) {
 
     abstract void doTerminate() throws IOException;
 
+    static AbstractSingleCoreIOReactor current() {
+        return CURRENT.get();
+    }
+
     public void execute() {
         if (this.status.compareAndSet(IOReactorStatus.INACTIVE, IOReactorStatus.ACTIVE)) {
+            CURRENT.set(this);
             try {
                 doExecute();
             } catch (final ClosedSelectorException ignore) {
@@ -100,6 +107,7 @@ public void execute() {
                 } catch (final Exception ex) {
                     logException(ex);
                 } finally {
+                    CURRENT.remove();
                     close(CloseMode.IMMEDIATE);
                 }
             }
@@ -0,0 +1,65 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.reactor;
+
+import org.apache.hc.core5.annotation.Internal;
+
+/**
+ * Internal utilities for I/O dispatch worker threads.
+ *
+ * @since 5.5
+ */
+@Internal
+public final class IOWorkers {
+
+    private IOWorkers() {
+    }
+
+    /**
+     * Returns the single core I/O reactor executed by the current thread or {@code null}
+     * if the current thread is not an I/O dispatch thread.
+     */
+    public static IOReactor currentWorker() {
+        return AbstractSingleCoreIOReactor.current();
+    }
+
+    /**
+     * Returns the single core I/O reactor the given session is bound to or {@code null}
+     * if unknown.
+     */
+    public static IOReactor ownerOf(final IOSession ioSession) {
+        return ioSession instanceof InternalDataChannel ? ((InternalDataChannel) ioSession).getWorker() : null;
+    }
+
+    /**
+     * Determines whether the current thread is an I/O dispatch thread.
+     */
+    public static boolean isDispatchThread() {
+        return AbstractSingleCoreIOReactor.current() != null;
+    }
+
+}
@@ -70,6 +70,7 @@ final class InternalDataChannel extends InternalChannel implements ProtocolIOSes
     private final AtomicReference<IOEventHandler> eventHandlerRef;
     private final ConcurrentMap<String, ProtocolUpgradeHandler> protocolUpgradeHandlerMap;
     private final AtomicBoolean closed;
+    private final IOReactor worker;
 
     InternalDataChannel(
             final IOSession ioSession,
@@ -86,6 +87,16 @@ final class InternalDataChannel extends InternalChannel implements ProtocolIOSes
         this.eventHandlerRef = new AtomicReference<>();
         this.protocolUpgradeHandlerMap = new ConcurrentHashMap<>();
         this.closed = new AtomicBoolean();
+        // Data channels get created by the I/O dispatch thread they are bound to
+        this.worker = AbstractSingleCoreIOReactor.current();
+    }
+
+    /**
+     * Returns the single core I/O reactor the channel is bound to or {@code null}
+     * if the channel was not created by an I/O dispatch thread.
+     */
+    IOReactor getWorker() {
+        return this.worker;
     }
 
     @Override
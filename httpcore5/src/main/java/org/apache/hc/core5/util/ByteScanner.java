@@ -0,0 +1,110 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.hc.core5.annotation.Internal;
+
+/**
+ * Byte search routines that examine eight bytes per step by treating
+ * a {@code long} word as a vector of bytes (SIMD within a register).
+ * Words are read with {@link ByteBuffer#getLong(int)}, which modern JVMs
+ * compile to a single unaligned load.
+ *
+ * @since 5.5
+ */
+@Internal
+public final class ByteScanner {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+
+    private ByteScanner() {
+        // Do not allow utility class to be instantiated.
+    }
+
+    /**
+     * Returns a mask with the high bit set in every byte of the word
+     * that equals zero. Unlike the classic {@code (x - 0x01..) & ~x & 0x80..}
+     * expression the result is exact, that is, free of false positives
+     * caused by borrows, which allows locating the first match in either
+     * byte order.
+     */
+    private static long zeroBytes(final long word) {
+        final long t = (word & LOW7) + LOW7;
+        return ~(t | word | LOW7);
+    }
+
+    /**
+     * Returns the absolute index of the first occurrence of the given byte
+     * in the buffer between {@code from} (inclusive) and {@code to} (exclusive)
+     * or {@code -1} if not found. The position and the limit of the buffer
+     * are not affected.
+     *
+     * @param buf the buffer to search.
+     * @param from the start index (inclusive).
+     * @param to the end index (exclusive).
+     * @param b the byte to look for.
+     * @return the index of the first occurrence or {@code -1}.
+     */
+    public static int indexOf(final ByteBuffer buf, final int from, final int to, final byte b) {
+        final long pattern = (b & 0xFFL) * ONES;
+        final boolean bigEndian = buf.order() == ByteOrder.BIG_ENDIAN;
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES) {
+            final long matches = zeroBytes(buf.getLong(i) ^ pattern);
+            if (matches != 0) {
+                final int bits = bigEndian ? Long.numberOfLeadingZeros(matches) : Long.numberOfTrailingZeros(matches);
+                return i + (bits >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (buf.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given byte in the array
+     * between {@code from} (inclusive) and {@code to} (exclusive) or {@code -1}
+     * if not found.
+     *
+     * @param b the array to search.
+     * @param from the start index (inclusive).
+     * @param to the end index (exclusive).
+     * @param target the byte to look for.
+     * @return the index of the first occurrence or {@code -1}.
+     */
+    public static int indexOf(final byte[] b, final int from, final int to, final byte target) {
+        return indexOf(ByteBuffer.wrap(b), from, to, target);
+    }
+
+}
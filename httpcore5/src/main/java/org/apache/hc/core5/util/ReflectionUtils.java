@@ -34,6 +34,7 @@
 import java.lang.reflect.Method;
 import java.net.Socket;
 import java.util.Arrays;
+import java.util.concurrent.ThreadFactory;
 
 @Internal
 @SuppressWarnings("Since15")
@@ -100,4 +101,24 @@ public static int determineJRELevel() {
     public static boolean supportsKeepAliveOptions() {
         return SUPPORTS_KEEPALIVE_OPTIONS;
     }
+
+    /**
+     * Creates a factory of virtual threads with the given name prefix followed by
+     * a sequence number if the runtime supports virtual threads (Java 21 or newer).
+     *
+     * @param namePrefix the thread name prefix.
+     * @return the thread factory or {@code null} if virtual threads are not supported.
+     * @since 5.5
+     */
+    public static ThreadFactory createVirtualThreadFactory(final String namePrefix) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Object namedBuilder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(namedBuilder);
+        } catch (final Exception | LinkageError ignore) {
+            return null;
+        }
+    }
 }
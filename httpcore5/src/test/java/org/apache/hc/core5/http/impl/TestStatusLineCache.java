@@ -0,0 +1,116 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpVersion;
+import org.apache.hc.core5.http.impl.io.DefaultHttpResponseWriter;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.http.message.PreEncodedHeader;
+import org.apache.hc.core5.util.CharArrayBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TestStatusLineCache {
+
+    @Test
+    void testEncodedStatusLine() {
+        final StatusLineCache cache = new StatusLineCache();
+        final byte[] b1 = cache.getEncoded(HttpVersion.HTTP_1_1, 200, "OK");
+        Assertions.assertEquals("HTTP/1.1 200 OK", new String(b1, StandardCharsets.US_ASCII));
+        Assertions.assertSame(b1, cache.getEncoded(HttpVersion.HTTP_1_1, 200, "OK"));
+
+        final byte[] b2 = cache.getEncoded(HttpVersion.HTTP_1_1, 200, "Fine");
+        Assertions.assertEquals("HTTP/1.1 200 Fine", new String(b2, StandardCharsets.US_ASCII));
+        final byte[] b3 = cache.getEncoded(HttpVersion.HTTP_1_0, 200, "Fine");
+        Assertions.assertEquals("HTTP/1.0 200 Fine", new String(b3, StandardCharsets.US_ASCII));
+        final byte[] b4 = cache.getEncoded(HttpVersion.HTTP_1_1, 204, null);
+        Assertions.assertEquals("HTTP/1.1 204 ", new String(b4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testOutOfRange() {
+        final StatusLineCache cache = new StatusLineCache();
+        Assertions.assertNull(cache.getEncoded(HttpVersion.HTTP_1_1, 99, null));
+        Assertions.assertNull(cache.getEncoded(HttpVersion.HTTP_1_1, 600, null));
+        Assertions.assertNull(cache.getEncoded(null, 200, "OK"));
+    }
+
+    @Test
+    void testClassicWriterOutput() throws Exception {
+        final ClassicHttpResponse response = new BasicClassicHttpResponse(200, "OK");
+        response.addHeader(new PreEncodedHeader("Server", "test"));
+        response.addHeader("Content-Length", 0);
+
+        final org.apache.hc.core5.http.impl.io.SessionOutputBufferImpl outbuffer =
+                new org.apache.hc.core5.http.impl.io.SessionOutputBufferImpl(64);
+        final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+        new DefaultHttpResponseWriter().write(response, outbuffer, outStream);
+        outbuffer.flush(outStream);
+        Assertions.assertEquals("HTTP/1.1 200 OK\r\nServer: test\r\nContent-Length: 0\r\n\r\n",
+                new String(outStream.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testClassicWriterSubclassNotBypassed() throws Exception {
+        final ClassicHttpResponse response = new BasicClassicHttpResponse(200, "OK");
+        final org.apache.hc.core5.http.impl.io.SessionOutputBufferImpl outbuffer =
+                new org.apache.hc.core5.http.impl.io.SessionOutputBufferImpl(64);
+        final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+        new DefaultHttpResponseWriter() {
+
+            @Override
+            protected void writeHeadLine(final ClassicHttpResponse message, final CharArrayBuffer lineBuf) {
+                lineBuf.append("CUSTOM");
+            }
+
+        }.write(response, outbuffer, outStream);
+        outbuffer.flush(outStream);
+        Assertions.assertEquals("CUSTOM\r\n\r\n", new String(outStream.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testClassicWriterOutputWithCharsetEncoder() throws Exception {
+        final PreEncodedHeader header = new PreEncodedHeader("Server", "test");
+        final ClassicHttpResponse response = new BasicClassicHttpResponse(200, "OK");
+        response.addHeader(header);
+        response.addHeader("Content-Length", 0);
+
+        final org.apache.hc.core5.http.impl.io.SessionOutputBufferImpl outbuffer =
+                new org.apache.hc.core5.http.impl.io.SessionOutputBufferImpl(64, StandardCharsets.UTF_8.newEncoder());
+        final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+        new DefaultHttpResponseWriter().write(response, outbuffer, outStream);
+        outbuffer.flush(outStream);
+        Assertions.assertEquals("HTTP/1.1 200 OK\r\nServer: test\r\nContent-Length: 0\r\n\r\n",
+                new String(outStream.toByteArray(), StandardCharsets.US_ASCII));
+        Assertions.assertEquals("Server: test", header.getFormattedLine().toString());
+    }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.bootstrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ConnectionClosedException;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.RequestNotExecutedException;
+import org.apache.hc.core5.http.impl.BasicEntityDetails;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.apache.hc.core5.http.nio.AsyncClientEndpoint;
+import org.apache.hc.core5.http.nio.AsyncClientExchangeHandler;
+import org.apache.hc.core5.http.nio.AsyncPushConsumer;
+import org.apache.hc.core5.http.nio.HandlerFactory;
+import org.apache.hc.core5.http.nio.RequestChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class TestPipeliningAsyncClientEndpoint {
+
+    static class EndpointStub extends AsyncClientEndpoint {
+
+        final List<AsyncClientExchangeHandler> handlers = new ArrayList<>();
+        boolean reused;
+        boolean discarded;
+
+        @Override
+        public void execute(
+                final AsyncClientExchangeHandler exchangeHandler,
+                final HandlerFactory<AsyncPushConsumer> pushHandlerFactory,
+                final HttpContext context) {
+            handlers.add(exchangeHandler);
+        }
+
+        @Override
+        public void releaseAndReuse() {
+            reused = true;
+        }
+
+        @Override
+        public void releaseAndDiscard() {
+            discarded = true;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return !reused && !discarded;
+        }
+
+    }
+
+    private EndpointStub connection;
+    private List<FutureCallback<AsyncClientEndpoint>> reconnects;
+    private PipeliningAsyncClientEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        connection = new EndpointStub();
+        reconnects = new ArrayList<>();
+        endpoint = new PipeliningAsyncClientEndpoint(connection, 2, callback -> {
+            reconnects.add(callback);
+            return Mockito.mock(Future.class);
+        });
+    }
+
+    private static AsyncClientExchangeHandler mockExchange(final String method, final boolean enclosesContent) throws Exception {
+        final AsyncClientExchangeHandler exchangeHandler = Mockito.mock(AsyncClientExchangeHandler.class);
+        Mockito.doAnswer(invocation -> {
+            final RequestChannel channel = invocation.getArgument(0);
+            channel.sendRequest(
+                    new BasicHttpRequest(method, "/"),
+                    enclosesContent ? new BasicEntityDetails(10, null) : null,
+                    invocation.getArgument(1));
+            return null;
+        }).when(exchangeHandler).produceRequest(ArgumentMatchers.any(), ArgumentMatchers.any());
+        return exchangeHandler;
+    }
+
+    private static void sendRequest(final AsyncClientExchangeHandler handler) throws Exception {
+        handler.produceRequest(Mockito.mock(RequestChannel.class), null);
+    }
+
+    private static void complete(final AsyncClientExchangeHandler handler) throws Exception {
+        final HttpResponse response = new BasicHttpResponse(200);
+        handler.consumeResponse(response, null, null);
+        handler.streamEnd(null);
+        handler.releaseResources();
+    }
+
+    @Test
+    void testPipelineDepthBounded() throws Exception {
+        final AsyncClientExchangeHandler h1 = mockExchange(Method.GET.name(), false);
+        final AsyncClientExchangeHandler h2 = mockExchange(Method.GET.name(), false);
+        final AsyncClientExchangeHandler h3 = mockExchange(Method.GET.name(), false);
+        endpoint.execute(h1, null, null);
+        endpoint.execute(h2, null, null);
+        endpoint.execute(h3, null, null);
+
+        // The next request gets submitted only once the preceding one has been sent
+        Assertions.assertEquals(1, connection.handlers.size());
+        sendRequest(connection.handlers.get(0));
+        Assertions.assertEquals(2, connection.handlers.size());
+        sendRequest(connection.handlers.get(1));
+        Assertions.assertEquals(2, connection.handlers.size());
+        Assertions.assertEquals(2, endpoint.getInFlight());
+        Assertions.assertEquals(1, endpoint.getQueued());
+
+        complete(connection.handlers.get(0));
+        Mockito.verify(h1).consumeResponse(ArgumentMatchers.any(), ArgumentMatchers.isNull(), ArgumentMatchers.isNull());
+        Mockito.verify(h1).releaseResources();
+        Assertions.assertEquals(3, connection.handlers.size());
+        Assertions.assertEquals(2, endpoint.getInFlight());
+        Assertions.assertEquals(0, endpoint.getQueued());
+    }
+
+    @Test
+    void testNonIdempotentRequestBlocksPipeline() throws Exception {
+        final AsyncClientExchangeHandler h1 = mockExchange(Method.POST.name(), true);
+        final AsyncClientExchangeHandler h2 = mockExchange(Method.GET.name(), false);
+        endpoint.execute(h1, null, null);
+        endpoint.execute(h2, null, null);
+
+        sendRequest(connection.handlers.get(0));
+        Assertions.assertEquals(1, connection.handlers.size());
+        complete(connection.handlers.get(0));
+        Assertions.assertEquals(2, connection.handlers.size());
+    }
+
+    @Test
+    void testIdempotentRequestsReplayedOnConnectionClose() throws Exception {
+        final AsyncClientExchangeHandler h1 = mockExchange(Method.GET.name(), false);
+        final AsyncClientExchangeHandler h2 = mockExchange(Method.GET.name(), false);
+        endpoint.execute(h1, null, null);
+        endpoint.execute(h2, null, null);
+        final AsyncClientExchangeHandler s1 = connection.handlers.get(0);
+        sendRequest(s1);
+        final AsyncClientExchangeHandler s2 = connection.handlers.get(1);
+        sendRequest(s2);
+
+        // First response received, connection closed before the second one
+        s1.consumeResponse(new BasicHttpResponse(200), null, null);
+        s1.failed(new ConnectionClosedException());
+        s1.releaseResources();
+        s2.failed(new ConnectionClosedException());
+        s2.releaseResources();
+
+        Mockito.verify(h1).failed(ArgumentMatchers.any(ConnectionClosedException.class));
+        Mockito.verify(h1).releaseResources();
+        Mockito.verify(h2, Mockito.never()).failed(ArgumentMatchers.any());
+        Mockito.verify(h2, Mockito.never()).releaseResources();
+        Assertions.assertTrue(connection.discarded);
+        Assertions.assertEquals(1, reconnects.size());
+
+        final EndpointStub connection2 = new EndpointStub();
+        reconnects.get(0).completed(connection2);
+        Assertions.assertEquals(1, connection2.handlers.size());
+        complete(connection2.handlers.get(0));
+        Mockito.verify(h2).consumeResponse(ArgumentMatchers.any(), ArgumentMatchers.isNull(), ArgumentMatchers.isNull());
+        Mockito.verify(h2).releaseResources();
+        Mockito.verify(h2, Mockito.never()).failed(ArgumentMatchers.any());
+        Assertions.assertEquals(0, endpoint.getInFlight());
+    }
+
+    @Test
+    void testReplayedOnlyOnce() throws Exception {
+        final AsyncClientExchangeHandler h1 = mockExchange(Method.GET.name(), false);
+        endpoint.execute(h1, null, null);
+        final AsyncClientExchangeHandler s1 = connection.handlers.get(0);
+        s1.failed(new RequestNotExecutedException());
+        s1.releaseResources();
+
+        final EndpointStub connection2 = new EndpointStub();
+        reconnects.get(0).completed(connection2);
+        Assertions.assertSame(s1, connection2.handlers.get(0));
+        sendRequest(s1);
+        s1.failed(new ConnectionClosedException());
+        s1.releaseResources();
+
+        Mockito.verify(h1).failed(ArgumentMatchers.any(ConnectionClosedException.class));
+        Mockito.verify(h1).releaseResources();
+        Assertions.assertEquals(1, reconnects.size());
+    }
+
+    @Test
+    void testRequestsWithContentNotReplayed() throws Exception {
+        final AsyncClientExchangeHandler h1 = mockExchange(Method.PUT.name(), true);
+        endpoint.execute(h1, null, null);
+        final AsyncClientExchangeHandler s1 = connection.handlers.get(0);
+        sendRequest(s1);
+        s1.failed(new ConnectionClosedException());
+        s1.releaseResources();
+
+        Mockito.verify(h1).failed(ArgumentMatchers.any(ConnectionClosedException.class));
+        Mockito.verify(h1).releaseResources();
+        Assertions.assertTrue(reconnects.isEmpty());
+    }
+
+    @Test
+    void testReconnectFailure() throws Exception {
+        final AsyncClientExchangeHandler h1 = mockExchange(Method.GET.name(), false);
+        endpoint.execute(h1, null, null);
+        final AsyncClientExchangeHandler s1 = connection.handlers.get(0);
+        sendRequest(s1);
+        s1.failed(new ConnectionClosedException());
+        s1.releaseResources();
+
+        final Exception cause = new ConnectionClosedException("Connection refused");
+        reconnects.get(0).failed(cause);
+        Mockito.verify(h1).failed(cause);
+        Mockito.verify(h1).releaseResources();
+    }
+
+    @Test
+    void testReleaseFailsQueuedExchanges() throws Exception {
+        final AsyncClientExchangeHandler h1 = mockExchange(Method.GET.name(), false);
+        final AsyncClientExchangeHandler h2 = mockExchange(Method.GET.name(), false);
+        endpoint.execute(h1, null, null);
+        endpoint.execute(h2, null, null);
+        endpoint.releaseAndReuse();
+
+        Assertions.assertTrue(connection.reused);
+        Assertions.assertFalse(endpoint.isConnected());
+        Mockito.verify(h2).failed(ArgumentMatchers.any(RequestNotExecutedException.class));
+        Mockito.verify(h2).releaseResources();
+
+        final AsyncClientExchangeHandler h3 = mockExchange(Method.GET.name(), false);
+        endpoint.execute(h3, null, null);
+        Mockito.verify(h3).failed(ArgumentMatchers.any(RequestNotExecutedException.class));
+        Mockito.verify(h3).releaseResources();
+    }
+
+}
@@ -34,6 +34,9 @@
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentLengthStrategy;
@@ -41,6 +44,7 @@
 import org.apache.hc.core5.http.config.Http1Config;
 import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
 import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -333,4 +337,47 @@ void testStaleWhenIOError() throws Exception {
         Assertions.assertTrue(conn.isStale());
     }
 
+    @Test
+    void testNotStaleWithinStaleCheckThreshold() throws Exception {
+        conn = new BHttpConnectionBase(Http1Config.custom()
+                .setStaleCheckThreshold(TimeValue.ofMinutes(1))
+                .build(), null, null);
+        final InputStream inStream = Mockito.mock(InputStream.class);
+        Mockito.when(socket.getInputStream()).thenReturn(inStream);
+        Mockito.when(inStream.read(ArgumentMatchers.any(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt()))
+            .thenReturn(-1);
+
+        conn.bind(socket);
+        conn.ensureOpen();
+
+        Assertions.assertFalse(conn.isStale());
+        Mockito.verify(inStream, Mockito.never()).read(ArgumentMatchers.any(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+        Mockito.verify(socket, Mockito.never()).setSoTimeout(ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void testStaleCheckSocketChannel() throws Exception {
+        try (final ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            final SocketChannel clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+            try (final SocketChannel peerChannel = serverChannel.accept()) {
+                conn.bind(clientChannel.socket());
+
+                Assertions.assertFalse(conn.isStale());
+                Assertions.assertTrue(clientChannel.isBlocking());
+
+                peerChannel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+                peerChannel.close();
+                while (!conn.isStale()) {
+                    Thread.sleep(10);
+                }
+                // Data read while probing the channel must be retained
+                Assertions.assertEquals(3, conn.inBuffer.length());
+                Assertions.assertTrue(clientChannel.isBlocking());
+            } finally {
+                clientChannel.close();
+            }
+        }
+    }
+
 }
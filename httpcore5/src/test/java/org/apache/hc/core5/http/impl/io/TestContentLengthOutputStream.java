@@ -29,6 +29,12 @@
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.apache.hc.core5.http.StreamClosedException;
 import org.apache.hc.core5.http.io.SessionOutputBuffer;
@@ -69,5 +75,76 @@ void testClose() throws Exception {
         Assertions.assertThrows(StreamClosedException.class, () -> out.write(1));
     }
 
-}
+    @Test
+    void testFileTransfer() throws Exception {
+        final Path tmpPath = Files.createTempFile("testfile", ".txt");
+        tmpPath.toFile().deleteOnExit();
+        Files.write(tmpPath, "0123456789".getBytes(StandardCharsets.US_ASCII));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SessionOutputBufferImpl outbuffer = new SessionOutputBufferImpl(16);
+        try (final FileChannel fileChannel = FileChannel.open(tmpPath);
+             final ContentLengthOutputStream out = new ContentLengthOutputStream(
+                     outbuffer, outputStream, Channels.newChannel(outputStream), 8L)) {
+            out.write(new byte[] {'a', 'b'});
+            // Buffered content gets written out ahead of transferred content
+            Assertions.assertEquals(6, out.transfer(fileChannel, 0, 10));
+            Assertions.assertEquals(0, out.transfer(fileChannel, 6, 4));
+        }
+        Assertions.assertEquals("ab012345", new String(outputStream.toByteArray(), StandardCharsets.US_ASCII));
+        Assertions.assertEquals(8, outbuffer.getMetrics().getBytesTransferred());
+        Files.deleteIfExists(tmpPath);
+    }
+
+    @Test
+    void testFileTransferWithoutChannel() throws Exception {
+        final Path tmpPath = Files.createTempFile("testfile", ".txt");
+        tmpPath.toFile().deleteOnExit();
+        Files.write(tmpPath, "0123456789".getBytes(StandardCharsets.US_ASCII));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SessionOutputBufferImpl outbuffer = new SessionOutputBufferImpl(16);
+        try (final FileChannel fileChannel = FileChannel.open(tmpPath);
+             final ContentLengthOutputStream out = new ContentLengthOutputStream(outbuffer, outputStream, 8L)) {
+            out.write(new byte[] {'a', 'b'});
+            Assertions.assertEquals(6, out.transfer(fileChannel, 0, 10));
+        }
+        Assertions.assertEquals("ab012345", new String(outputStream.toByteArray(), StandardCharsets.US_ASCII));
+        Files.deleteIfExists(tmpPath);
+    }
 
+    @Test
+    void testBufferTransfer() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SessionOutputBufferImpl outbuffer = new SessionOutputBufferImpl(16);
+        try (final ContentLengthOutputStream out = new ContentLengthOutputStream(
+                     outbuffer, outputStream, Channels.newChannel(outputStream), 8L)) {
+            out.write(new byte[] {'a', 'b'});
+            final ByteBuffer src = ByteBuffer.allocateDirect(10);
+            src.put("0123456789".getBytes(StandardCharsets.US_ASCII));
+            src.flip();
+            // Buffered content gets written out ahead of transferred content
+            out.transfer(src);
+            // Content in excess of the content length gets discarded
+            Assertions.assertFalse(src.hasRemaining());
+        }
+        Assertions.assertEquals("ab012345", new String(outputStream.toByteArray(), StandardCharsets.US_ASCII));
+        Assertions.assertEquals(8, outbuffer.getMetrics().getBytesTransferred());
+    }
+
+    @Test
+    void testBufferTransferWithoutChannel() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SessionOutputBufferImpl outbuffer = new SessionOutputBufferImpl(4);
+        try (final ContentLengthOutputStream out = new ContentLengthOutputStream(outbuffer, outputStream, 8L)) {
+            out.write(new byte[] {'a', 'b'});
+            final ByteBuffer src = ByteBuffer.wrap("0123456789".getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+            out.transfer(src);
+            Assertions.assertFalse(src.hasRemaining());
+            out.close();
+            Assertions.assertThrows(StreamClosedException.class, () -> out.transfer(ByteBuffer.allocate(1)));
+        }
+        Assertions.assertEquals("ab012345", new String(outputStream.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+}
@@ -30,6 +30,9 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.hc.core5.http.StreamClosedException;
 import org.apache.hc.core5.http.io.SessionOutputBuffer;
@@ -101,5 +104,35 @@ void testClosedCondition() throws Exception {
         Assertions.assertThrows(StreamClosedException.class, () -> out.write('a'));
     }
 
-}
+    @Test
+    void testBufferTransfer() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SessionOutputBufferImpl outbuffer = new SessionOutputBufferImpl(16);
+        try (IdentityOutputStream out = new IdentityOutputStream(outbuffer, outputStream, Channels.newChannel(outputStream))) {
+            out.write(new byte[] { 'a', 'b' });
+            final ByteBuffer src = ByteBuffer.allocateDirect(4);
+            src.put(new byte[] { 'c', 'd', 'e', 'f' });
+            src.flip();
+            out.transfer(src);
+            Assertions.assertFalse(src.hasRemaining());
+        }
+        Assertions.assertEquals("abcdef", new String(outputStream.toByteArray(), StandardCharsets.US_ASCII));
+        Assertions.assertEquals(6, outbuffer.getMetrics().getBytesTransferred());
+    }
 
+    @Test
+    void testBufferTransferWithoutChannel() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SessionOutputBufferImpl outbuffer = new SessionOutputBufferImpl(4);
+        try (IdentityOutputStream out = new IdentityOutputStream(outbuffer, outputStream)) {
+            out.write(new byte[] { 'a', 'b' });
+            final ByteBuffer src = ByteBuffer.allocateDirect(10);
+            src.put("0123456789".getBytes(StandardCharsets.US_ASCII));
+            src.flip();
+            out.transfer(src);
+            Assertions.assertFalse(src.hasRemaining());
+        }
+        Assertions.assertEquals("ab0123456789", new String(outputStream.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+}
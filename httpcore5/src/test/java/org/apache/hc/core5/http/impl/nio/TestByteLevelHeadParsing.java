@@ -0,0 +1,141 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.nio;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpVersion;
+import org.apache.hc.core5.http.MessageConstraintException;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.config.Http1Config;
+import org.apache.hc.core5.http.nio.NHttpMessageParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TestByteLevelHeadParsing {
+
+    private static final Http1Config BYTE_LEVEL = Http1Config.custom()
+            .setByteLevelHeadParsing(true)
+            .build();
+
+    private static SessionInputBufferImpl buffer(final String s) {
+        final SessionInputBufferImpl inbuf = new SessionInputBufferImpl(1024, 128);
+        inbuf.put(ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII)));
+        return inbuf;
+    }
+
+    private static void assertSameHeaders(final Header[] expected, final Header[] actual) {
+        Assertions.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assertions.assertEquals(expected[i].getName(), actual[i].getName());
+            Assertions.assertEquals(expected[i].getValue(), actual[i].getValue());
+        }
+    }
+
+    @Test
+    void testParseRequestSameAsDefault() throws Exception {
+        final String s = "\r\nGET /stuff?a=b HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "User-Agent:whatever\r\n" +
+                "Accept: text/html,\r\n" +
+                "\t application/json \r\n" +
+                "Cookie: c1=stuff\r\n" +
+                "X-Empty:\r\n" +
+                "\r\n";
+        final HttpRequest expected = new DefaultHttpRequestParser<>(Http1Config.DEFAULT, DefaultHttpRequestFactory.INSTANCE)
+                .parse(buffer(s), false);
+        final SessionInputBufferImpl inbuf = buffer(s + "body");
+        final HttpRequest actual = new DefaultHttpRequestParser<>(BYTE_LEVEL, DefaultHttpRequestFactory.INSTANCE)
+                .parse(inbuf, false);
+        Assertions.assertNotNull(actual);
+        Assertions.assertEquals("GET", actual.getMethod());
+        Assertions.assertEquals("/stuff?a=b", actual.getPath());
+        Assertions.assertEquals(HttpVersion.HTTP_1_1, actual.getVersion());
+        assertSameHeaders(expected.getHeaders(), actual.getHeaders());
+        Assertions.assertEquals("text/html, application/json", actual.getFirstHeader("Accept").getValue());
+        Assertions.assertEquals("", actual.getFirstHeader("X-Empty").getValue());
+        Assertions.assertEquals(4, inbuf.length());
+        Assertions.assertSame(HttpHeaders.HOST, actual.getFirstHeader("Host").getName());
+    }
+
+    @Test
+    void testParseResponseInChunks() throws Exception {
+        final NHttpMessageParser<HttpResponse> parser = new DefaultHttpResponseParser<>(
+                BYTE_LEVEL, DefaultHttpResponseFactory.INSTANCE);
+        final SessionInputBufferImpl inbuf = new SessionInputBufferImpl(1024, 128);
+        final String[] chunks = {"HTTP/1.1 200 O", "K\r\nContent-Le", "ngth: 4\r", "\nServer: test\r\n\r", "\n"};
+        HttpResponse response = null;
+        for (final String chunk : chunks) {
+            Assertions.assertNull(response);
+            inbuf.put(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.US_ASCII)));
+            response = parser.parse(inbuf, false);
+        }
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(200, response.getCode());
+        Assertions.assertEquals("OK", response.getReasonPhrase());
+        Assertions.assertEquals("4", response.getFirstHeader("Content-Length").getValue());
+        Assertions.assertEquals("test", response.getFirstHeader("Server").getValue());
+        Assertions.assertEquals(2, response.getHeaders().length);
+    }
+
+    @Test
+    void testParseEndOfStream() throws Exception {
+        final NHttpMessageParser<HttpResponse> parser = new DefaultHttpResponseParser<>(
+                BYTE_LEVEL, DefaultHttpResponseFactory.INSTANCE);
+        final HttpResponse response = parser.parse(buffer("HTTP/1.0 200 OK\r\nServer: test"), true);
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals("test", response.getFirstHeader("Server").getValue());
+    }
+
+    @Test
+    void testInvalidHeader() {
+        Assertions.assertThrows(ParseException.class, () -> new DefaultHttpResponseParser<>(
+                BYTE_LEVEL, DefaultHttpResponseFactory.INSTANCE).parse(buffer("HTTP/1.1 200 OK\r\nServer : test\r\n\r\n"), false));
+        Assertions.assertThrows(ParseException.class, () -> new DefaultHttpResponseParser<>(
+                BYTE_LEVEL, DefaultHttpResponseFactory.INSTANCE).parse(buffer("HTTP/1.1 200 OK\r\nServer\r\n\r\n"), false));
+    }
+
+    @Test
+    void testConstraints() {
+        final Http1Config config = Http1Config.copy(BYTE_LEVEL)
+                .setMaxHeaderCount(2)
+                .setMaxLineLength(32)
+                .build();
+        Assertions.assertThrows(MessageConstraintException.class, () -> new DefaultHttpResponseParser<>(
+                config, DefaultHttpResponseFactory.INSTANCE).parse(
+                        buffer("HTTP/1.1 200 OK\r\nh1: a\r\nh2: b\r\nh3: c\r\n\r\n"), false));
+        Assertions.assertThrows(MessageConstraintException.class, () -> new DefaultHttpResponseParser<>(
+                config, DefaultHttpResponseFactory.INSTANCE).parse(
+                        buffer("HTTP/1.1 200 OK\r\nh1: aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"), false));
+    }
+
+}
@@ -44,6 +44,8 @@
 import org.apache.hc.core5.http.nio.SessionInputBuffer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
 
 /**
  * Simple tests for {@link ChunkDecoder}.
@@ -572,4 +574,100 @@ void testHugeChunk() throws Exception {
         Assertions.assertEquals("4567", CodecTestUtils.convert(dst));
     }
 
+    private static String readAll(final ChunkDecoder decoder) throws IOException {
+        final ByteBuffer dst = ByteBuffer.allocate(1024);
+        while (dst.hasRemaining() && !decoder.isCompleted()) {
+            decoder.read(dst);
+        }
+        return CodecTestUtils.convert(dst);
+    }
+
+    @Test
+    void testChunkHeadSplitAcrossReads() throws Exception {
+        final String s = "1A ; ext=\"v\"\r\n0123456789abcdefghijklmnop\r\n3\r\nxyz\r\n0\r\nFooter: f\r\n\r\n";
+        final String[] bytes = new String[s.length()];
+        for (int i = 0; i < s.length(); i++) {
+            bytes[i] = s.substring(i, i + 1);
+        }
+        final ReadableByteChannel channel = new ReadableByteChannelMock(bytes, StandardCharsets.US_ASCII);
+        final SessionInputBuffer inbuf = new SessionInputBufferImpl(1024, 256);
+        final ChunkDecoder decoder = new ChunkDecoder(channel, inbuf, new BasicHttpTransportMetrics());
+
+        Assertions.assertEquals("0123456789abcdefghijklmnopxyz", readAll(decoder));
+        Assertions.assertTrue(decoder.isCompleted());
+        final List<? extends Header> trailers = decoder.getTrailers();
+        Assertions.assertEquals(1, trailers.size());
+        Assertions.assertEquals("Footer", trailers.get(0).getName());
+    }
+
+    @Test
+    void testChunkHeadLoneLF() throws Exception {
+        final String s = "3\nabc\n 2 \nde\n0\n\n";
+        final ReadableByteChannel channel = new ReadableByteChannelMock(new String[] {s}, StandardCharsets.US_ASCII);
+        final SessionInputBuffer inbuf = new SessionInputBufferImpl(1024, 256);
+        final ChunkDecoder decoder = new ChunkDecoder(channel, inbuf, new BasicHttpTransportMetrics());
+
+        Assertions.assertEquals("abcde", readAll(decoder));
+        Assertions.assertTrue(decoder.isCompleted());
+    }
+
+    @Test
+    void testMalformedChunkSizes() {
+        for (final String s : new String[] {"-5\r\n01234\r\n0\r\n\r\n", "+5\r\n01234\r\n0\r\n\r\n",
+                "5 5\r\n01234\r\n0\r\n\r\n", ";ext\r\n01234\r\n0\r\n\r\n", "\r\n01234\r\n0\r\n\r\n",
+                "10000000000000000\r\n01234\r\n0\r\n\r\n"}) {
+            final ReadableByteChannel channel = new ReadableByteChannelMock(new String[] {s}, StandardCharsets.US_ASCII);
+            final SessionInputBuffer inbuf = new SessionInputBufferImpl(1024, 256);
+            final ChunkDecoder decoder = new ChunkDecoder(channel, inbuf, new BasicHttpTransportMetrics());
+            Assertions.assertThrows(MalformedChunkCodingException.class, () -> readAll(decoder), s);
+        }
+    }
+
+    @Test
+    void testLargestChunkSize() throws Exception {
+        final String s = "7fffffffffffffff\r\n0123";
+        final ReadableByteChannel channel = new ReadableByteChannelMock(new String[] {s}, StandardCharsets.US_ASCII);
+        final SessionInputBuffer inbuf = new SessionInputBufferImpl(1024, 256);
+        final ChunkDecoder decoder = new ChunkDecoder(channel, inbuf, new BasicHttpTransportMetrics());
+
+        final ByteBuffer dst = ByteBuffer.allocate(4);
+        Assertions.assertEquals(4, decoder.read(dst));
+        Assertions.assertEquals("0123", CodecTestUtils.convert(dst));
+    }
+
+    @Test
+    void testTooLongChunkHeaderSplitAcrossReads() {
+        final String[] chunks = {"5; and some very", " looooong comment", "\r\n12345\r\n0\r\n\r\n"};
+        final ReadableByteChannel channel = new ReadableByteChannelMock(chunks, StandardCharsets.US_ASCII);
+        final SessionInputBuffer inbuf = new SessionInputBufferImpl(1024, 256);
+        final ChunkDecoder decoder = new ChunkDecoder(channel, inbuf,
+                Http1Config.custom().setMaxLineLength(20).build(), new BasicHttpTransportMetrics());
+        Assertions.assertThrows(MessageConstraintException.class, () -> readAll(decoder));
+    }
+
+    @Test
+    void testLineBasedDecodingWithOtherBufferImplementations() throws Exception {
+        final String s = "5;ext\r\n01234\r\n5\r\n56789\r\n0\r\nFooter: f\r\n\r\n";
+        final ReadableByteChannel channel = new ReadableByteChannelMock(new String[] {s}, StandardCharsets.US_ASCII);
+        final SessionInputBuffer inbuf = Mockito.mock(SessionInputBuffer.class,
+                AdditionalAnswers.delegatesTo(new SessionInputBufferImpl(1024, 256)));
+        final ChunkDecoder decoder = new ChunkDecoder(channel, inbuf, new BasicHttpTransportMetrics());
+
+        Assertions.assertEquals("0123456789", readAll(decoder));
+        Assertions.assertTrue(decoder.isCompleted());
+        Assertions.assertEquals(1, decoder.getTrailers().size());
+        Mockito.verify(inbuf, Mockito.atLeastOnce()).readLine(Mockito.any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void testLongChunkExtensionSplitAtCR() throws Exception {
+        final String[] chunks = {"5;name=\"a rather long extension value\"\r", "\n01234\r\n3;x\r\nabc\r\n0\r\n\r\n"};
+        final ReadableByteChannel channel = new ReadableByteChannelMock(chunks, StandardCharsets.US_ASCII);
+        final SessionInputBuffer inbuf = new SessionInputBufferImpl(1024, 256);
+        final ChunkDecoder decoder = new ChunkDecoder(channel, inbuf, new BasicHttpTransportMetrics());
+
+        Assertions.assertEquals("01234abc", readAll(decoder));
+        Assertions.assertTrue(decoder.isCompleted());
+    }
+
 }
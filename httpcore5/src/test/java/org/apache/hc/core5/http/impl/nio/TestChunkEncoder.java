@@ -226,4 +226,96 @@ void testTrailers() throws IOException {
         Assertions.assertEquals("1\r\n1\r\n2\r\n23\r\n0\r\nE: \r\nY: Z\r\n\r\n", s);
         Assertions.assertEquals("[chunk-coded; completed: true]", encoder.toString());
     }
+
+    @Test
+    void testAdaptiveCoalescing() throws Exception {
+        final WritableByteChannelMock channel = new WritableByteChannelMock(1024);
+        final SessionOutputBuffer outbuf = new SessionOutputBufferImpl(1024, 128);
+        final BasicHttpTransportMetrics metrics = new BasicHttpTransportMetrics();
+        final ChunkEncoder encoder = new ChunkEncoder(channel, outbuf, metrics, 0, true);
+
+        Assertions.assertEquals(5, encoder.write(CodecTestUtils.wrap("12345")));
+        Assertions.assertEquals(3, encoder.write(CodecTestUtils.wrap("678")));
+        Assertions.assertEquals(2, encoder.write(CodecTestUtils.wrap("90")));
+        Assertions.assertTrue(encoder.hasPendingContent());
+        Assertions.assertEquals(0, outbuf.length());
+        encoder.complete();
+
+        outbuf.flush(channel);
+
+        Assertions.assertEquals("a\r\n1234567890\r\n0\r\n\r\n", channel.dump(StandardCharsets.US_ASCII));
+        Assertions.assertEquals(1, encoder.getChunkCount());
+        Assertions.assertEquals(10, encoder.getAverageChunkSize());
+    }
+
+    @Test
+    void testAdaptiveWritePendingContent() throws Exception {
+        final WritableByteChannelMock channel = new WritableByteChannelMock(1024);
+        final SessionOutputBuffer outbuf = new SessionOutputBufferImpl(1024, 128);
+        final BasicHttpTransportMetrics metrics = new BasicHttpTransportMetrics();
+        final ChunkEncoder encoder = new ChunkEncoder(channel, outbuf, metrics, 0, true);
+
+        encoder.write(CodecTestUtils.wrap("123"));
+        encoder.write(CodecTestUtils.wrap("45"));
+        encoder.writePendingContent();
+        Assertions.assertFalse(encoder.hasPendingContent());
+        encoder.write(CodecTestUtils.wrap("678"));
+        encoder.complete();
+
+        outbuf.flush(channel);
+
+        Assertions.assertEquals("5\r\n12345\r\n3\r\n678\r\n0\r\n\r\n", channel.dump(StandardCharsets.US_ASCII));
+        Assertions.assertEquals(2, encoder.getChunkCount());
+        Assertions.assertEquals(8, encoder.getChunkedBytes());
+    }
+
+    @Test
+    void testAdaptiveChunkSizeGrowth() throws Exception {
+        final WritableByteChannelMock channel = new WritableByteChannelMock(1 << 20);
+        final SessionOutputBufferImpl outbuf = new SessionOutputBufferImpl(4096, 128);
+        final BasicHttpTransportMetrics metrics = new BasicHttpTransportMetrics();
+        final ChunkEncoder encoder = new ChunkEncoder(channel, outbuf, metrics, 256, true);
+
+        final byte[] fragment = new byte[100];
+        Arrays.fill(fragment, (byte) 'x');
+        int total = 0;
+        for (int i = 0; i < 200; i++) {
+            total += encoder.write(ByteBuffer.wrap(fragment));
+        }
+        encoder.complete();
+        outbuf.flush(channel);
+
+        Assertions.assertEquals(20000, total);
+        Assertions.assertEquals(20000, encoder.getChunkedBytes());
+        // 256, 512, 1024, 2048 and then chunks of the maximum size
+        Assertions.assertTrue(encoder.getAverageChunkSize() > 2048, "average chunk size " + encoder.getAverageChunkSize());
+
+        final String s = channel.dump(StandardCharsets.US_ASCII);
+        Assertions.assertTrue(s.startsWith("100\r\n"));
+        Assertions.assertTrue(s.contains("\r\n200\r\n"));
+        Assertions.assertTrue(s.contains("\r\n400\r\n"));
+        Assertions.assertTrue(s.contains("\r\nff4\r\n"));
+        Assertions.assertTrue(s.endsWith("\r\n0\r\n\r\n"));
+    }
+
+    @Test
+    void testAdaptiveBulkWrite() throws Exception {
+        final WritableByteChannelMock channel = new WritableByteChannelMock(1 << 20);
+        final SessionOutputBuffer outbuf = new SessionOutputBufferImpl(1024, 128);
+        final BasicHttpTransportMetrics metrics = new BasicHttpTransportMetrics();
+        final ChunkEncoder encoder = new ChunkEncoder(channel, outbuf, metrics, 0, true);
+
+        final byte[] content = new byte[3000];
+        Arrays.fill(content, (byte) 'x');
+        Assertions.assertEquals(3000, encoder.write(ByteBuffer.wrap(content)));
+        // The tail shorter than the target chunk size is held back for coalescing
+        Assertions.assertTrue(encoder.hasPendingContent());
+        Assertions.assertEquals(2, encoder.getChunkCount());
+        encoder.complete();
+        outbuf.flush(channel);
+
+        Assertions.assertEquals(3000, encoder.getChunkedBytes());
+        Assertions.assertEquals(3, encoder.getChunkCount());
+    }
+
 }
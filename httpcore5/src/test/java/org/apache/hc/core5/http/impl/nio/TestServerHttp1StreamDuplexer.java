@@ -0,0 +1,128 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.impl.nio;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.CharCodingConfig;
+import org.apache.hc.core5.http.config.Http1Config;
+import org.apache.hc.core5.http.impl.HttpProcessors;
+import org.apache.hc.core5.http.nio.support.ImmediateResponseExchangeHandler;
+import org.apache.hc.core5.reactor.ProtocolIOSession;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class TestServerHttp1StreamDuplexer {
+
+    private static final String PIPELINED_REQUESTS =
+            "GET /stuff-1 HTTP/1.1\r\nHost: localhost\r\n\r\n" +
+            "GET /stuff-2 HTTP/1.1\r\nHost: localhost\r\n\r\n" +
+            "GET /stuff-3 HTTP/1.1\r\nHost: localhost\r\n\r\n";
+
+    private ProtocolIOSession ioSession;
+    private ByteArrayOutputStream written;
+    private AtomicInteger writeCount;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ioSession = Mockito.mock(ProtocolIOSession.class);
+        written = new ByteArrayOutputStream();
+        writeCount = new AtomicInteger();
+        Mockito.when(ioSession.getLock()).thenReturn(new ReentrantLock());
+        Mockito.when(ioSession.write(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            final ByteBuffer src = invocation.getArgument(0);
+            final int n = src.remaining();
+            while (src.hasRemaining()) {
+                written.write(src.get());
+            }
+            writeCount.incrementAndGet();
+            return n;
+        });
+    }
+
+    private ServerHttp1StreamDuplexer createDuplexer(final Http1Config http1Config) {
+        final ServerHttp1StreamDuplexerFactory factory = new ServerHttp1StreamDuplexerFactory(
+                HttpProcessors.server("TEST/1.1"),
+                (request, context) -> new ImmediateResponseExchangeHandler(200, "Hi there " + request.getPath()),
+                http1Config,
+                CharCodingConfig.DEFAULT,
+                null,
+                null);
+        return factory.create(URIScheme.HTTP.id, ioSession);
+    }
+
+    private void handlePipelinedRequests(final ServerHttp1StreamDuplexer duplexer) throws Exception {
+        duplexer.onConnect();
+        duplexer.onInput(ByteBuffer.wrap(PIPELINED_REQUESTS.getBytes(StandardCharsets.US_ASCII)));
+        for (int i = 0; i < 5; i++) {
+            duplexer.onOutput();
+        }
+        final String output = new String(written.toByteArray(), StandardCharsets.US_ASCII);
+        final int pos1 = output.indexOf("Hi there /stuff-1");
+        final int pos2 = output.indexOf("Hi there /stuff-2");
+        final int pos3 = output.indexOf("Hi there /stuff-3");
+        Assertions.assertTrue(pos1 > 0 && pos2 > pos1 && pos3 > pos2, output);
+    }
+
+    @Test
+    void testPipelinedResponsesWrittenInOrder() throws Exception {
+        handlePipelinedRequests(createDuplexer(Http1Config.DEFAULT));
+        Assertions.assertEquals(2, writeCount.get());
+    }
+
+    @Test
+    void testOutputCoalescing() throws Exception {
+        handlePipelinedRequests(createDuplexer(Http1Config.custom()
+                .setOutputCoalescing(true)
+                .build()));
+        Assertions.assertEquals(1, writeCount.get());
+    }
+
+    @Test
+    void testOutputCoalescingPerInputEvent() throws Exception {
+        final ServerHttp1StreamDuplexer duplexer = createDuplexer(Http1Config.custom()
+                .setOutputCoalescing(true)
+                .build());
+        duplexer.onConnect();
+        final byte[] request = "GET /stuff HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < 3; i++) {
+            duplexer.onInput(ByteBuffer.wrap(request));
+            Assertions.assertEquals(i + 1, writeCount.get());
+            duplexer.onOutput();
+            Assertions.assertEquals(i + 1, writeCount.get());
+        }
+    }
+
+}
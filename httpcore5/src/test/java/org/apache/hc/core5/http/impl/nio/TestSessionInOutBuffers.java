@@ -40,7 +40,10 @@
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 
+import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.MessageConstraintException;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.apache.hc.core5.http.message.PreEncodedHeader;
 import org.apache.hc.core5.http.nio.SessionInputBuffer;
 import org.apache.hc.core5.http.nio.SessionOutputBuffer;
 import org.apache.hc.core5.util.CharArrayBuffer;
@@ -641,4 +644,18 @@ void testUnmappableInputActionReplace() throws Exception {
         Assertions.assertEquals("This text contains a circumflex ? !!!\r\n", result);
     }
 
+    @Test
+    void testWritePreEncodedResponseHead() throws Exception {
+        final HttpResponse response = new BasicHttpResponse(404, "Not Found");
+        response.addHeader(new PreEncodedHeader("Server", "test"));
+        response.addHeader("Content-Length", 0);
+
+        final SessionOutputBufferImpl outbuf = new SessionOutputBufferImpl(16, 16);
+        new DefaultHttpResponseWriter<>().write(response, outbuf);
+        final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+        outbuf.flush(newChannel(outStream));
+        Assertions.assertEquals("HTTP/1.1 404 Not Found\r\nServer: test\r\nContent-Length: 0\r\n\r\n",
+                new String(outStream.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
 }
@@ -132,4 +132,29 @@ void testWriteToWrapped() throws Exception {
         }
     }
 
+    @Test
+    void testBufferingEntityOverstatedLength() throws Exception {
+        final byte[] bytes = "Message content".getBytes(StandardCharsets.US_ASCII);
+        final BufferedHttpEntity entity = new BufferedHttpEntity(
+                new InputStreamEntity(new ByteArrayInputStream(bytes), 2000000000L, null));
+        Assertions.assertEquals(bytes.length, entity.getContentLength());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        Assertions.assertArrayEquals(bytes, out.toByteArray());
+    }
+
+    @Test
+    void testBufferingEntityBeyondInitialCapacity() throws Exception {
+        final byte[] bytes = new byte[3 * 1024 * 1024 + 7];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        final BufferedHttpEntity entity = new BufferedHttpEntity(
+                new InputStreamEntity(new ByteArrayInputStream(bytes), bytes.length, null));
+        Assertions.assertEquals(bytes.length, entity.getContentLength());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        Assertions.assertArrayEquals(bytes, out.toByteArray());
+    }
+
 }
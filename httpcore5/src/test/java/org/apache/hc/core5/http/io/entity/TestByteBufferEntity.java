@@ -31,6 +31,8 @@
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
+import org.apache.hc.core5.http.impl.io.ContentLengthOutputStream;
+import org.apache.hc.core5.http.impl.io.SessionOutputBufferImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -81,4 +83,22 @@ void testWriteTo() throws Exception {
             Assertions.assertThrows(NullPointerException.class, () -> httpentity.writeTo(null));
         }
     }
+
+    @Test
+    void testWriteToDirectBuffer() throws Exception {
+        final byte[] content = "Message content".getBytes(StandardCharsets.US_ASCII);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(content.length);
+        bytes.put(content);
+        bytes.flip();
+        try (final ByteBufferEntity httpentity = new ByteBufferEntity(bytes, null)) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final SessionOutputBufferImpl outbuffer = new SessionOutputBufferImpl(4);
+            try (final ContentLengthOutputStream out = new ContentLengthOutputStream(outbuffer, outputStream, content.length)) {
+                httpentity.writeTo(out);
+            }
+            Assertions.assertArrayEquals(content, outputStream.toByteArray());
+            Assertions.assertFalse(bytes.hasRemaining());
+        }
+    }
+
 }
@@ -303,4 +303,37 @@ void testStringMaxResultLength() throws IOException, ParseException {
         }
     }
 
+    @Test
+    void testLargeUnknownLengthContentToByteArray() throws IOException {
+        final byte[] allBytes = new byte[100000];
+        for (int i = 0; i < allBytes.length; i++) {
+            allBytes[i] = (byte) i;
+        }
+        final BasicHttpEntity entity1 = new BasicHttpEntity(new ByteArrayInputStream(allBytes), null);
+        Assertions.assertArrayEquals(allBytes, EntityUtils.toByteArray(entity1, Integer.MAX_VALUE));
+        final BasicHttpEntity entity2 = new BasicHttpEntity(new ByteArrayInputStream(allBytes), null);
+        Assertions.assertArrayEquals(Arrays.copyOf(allBytes, 50001), EntityUtils.toByteArray(entity2, 50001));
+    }
+
+    @Test
+    void testMisreportedContentLengthToByteArray() throws IOException {
+        final byte[] allBytes = new byte[10000];
+        Arrays.fill(allBytes, (byte) 'b');
+        final BasicHttpEntity entity1 = new BasicHttpEntity(new ByteArrayInputStream(allBytes), 100, null);
+        Assertions.assertArrayEquals(allBytes, EntityUtils.toByteArray(entity1, Integer.MAX_VALUE));
+        final BasicHttpEntity entity2 = new BasicHttpEntity(new ByteArrayInputStream(allBytes), 20000, null);
+        Assertions.assertArrayEquals(allBytes, EntityUtils.toByteArray(entity2, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testUTF8StringMaxResultLength() throws IOException, ParseException {
+        final String s = constructString(RUSSIAN_HELLO) + "\uD83D\uDE00";
+        final byte[] allBytes = s.getBytes(StandardCharsets.UTF_8);
+        for (int i = 1; i <= s.length() + 1; i++) {
+            final BasicHttpEntity entity = new BasicHttpEntity(new ByteArrayInputStream(allBytes), null);
+            final String result = EntityUtils.toString(entity, StandardCharsets.UTF_8, i);
+            Assertions.assertEquals(s.substring(0, Math.min(i, s.length())), result);
+        }
+    }
+
 }
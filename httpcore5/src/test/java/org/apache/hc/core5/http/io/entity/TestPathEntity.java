@@ -30,12 +30,17 @@
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.impl.io.ContentLengthOutputStream;
+import org.apache.hc.core5.http.impl.io.SessionOutputBufferImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
 
 /**
  * Unit tests for {@link PathEntity}.
@@ -90,4 +95,48 @@ void testWriteTo() throws Exception {
             Assertions.assertThrows(NullPointerException.class, () -> httpEntity.writeTo(null));
         }
     }
+
+    @Test
+    void testWriteToFileContentTransfer() throws Exception {
+        final Path tmpPath = Files.createTempFile("testfile", ".txt");
+        // Mark the file for deletion on VM exit if an assertion fails.
+        tmpPath.toFile().deleteOnExit();
+        Files.write(tmpPath, new byte[] {0, 1, 2, 3});
+
+        try (final PathEntity httpEntity = new PathEntity(tmpPath, ContentType.TEXT_PLAIN)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final OutputStream transferStream = Mockito.spy(new ContentLengthOutputStream(
+                    new SessionOutputBufferImpl(16), out, Channels.newChannel(out), 4));
+            httpEntity.writeTo(transferStream);
+            Mockito.verify(transferStream, Mockito.never()).write(ArgumentMatchers.any(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+            Assertions.assertArrayEquals(new byte[] {0, 1, 2, 3}, out.toByteArray());
+            Assertions.assertTrue(Files.deleteIfExists(tmpPath), "Failed to delete " + tmpPath);
+        }
+    }
+
+    @Test
+    void testMemoryMappedWriteTo() throws Exception {
+        final Path tmpPath = Files.createTempFile("testfile", ".txt");
+        // Mark the file for deletion on VM exit if an assertion fails.
+        tmpPath.toFile().deleteOnExit();
+        Files.write(tmpPath, new byte[] {0, 1, 2, 3});
+
+        try (final PathEntity httpEntity = new PathEntity(tmpPath, ContentType.TEXT_PLAIN, null, true)) {
+            Assertions.assertEquals(4, httpEntity.getContentLength());
+            for (int i = 0; i < 2; i++) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                httpEntity.writeTo(out);
+                Assertions.assertArrayEquals(new byte[] {0, 1, 2, 3}, out.toByteArray());
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final OutputStream transferStream = Mockito.spy(new ContentLengthOutputStream(
+                    new SessionOutputBufferImpl(16), out, Channels.newChannel(out), 4));
+            httpEntity.writeTo(transferStream);
+            Mockito.verify(transferStream, Mockito.never()).write(ArgumentMatchers.any(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+            Assertions.assertArrayEquals(new byte[] {0, 1, 2, 3}, out.toByteArray());
+            Assertions.assertEquals(4, httpEntity.getContentLength());
+        }
+        Files.deleteIfExists(tmpPath);
+    }
+
 }
@@ -31,9 +31,15 @@
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.ProtocolException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -217,4 +223,98 @@ void testSerialization() throws Exception {
         }
     }
 
+    @Test
+    void testIndexedLookups() throws Exception {
+        final HeaderGroup headerGroup = new HeaderGroup();
+        for (int i = 0; i < HeaderGroup.INDEX_THRESHOLD; i++) {
+            headerGroup.addHeader(new BasicHeader("X-Header-" + i, Integer.toString(i)));
+        }
+        headerGroup.addHeader(new BasicHeader("Accept", "text/plain"));
+        headerGroup.addHeader(new BasicHeader("accept", "text/html"));
+        Assertions.assertEquals("0", headerGroup.getFirstHeader("x-header-0").getValue());
+        Assertions.assertEquals("text/plain", headerGroup.getFirstHeader("ACCEPT").getValue());
+        Assertions.assertEquals("text/html", headerGroup.getLastHeader("Accept").getValue());
+        Assertions.assertEquals(2, headerGroup.countHeaders("Accept"));
+        Assertions.assertEquals(2, headerGroup.getHeaders("Accept").length);
+        Assertions.assertNull(headerGroup.getFirstHeader("Content-Length"));
+        Assertions.assertNull(headerGroup.getFirstHeader(null));
+        Assertions.assertFalse(headerGroup.containsHeader("Content-Length"));
+        Assertions.assertThrows(ProtocolException.class, () -> headerGroup.getHeader("Accept"));
+
+        // Appending keeps the index current
+        headerGroup.addHeader(new BasicHeader("Content-Length", "10"));
+        headerGroup.addHeader(new BasicHeader("Accept", "*/*"));
+        Assertions.assertEquals("10", headerGroup.getHeader("content-length").getValue());
+        Assertions.assertEquals(3, headerGroup.countHeaders("Accept"));
+        Assertions.assertEquals("*/*", headerGroup.getLastHeader("Accept").getValue());
+
+        headerGroup.setHeader(new BasicHeader("Content-Length", "20"));
+        Assertions.assertEquals("20", headerGroup.getFirstHeader("Content-Length").getValue());
+        Assertions.assertEquals(1, headerGroup.countHeaders("Content-Length"));
+
+        // Removal rebuilds the index
+        Assertions.assertTrue(headerGroup.removeHeaders("Accept"));
+        Assertions.assertFalse(headerGroup.removeHeaders("Accept"));
+        Assertions.assertFalse(headerGroup.containsHeader("Accept"));
+        for (final Iterator<Header> it = headerGroup.headerIterator("x-header-3"); it.hasNext(); ) {
+            it.next();
+            it.remove();
+        }
+        Assertions.assertNull(headerGroup.getFirstHeader("X-Header-3"));
+        Assertions.assertTrue(headerGroup.removeHeader(new BasicHeader("X-Header-0", "0")));
+        Assertions.assertNull(headerGroup.getFirstHeader("X-Header-0"));
+        Assertions.assertEquals("15", headerGroup.getFirstHeader("X-Header-15").getValue());
+        Assertions.assertEquals("20", headerGroup.getFirstHeader("Content-Length").getValue());
+
+        final Header[] all = headerGroup.getHeaders();
+        Assertions.assertEquals(HeaderGroup.INDEX_THRESHOLD - 1, all.length);
+        Assertions.assertEquals("X-Header-1", all[0].getName());
+        Assertions.assertEquals("Content-Length", all[all.length - 1].getName());
+    }
+
+    @Test
+    void testIndexedLookupsManyNames() {
+        final HeaderGroup headerGroup = new HeaderGroup();
+        for (int i = 0; i < 200; i++) {
+            headerGroup.addHeader(new BasicHeader("Name-" + (i % 70), Integer.toString(i)));
+        }
+        for (int i = 0; i < 70; i++) {
+            Assertions.assertEquals(Integer.toString(i), headerGroup.getFirstHeader("name-" + i).getValue());
+            Assertions.assertEquals(i < 60 ? 3 : 2, headerGroup.countHeaders("NAME-" + i));
+        }
+        headerGroup.clear();
+        Assertions.assertFalse(headerGroup.containsHeader("Name-1"));
+    }
+
+    @Test
+    void testIndexedLookupsSharedBetweenReaders() throws Exception {
+        final Header[] headers = new Header[HeaderGroup.INDEX_THRESHOLD * 2];
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = new BasicHeader("X-Header-" + i, Integer.toString(i));
+        }
+        final HeaderGroup headerGroup = new HeaderGroup();
+        headerGroup.setHeaders(headers);
+
+        // Lookups do not modify the group, so it can be read from several threads
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> futures = new ArrayList<>();
+            for (int n = 0; n < 4; n++) {
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < headers.length; i++) {
+                        if (!Integer.toString(i).equals(headerGroup.getFirstHeader("x-header-" + i).getValue())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (final Future<Boolean> future : futures) {
+                Assertions.assertTrue(future.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
 }
@@ -0,0 +1,97 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.util.CharArrayBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TestHeaderNameRegistry {
+
+    @Test
+    void testLookupStandardNames() {
+        final HeaderNameRegistry registry = HeaderNameRegistry.DEFAULT;
+        final char[] chars = "xContent-Lengthx".toCharArray();
+        Assertions.assertSame(HttpHeaders.CONTENT_LENGTH, registry.lookup(chars, 1, 14));
+        final byte[] bytes = "content-type".getBytes(StandardCharsets.US_ASCII);
+        final String lowerCase = registry.lookup(bytes, 0, bytes.length);
+        Assertions.assertEquals("content-type", lowerCase);
+        Assertions.assertSame(lowerCase, registry.lookup("content-type".toCharArray(), 0, 12));
+    }
+
+    @Test
+    void testLookupPreservesSpelling() {
+        final HeaderNameRegistry registry = HeaderNameRegistry.DEFAULT;
+        Assertions.assertNull(registry.lookup("CONTENT-LENGTH".toCharArray(), 0, 14));
+        Assertions.assertNull(registry.lookup("Content-Len".toCharArray(), 0, 11));
+        Assertions.assertNull(registry.lookup("X-Custom".toCharArray(), 0, 8));
+    }
+
+    @Test
+    void testCanonicalize() {
+        final HeaderNameRegistry registry = HeaderNameRegistry.DEFAULT;
+        final String name = new String("Transfer-Encoding".toCharArray());
+        Assertions.assertSame(HttpHeaders.TRANSFER_ENCODING, registry.canonicalize(name));
+        final String unknown = new String("X-Custom".toCharArray());
+        Assertions.assertSame(unknown, registry.canonicalize(unknown));
+        Assertions.assertNull(registry.canonicalize(null));
+    }
+
+    @Test
+    void testExtensions() {
+        final HeaderNameRegistry registry = HeaderNameRegistry.create(Collections.singletonList("X-Request-Id"));
+        Assertions.assertEquals("X-Request-Id", registry.lookup("X-Request-Id".toCharArray(), 0, 12));
+        Assertions.assertEquals("x-request-id", registry.lookup("x-request-id".toCharArray(), 0, 12));
+        Assertions.assertSame(HttpHeaders.HOST, registry.lookup("Host".toCharArray(), 0, 4));
+        Assertions.assertNull(HeaderNameRegistry.DEFAULT.lookup("X-Request-Id".toCharArray(), 0, 12));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> HeaderNameRegistry.create(Collections.singletonList(" ")));
+    }
+
+    @Test
+    void testParsedHeaderNamesAreShared() throws Exception {
+        final CharArrayBuffer buf1 = new CharArrayBuffer(32);
+        buf1.append("Content-Length: 10");
+        final CharArrayBuffer buf2 = new CharArrayBuffer(32);
+        buf2.append(" Content-Length: 20");
+        final String name1 = LazyLineParser.INSTANCE.parseHeader(buf1).getName();
+        final String name2 = LazyLineParser.INSTANCE.parseHeader(buf2).getName();
+        Assertions.assertSame(HttpHeaders.CONTENT_LENGTH, name1);
+        Assertions.assertSame(name1, name2);
+
+        final CharArrayBuffer buf3 = new CharArrayBuffer(32);
+        buf3.append("Content-Length: 10");
+        final String name3 = new LazyLineParser(null).parseHeader(buf3).getName();
+        Assertions.assertEquals(HttpHeaders.CONTENT_LENGTH, name3);
+        Assertions.assertNotSame(HttpHeaders.CONTENT_LENGTH, name3);
+    }
+
+}
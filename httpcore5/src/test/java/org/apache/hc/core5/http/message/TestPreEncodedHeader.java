@@ -0,0 +1,101 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hc.core5.util.CharArrayBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PreEncodedHeader}.
+ */
+class TestPreEncodedHeader {
+
+    @Test
+    void testBasicConstructor() {
+        final PreEncodedHeader header = new PreEncodedHeader("Server", "test/1.1");
+        Assertions.assertEquals("Server", header.getName());
+        Assertions.assertEquals("test/1.1", header.getValue());
+        Assertions.assertFalse(header.isSensitive());
+        Assertions.assertEquals("Server: test/1.1", header.getBuffer().toString());
+        Assertions.assertEquals(8, header.getValuePos());
+        Assertions.assertEquals("Server: test/1.1", new String(header.getEncodedLine(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testNullValue() {
+        final PreEncodedHeader header = new PreEncodedHeader("name", null);
+        Assertions.assertNull(header.getValue());
+        Assertions.assertEquals("name: ", new String(header.getEncodedLine(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testControlCharsReplaced() {
+        final PreEncodedHeader header = new PreEncodedHeader("name", "a\rb");
+        Assertions.assertEquals("name: a b", header.getBuffer().toString());
+        Assertions.assertEquals("name: a b", new String(header.getEncodedLine(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testInvalidName() {
+        Assertions.assertThrows(NullPointerException.class, () -> new PreEncodedHeader(null, "value"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PreEncodedHeader(" ", "value"));
+    }
+
+    @Test
+    void testSerialization() throws Exception {
+        final PreEncodedHeader orig = new PreEncodedHeader("name", "value", true);
+        final ByteArrayOutputStream outbuffer = new ByteArrayOutputStream();
+        try (final ObjectOutputStream outStream = new ObjectOutputStream(outbuffer)) {
+            outStream.writeObject(orig);
+        }
+        final byte[] raw = outbuffer.toByteArray();
+        final ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(raw));
+        final PreEncodedHeader clone = (PreEncodedHeader) inStream.readObject();
+        Assertions.assertEquals(orig.getName(), clone.getName());
+        Assertions.assertEquals(orig.getValue(), clone.getValue());
+        Assertions.assertTrue(clone.isSensitive());
+        Assertions.assertArrayEquals(orig.getEncodedLine(), clone.getEncodedLine());
+    }
+
+    @Test
+    void testBufferModificationDoesNotAffectHeader() {
+        final PreEncodedHeader header = new PreEncodedHeader("Server", "test/1.1");
+        final CharArrayBuffer buffer = header.getBuffer();
+        buffer.clear();
+        buffer.append("Server: corrupt");
+        Assertions.assertEquals("Server: test/1.1", header.getBuffer().toString());
+        Assertions.assertEquals("Server: test/1.1", header.toString());
+    }
+
+}
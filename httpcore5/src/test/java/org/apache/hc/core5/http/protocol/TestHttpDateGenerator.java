@@ -0,0 +1,72 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.http.protocol;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+import org.apache.hc.core5.http.FormattedHeader;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TestHttpDateGenerator {
+
+    @Test
+    void testCurrentDate() {
+        final String text = HttpDateGenerator.INSTANCE.getCurrentDate();
+        Assertions.assertNotNull(text);
+        final Instant date = ZonedDateTime.parse(text, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        Assertions.assertTrue(Math.abs(ChronoUnit.SECONDS.between(date, Instant.now())) <= 2);
+    }
+
+    @Test
+    void testCurrentDateHeader() {
+        final Header header = HttpDateGenerator.INSTANCE.getCurrentDateHeader();
+        Assertions.assertNotNull(header);
+        Assertions.assertEquals(HttpHeaders.DATE, header.getName());
+        Assertions.assertInstanceOf(FormattedHeader.class, header);
+        Assertions.assertEquals("Date: " + header.getValue(), ((FormattedHeader) header).getBuffer().toString());
+    }
+
+    @Test
+    void testCurrentDateCached() throws Exception {
+        final long slot = System.currentTimeMillis() / 1000;
+        final Header header1 = HttpDateGenerator.INSTANCE.getCurrentDateHeader();
+        final Header header2 = HttpDateGenerator.INSTANCE.getCurrentDateHeader();
+        if (System.currentTimeMillis() / 1000 == slot) {
+            Assertions.assertSame(header1, header2);
+        }
+        Thread.sleep(1100);
+        final Header header3 = HttpDateGenerator.INSTANCE.getCurrentDateHeader();
+        Assertions.assertNotSame(header1, header3);
+    }
+
+}
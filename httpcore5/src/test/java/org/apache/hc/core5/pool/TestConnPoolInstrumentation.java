@@ -0,0 +1,147 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.pool;
+
+import java.util.concurrent.Future;
+
+import org.apache.hc.core5.http.HttpConnection;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class TestConnPoolInstrumentation {
+
+    @Test
+    void testHistogramBuckets() {
+        for (long v = 0; v < 100_000; v += 7) {
+            final long highest = LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(v));
+            Assertions.assertTrue(highest >= v, "value " + v);
+            Assertions.assertTrue(highest - v <= v / 8, "value " + v);
+        }
+        Assertions.assertTrue(LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(Long.MAX_VALUE)) > 0);
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(99.0));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        Assertions.assertEquals(1000, histogram.getCount());
+        Assertions.assertEquals(1000, histogram.getMax());
+        Assertions.assertEquals(500.5, histogram.getMean(), 0.001);
+        final long p50 = histogram.getValueAtPercentile(50.0);
+        Assertions.assertTrue(p50 >= 500 && p50 <= 500 + 500 / 8, "p50 " + p50);
+        final long p99 = histogram.getValueAtPercentile(99.0);
+        Assertions.assertTrue(p99 >= 990 && p99 <= 1000, "p99 " + p99);
+        Assertions.assertEquals(1000, histogram.getValueAtPercentile(100.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101.0));
+    }
+
+    @Test
+    void testStrictPoolInstrumentation() throws Exception {
+        final TestingClock clock = new TestingClock(1000L);
+        final DefaultConnPoolInstrumentation<String> instrumentation = new DefaultConnPoolInstrumentation<>();
+        final HttpConnection conn1 = Mockito.mock(HttpConnection.class);
+
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<>(1, 10,
+                TimeValue.NEG_ONE_MILLISECOND, PoolReusePolicy.LIFO, null, null, instrumentation, clock)) {
+            final PoolEntry<String, HttpConnection> entry1 = pool.lease("somehost", null).get();
+            clock.advanceMillis(25L);
+            entry1.assignConnection(conn1);
+
+            final Future<PoolEntry<String, HttpConnection>> future2 = pool.lease("somehost", null);
+            Assertions.assertFalse(future2.isDone());
+
+            clock.advanceMillis(100L);
+            pool.release(entry1, true);
+            final PoolEntry<String, HttpConnection> entry2 = future2.get();
+            Assertions.assertSame(entry1, entry2);
+            Assertions.assertEquals(1, entry2.getReuseCount());
+
+            clock.advanceMillis(50L);
+            entry2.discardConnection(CloseMode.GRACEFUL);
+            pool.release(entry2, false);
+
+            final DefaultConnPoolInstrumentation.RouteMetrics metrics = instrumentation.getMetrics("somehost");
+            Assertions.assertNotNull(metrics);
+            Assertions.assertEquals(2, metrics.getLeaseWait().getCount());
+            Assertions.assertEquals(100, metrics.getLeaseWait().getMax());
+            Assertions.assertEquals(1, metrics.getConnect().getCount());
+            Assertions.assertEquals(25, metrics.getConnect().getMax());
+            Assertions.assertEquals(1, metrics.getLifetime().getCount());
+            Assertions.assertEquals(150, metrics.getLifetime().getMax());
+            Assertions.assertEquals(1, metrics.getReuse().getMax());
+            Assertions.assertEquals(1, metrics.getMaxPerRouteCount());
+            Assertions.assertEquals(0, metrics.getMaxTotalCount());
+        }
+    }
+
+    @Test
+    void testStrictPoolMaxTotalInstrumentation() throws Exception {
+        final DefaultConnPoolInstrumentation<String> instrumentation = new DefaultConnPoolInstrumentation<>();
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<>(2, 1,
+                TimeValue.NEG_ONE_MILLISECOND, PoolReusePolicy.LIFO, null, null, instrumentation)) {
+            final PoolEntry<String, HttpConnection> entry1 = pool.lease("somehost", null).get();
+            final Future<PoolEntry<String, HttpConnection>> future2 = pool.lease("otherhost", null);
+            Assertions.assertFalse(future2.isDone());
+            Assertions.assertEquals(1, instrumentation.getMaxTotalCount());
+            Assertions.assertEquals(1, instrumentation.getMetrics("otherhost").getMaxTotalCount());
+            Assertions.assertNull(instrumentation.getMetrics("yetanotherhost"));
+            pool.release(entry1, false);
+            Assertions.assertNotNull(future2.get());
+        }
+    }
+
+    @Test
+    void testStrictPoolLimitReportedOncePerRequest() throws Exception {
+        final DefaultConnPoolInstrumentation<String> instrumentation = new DefaultConnPoolInstrumentation<>();
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<>(1, 10,
+                TimeValue.NEG_ONE_MILLISECOND, PoolReusePolicy.LIFO, null, null, instrumentation)) {
+            final PoolEntry<String, HttpConnection> entry1 = pool.lease("somehost", null).get();
+            final Future<PoolEntry<String, HttpConnection>> future2 = pool.lease("somehost", null);
+            Assertions.assertFalse(future2.isDone());
+
+            // Each release rescans the pending request that is still blocked
+            for (int i = 0; i < 5; i++) {
+                final PoolEntry<String, HttpConnection> entry = pool.lease("otherhost", null).get();
+                pool.release(entry, false);
+            }
+            Assertions.assertFalse(future2.isDone());
+            Assertions.assertEquals(1, instrumentation.getMetrics("somehost").getMaxPerRouteCount());
+
+            pool.release(entry1, false);
+            Assertions.assertNotNull(future2.get());
+            Assertions.assertEquals(1, instrumentation.getMetrics("somehost").getMaxPerRouteCount());
+        }
+    }
+
+}
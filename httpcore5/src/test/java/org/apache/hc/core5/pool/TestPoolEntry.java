@@ -30,6 +30,7 @@
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.hc.core5.http.HttpConnection;
@@ -150,4 +151,46 @@ void testExpiryDoesNotOverflow() {
         Assertions.assertEquals(Deadline.MAX_VALUE, entry.getValidityDeadline());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testUpdateHealth() {
+        final PoolEntry<String, HttpConnection> entry = new PoolEntry<>(
+                "route1", TimeValue.of(0L, TimeUnit.MILLISECONDS), clock);
+        entry.assignConnection(Mockito.mock(HttpConnection.class));
+        Assertions.assertEquals(0.0, entry.getHealthScore());
+        entry.updateHealth(100L, false);
+        Assertions.assertEquals(100.0, entry.getLatencyEstimate());
+        entry.updateHealth(200L, false);
+        Assertions.assertEquals(120.0, entry.getLatencyEstimate(), 0.001);
+        Assertions.assertEquals(2, entry.getHealthSamples());
+        entry.updateHealth(120L, true);
+        Assertions.assertEquals(1, entry.getFailureCount());
+        Assertions.assertEquals(240.0 + PoolEntry.FAILURE_PENALTY, entry.getHealthScore(), 0.001);
+        entry.updateHealth(120L, false);
+        Assertions.assertEquals(0, entry.getFailureCount());
+        entry.discardConnection(CloseMode.IMMEDIATE);
+        Assertions.assertEquals(0, entry.getHealthSamples());
+        Assertions.assertEquals(0.0, entry.getLatencyEstimate());
+
+        // A fast failure still ranks below a slow success
+        entry.assignConnection(Mockito.mock(HttpConnection.class));
+        entry.updateHealth(0L, true);
+        Assertions.assertTrue(entry.getHealthScore() > 500.0);
+    }
+
+    @Test
+    void testConnectionProbe() {
+        final PoolEntry<String, HttpConnection> entry = new PoolEntry<>(
+                "route1", TimeValue.of(0L, TimeUnit.MILLISECONDS), clock);
+        final AtomicBoolean alive = new AtomicBoolean(true);
+        entry.setConnectionProbe(alive::get);
+        Assertions.assertFalse(entry.isConnectionDead());
+        entry.assignConnection(Mockito.mock(HttpConnection.class));
+        entry.setConnectionProbe(alive::get);
+        Assertions.assertFalse(entry.isConnectionDead());
+        alive.set(false);
+        Assertions.assertTrue(entry.isConnectionDead());
+        entry.discardConnection(CloseMode.IMMEDIATE);
+        Assertions.assertFalse(entry.isConnectionDead());
+    }
+
+}
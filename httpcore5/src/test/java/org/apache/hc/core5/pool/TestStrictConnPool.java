@@ -26,7 +26,11 @@
  */
 package org.apache.hc.core5.pool;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
@@ -681,4 +685,201 @@ void testShutdown() {
         pool.release(new PoolEntry<>("somehost"), true);
     }
 
+    @Test
+    void testHealthWeightedReuse() throws Exception {
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<>(3, 10,
+                TimeValue.NEG_ONE_MILLISECOND, PoolReusePolicy.HEALTH_WEIGHTED, null)) {
+            final PoolEntry<String, HttpConnection> entry1 = pool.lease("somehost", null).get();
+            entry1.assignConnection(Mockito.mock(HttpConnection.class));
+            final PoolEntry<String, HttpConnection> entry2 = pool.lease("somehost", null).get();
+            entry2.assignConnection(Mockito.mock(HttpConnection.class));
+            final PoolEntry<String, HttpConnection> entry3 = pool.lease("somehost", null).get();
+            entry3.assignConnection(Mockito.mock(HttpConnection.class));
+
+            entry1.updateHealth(20L, false);
+            entry2.updateHealth(5L, false);
+            entry3.updateHealth(40L, false);
+            pool.release(entry1, true);
+            pool.release(entry2, true);
+            pool.release(entry3, true);
+
+            Assertions.assertSame(entry2, pool.lease("somehost", null).get());
+            Assertions.assertSame(entry1, pool.lease("somehost", null).get());
+            Assertions.assertSame(entry3, pool.lease("somehost", null).get());
+        }
+    }
+
+    @Test
+    void testHealthWeightedOutlierRetired() throws Exception {
+        final HttpConnection conn3 = Mockito.mock(HttpConnection.class);
+        final HttpConnection conn4 = Mockito.mock(HttpConnection.class);
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<>(4, 10,
+                TimeValue.NEG_ONE_MILLISECOND, PoolReusePolicy.HEALTH_WEIGHTED, null)) {
+            final PoolEntry<String, HttpConnection> entry1 = pool.lease("somehost", null).get();
+            entry1.assignConnection(Mockito.mock(HttpConnection.class));
+            final PoolEntry<String, HttpConnection> entry2 = pool.lease("somehost", null).get();
+            entry2.assignConnection(Mockito.mock(HttpConnection.class));
+            final PoolEntry<String, HttpConnection> entry3 = pool.lease("somehost", null).get();
+            entry3.assignConnection(conn3);
+            final PoolEntry<String, HttpConnection> entry4 = pool.lease("somehost", null).get();
+            entry4.assignConnection(conn4);
+
+            for (int i = 0; i < StrictConnPool.PerRoutePool.MIN_HEALTH_SAMPLES; i++) {
+                entry1.updateHealth(10L, false);
+                entry2.updateHealth(12L, false);
+                entry3.updateHealth(500L, false);
+            }
+            for (int i = 0; i < StrictConnPool.PerRoutePool.MAX_CONSECUTIVE_FAILURES; i++) {
+                entry4.updateHealth(10L, true);
+            }
+            pool.release(entry1, true);
+            pool.release(entry2, true);
+            pool.release(entry3, true);
+            pool.release(entry4, true);
+
+            Mockito.verify(conn3).close(CloseMode.GRACEFUL);
+            Mockito.verify(conn4).close(CloseMode.GRACEFUL);
+            final PoolStats stats = pool.getStats("somehost");
+            Assertions.assertEquals(2, stats.getAvailable());
+            Assertions.assertEquals(0, stats.getLeased());
+        }
+    }
+
+    @Test
+    void testAffineReuse() throws Exception {
+        final AtomicReference<Object> affinity = new AtomicReference<>();
+        final Map<HttpConnection, Object> owners = new HashMap<>();
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<String, HttpConnection>(3, 10) {
+
+            @Override
+            protected Object resolveAffinity() {
+                return affinity.get();
+            }
+
+            @Override
+            protected Object resolveAffinity(final HttpConnection connection) {
+                return owners.get(connection);
+            }
+
+        }) {
+            final HttpConnection conn1 = Mockito.mock(HttpConnection.class);
+            final HttpConnection conn2 = Mockito.mock(HttpConnection.class);
+            owners.put(conn1, "worker-1");
+            owners.put(conn2, "worker-2");
+            final PoolEntry<String, HttpConnection> entry1 = pool.lease("somehost", null).get();
+            entry1.assignConnection(conn1);
+            final PoolEntry<String, HttpConnection> entry2 = pool.lease("somehost", null).get();
+            entry2.assignConnection(conn2);
+
+            // Entries are tagged with the owner of their connection, not the releasing thread
+            affinity.set("worker-2");
+            pool.release(entry1, true);
+            pool.release(entry2, true);
+
+            affinity.set("worker-1");
+            Assertions.assertSame(entry1, pool.lease("somehost", null).get());
+            affinity.set(null);
+            Assertions.assertSame(entry2, pool.lease("somehost", null).get());
+            pool.release(entry2, true);
+            affinity.set("worker-3");
+            Assertions.assertSame(entry2, pool.lease("somehost", null).get());
+        }
+    }
+
+    @Test
+    void testLeaseSkipsDeadConnections() throws Exception {
+        final HttpConnection conn1 = Mockito.mock(HttpConnection.class);
+        final HttpConnection conn2 = Mockito.mock(HttpConnection.class);
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<>(2, 10)) {
+            final PoolEntry<String, HttpConnection> entry1 = pool.lease("somehost", null).get();
+            entry1.assignConnection(conn1);
+            entry1.setConnectionProbe(() -> false);
+            final PoolEntry<String, HttpConnection> entry2 = pool.lease("somehost", null).get();
+            entry2.assignConnection(conn2);
+            entry2.setConnectionProbe(() -> true);
+            pool.release(entry2, true);
+            pool.release(entry1, true);
+
+            final PoolEntry<String, HttpConnection> entry3 = pool.lease("somehost", null).get();
+            Assertions.assertSame(entry2, entry3);
+            Mockito.verify(conn1).close(CloseMode.GRACEFUL);
+            Mockito.verify(conn2, Mockito.never()).close(ArgumentMatchers.any());
+            final PoolStats stats = pool.getStats("somehost");
+            Assertions.assertEquals(0, stats.getAvailable());
+            Assertions.assertEquals(1, stats.getLeased());
+        }
+    }
+
+    @Test
+    void testHealthWeightedAffineReuse() throws Exception {
+        final AtomicReference<Object> affinity = new AtomicReference<>();
+        final Map<HttpConnection, Object> owners = new HashMap<>();
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<String, HttpConnection>(3, 10,
+                TimeValue.NEG_ONE_MILLISECOND, PoolReusePolicy.HEALTH_WEIGHTED, null) {
+
+            @Override
+            protected Object resolveAffinity() {
+                return affinity.get();
+            }
+
+            @Override
+            protected Object resolveAffinity(final HttpConnection connection) {
+                return owners.get(connection);
+            }
+
+        }) {
+            final HttpConnection conn1 = Mockito.mock(HttpConnection.class);
+            final HttpConnection conn2 = Mockito.mock(HttpConnection.class);
+            final HttpConnection conn3 = Mockito.mock(HttpConnection.class);
+            owners.put(conn1, "worker-1");
+            owners.put(conn2, "worker-1");
+            owners.put(conn3, "worker-2");
+            final PoolEntry<String, HttpConnection> entry1 = pool.lease("somehost", null).get();
+            entry1.assignConnection(conn1);
+            final PoolEntry<String, HttpConnection> entry2 = pool.lease("somehost", null).get();
+            entry2.assignConnection(conn2);
+            final PoolEntry<String, HttpConnection> entry3 = pool.lease("somehost", null).get();
+            entry3.assignConnection(conn3);
+
+            entry1.updateHealth(20L, false);
+            entry2.updateHealth(30L, false);
+            entry3.updateHealth(5L, false);
+            pool.release(entry1, true);
+            pool.release(entry2, true);
+            pool.release(entry3, true);
+
+            // The healthiest affine connection wins over a healthier one of another worker
+            affinity.set("worker-1");
+            Assertions.assertSame(entry1, pool.lease("somehost", null).get());
+            // Without affine connections the healthiest one is chosen
+            affinity.set("worker-3");
+            Assertions.assertSame(entry3, pool.lease("somehost", null).get());
+            affinity.set("worker-1");
+            Assertions.assertSame(entry2, pool.lease("somehost", null).get());
+        }
+    }
+
+    @Test
+    void testHealthWeightedReuseFailedAndFreshEntries() throws Exception {
+        try (final StrictConnPool<String, HttpConnection> pool = new StrictConnPool<>(4, 10,
+                TimeValue.NEG_ONE_MILLISECOND, PoolReusePolicy.HEALTH_WEIGHTED, null)) {
+            final List<PoolEntry<String, HttpConnection>> entries = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final PoolEntry<String, HttpConnection> entry = pool.lease("somehost", null).get();
+                entry.assignConnection(Mockito.mock(HttpConnection.class));
+                entries.add(entry);
+            }
+            // Failed without measurable latency and never used entries must not rank first
+            entries.get(0).updateHealth(0L, true);
+            entries.get(2).updateHealth(20L, false);
+            entries.get(3).updateHealth(40L, false);
+            for (final PoolEntry<String, HttpConnection> entry : entries) {
+                pool.release(entry, true);
+            }
+
+            Assertions.assertSame(entries.get(2), pool.lease("somehost", null).get());
+            Assertions.assertSame(entries.get(3), pool.lease("somehost", null).get());
+        }
+    }
+
 }
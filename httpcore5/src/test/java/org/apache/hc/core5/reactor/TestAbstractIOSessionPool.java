@@ -280,4 +280,120 @@ void testGetSessionConnectUnknownHost() {
         Assertions.assertTrue(future2.isDone());
     }
 
+    @Test
+    void testGetSessionMultipleSessionsPerRoute() throws Exception {
+        @SuppressWarnings("unchecked")
+        final AbstractIOSessionPool<String> pool = Mockito.mock(AbstractIOSessionPool.class, Mockito.withSettings()
+                .defaultAnswer(Answers.CALLS_REAL_METHODS)
+                .useConstructor(2));
+        Assertions.assertEquals(2, pool.getMaxSessionsPerRoute());
+
+        Mockito.when(pool.connectSession(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.any())).thenReturn(connectFuture);
+        Mockito.doAnswer(invocation -> {
+            final Callback<Boolean> callback = invocation.getArgument(1);
+            callback.execute(true);
+            return null;
+        }).when(pool).validateSession(ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.when(ioSession1.isOpen()).thenReturn(true);
+        Mockito.when(ioSession2.isOpen()).thenReturn(true);
+        Mockito.doReturn(10).when(pool).getSessionLoad(ioSession1);
+        Mockito.doReturn(1).when(pool).getSessionLoad(ioSession2);
+        Mockito.doReturn(true).when(pool).isSessionSaturated(ioSession1);
+
+        final Future<IOSession> future1 = pool.getSession("somehost", Timeout.ofSeconds(123L), null);
+        Mockito.verify(pool).connectSession(
+                ArgumentMatchers.eq("somehost"),
+                ArgumentMatchers.any(),
+                connectCallbackCaptor.capture());
+        connectCallbackCaptor.getValue().completed(ioSession1);
+        Assertions.assertSame(ioSession1, future1.get());
+
+        // The only session is saturated: it is still handed out while another one gets opened
+        final Future<IOSession> future2 = pool.getSession("somehost", Timeout.ofSeconds(123L), null);
+        Assertions.assertSame(ioSession1, future2.get());
+        Mockito.verify(pool, Mockito.times(2)).connectSession(
+                ArgumentMatchers.eq("somehost"),
+                ArgumentMatchers.any(),
+                connectCallbackCaptor.capture());
+        connectCallbackCaptor.getValue().completed(ioSession2);
+
+        final AbstractIOSessionPool.PoolEntry entry = pool.getPoolEntry("somehost");
+        Assertions.assertEquals(2, entry.sessionCount());
+
+        // The least loaded session gets selected and no further session is opened
+        final Future<IOSession> future3 = pool.getSession("somehost", Timeout.ofSeconds(123L), null);
+        Assertions.assertSame(ioSession2, future3.get());
+        final Future<IOSession> future4 = pool.getSession("somehost", Timeout.ofSeconds(123L), null);
+        Assertions.assertSame(ioSession2, future4.get());
+        Mockito.verify(pool, Mockito.times(2)).connectSession(
+                ArgumentMatchers.any(),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.any());
+
+        pool.close(CloseMode.GRACEFUL);
+        Mockito.verify(pool).closeSession(ioSession1, CloseMode.GRACEFUL);
+        Mockito.verify(pool).closeSession(ioSession2, CloseMode.GRACEFUL);
+    }
+
+    @Test
+    void testCloseIdleExtraSessionsAfterPrimaryClosed() {
+        final AbstractIOSessionPool.PoolEntry entry = impl.getPoolEntry("somehost");
+        Assertions.assertNotNull(entry);
+        entry.session = ioSession1;
+        entry.extraSessions.add(ioSession2);
+
+        Mockito.when(ioSession1.isOpen()).thenReturn(false);
+        Mockito.when(ioSession2.isOpen()).thenReturn(true);
+        impl.enumAvailable(ioSession -> {
+        });
+        Assertions.assertNull(entry.session);
+        Assertions.assertEquals(1, entry.extraSessions.size());
+
+        impl.enumAvailable(ioSession -> ioSession.close(CloseMode.GRACEFUL));
+        Mockito.verify(ioSession2).close(CloseMode.GRACEFUL);
+
+        impl.closeIdle(TimeValue.ZERO_MILLISECONDS);
+        Mockito.verify(impl).closeSession(ioSession2, CloseMode.GRACEFUL);
+        Assertions.assertTrue(entry.extraSessions.isEmpty());
+    }
+
+    @Test
+    void testStaleSessionReportedAfterPurge() throws Exception {
+        @SuppressWarnings("unchecked")
+        final AbstractIOSessionPool<String> pool = Mockito.mock(AbstractIOSessionPool.class, Mockito.withSettings()
+                .defaultAnswer(Answers.CALLS_REAL_METHODS)
+                .useConstructor(2));
+        final AbstractIOSessionPool.PoolEntry entry = pool.getPoolEntry("somehost");
+        entry.session = ioSession1;
+        entry.extraSessions.add(ioSession2);
+        Mockito.when(ioSession1.isOpen()).thenReturn(true);
+        Mockito.when(ioSession2.isOpen()).thenReturn(true);
+        Mockito.doReturn(10).when(pool).getSessionLoad(ioSession1);
+        Mockito.doReturn(1).when(pool).getSessionLoad(ioSession2);
+        Mockito.doAnswer(invocation -> {
+            final IOSession ioSession = invocation.getArgument(0);
+            final Callback<Boolean> callback = invocation.getArgument(1);
+            if (ioSession == ioSession2) {
+                // Another caller purges the extra session before it gets reported stale
+                entry.extraSessions.remove(ioSession2);
+                callback.execute(false);
+            } else {
+                callback.execute(true);
+            }
+            return null;
+        }).when(pool).validateSession(ArgumentMatchers.any(), ArgumentMatchers.any());
+
+        final Future<IOSession> future = pool.getSession("somehost", Timeout.ofSeconds(123L), null);
+        Assertions.assertSame(ioSession1, future.get());
+        Assertions.assertSame(ioSession1, entry.session);
+        Mockito.verify(pool, Mockito.never()).closeSession(ioSession1, CloseMode.GRACEFUL);
+        Mockito.verify(pool, Mockito.never()).connectSession(
+                ArgumentMatchers.any(),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.any());
+    }
+
 }
@@ -145,4 +145,13 @@ void upgradeHandlerMissingThrows() {
         }
     }
 
+    @Test
+    void ownerUnknownOutsideDispatchThread() {
+        final IOSession session = Mockito.mock(IOSession.class);
+        final InternalDataChannel channel = new InternalDataChannel(session, null, null, null);
+        Assertions.assertNull(channel.getWorker());
+        Assertions.assertNull(IOWorkers.ownerOf(channel));
+        Assertions.assertNull(IOWorkers.ownerOf(session));
+    }
+
 }
@@ -0,0 +1,96 @@
+/*
+ * ====================================================================
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * ====================================================================
+ *
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Apache Software Foundation.  For more
+ * information on the Apache Software Foundation, please see
+ * <http://www.apache.org/>.
+ *
+ */
+package org.apache.hc.core5.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ByteScanner}.
+ */
+class TestByteScanner {
+
+    private static int naiveIndexOf(final byte[] b, final int from, final int to, final byte target) {
+        for (int i = from; i < to; i++) {
+            if (b[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    void testIndexOfEveryPosition() {
+        for (int len = 0; len < 40; len++) {
+            for (int pos = 0; pos < len; pos++) {
+                final byte[] b = new byte[len];
+                Arrays.fill(b, (byte) 'a');
+                b[pos] = '\n';
+                Assertions.assertEquals(pos, ByteScanner.indexOf(b, 0, len, (byte) '\n'));
+                Assertions.assertEquals(pos, ByteScanner.indexOf(
+                        ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN), 0, len, (byte) '\n'));
+            }
+            Assertions.assertEquals(-1, ByteScanner.indexOf(new byte[len], 0, len, (byte) '\n'));
+        }
+    }
+
+    @Test
+    void testIndexOfHighBitBytes() {
+        // Bytes adjacent to the target or with the high bit set must not produce false matches
+        final byte[] b = new byte[] {(byte) 0x80, (byte) 0xFF, 0x0B, 0x09, 0x00, (byte) 0x8A, 0x0A, 0x0A, 0x01, 0x0A};
+        Assertions.assertEquals(6, ByteScanner.indexOf(b, 0, b.length, (byte) 0x0A));
+        Assertions.assertEquals(1, ByteScanner.indexOf(b, 0, b.length, (byte) 0xFF));
+        Assertions.assertEquals(4, ByteScanner.indexOf(b, 0, b.length, (byte) 0x00));
+        Assertions.assertEquals(9, ByteScanner.indexOf(b, 8, b.length, (byte) 0x0A));
+        Assertions.assertEquals(-1, ByteScanner.indexOf(b, 0, 6, (byte) 0x0A));
+    }
+
+    @Test
+    void testIndexOfRandom() {
+        final Random random = new Random(42L);
+        for (int n = 0; n < 2000; n++) {
+            final byte[] b = new byte[random.nextInt(100)];
+            random.nextBytes(b);
+            final int from = b.length > 0 ? random.nextInt(b.length) : 0;
+            final int to = from + (b.length > from ? random.nextInt(b.length - from + 1) : 0);
+            final byte target = (byte) random.nextInt(256);
+            final int expected = naiveIndexOf(b, from, to, target);
+            Assertions.assertEquals(expected, ByteScanner.indexOf(b, from, to, target));
+
+            final ByteBuffer direct = ByteBuffer.allocateDirect(b.length);
+            direct.put(b);
+            Assertions.assertEquals(expected, ByteScanner.indexOf(direct, from, to, target));
+            Assertions.assertEquals(b.length, direct.position());
+        }
+    }
+
+}